@@ -0,0 +1,69 @@
+package com.inventory.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Fake ResultSet
+ * An in-memory, single-row ResultSet for benchmarking row mapping without a
+ * database. Columns are looked up by label through a hash map, as JDBC drivers
+ * do; only the getters used by the DAO mappers are supported.
+ */
+public final class FakeResultSet {
+
+    private FakeResultSet() {
+    }
+
+    /**
+     * Create a ResultSet positioned on one row with the given column values
+     */
+    public static ResultSet of(Map<String, Object> row) {
+        Map<String, Object> columns = new HashMap<>();
+        for (Map.Entry<String, Object> entry : row.entrySet()) {
+            columns.put(entry.getKey().toLowerCase(Locale.ROOT), entry.getValue());
+        }
+
+        return (ResultSet) Proxy.newProxyInstance(FakeResultSet.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (args == null || args.length != 1 || !(args[0] instanceof String)) {
+                        if ("next".equals(name)) {
+                            return true;
+                        }
+                        if ("wasNull".equals(name)) {
+                            return false;
+                        }
+                        if ("close".equals(name)) {
+                            return null;
+                        }
+                        throw new UnsupportedOperationException(name);
+                    }
+
+                    Object value = columns.get(((String) args[0]).toLowerCase(Locale.ROOT));
+                    switch (name) {
+                        case "getInt":
+                            return value != null ? ((Number) value).intValue() : 0;
+                        case "getLong":
+                            return value != null ? ((Number) value).longValue() : 0L;
+                        case "getString":
+                            return value != null ? value.toString() : null;
+                        case "getBigDecimal":
+                            return (BigDecimal) value;
+                        case "getTimestamp":
+                            return (Timestamp) value;
+                        case "getDate":
+                            return (Date) value;
+                        case "getObject":
+                            return value;
+                        default:
+                            throw new UnsupportedOperationException(name);
+                    }
+                });
+    }
+}
@@ -0,0 +1,172 @@
+package com.inventory.benchmarks;
+
+import com.inventory.model.Order;
+import com.inventory.model.Product;
+import com.inventory.servlet.JsonResponseWriter;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gson serialization of product and order lists, configured as in
+ * ProductServlet and OrderServlet, against JsonResponseWriter
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({ "10000", "100000" })
+    public int size;
+
+    private Gson productGson;
+    private Gson orderGson;
+    private List<Product> products;
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        productGson = new Gson();
+        orderGson = new GsonBuilder().setDateFormat("yyyy-MM-dd").create();
+        products = SampleData.products(size);
+        orders = SampleData.orders(size);
+    }
+
+    /**
+     * gson.toJson(list) into one String, as the list actions do
+     */
+    @Benchmark
+    public String productsToString() {
+        return productGson.toJson(products);
+    }
+
+    /**
+     * Element-by-element JsonWriter output, as ProductServlet's streamed getAll does
+     */
+    @Benchmark
+    public long productsStreamed() throws IOException {
+        CountingWriter out = new CountingWriter();
+        try (JsonWriter writer = new JsonWriter(out)) {
+            writer.beginArray();
+            for (Product product : products) {
+                productGson.toJson(product, Product.class, writer);
+            }
+            writer.endArray();
+        }
+        return out.count;
+    }
+
+    /**
+     * JsonResponseWriter straight into the response stream, as the servlets now do
+     */
+    @Benchmark
+    public long productsResponseWriter() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (JsonResponseWriter json = JsonResponseWriter.open(response(out), productGson)) {
+            json.products(products);
+        }
+        return out.count;
+    }
+
+    @Benchmark
+    public String ordersToString() {
+        return orderGson.toJson(orders);
+    }
+
+    @Benchmark
+    public long ordersResponseWriter() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        try (JsonResponseWriter json = JsonResponseWriter.open(response(out), orderGson)) {
+            json.orders(orders);
+        }
+        return out.count;
+    }
+
+    /**
+     * Response whose only working method is getOutputStream
+     */
+    private static HttpServletResponse response(ServletOutputStream out) {
+        return (HttpServletResponse) Proxy.newProxyInstance(JsonSerializationBenchmark.class.getClassLoader(),
+                new Class<?>[] { HttpServletResponse.class },
+                (proxy, method, args) -> "getOutputStream".equals(method.getName()) ? out : null);
+    }
+
+    /**
+     * Discards output, counting bytes
+     */
+    private static final class CountingOutputStream extends ServletOutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+    }
+
+    /**
+     * Discards output, counting characters so the work cannot be optimised away
+     */
+    private static final class CountingWriter extends Writer {
+        long count;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void write(int c) {
+            count++;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
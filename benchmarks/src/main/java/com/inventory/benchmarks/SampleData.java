@@ -0,0 +1,109 @@
+package com.inventory.benchmarks;
+
+import com.inventory.model.Order;
+import com.inventory.model.Product;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic sample rows and model objects shared by the benchmarks
+ */
+public final class SampleData {
+
+    private static final String[] WORDS = { "Wireless", "Mouse", "Keyboard", "Monitor", "Cable", "Office",
+            "Chair", "Desk", "Lamp", "Printer", "Paper", "Stapler", "Notebook", "Laptop", "Stand", "USB" };
+    private static final String[] STATUSES = { "pending", "received", "cancelled" };
+
+    private SampleData() {
+    }
+
+    public static Map<String, Object> productRow(int id) {
+        Random random = new Random(id);
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("name", WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id);
+        row.put("sku", String.format("PROD-%03d", id % 1000));
+        row.put("category_id", 1 + random.nextInt(20));
+        row.put("supplier_id", 1 + random.nextInt(50));
+        row.put("description", "Sample product " + id + " used for benchmarking, with a typical description length");
+        row.put("unit_price", BigDecimal.valueOf(100 + random.nextInt(100000), 2));
+        row.put("quantity_in_stock", random.nextInt(500));
+        row.put("reorder_level", 10 + random.nextInt(40));
+        row.put("image_url", null);
+        row.put("created_at", new Timestamp(1_700_000_000_000L + id * 1000L));
+        row.put("updated_at", new Timestamp(1_700_000_000_000L + id * 2000L));
+        row.put("category_name", "Category " + row.get("category_id"));
+        row.put("supplier_name", "Supplier " + row.get("supplier_id"));
+        return row;
+    }
+
+    public static Map<String, Object> orderRow(int id) {
+        Random random = new Random(id);
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", id);
+        row.put("order_number", String.format("PO-2024-%03d", id));
+        row.put("supplier_id", 1 + random.nextInt(50));
+        row.put("supplier_name", "Supplier " + row.get("supplier_id"));
+        row.put("order_date", new Date(1_700_000_000_000L + id * 86_400_000L));
+        row.put("expected_delivery_date", new Date(1_700_000_000_000L + (id + 7) * 86_400_000L));
+        row.put("status", STATUSES[random.nextInt(STATUSES.length)]);
+        row.put("total_amount", BigDecimal.valueOf(1000 + random.nextInt(10_000_000), 2));
+        row.put("user_id", 1 + random.nextInt(10));
+        row.put("user_name", "User " + row.get("user_id"));
+        row.put("created_at", new Timestamp(1_700_000_000_000L + id * 1000L));
+        row.put("received_at", "received".equals(row.get("status"))
+                ? new Timestamp(1_700_000_000_000L + (id + 6) * 86_400_000L) : null);
+        return row;
+    }
+
+    public static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            Map<String, Object> row = productRow(id);
+            Product product = new Product();
+            product.setId(id);
+            product.setName((String) row.get("name"));
+            product.setSku((String) row.get("sku"));
+            product.setCategoryId((Integer) row.get("category_id"));
+            product.setSupplierId((Integer) row.get("supplier_id"));
+            product.setDescription((String) row.get("description"));
+            product.setUnitPrice((BigDecimal) row.get("unit_price"));
+            product.setQuantityInStock((Integer) row.get("quantity_in_stock"));
+            product.setReorderLevel((Integer) row.get("reorder_level"));
+            product.setCreatedAt((Timestamp) row.get("created_at"));
+            product.setUpdatedAt((Timestamp) row.get("updated_at"));
+            product.setCategoryName((String) row.get("category_name"));
+            product.setSupplierName((String) row.get("supplier_name"));
+            products.add(product);
+        }
+        return products;
+    }
+
+    public static List<Order> orders(int count) {
+        List<Order> orders = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            Map<String, Object> row = orderRow(id);
+            Order order = new Order();
+            order.setId(id);
+            order.setOrderNumber((String) row.get("order_number"));
+            order.setSupplierId((Integer) row.get("supplier_id"));
+            order.setSupplierName((String) row.get("supplier_name"));
+            order.setOrderDate((Date) row.get("order_date"));
+            order.setExpectedDeliveryDate((Date) row.get("expected_delivery_date"));
+            order.setStatus((String) row.get("status"));
+            order.setTotalAmount((BigDecimal) row.get("total_amount"));
+            order.setUserId((Integer) row.get("user_id"));
+            order.setUserName((String) row.get("user_name"));
+            order.setCreatedAt((Timestamp) row.get("created_at"));
+            orders.add(order);
+        }
+        return orders;
+    }
+}
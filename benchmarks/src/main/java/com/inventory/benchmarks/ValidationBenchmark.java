@@ -0,0 +1,119 @@
+package com.inventory.benchmarks;
+
+import com.inventory.util.ValidationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every ValidationUtils method, each with a valid and an invalid input
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    // Fields rather than constants so the JIT cannot fold the calls away
+    public String validEmail = "admin@inventory.com";
+    public String invalidEmail = "admin.inventory.com";
+    public String validPhone = "+1 (555) 123-4567";
+    public String invalidPhone = "555-CALL-NOW";
+    public String validUsername = "warehouse_admin";
+    public String invalidUsername = "no spaces allowed!";
+    public String validSku = "ELEC-001";
+    public String invalidSku = "elec-0001";
+    public String validPassword = "secret123";
+    public String invalidPassword = "password";
+    public String blank = "   ";
+    public String dirty = "O'Brien\"; DROP TABLE products; --";
+    public String validPrice = "1299.99";
+    public String invalidPrice = "12,99";
+    public String validQuantity = "250";
+    public String invalidQuantity = "2.5";
+    public double price = 19.99;
+    public int quantity = 42;
+
+    @Benchmark
+    public void isValidEmail(Blackhole bh) {
+        bh.consume(ValidationUtils.isValidEmail(validEmail));
+        bh.consume(ValidationUtils.isValidEmail(invalidEmail));
+    }
+
+    @Benchmark
+    public void isValidPhone(Blackhole bh) {
+        bh.consume(ValidationUtils.isValidPhone(validPhone));
+        bh.consume(ValidationUtils.isValidPhone(invalidPhone));
+    }
+
+    @Benchmark
+    public void isValidUsername(Blackhole bh) {
+        bh.consume(ValidationUtils.isValidUsername(validUsername));
+        bh.consume(ValidationUtils.isValidUsername(invalidUsername));
+    }
+
+    @Benchmark
+    public void isValidSKU(Blackhole bh) {
+        bh.consume(ValidationUtils.isValidSKU(validSku));
+        bh.consume(ValidationUtils.isValidSKU(invalidSku));
+    }
+
+    @Benchmark
+    public void isValidPassword(Blackhole bh) {
+        bh.consume(ValidationUtils.isValidPassword(validPassword));
+        bh.consume(ValidationUtils.isValidPassword(invalidPassword));
+    }
+
+    @Benchmark
+    public void isNotEmpty(Blackhole bh) {
+        bh.consume(ValidationUtils.isNotEmpty(validUsername));
+        bh.consume(ValidationUtils.isNotEmpty(blank));
+    }
+
+    @Benchmark
+    public void isPositive(Blackhole bh) {
+        bh.consume(ValidationUtils.isPositive(price));
+        bh.consume(ValidationUtils.isPositive(-price));
+    }
+
+    @Benchmark
+    public void isInRange(Blackhole bh) {
+        bh.consume(ValidationUtils.isInRange(quantity, 0, 100));
+        bh.consume(ValidationUtils.isInRange(quantity, 50, 100));
+    }
+
+    @Benchmark
+    public void sanitize(Blackhole bh) {
+        bh.consume(ValidationUtils.sanitize(dirty));
+        bh.consume(ValidationUtils.sanitize(validUsername));
+    }
+
+    @Benchmark
+    public void isValidPrice(Blackhole bh) {
+        bh.consume(ValidationUtils.isValidPrice(validPrice));
+        bh.consume(ValidationUtils.isValidPrice(invalidPrice));
+    }
+
+    @Benchmark
+    public void isValidQuantity(Blackhole bh) {
+        bh.consume(ValidationUtils.isValidQuantity(validQuantity));
+        bh.consume(ValidationUtils.isValidQuantity(invalidQuantity));
+    }
+
+    @Benchmark
+    public void getValidationError(Blackhole bh) {
+        bh.consume(ValidationUtils.getValidationError("Email", "email"));
+        bh.consume(ValidationUtils.getValidationError("Name", "unknown"));
+    }
+}
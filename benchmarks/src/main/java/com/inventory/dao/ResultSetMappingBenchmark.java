@@ -0,0 +1,56 @@
+package com.inventory.dao;
+
+import com.inventory.benchmarks.FakeResultSet;
+import com.inventory.benchmarks.SampleData;
+import com.inventory.model.Order;
+import com.inventory.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ResultSet-to-model mapping in ProductDAO and OrderDAO.
+ * Lives in com.inventory.dao to reach the package-private extract methods.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResultSetMappingBenchmark {
+
+    private ProductDAO productDAO;
+    private OrderDAO orderDAO;
+    private ResultSet productRow;
+    private ResultSet orderRow;
+
+    @Setup
+    public void setUp() {
+        productDAO = new ProductDAO();
+        orderDAO = new OrderDAO();
+        productRow = FakeResultSet.of(SampleData.productRow(42));
+        orderRow = FakeResultSet.of(SampleData.orderRow(42));
+    }
+
+    @Benchmark
+    public Product mapProduct() throws SQLException {
+        return productDAO.extractProductFromResultSet(productRow);
+    }
+
+    @Benchmark
+    public Order mapOrder() throws SQLException {
+        return orderDAO.extractOrderFromResultSet(orderRow);
+    }
+}
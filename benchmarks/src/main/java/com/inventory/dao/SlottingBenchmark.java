@@ -0,0 +1,82 @@
+package com.inventory.dao;
+
+import com.inventory.model.SlottingPlan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SlottingOptimizer planning over an in-memory warehouse: one product per
+ * bin plus 20% spare bins, spread over eight zones, every product picked.
+ * Lives in com.inventory.dao to reach the package-private snapshot types.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlottingBenchmark {
+
+    private static final int ZONES = 8;
+
+    @Param({ "10000", "100000" })
+    public int products;
+
+    private BinCapacityIndex.Snapshot snapshot;
+    private Map<Integer, SlottingOptimizer.Velocity> velocity;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Map<Integer, BinCapacityIndex.Unit> units = new HashMap<>();
+        velocity = new HashMap<>();
+        for (int p = 1; p <= products; p++) {
+            units.put(p, new BinCapacityIndex.Unit(100 + random.nextInt(2000), 50 + random.nextInt(3000)));
+            velocity.put(p, new SlottingOptimizer.Velocity(1 + random.nextInt(500), 1 + random.nextInt(5000)));
+        }
+
+        int binCount = products + products / 5;
+        List<BinCapacityIndex.Slot> bins = new ArrayList<>(binCount);
+        for (int i = 1; i <= binCount; i++) {
+            BinCapacityIndex.Slot bin = new BinCapacityIndex.Slot(i);
+            bin.code = "B" + i;
+            bin.zone = "Z" + (i % ZONES);
+            bin.aisle = 1 + random.nextInt(50);
+            bin.shelf = 1 + random.nextInt(6);
+            bin.maxVolume = 100_000 + random.nextInt(20) * 25_000L;
+            bin.maxWeight = 100_000 + random.nextInt(20) * 25_000L;
+            bin.maxSlots = 1 + random.nextInt(3);
+            bin.active = true;
+            if (i <= products) {
+                BinCapacityIndex.Unit unit = units.get(i);
+                int quantity = 1 + random.nextInt(20);
+                bin.contents.put(i, quantity);
+                bin.usedVolume = quantity * unit.volume;
+                bin.usedWeight = quantity * unit.weight;
+            }
+            bins.add(bin);
+        }
+        snapshot = new BinCapacityIndex.Snapshot(bins, units);
+    }
+
+    @Benchmark
+    public SlottingPlan plan() {
+        return SlottingOptimizer.plan(snapshot, velocity, 1000);
+    }
+}
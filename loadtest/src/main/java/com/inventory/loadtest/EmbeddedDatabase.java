@@ -0,0 +1,298 @@
+package com.inventory.loadtest;
+
+import com.inventory.util.PasswordUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Random;
+
+/**
+ * Embedded Database
+ * Creates the schema in an in-memory H2 database (MySQL mode) and seeds it
+ * with a deterministic synthetic catalog.
+ */
+public class EmbeddedDatabase {
+
+    public static final String PASSWORD = "loadtest123";
+
+    static final String[] WORDS = { "wireless", "mouse", "keyboard", "monitor", "cable", "office", "chair",
+            "desk", "lamp", "printer", "paper", "stapler", "notebook", "laptop", "stand", "usb", "hdmi", "router",
+            "switch", "drill", "hammer", "bottle", "coffee", "tea", "marker", "folder", "scanner", "webcam" };
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int CATEGORIES = 20;
+    private static final int SUPPLIERS = 50;
+    private static final String[] STATUSES = { "pending", "received", "cancelled" };
+
+    private final String url;
+    private final Random random = new Random(42);
+
+    public EmbeddedDatabase(String url) {
+        this.url = url;
+    }
+
+    public void createSchema() throws SQLException, IOException {
+        String ddl;
+        try (InputStream in = EmbeddedDatabase.class.getResourceAsStream("/loadtest-schema.sql")) {
+            if (in == null) {
+                throw new IOException("loadtest-schema.sql not found on the classpath");
+            }
+            ddl = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        try (Connection conn = DriverManager.getConnection(url, "sa", "");
+                Statement stmt = conn.createStatement()) {
+            StringBuilder current = new StringBuilder();
+            for (String line : ddl.split("\n")) {
+                if (line.trim().startsWith("--")) {
+                    continue;
+                }
+                current.append(line).append('\n');
+                if (line.trim().endsWith(";")) {
+                    stmt.execute(current.toString().trim().replaceAll(";$", ""));
+                    current.setLength(0);
+                }
+            }
+        }
+    }
+
+    public void seed(int users, int products, int orders, int movements, int bins) throws SQLException {
+        try (Connection conn = DriverManager.getConnection(url, "sa", "")) {
+            conn.setAutoCommit(false);
+            seedUsers(conn, users);
+            seedReferenceData(conn);
+            seedProducts(conn, products);
+            seedOrders(conn, orders, products, users);
+            seedMovements(conn, movements, products, users);
+            seedSpace(conn, bins, products);
+            conn.commit();
+        }
+    }
+
+    private void seedUsers(Connection conn, int users) throws SQLException {
+        // One hash for everyone: hashing is the expensive part of a login, not of seeding
+        String hash = PasswordUtils.hashPassword(PASSWORD);
+        String sql = "INSERT INTO users (username, password, full_name, email, role) VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 1; i <= users; i++) {
+                stmt.setString(1, "user" + i);
+                stmt.setString(2, hash);
+                stmt.setString(3, "Load Test User " + i);
+                stmt.setString(4, "user" + i + "@loadtest.local");
+                stmt.setString(5, i == 1 ? "admin" : "staff");
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private void seedReferenceData(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO categories (name, description) VALUES (?, ?)")) {
+            for (int i = 1; i <= CATEGORIES; i++) {
+                stmt.setString(1, "Category " + i);
+                stmt.setString(2, "Synthetic category " + i);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO suppliers (name, contact_person, email, phone, address) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= SUPPLIERS; i++) {
+                stmt.setString(1, "Supplier " + i);
+                stmt.setString(2, "Contact " + i);
+                stmt.setString(3, "supplier" + i + "@loadtest.local");
+                stmt.setString(4, "+1-555-" + String.format("%04d", i));
+                stmt.setString(5, i + " Warehouse Road");
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private void seedProducts(Connection conn, int products) throws SQLException {
+        String sql = "INSERT INTO products (name, sku, category_id, supplier_id, description, unit_price, " +
+                "quantity_in_stock, reorder_level) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 1; i <= products; i++) {
+                String first = word();
+                String second = word();
+                stmt.setString(1, capitalize(first) + " " + capitalize(second) + " " + i);
+                stmt.setString(2, String.format("LT-%07d", i));
+                stmt.setInt(3, 1 + random.nextInt(CATEGORIES));
+                stmt.setInt(4, 1 + random.nextInt(SUPPLIERS));
+                stmt.setString(5, "Synthetic " + first + " " + second + " for load testing, " + word() + " grade");
+                stmt.setBigDecimal(6, BigDecimal.valueOf(100 + random.nextInt(100000), 2));
+                stmt.setInt(7, random.nextInt(1000));
+                stmt.setInt(8, 10 + random.nextInt(40));
+                stmt.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private void seedOrders(Connection conn, int orders, int products, int users) throws SQLException {
+        if (products == 0) {
+            return;
+        }
+        int year = Year.now().getValue();
+        String orderSql = "INSERT INTO orders (id, order_number, supplier_id, order_date, expected_delivery_date, " +
+                "status, total_amount, user_id, received_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String itemSql = "INSERT INTO order_items (order_id, product_id, quantity, unit_price, subtotal) " +
+                "VALUES (?, ?, ?, ?, ?)";
+
+        try (PreparedStatement orderStmt = conn.prepareStatement(orderSql);
+                PreparedStatement itemStmt = conn.prepareStatement(itemSql)) {
+            for (int i = 1; i <= orders; i++) {
+                LocalDate date = LocalDate.now().minusDays(random.nextInt(365));
+                BigDecimal total = BigDecimal.ZERO;
+                int lines = 1 + random.nextInt(5);
+                for (int line = 0; line < lines; line++) {
+                    int quantity = 1 + random.nextInt(50);
+                    BigDecimal price = BigDecimal.valueOf(100 + random.nextInt(100000), 2);
+                    BigDecimal subtotal = price.multiply(BigDecimal.valueOf(quantity));
+                    total = total.add(subtotal);
+                    itemStmt.setInt(1, i);
+                    itemStmt.setInt(2, 1 + random.nextInt(products));
+                    itemStmt.setInt(3, quantity);
+                    itemStmt.setBigDecimal(4, price);
+                    itemStmt.setBigDecimal(5, subtotal);
+                    itemStmt.addBatch();
+                }
+                orderStmt.setInt(1, i);
+                orderStmt.setString(2, String.format("PO-%d-%03d", year, i));
+                orderStmt.setInt(3, 1 + random.nextInt(SUPPLIERS));
+                orderStmt.setDate(4, Date.valueOf(date));
+                orderStmt.setDate(5, Date.valueOf(date.plusDays(7)));
+                String status = STATUSES[random.nextInt(STATUSES.length)];
+                orderStmt.setString(6, status);
+                orderStmt.setBigDecimal(7, total);
+                orderStmt.setInt(8, 1 + random.nextInt(Math.max(1, users)));
+                orderStmt.setTimestamp(9, "received".equals(status)
+                        ? Timestamp.valueOf(date.plusDays(3 + random.nextInt(12)).atTime(9 + random.nextInt(8), 0))
+                        : null);
+                orderStmt.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    orderStmt.executeBatch();
+                    itemStmt.executeBatch();
+                }
+            }
+            orderStmt.executeBatch();
+            itemStmt.executeBatch();
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ALTER TABLE orders ALTER COLUMN id RESTART WITH " + (orders + 1));
+        }
+    }
+
+    private void seedMovements(Connection conn, int movements, int products, int users) throws SQLException {
+        if (products == 0) {
+            return;
+        }
+        // Spread over the last 90 days so forecasting has demand history
+        String sql = "INSERT INTO stock_movements (product_id, movement_type, quantity, reference_number, notes, user_id, " +
+                "created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        long now = System.currentTimeMillis();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 1; i <= movements; i++) {
+                boolean in = random.nextBoolean();
+                stmt.setInt(1, 1 + random.nextInt(products));
+                stmt.setString(2, in ? "in" : "out");
+                stmt.setInt(3, 1 + random.nextInt(20));
+                stmt.setString(4, "LT-" + i);
+                stmt.setString(5, null);
+                stmt.setInt(6, 1 + random.nextInt(Math.max(1, users)));
+                stmt.setTimestamp(7, new Timestamp(now - (long) (random.nextDouble() * 90 * 86_400_000L)));
+                stmt.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Bins in four zones, unit dimensions for every product, and stock in
+     * about a third of the bins
+     */
+    private void seedSpace(Connection conn, int bins, int products) throws SQLException {
+        String binSql = "INSERT INTO bins (code, zone, aisle, shelf, max_volume_cm3, max_weight_g, max_slots) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(binSql)) {
+            for (int i = 1; i <= bins; i++) {
+                String zone = String.valueOf((char) ('A' + i % 4));
+                int aisle = 1 + i / 400;
+                int shelf = 1 + i % 6;
+                stmt.setString(1, String.format("%s-%03d-%d-%05d", zone, aisle, shelf, i));
+                stmt.setString(2, zone);
+                stmt.setInt(3, aisle);
+                stmt.setInt(4, shelf);
+                stmt.setLong(5, 50_000 + random.nextInt(20) * 25_000L);
+                stmt.setLong(6, 50_000 + random.nextInt(20) * 25_000L);
+                stmt.setInt(7, 1 + random.nextInt(4));
+                stmt.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+        if (products == 0) {
+            return;
+        }
+
+        String dimensionSql = "INSERT INTO product_dimensions (product_id, length_mm, width_mm, height_mm, weight_g) " +
+                "VALUES (?, ?, ?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(dimensionSql)) {
+            for (int i = 1; i <= products; i++) {
+                stmt.setInt(1, i);
+                stmt.setInt(2, 50 + random.nextInt(400));
+                stmt.setInt(3, 30 + random.nextInt(300));
+                stmt.setInt(4, 10 + random.nextInt(200));
+                stmt.setInt(5, 50 + random.nextInt(5000));
+                stmt.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+
+        // One unit each, so no seeded bin is over capacity
+        String stockSql = "INSERT INTO bin_stock (bin_id, product_id, quantity) VALUES (?, ?, 1)";
+        try (PreparedStatement stmt = conn.prepareStatement(stockSql)) {
+            for (int i = 1; i <= bins; i += 3) {
+                stmt.setInt(1, i);
+                stmt.setInt(2, 1 + random.nextInt(products));
+                stmt.addBatch();
+                if (i % (3 * BATCH_SIZE) == 1) {
+                    stmt.executeBatch();
+                }
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,122 @@
+package com.inventory.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latency Recorder
+ * Collects raw latency samples (microseconds) for one operation on one worker
+ * thread; recorders are merged after the run and percentiles are read from
+ * the sorted samples, so no precision is lost to bucketing.
+ */
+public class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+    private long rejected;
+
+    public void record(long micros) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = micros;
+    }
+
+    /**
+     * A request that failed (5xx or I/O error)
+     */
+    public void recordError() {
+        errors++;
+    }
+
+    /**
+     * A request refused by the application (4xx, e.g. 409 insufficient stock or 503 login back-pressure)
+     */
+    public void recordRejected() {
+        rejected++;
+    }
+
+    public void merge(LatencyRecorder other) {
+        if (count + other.count > samples.length) {
+            samples = Arrays.copyOf(samples, Math.max(samples.length * 2, count + other.count));
+        }
+        System.arraycopy(other.samples, 0, samples, count, other.count);
+        count += other.count;
+        errors += other.errors;
+        rejected += other.rejected;
+    }
+
+    public Summary summarize(double seconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        return new Summary(count, errors, rejected, seconds > 0 ? count / seconds : 0,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                count > 0 ? sorted[count - 1] / 1000.0 : 0);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1000.0;
+    }
+
+    /**
+     * Results for one operation; latencies in milliseconds
+     */
+    public static class Summary {
+        private final long requests;
+        private final long errors;
+        private final long rejected;
+        private final double throughput;
+        private final double p50;
+        private final double p99;
+        private final double p999;
+        private final double max;
+
+        public Summary(long requests, long errors, long rejected, double throughput, double p50, double p99,
+                double p999, double max) {
+            this.requests = requests;
+            this.errors = errors;
+            this.rejected = rejected;
+            this.throughput = throughput;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.p999 = p999;
+            this.max = max;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        public double getThroughput() {
+            return throughput;
+        }
+
+        public double getP50() {
+            return p50;
+        }
+
+        public double getP99() {
+            return p99;
+        }
+
+        public double getP999() {
+            return p999;
+        }
+
+        public double getMax() {
+            return max;
+        }
+    }
+}
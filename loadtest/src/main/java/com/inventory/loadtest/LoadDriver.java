@@ -0,0 +1,218 @@
+package com.inventory.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load Driver
+ * Runs a fixed number of closed-loop workers: each picks an operation by
+ * weight, sends it, waits for the response and records the latency, then
+ * immediately sends the next one. Samples taken during warm-up are dropped.
+ */
+public class LoadDriver {
+
+    /**
+     * Operations in the mix
+     */
+    public enum Operation {
+        PRODUCT_READ("productRead"),
+        ORDER_READ("orderRead"),
+        SEARCH("search"),
+        STOCK_UPDATE("stock"),
+        LOGIN("login"),
+        PUTAWAY("putaway"),
+        DASHBOARD("dashboard");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        static Operation fromKey(String key) {
+            for (Operation op : values()) {
+                if (op.key.equalsIgnoreCase(key)) {
+                    return op;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation in mix: " + key);
+        }
+    }
+
+    private final String baseUrl;
+    private final int products;
+    private final int orders;
+    private final int users;
+    private final Operation[] weightedOps;
+    private final HttpClient client;
+
+    public LoadDriver(String baseUrl, String mix, int products, int orders, int users) {
+        this.baseUrl = baseUrl;
+        this.products = Math.max(1, products);
+        this.orders = Math.max(1, orders);
+        this.users = Math.max(1, users);
+        this.weightedOps = parseMix(mix);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * "productRead=40,search=20,..." to a lookup table with one slot per weight unit
+     */
+    static Operation[] parseMix(String mix) {
+        List<Operation> table = new ArrayList<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Bad mix entry (expected name=weight): " + part);
+            }
+            Operation op = Operation.fromKey(kv[0].trim());
+            int weight = Integer.parseInt(kv[1].trim());
+            for (int i = 0; i < weight; i++) {
+                table.add(op);
+            }
+        }
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("Operation mix is empty");
+        }
+        return table.toArray(new Operation[0]);
+    }
+
+    /**
+     * Drive load and return the merged recorders per operation
+     */
+    public Map<Operation, LatencyRecorder> run(int concurrency, long warmupMillis, long durationMillis)
+            throws InterruptedException {
+
+        long start = System.nanoTime();
+        long recordFrom = start + TimeUnit.MILLISECONDS.toNanos(warmupMillis);
+        long stopAt = recordFrom + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Map<Operation, LatencyRecorder>>> results = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            results.add(workers.submit(() -> work(recordFrom, stopAt)));
+        }
+        workers.shutdown();
+
+        Map<Operation, LatencyRecorder> merged = new EnumMap<>(Operation.class);
+        for (Future<Map<Operation, LatencyRecorder>> result : results) {
+            try {
+                for (Map.Entry<Operation, LatencyRecorder> entry : result.get().entrySet()) {
+                    merged.computeIfAbsent(entry.getKey(), k -> new LatencyRecorder()).merge(entry.getValue());
+                }
+            } catch (java.util.concurrent.ExecutionException e) {
+                throw new IllegalStateException("Load worker failed", e.getCause());
+            }
+        }
+        return merged;
+    }
+
+    private Map<Operation, LatencyRecorder> work(long recordFrom, long stopAt) {
+        Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (true) {
+            long sentAt = System.nanoTime();
+            if (sentAt >= stopAt) {
+                return recorders;
+            }
+            Operation op = weightedOps[random.nextInt(weightedOps.length)];
+            int status;
+            try {
+                status = client.send(buildRequest(op, random), HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return recorders;
+            }
+            long elapsed = System.nanoTime() - sentAt;
+
+            if (sentAt >= recordFrom) {
+                LatencyRecorder recorder = recorders.computeIfAbsent(op, k -> new LatencyRecorder());
+                recorder.record(elapsed / 1000);
+                if (status < 0 || status >= 500 && status != 503) {
+                    recorder.recordError();
+                } else if (status >= 400) {
+                    recorder.recordRejected();
+                }
+            }
+        }
+    }
+
+    private HttpRequest buildRequest(Operation op, ThreadLocalRandom random) {
+        switch (op) {
+            case PRODUCT_READ:
+                return get("/products?action=getById&id=" + (1 + random.nextInt(products)));
+            case ORDER_READ:
+                return get("/orders?action=getById&id=" + (1 + random.nextInt(orders)));
+            case SEARCH:
+                String keyword = EmbeddedDatabase.WORDS[random.nextInt(EmbeddedDatabase.WORDS.length)];
+                return get("/products?action=search&limit=20&keyword=" + keyword.substring(0, Math.min(keyword.length(), 3 + random.nextInt(2))));
+            case STOCK_UPDATE:
+                Map<String, String> movement = new LinkedHashMap<>();
+                movement.put("productId", String.valueOf(1 + random.nextInt(products)));
+                movement.put("movementType", random.nextBoolean() ? "in" : "out");
+                movement.put("quantity", String.valueOf(1 + random.nextInt(5)));
+                movement.put("referenceNumber", "LOAD");
+                return post("/stock", movement);
+            case LOGIN:
+                Map<String, String> credentials = new LinkedHashMap<>();
+                credentials.put("username", "user" + (1 + random.nextInt(users)));
+                credentials.put("password", EmbeddedDatabase.PASSWORD);
+                return post("/login", credentials);
+            case PUTAWAY:
+                return get("/space?action=suggest&orderId=" + (1 + random.nextInt(orders)));
+            case DASHBOARD:
+                return get("/dashboard");
+            default:
+                throw new IllegalStateException("Unhandled operation " + op);
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, Map<String, String> form) {
+        StringBuilder body = new StringBuilder();
+        for (Map.Entry<String, String> entry : form.entrySet()) {
+            if (body.length() > 0) {
+                body.append('&');
+            }
+            body.append(URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8)).append('=')
+                    .append(URLEncoder.encode(entry.getValue(), StandardCharsets.UTF_8));
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+}
@@ -0,0 +1,196 @@
+package com.inventory.loadtest;
+
+import com.inventory.filter.AuthTokenFilter;
+import com.inventory.filter.RequestMetricsFilter;
+import com.inventory.servlet.AppContextListener;
+import com.inventory.servlet.DashboardServlet;
+import com.inventory.servlet.ExportServlet;
+import com.inventory.servlet.LoginServlet;
+import com.inventory.servlet.MetricsServlet;
+import com.inventory.servlet.OrderServlet;
+import com.inventory.servlet.ProductImportServlet;
+import com.inventory.servlet.ProductServlet;
+import com.inventory.servlet.SpaceServlet;
+import com.inventory.servlet.StockMovementServlet;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.servlet.FilterHolder;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServlet;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load Test
+ * Starts the product, order, stock, space and login servlets in embedded Jetty
+ * against an in-memory H2 database (MySQL mode) seeded with a synthetic
+ * catalog, drives a weighted mix of requests at fixed concurrency and reports
+ * throughput and p50/p99/p999 latency per operation.
+ *
+ * Settings are system properties (-Dloadtest.products=100000 ...); any
+ * application setting (db.pool.maxSize, cache.product.enabled, ...) can be
+ * overridden the same way.
+ */
+public class LoadTest {
+
+    private static final String CONTEXT_PATH = "/inventory-management";
+    private static final String DB_URL = "jdbc:h2:mem:inventory;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    public static void main(String[] args) throws Exception {
+        int products = Integer.getInteger("loadtest.products", 10000);
+        int orders = Integer.getInteger("loadtest.orders", 2000);
+        int movements = Integer.getInteger("loadtest.movements", 20000);
+        int users = Math.max(1, Integer.getInteger("loadtest.users", 20));
+        int bins = Integer.getInteger("loadtest.bins", 20000);
+        int concurrency = Integer.getInteger("loadtest.concurrency", 32);
+        int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 10);
+        int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 30);
+        String mix = System.getProperty("loadtest.mix", "productRead=40,orderRead=15,search=20,stock=20,login=5");
+        String resultFile = System.getProperty("loadtest.result", "loadtest-result.json");
+
+        // Point the application at the embedded database before any DAO class loads
+        setDefault("db.url", DB_URL);
+        setDefault("db.user", "sa");
+        setDefault("db.password", "");
+        setDefault("db.driver", "org.h2.Driver");
+        // H2 runs every query timeout change as a session SET command, which
+        // MySQL does not; measuring that would misstate the request path
+        setDefault("async.queryTimeout", "false");
+
+        System.out.printf("Seeding %d products, %d orders, %d movements, %d users, %d bins...%n",
+                products, orders, movements, users, bins);
+        long seedStart = System.currentTimeMillis();
+        EmbeddedDatabase database = new EmbeddedDatabase(System.getProperty("db.url"));
+        database.createSchema();
+        database.seed(users, products, orders, movements, bins);
+        System.out.printf("Seeded in %.1fs%n", (System.currentTimeMillis() - seedStart) / 1000.0);
+
+        Server server = startServer(Integer.getInteger("loadtest.port", 0));
+        int port = ((ServerConnector) server.getConnectors()[0]).getLocalPort();
+        String baseUrl = "http://localhost:" + port + CONTEXT_PATH;
+        System.out.println("Servlets listening on " + baseUrl);
+
+        try {
+            System.out.printf("Running %s at concurrency %d: %ds warm-up, %ds measured%n",
+                    mix, concurrency, warmupSeconds, durationSeconds);
+            LoadDriver driver = new LoadDriver(baseUrl, mix, products, orders, users);
+            Map<LoadDriver.Operation, LatencyRecorder> recorders =
+                    driver.run(concurrency, warmupSeconds * 1000L, durationSeconds * 1000L);
+
+            Map<String, LatencyRecorder.Summary> summaries = new LinkedHashMap<>();
+            LatencyRecorder total = new LatencyRecorder();
+            for (Map.Entry<LoadDriver.Operation, LatencyRecorder> entry : recorders.entrySet()) {
+                summaries.put(entry.getKey().getKey(), entry.getValue().summarize(durationSeconds));
+                total.merge(entry.getValue());
+            }
+            summaries.put("total", total.summarize(durationSeconds));
+
+            printReport(summaries);
+            if (Boolean.getBoolean("loadtest.printMetrics")) {
+                System.out.println(fetch(baseUrl + "/metrics"));
+            }
+            writeResult(resultFile, products, orders, movements, users, concurrency, durationSeconds, mix, summaries);
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static Server startServer(int port) throws Exception {
+        Server server = new Server(port);
+        ServletContextHandler context = new ServletContextHandler(ServletContextHandler.SESSIONS);
+        context.setContextPath(CONTEXT_PATH);
+
+        // Registered explicitly: embedded Jetty does not scan @WebServlet annotations
+        context.addEventListener(new AppContextListener());
+        FilterHolder metricsFilter = new FilterHolder(RequestMetricsFilter.class);
+        metricsFilter.setAsyncSupported(true);
+        context.addFilter(metricsFilter, "/*", EnumSet.of(DispatcherType.REQUEST));
+        FilterHolder authFilter = new FilterHolder(AuthTokenFilter.class);
+        authFilter.setAsyncSupported(true);
+        for (String path : new String[] { "/products", "/products/import", "/orders", "/stock", "/space",
+                "/dashboard", "/export" }) {
+            context.addFilter(authFilter, path, EnumSet.of(DispatcherType.REQUEST));
+        }
+        addAsyncServlet(context, ProductServlet.class, "/products");
+        addAsyncServlet(context, OrderServlet.class, "/orders");
+        addAsyncServlet(context, StockMovementServlet.class, "/stock");
+        addAsyncServlet(context, SpaceServlet.class, "/space");
+        addAsyncServlet(context, DashboardServlet.class, "/dashboard");
+        addAsyncServlet(context, LoginServlet.class, "/login");
+        context.addServlet(ProductImportServlet.class, "/products/import");
+        context.addServlet(ExportServlet.class, "/export");
+        context.addServlet(MetricsServlet.class, "/metrics");
+
+        server.setHandler(context);
+        server.start();
+        return server;
+    }
+
+    private static void addAsyncServlet(ServletContextHandler context,
+            Class<? extends HttpServlet> servlet, String path) {
+        ServletHolder holder = new ServletHolder(servlet);
+        holder.setAsyncSupported(true);
+        context.addServlet(holder, path);
+    }
+
+    private static void printReport(Map<String, LatencyRecorder.Summary> summaries) {
+        System.out.println();
+        System.out.printf("%-12s %10s %10s %9s %9s %9s %9s %8s %8s%n",
+                "operation", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "errors", "4xx");
+        for (Map.Entry<String, LatencyRecorder.Summary> entry : summaries.entrySet()) {
+            LatencyRecorder.Summary s = entry.getValue();
+            System.out.printf("%-12s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %8d %8d%n", entry.getKey(),
+                    s.getRequests(), s.getThroughput(), s.getP50(), s.getP99(), s.getP999(), s.getMax(),
+                    s.getErrors(), s.getRejected());
+        }
+        System.out.println();
+    }
+
+    private static void writeResult(String file, int products, int orders, int movements, int users,
+            int concurrency, int durationSeconds, String mix, Map<String, LatencyRecorder.Summary> summaries)
+            throws IOException {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("products", products);
+        config.put("orders", orders);
+        config.put("movements", movements);
+        config.put("users", users);
+        config.put("concurrency", concurrency);
+        config.put("durationSeconds", durationSeconds);
+        config.put("mix", mix);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("config", config);
+        result.put("results", summaries);
+
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (Writer out = new FileWriter(file)) {
+            gson.toJson(result, out);
+        }
+        System.out.println("Results written to " + file);
+    }
+
+    private static String fetch(String url) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        return client.send(HttpRequest.newBuilder(URI.create(url)).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static void setDefault(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+-- H2 (MODE=MySQL) version of sql/schema.sql used by the load-test harness.
+-- Keep the tables and columns in step with sql/schema.sql.
+
+CREATE TABLE users (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    username VARCHAR(50) UNIQUE NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    full_name VARCHAR(100) NOT NULL,
+    email VARCHAR(100) UNIQUE NOT NULL,
+    role ENUM('admin', 'manager', 'staff') DEFAULT 'staff',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE categories (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    name VARCHAR(100) UNIQUE NOT NULL,
+    description TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE suppliers (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    contact_person VARCHAR(100),
+    email VARCHAR(100),
+    phone VARCHAR(20),
+    address TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE products (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    name VARCHAR(200) NOT NULL,
+    sku VARCHAR(50) UNIQUE NOT NULL,
+    category_id INT,
+    supplier_id INT,
+    description TEXT,
+    unit_price DECIMAL(10,2) NOT NULL DEFAULT 0.00,
+    quantity_in_stock INT NOT NULL DEFAULT 0,
+    reorder_level INT DEFAULT 10,
+    image_url VARCHAR(255),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE SET NULL,
+    FOREIGN KEY (supplier_id) REFERENCES suppliers(id) ON DELETE SET NULL
+);
+CREATE INDEX idx_products_name ON products (name);
+CREATE INDEX idx_products_category ON products (category_id);
+CREATE INDEX idx_products_supplier ON products (supplier_id);
+
+CREATE TABLE stock_movements (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    product_id INT NOT NULL,
+    movement_type ENUM('in', 'out', 'adjustment') NOT NULL,
+    quantity INT NOT NULL,
+    reference_number VARCHAR(50),
+    notes TEXT,
+    user_id INT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL
+);
+CREATE INDEX idx_movements_product ON stock_movements (product_id);
+CREATE INDEX idx_movements_date ON stock_movements (created_at);
+
+CREATE TABLE orders (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    order_number VARCHAR(50) UNIQUE NOT NULL,
+    supplier_id INT,
+    order_date DATE NOT NULL,
+    expected_delivery_date DATE,
+    status ENUM('draft', 'pending', 'received', 'cancelled') DEFAULT 'pending',
+    total_amount DECIMAL(10,2) DEFAULT 0.00,
+    user_id INT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    received_at TIMESTAMP NULL,
+    FOREIGN KEY (supplier_id) REFERENCES suppliers(id) ON DELETE SET NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL
+);
+CREATE INDEX idx_orders_status ON orders (status);
+CREATE INDEX idx_orders_date ON orders (order_date);
+
+CREATE TABLE order_items (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    order_id INT NOT NULL,
+    product_id INT NOT NULL,
+    quantity INT NOT NULL,
+    unit_price DECIMAL(10,2) NOT NULL,
+    subtotal DECIMAL(10,2) NOT NULL,
+    FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE,
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+);
+CREATE INDEX idx_order_items_order ON order_items (order_id);
+
+CREATE TABLE order_sequences (
+    seq_year INT PRIMARY KEY,
+    next_value INT NOT NULL
+);
+
+CREATE TABLE bins (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    code VARCHAR(30) UNIQUE NOT NULL,
+    zone VARCHAR(20) NOT NULL,
+    aisle INT NOT NULL DEFAULT 0,
+    shelf INT NOT NULL DEFAULT 0,
+    max_volume_cm3 BIGINT NOT NULL,
+    max_weight_g BIGINT NOT NULL,
+    max_slots INT NOT NULL DEFAULT 1,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX idx_bins_zone ON bins (zone);
+
+CREATE TABLE product_dimensions (
+    product_id INT PRIMARY KEY,
+    length_mm INT NOT NULL,
+    width_mm INT NOT NULL,
+    height_mm INT NOT NULL,
+    weight_g INT NOT NULL,
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+);
+
+CREATE TABLE bin_stock (
+    bin_id INT NOT NULL,
+    product_id INT NOT NULL,
+    quantity INT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (bin_id, product_id),
+    FOREIGN KEY (bin_id) REFERENCES bins(id) ON DELETE CASCADE,
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+);
+CREATE INDEX idx_bin_stock_product ON bin_stock (product_id);
+
+CREATE TABLE product_forecasts (
+    product_id INT PRIMARY KEY,
+    demand_per_day DECIMAL(12,4) NOT NULL,
+    demand_stddev DECIMAL(12,4) NOT NULL,
+    window_days INT NOT NULL,
+    lead_time_days DECIMAL(8,2) NOT NULL,
+    lead_time_stddev DECIMAL(8,2) NOT NULL,
+    lead_time_samples INT NOT NULL DEFAULT 0,
+    safety_stock INT NOT NULL,
+    reorder_point INT NOT NULL,
+    computed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+);
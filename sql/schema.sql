@@ -86,10 +86,11 @@ CREATE TABLE orders (
     supplier_id INT,
     order_date DATE NOT NULL,
     expected_delivery_date DATE,
-    status ENUM('pending', 'received', 'cancelled') DEFAULT 'pending',
+    status ENUM('draft', 'pending', 'received', 'cancelled') DEFAULT 'pending',
     total_amount DECIMAL(10,2) DEFAULT 0.00,
     user_id INT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    received_at TIMESTAMP NULL,
     FOREIGN KEY (supplier_id) REFERENCES suppliers(id) ON DELETE SET NULL,
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL,
     INDEX idx_order_number (order_number),
@@ -111,6 +112,70 @@ CREATE TABLE order_items (
     INDEX idx_product (product_id)
 );
 
+-- 8. Order Number Sequences Table
+-- Next free PO-YYYY-NNN number per year; application nodes reserve blocks from it
+CREATE TABLE order_sequences (
+    seq_year INT PRIMARY KEY,
+    next_value INT NOT NULL
+);
+
+-- 9. Bins Table
+-- Storage locations and their capacity
+CREATE TABLE bins (
+    id INT PRIMARY KEY AUTO_INCREMENT,
+    code VARCHAR(30) UNIQUE NOT NULL,
+    zone VARCHAR(20) NOT NULL,
+    aisle INT NOT NULL DEFAULT 0,
+    shelf INT NOT NULL DEFAULT 0,
+    max_volume_cm3 BIGINT NOT NULL,
+    max_weight_g BIGINT NOT NULL,
+    max_slots INT NOT NULL DEFAULT 1,
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_zone (zone)
+);
+
+-- 10. Product Dimensions Table
+-- Size and weight of one unit, needed to put a product away
+CREATE TABLE product_dimensions (
+    product_id INT PRIMARY KEY,
+    length_mm INT NOT NULL,
+    width_mm INT NOT NULL,
+    height_mm INT NOT NULL,
+    weight_g INT NOT NULL,
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+);
+
+-- 11. Bin Stock Table
+-- Quantity of each product held in each bin
+CREATE TABLE bin_stock (
+    bin_id INT NOT NULL,
+    product_id INT NOT NULL,
+    quantity INT NOT NULL,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (bin_id, product_id),
+    FOREIGN KEY (bin_id) REFERENCES bins(id) ON DELETE CASCADE,
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE,
+    INDEX idx_product (product_id)
+);
+
+-- 12. Product Forecasts Table
+-- Recommended reorder points computed from stock movement and order history;
+-- the low-stock queries use reorder_point instead of products.reorder_level when a row exists
+CREATE TABLE product_forecasts (
+    product_id INT PRIMARY KEY,
+    demand_per_day DECIMAL(12,4) NOT NULL,
+    demand_stddev DECIMAL(12,4) NOT NULL,
+    window_days INT NOT NULL,
+    lead_time_days DECIMAL(8,2) NOT NULL,
+    lead_time_stddev DECIMAL(8,2) NOT NULL,
+    lead_time_samples INT NOT NULL DEFAULT 0,
+    safety_stock INT NOT NULL,
+    reorder_point INT NOT NULL,
+    computed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (product_id) REFERENCES products(id) ON DELETE CASCADE
+);
+
 -- Insert Sample Data
 
 -- Sample Users (password: 'admin123' hashed with BCrypt)
@@ -156,10 +221,13 @@ INSERT INTO stock_movements (product_id, movement_type, quantity, reference_numb
 (5, 'adjustment', -10, 'ADJ-2024-001', 'Damaged items removed', 2);
 
 -- Sample Orders
-INSERT INTO orders (order_number, supplier_id, order_date, expected_delivery_date, status, total_amount, user_id) VALUES
-('PO-2024-001', 1, '2024-11-01', '2024-11-10', 'received', 3499.00, 1),
-('PO-2024-002', 2, '2024-11-15', '2024-11-25', 'received', 1250.00, 1),
-('PO-2024-003', 4, '2024-12-01', '2024-12-15', 'pending', 7999.80, 1);
+INSERT INTO orders (order_number, supplier_id, order_date, expected_delivery_date, status, total_amount, user_id, received_at) VALUES
+('PO-2024-001', 1, '2024-11-01', '2024-11-10', 'received', 3499.00, 1, '2024-11-09 14:30:00'),
+('PO-2024-002', 2, '2024-11-15', '2024-11-25', 'received', 1250.00, 1, '2024-11-26 10:00:00'),
+('PO-2024-003', 4, '2024-12-01', '2024-12-15', 'pending', 7999.80, 1, NULL);
+
+-- Order number sequence continues after the sample orders
+INSERT INTO order_sequences (seq_year, next_value) VALUES (2024, 4);
 
 -- Sample Order Items
 INSERT INTO order_items (order_id, product_id, quantity, unit_price, subtotal) VALUES
@@ -169,9 +237,40 @@ INSERT INTO order_items (order_id, product_id, quantity, unit_price, subtotal) V
 (2, 6, 50, 5.99, 299.50),
 (3, 3, 20, 399.99, 7999.80);
 
+-- Sample Bins (zone A: small parts shelving, zone B: pallet racking)
+INSERT INTO bins (code, zone, aisle, shelf, max_volume_cm3, max_weight_g, max_slots) VALUES
+('A-01-1', 'A', 1, 1, 120000, 50000, 4),
+('A-01-2', 'A', 1, 2, 120000, 50000, 4),
+('A-02-1', 'A', 2, 1, 120000, 50000, 4),
+('A-02-2', 'A', 2, 2, 120000, 50000, 4),
+('B-01-1', 'B', 1, 1, 1500000, 1000000, 1),
+('B-01-2', 'B', 1, 2, 1500000, 1000000, 1),
+('B-02-1', 'B', 2, 1, 1500000, 1000000, 1),
+('B-02-2', 'B', 2, 2, 1500000, 1000000, 1);
+
+-- Sample Product Dimensions
+INSERT INTO product_dimensions (product_id, length_mm, width_mm, height_mm, weight_g) VALUES
+(1, 120, 70, 45, 110),
+(2, 460, 160, 45, 1100),
+(3, 1400, 750, 120, 32000),
+(4, 700, 650, 500, 14000),
+(5, 300, 215, 50, 2500),
+(6, 160, 90, 20, 120),
+(7, 250, 120, 40, 450),
+(8, 340, 130, 35, 750),
+(9, 350, 250, 380, 3200),
+(10, 400, 400, 1050, 16000);
+
+-- Sample Bin Stock
+INSERT INTO bin_stock (bin_id, product_id, quantity) VALUES
+(1, 1, 100),
+(1, 6, 200),
+(2, 5, 40),
+(5, 3, 10);
+
 -- Create Views for Common Queries
 
--- View: Low Stock Products
+-- View: Low Stock Products (forecast reorder point where there is one)
 CREATE VIEW low_stock_products AS
 SELECT 
     p.id,
@@ -179,12 +278,14 @@ SELECT
     p.sku,
     p.quantity_in_stock,
     p.reorder_level,
+    f.reorder_point,
     c.name as category_name,
     s.name as supplier_name
 FROM products p
 LEFT JOIN categories c ON p.category_id = c.id
 LEFT JOIN suppliers s ON p.supplier_id = s.id
-WHERE p.quantity_in_stock <= p.reorder_level;
+LEFT JOIN product_forecasts f ON f.product_id = p.id
+WHERE p.quantity_in_stock <= COALESCE(f.reorder_point, p.reorder_level);
 
 -- View: Product Inventory Summary
 CREATE VIEW product_inventory_summary AS
@@ -199,12 +300,13 @@ SELECT
     s.name as supplier_name,
     CASE 
         WHEN p.quantity_in_stock = 0 THEN 'Out of Stock'
-        WHEN p.quantity_in_stock <= p.reorder_level THEN 'Low Stock'
+        WHEN p.quantity_in_stock <= COALESCE(f.reorder_point, p.reorder_level) THEN 'Low Stock'
         ELSE 'In Stock'
     END as stock_status
 FROM products p
 LEFT JOIN categories c ON p.category_id = c.id
-LEFT JOIN suppliers s ON p.supplier_id = s.id;
+LEFT JOIN suppliers s ON p.supplier_id = s.id
+LEFT JOIN product_forecasts f ON f.product_id = p.id;
 
 -- View: Recent Stock Movements
 CREATE VIEW recent_stock_movements AS
@@ -0,0 +1,63 @@
+package com.inventory.dao;
+
+import com.inventory.model.Order;
+import com.inventory.model.OrderItem;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Async Order Data Access Object
+ * The read operations of OrderDAO as CompletableFutures running on the
+ * DaoExecutor, so independent queries can run at the same time.
+ */
+public class AsyncOrderDAO {
+
+    private final OrderDAO orderDAO;
+    private final DaoExecutor executor;
+
+    public AsyncOrderDAO() {
+        this(new OrderDAO(), DaoExecutor.getInstance());
+    }
+
+    AsyncOrderDAO(OrderDAO orderDAO, DaoExecutor executor) {
+        this.orderDAO = orderDAO;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<List<Order>> getAllOrders() {
+        return executor.supply(orderDAO::getAllOrders);
+    }
+
+    public CompletableFuture<Order> getOrderById(int id) {
+        return executor.supply(() -> orderDAO.getOrderById(id));
+    }
+
+    public CompletableFuture<List<OrderItem>> getOrderItems(int orderId) {
+        return executor.supply(() -> orderDAO.getOrderItems(orderId));
+    }
+
+    public CompletableFuture<List<Order>> getOrdersByStatus(String status) {
+        return executor.supply(() -> orderDAO.getOrdersByStatus(status));
+    }
+
+    public CompletableFuture<List<Order>> getRecentOrders(int limit) {
+        return executor.supply(() -> orderDAO.getRecentOrders(limit));
+    }
+
+    public CompletableFuture<Integer> getTotalOrderCount() {
+        return executor.supply(orderDAO::getTotalOrderCount);
+    }
+
+    public CompletableFuture<BigDecimal> getTotalOrderValue() {
+        return executor.supply(orderDAO::getTotalOrderValue);
+    }
+
+    /**
+     * Order figures from InventoryStats (a query only while it first loads)
+     */
+    public CompletableFuture<InventoryStats.OrderStats> getOrderStats() {
+        return executor.supply(() -> InventoryStats.getInstance().getOrderStats());
+    }
+}
@@ -0,0 +1,66 @@
+package com.inventory.dao;
+
+import com.inventory.model.Product;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Async Product Data Access Object
+ * The read operations of ProductDAO as CompletableFutures running on the
+ * DaoExecutor, so independent queries can run at the same time.
+ */
+public class AsyncProductDAO {
+
+    private final ProductDAO productDAO;
+    private final DaoExecutor executor;
+
+    public AsyncProductDAO() {
+        this(new ProductDAO(), DaoExecutor.getInstance());
+    }
+
+    AsyncProductDAO(ProductDAO productDAO, DaoExecutor executor) {
+        this.productDAO = productDAO;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<List<Product>> getAllProducts() {
+        return executor.supply(productDAO::getAllProducts);
+    }
+
+    public CompletableFuture<Product> getProductById(int id) {
+        return executor.supply(() -> productDAO.getProductById(id));
+    }
+
+    public CompletableFuture<List<Product>> getProductsByIds(List<Integer> ids) {
+        return executor.supply(() -> productDAO.getProductsByIds(ids));
+    }
+
+    public CompletableFuture<List<Product>> searchProducts(String keyword, int limit) {
+        return executor.supply(() -> productDAO.searchProducts(keyword, limit));
+    }
+
+    public CompletableFuture<List<Product>> getLowStockProducts() {
+        return executor.supply(productDAO::getLowStockProducts);
+    }
+
+    public CompletableFuture<List<Product>> getProductsByCategory(int categoryId) {
+        return executor.supply(() -> productDAO.getProductsByCategory(categoryId));
+    }
+
+    public CompletableFuture<Integer> getTotalProductCount() {
+        return executor.supply(productDAO::getTotalProductCount);
+    }
+
+    public CompletableFuture<BigDecimal> getTotalInventoryValue() {
+        return executor.supply(productDAO::getTotalInventoryValue);
+    }
+
+    /**
+     * Product figures from InventoryStats (a query only while it first loads)
+     */
+    public CompletableFuture<InventoryStats.ProductStats> getProductStats() {
+        return executor.supply(() -> InventoryStats.getInstance().getProductStats());
+    }
+}
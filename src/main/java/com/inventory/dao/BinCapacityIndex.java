@@ -0,0 +1,772 @@
+package com.inventory.dao;
+
+import com.inventory.model.Bin;
+import com.inventory.model.BinPlacement;
+import com.inventory.model.OrderItem;
+import com.inventory.model.ProductDimensions;
+import com.inventory.model.PutawayPlan;
+import com.inventory.util.AppConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bin Capacity Index
+ * In-memory free capacity (volume, weight, slots) of every bin, used to plan
+ * putaway without a database round trip per candidate bin.
+ *
+ * Bins that can take another product (active, with a free slot) are kept in
+ * trees ordered by free volume, one for all bins and one per zone, so the
+ * tightest bin with room for a quantity is a ceiling lookup. Bins already
+ * holding a product are found through a product to bins map.
+ *
+ * The index is loaded from MySQL on first use and kept current by BinDAO and
+ * ProductDAO; bin and dimension changes made while it loads are applied
+ * after the load. Changes made directly in the database (or by another
+ * application node) are only picked up after {@link #invalidate()}.
+ */
+public class BinCapacityIndex {
+
+    // Bins looked at past the tightest volume fit when weight rules it out
+    private static final int SCAN_LIMIT = Math.max(1, AppConfig.getInt("space.putaway.scanLimit", 64));
+
+    private static final Unit NO_DIMENSIONS = new Unit(0, 0);
+
+    private static final Comparator<Slot> BY_FREE_VOLUME = (a, b) -> {
+        int byVolume = Long.compare(a.freeVolume(), b.freeVolume());
+        return byVolume != 0 ? byVolume : Integer.compare(a.id, b.id);
+    };
+
+    // Created after BY_FREE_VOLUME, which its trees use
+    private static final BinCapacityIndex INSTANCE = new BinCapacityIndex();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Slot> bins = new HashMap<>();
+    private final Map<Integer, Unit> units = new HashMap<>();
+    private final Map<Integer, Set<Slot>> binsByProduct = new HashMap<>();
+    private final TreeSet<Slot> open = new TreeSet<>(BY_FREE_VOLUME);
+    private final Map<String, TreeSet<Slot>> openByZone = new HashMap<>();
+    private volatile boolean loaded;
+    // Bumped by invalidate(), so a reservation is only given back to the load it was taken from
+    private long generation;
+
+    // Guards loading and pendingChanges, and the changes of loaded
+    private final Object loadState = new Object();
+    private boolean loading;
+    private List<Runnable> pendingChanges = new ArrayList<>();
+
+    public static BinCapacityIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Suggest bins for the lines of an incoming order.
+     *
+     * Lines are handled largest total volume first. Each line first tops up
+     * bins already holding the product, then goes whole into the bin with the
+     * least free volume that still fits it (best fit), and only if no bin
+     * fits the rest is it split, filling the roomiest bin each time. Nothing
+     * is reserved: the plan is worked out against tentative changes that are
+     * undone before returning.
+     *
+     * @param zone only suggest bins in this zone, or null for any zone
+     */
+    public PutawayPlan plan(int orderId, List<OrderItem> items, String zone) throws SQLException {
+        ensureLoaded();
+
+        // Total quantity per product, in line order
+        Map<Integer, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItem item : items) {
+            if (item.getQuantity() > 0) {
+                quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+            }
+        }
+
+        PutawayPlan plan = new PutawayPlan();
+        plan.setOrderId(orderId);
+
+        lock.writeLock().lock();
+        List<BinPlacement> applied = new ArrayList<>();
+        try {
+            List<Line> lines = new ArrayList<>(quantities.size());
+            for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+                Unit unit = units.get(entry.getKey());
+                if (unit == null) {
+                    plan.getUnplaced().add(unplaced(entry.getKey(), entry.getValue(),
+                            "No dimensions recorded for product"));
+                } else {
+                    lines.add(new Line(entry.getKey(), entry.getValue(), unit));
+                }
+            }
+            lines.sort((a, b) -> Long.compare(b.totalVolume(), a.totalVolume()));
+
+            TreeSet<Slot> candidates = zone == null ? open : openByZone.get(zone);
+            for (Line line : lines) {
+                int remaining = line.quantity;
+
+                // 1. Top up bins that already hold the product (no new slot used)
+                Set<Slot> holding = binsByProduct.get(line.productId);
+                if (holding != null) {
+                    List<Slot> topUp = new ArrayList<>(holding.size());
+                    for (Slot slot : holding) {
+                        if (slot.active && (zone == null || zone.equals(slot.zone))) {
+                            topUp.add(slot);
+                        }
+                    }
+                    topUp.sort((a, b) -> Long.compare(fitUnits(b, line.unit), fitUnits(a, line.unit)));
+                    for (Slot slot : topUp) {
+                        if (remaining == 0) {
+                            break;
+                        }
+                        int quantity = (int) Math.min(remaining, fitUnits(slot, line.unit));
+                        if (quantity > 0) {
+                            place(plan, applied, slot, line, quantity);
+                            remaining -= quantity;
+                        }
+                    }
+                }
+
+                while (remaining > 0 && candidates != null && !candidates.isEmpty()) {
+                    // 2. Tightest bin that takes the whole rest
+                    Slot slot = tightestFit(candidates, line.unit, remaining);
+                    if (slot != null) {
+                        place(plan, applied, slot, line, remaining);
+                        remaining = 0;
+                        break;
+                    }
+                    // 3. Split: fill the roomiest bin and go round again
+                    slot = roomiest(candidates, line.unit);
+                    if (slot == null) {
+                        break;
+                    }
+                    int quantity = (int) Math.min(remaining, fitUnits(slot, line.unit));
+                    place(plan, applied, slot, line, quantity);
+                    remaining -= quantity;
+                }
+
+                if (remaining > 0) {
+                    plan.getUnplaced().add(unplaced(line.productId, remaining,
+                            zone == null ? "Not enough free space" : "Not enough free space in zone " + zone));
+                }
+            }
+        } finally {
+            for (int i = applied.size() - 1; i >= 0; i--) {
+                BinPlacement placement = applied.get(i);
+                adjust(bins.get(placement.getBinId()), placement.getProductId(), -placement.getQuantity());
+            }
+            lock.writeLock().unlock();
+        }
+        return plan;
+    }
+
+    /**
+     * Take up capacity for placements that are about to be stored.
+     * Either every placement fits (and all are reserved) or none is reserved.
+     * Fills in binCode and zone of each placement.
+     *
+     * @return the reservation, to hand to release() if storing the placements
+     *         fails or to confirm() once they are stored; null (nothing
+     *         reserved) if a bin is unknown or inactive, or has too little room
+     */
+    public Reservation reserve(List<BinPlacement> placements) throws SQLException {
+        ensureLoaded();
+
+        lock.writeLock().lock();
+        int reserved = 0;
+        try {
+            for (BinPlacement placement : placements) {
+                Slot slot = bins.get(placement.getBinId());
+                if (slot == null || !slot.active || placement.getQuantity() <= 0) {
+                    return null;
+                }
+                int productId = placement.getProductId();
+                if (!slot.contents.containsKey(productId) && slot.contents.size() >= slot.maxSlots) {
+                    return null;
+                }
+                if (fitUnits(slot, units.getOrDefault(productId, NO_DIMENSIONS)) < placement.getQuantity()) {
+                    return null;
+                }
+                adjust(slot, productId, placement.getQuantity());
+                placement.setBinCode(slot.code);
+                placement.setZone(slot.zone);
+                reserved++;
+            }
+            return new Reservation(placements, generation);
+        } finally {
+            if (reserved < placements.size()) {
+                for (int i = reserved - 1; i >= 0; i--) {
+                    BinPlacement placement = placements.get(i);
+                    adjust(bins.get(placement.getBinId()), placement.getProductId(), -placement.getQuantity());
+                }
+            }
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Give back capacity taken by {@link #reserve(List)}, e.g. when storing
+     * failed. If the index has been dropped since, there is nothing to give
+     * back: it is rebuilt from bin_stock, which never had the placements.
+     */
+    public void release(Reservation reservation) {
+        lock.writeLock().lock();
+        try {
+            if (reservation.generation != generation) {
+                return;
+            }
+            for (BinPlacement placement : reservation.placements) {
+                Slot slot = bins.get(placement.getBinId());
+                if (slot != null) {
+                    adjust(slot, placement.getProductId(), -placement.getQuantity());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Called once reserved placements are stored. If the index was dropped
+     * after they were reserved, a load since may have read bin_stock before
+     * they were stored, so the index is dropped again to be rebuilt with them.
+     */
+    public void confirm(Reservation reservation) {
+        lock.writeLock().lock();
+        try {
+            if (reservation.generation != generation) {
+                invalidate();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The current load of the index, taken before quantities are taken out of
+     * bins and handed to {@link #removed(long, List)} once that is stored
+     * @return -1 if the index is not loaded
+     */
+    public long loadVersion() {
+        lock.readLock().lock();
+        try {
+            return loaded ? generation : -1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Give back the room of quantities that have been taken out of bins. If
+     * the index was not loaded at version, or has been dropped since, a load
+     * may have read bin_stock before the change was stored, so the index is
+     * dropped to be rebuilt.
+     */
+    public void removed(long version, List<BinPlacement> placements) {
+        lock.writeLock().lock();
+        try {
+            if (version != generation) {
+                if (loaded) {
+                    invalidate();
+                }
+                return;
+            }
+            for (BinPlacement placement : placements) {
+                Slot slot = bins.get(placement.getBinId());
+                if (slot != null) {
+                    adjust(slot, placement.getProductId(), -placement.getQuantity());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a bin or replace its location and capacity
+     */
+    public void putBin(Bin bin) {
+        if (!loaded && deferOrDrop(() -> putBin(bin))) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Slot slot = bins.get(bin.getId());
+            if (slot == null) {
+                slot = new Slot(bin.getId());
+                bins.put(slot.id, slot);
+            }
+            unindex(slot);
+            slot.code = bin.getCode();
+            slot.zone = bin.getZone();
+            slot.aisle = bin.getAisle();
+            slot.shelf = bin.getShelf();
+            slot.maxVolume = bin.getMaxVolumeCm3();
+            slot.maxWeight = bin.getMaxWeightG();
+            slot.maxSlots = bin.getMaxSlots();
+            slot.active = bin.isActive();
+            index(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Set a product's unit dimensions and re-count the bins holding it
+     */
+    public void putDimensions(ProductDimensions dimensions) {
+        if (!loaded && deferOrDrop(() -> putDimensions(dimensions))) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int productId = dimensions.getProductId();
+            Unit before = units.getOrDefault(productId, NO_DIMENSIONS);
+            Unit after = new Unit(dimensions.unitVolumeCm3(), dimensions.getWeightG());
+            units.put(productId, after);
+            Set<Slot> holding = binsByProduct.get(productId);
+            if (holding == null) {
+                return;
+            }
+            for (Slot slot : holding) {
+                int quantity = slot.contents.get(productId);
+                unindex(slot);
+                slot.usedVolume += quantity * (after.volume - before.volume);
+                slot.usedWeight += quantity * (after.weight - before.weight);
+                index(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forget a deleted product (its bin_stock rows are removed with it)
+     */
+    public void removeProduct(int productId) {
+        if (!loaded && deferOrDrop(() -> removeProduct(productId))) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Set<Slot> holding = binsByProduct.get(productId);
+            if (holding != null) {
+                for (Slot slot : new ArrayList<>(holding)) {
+                    adjust(slot, productId, -slot.contents.get(productId));
+                }
+            }
+            units.remove(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Fill in the used volume, weight and slots of bins read from the database
+     */
+    public void fillUsage(List<Bin> list) throws SQLException {
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            for (Bin bin : list) {
+                Slot slot = bins.get(bin.getId());
+                if (slot != null) {
+                    bin.setUsedVolumeCm3(slot.usedVolume);
+                    bin.setUsedWeightG(slot.usedWeight);
+                    bin.setUsedSlots(slot.contents.size());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Copy of the bins (of one zone, or all when zone is null) and of the unit
+     * dimensions, for batch planning outside the lock
+     */
+    Snapshot snapshot(String zone) throws SQLException {
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            List<Slot> copies = new ArrayList<>();
+            for (Slot slot : bins.values()) {
+                if (zone == null || zone.equals(slot.zone)) {
+                    copies.add(slot.copy());
+                }
+            }
+            return new Snapshot(copies, new HashMap<>(units));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Drop the index; it is rebuilt from MySQL on next use
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            synchronized (loadState) {
+                loaded = false;
+            }
+            generation++;
+            clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed bins
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return bins.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() throws SQLException {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            synchronized (loadState) {
+                loading = true;
+            }
+            long start = System.currentTimeMillis();
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                load(conn);
+            } catch (SQLException | RuntimeException e) {
+                clear();
+                synchronized (loadState) {
+                    loading = false;
+                    pendingChanges = new ArrayList<>();
+                }
+                throw e;
+            }
+            List<Runnable> changes;
+            synchronized (loadState) {
+                loaded = true;
+                loading = false;
+                changes = pendingChanges;
+                pendingChanges = new ArrayList<>();
+            }
+            // Still under the write lock, so no plan sees the index without them
+            for (Runnable change : changes) {
+                change.run();
+            }
+            System.out.println("Bin capacity index built: " + bins.size() + " bins in "
+                    + (System.currentTimeMillis() - start) + " ms");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Called for a change while the index is not loaded. During a load the
+     * change is queued to be applied after it; otherwise there is nothing to
+     * update, as the next load reads the current rows.
+     *
+     * @return false if the index has been loaded meanwhile and the change should be applied now
+     */
+    private boolean deferOrDrop(Runnable change) {
+        synchronized (loadState) {
+            if (loading) {
+                pendingChanges.add(change);
+                return true;
+            }
+            return !loaded;
+        }
+    }
+
+    private void load(Connection conn) throws SQLException {
+        String binSql = "SELECT id, code, zone, aisle, shelf, max_volume_cm3, max_weight_g, max_slots, active " +
+                "FROM bins";
+        try (PreparedStatement stmt = conn.prepareStatement(binSql);
+                ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                Slot slot = new Slot(rs.getInt("id"));
+                slot.code = rs.getString("code");
+                slot.zone = rs.getString("zone");
+                slot.aisle = rs.getInt("aisle");
+                slot.shelf = rs.getInt("shelf");
+                slot.maxVolume = rs.getLong("max_volume_cm3");
+                slot.maxWeight = rs.getLong("max_weight_g");
+                slot.maxSlots = rs.getInt("max_slots");
+                slot.active = rs.getBoolean("active");
+                bins.put(slot.id, slot);
+            }
+        }
+
+        String dimensionSql = "SELECT product_id, length_mm, width_mm, height_mm, weight_g FROM product_dimensions";
+        try (PreparedStatement stmt = conn.prepareStatement(dimensionSql);
+                ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                ProductDimensions dimensions = new ProductDimensions(rs.getInt("product_id"),
+                        rs.getInt("length_mm"), rs.getInt("width_mm"), rs.getInt("height_mm"), rs.getInt("weight_g"));
+                units.put(dimensions.getProductId(), new Unit(dimensions.unitVolumeCm3(), dimensions.getWeightG()));
+            }
+        }
+
+        String stockSql = "SELECT bin_id, product_id, quantity FROM bin_stock WHERE quantity > 0";
+        try (PreparedStatement stmt = conn.prepareStatement(stockSql);
+                ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                Slot slot = bins.get(rs.getInt("bin_id"));
+                if (slot != null) {
+                    int productId = rs.getInt("product_id");
+                    int quantity = rs.getInt("quantity");
+                    Unit unit = units.getOrDefault(productId, NO_DIMENSIONS);
+                    slot.contents.merge(productId, quantity, Integer::sum);
+                    slot.usedVolume += quantity * unit.volume;
+                    slot.usedWeight += quantity * unit.weight;
+                    binsByProduct.computeIfAbsent(productId, k -> new LinkedHashSet<>()).add(slot);
+                }
+            }
+        }
+
+        for (Slot slot : bins.values()) {
+            index(slot);
+        }
+    }
+
+    private void clear() {
+        bins.clear();
+        units.clear();
+        binsByProduct.clear();
+        open.clear();
+        openByZone.clear();
+    }
+
+    /**
+     * Bin with the least free volume that holds quantity units, checking weight
+     * and slots for at most SCAN_LIMIT bins past the volume fit
+     */
+    private Slot tightestFit(TreeSet<Slot> candidates, Unit unit, int quantity) {
+        Slot probe = new Slot(Integer.MIN_VALUE);
+        probe.maxVolume = quantity * unit.volume;
+
+        Iterator<Slot> it = candidates.tailSet(probe, true).iterator();
+        for (int scanned = 0; scanned < SCAN_LIMIT && it.hasNext(); scanned++) {
+            Slot slot = it.next();
+            if (fitUnits(slot, unit) >= quantity) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Among the SCAN_LIMIT bins with the most free volume, the one that holds
+     * the most units, or null if none holds even one
+     */
+    private Slot roomiest(TreeSet<Slot> candidates, Unit unit) {
+        Slot best = null;
+        long bestUnits = 0;
+        Iterator<Slot> it = candidates.descendingIterator();
+        for (int scanned = 0; scanned < SCAN_LIMIT && it.hasNext(); scanned++) {
+            Slot slot = it.next();
+            long fit = fitUnits(slot, unit);
+            if (fit > bestUnits) {
+                best = slot;
+                bestUnits = fit;
+            }
+        }
+        return best;
+    }
+
+    private static long fitUnits(Slot slot, Unit unit) {
+        long byVolume = unit.volume > 0 ? slot.freeVolume() / unit.volume : Integer.MAX_VALUE;
+        long byWeight = unit.weight > 0 ? slot.freeWeight() / unit.weight : Integer.MAX_VALUE;
+        return Math.max(0, Math.min(byVolume, byWeight));
+    }
+
+    private void place(PutawayPlan plan, List<BinPlacement> applied, Slot slot, Line line, int quantity) {
+        adjust(slot, line.productId, quantity);
+        BinPlacement placement = new BinPlacement(slot.id, line.productId, quantity);
+        placement.setBinCode(slot.code);
+        placement.setZone(slot.zone);
+        plan.getPlacements().add(placement);
+        applied.add(placement);
+    }
+
+    private static BinPlacement unplaced(int productId, int quantity, String reason) {
+        BinPlacement placement = new BinPlacement(0, productId, quantity);
+        placement.setReason(reason);
+        return placement;
+    }
+
+    /**
+     * Change the quantity of a product in a bin, keeping the used capacity,
+     * product map and free-volume trees in step
+     */
+    private void adjust(Slot slot, int productId, int delta) {
+        Unit unit = units.getOrDefault(productId, NO_DIMENSIONS);
+        int before = slot.contents.getOrDefault(productId, 0);
+        int after = Math.max(0, before + delta);
+
+        unindex(slot);
+        if (after == 0) {
+            slot.contents.remove(productId);
+            Set<Slot> holding = binsByProduct.get(productId);
+            if (holding != null) {
+                holding.remove(slot);
+                if (holding.isEmpty()) {
+                    binsByProduct.remove(productId);
+                }
+            }
+        } else {
+            slot.contents.put(productId, after);
+            if (before == 0) {
+                binsByProduct.computeIfAbsent(productId, k -> new LinkedHashSet<>()).add(slot);
+            }
+        }
+        slot.usedVolume += (after - before) * unit.volume;
+        slot.usedWeight += (after - before) * unit.weight;
+        index(slot);
+    }
+
+    private void index(Slot slot) {
+        if (slot.active && slot.contents.size() < slot.maxSlots) {
+            open.add(slot);
+            openByZone.computeIfAbsent(slot.zone, k -> new TreeSet<>(BY_FREE_VOLUME)).add(slot);
+            slot.indexed = true;
+        }
+    }
+
+    private void unindex(Slot slot) {
+        if (slot.indexed) {
+            open.remove(slot);
+            TreeSet<Slot> zone = openByZone.get(slot.zone);
+            if (zone != null) {
+                zone.remove(slot);
+            }
+            slot.indexed = false;
+        }
+    }
+
+    /**
+     * A bin's capacity and contents. Only changed while unindexed, since the
+     * trees order by free volume.
+     */
+    static final class Slot {
+        final int id;
+        String code;
+        String zone;
+        int aisle;
+        int shelf;
+        long maxVolume;
+        long maxWeight;
+        int maxSlots;
+        boolean active;
+        long usedVolume;
+        long usedWeight;
+        final Map<Integer, Integer> contents = new HashMap<>(4);
+        boolean indexed;
+
+        Slot(int id) {
+            this.id = id;
+        }
+
+        long freeVolume() {
+            return maxVolume - usedVolume;
+        }
+
+        long freeWeight() {
+            return maxWeight - usedWeight;
+        }
+
+        Slot copy() {
+            Slot copy = new Slot(id);
+            copy.code = code;
+            copy.zone = zone;
+            copy.aisle = aisle;
+            copy.shelf = shelf;
+            copy.maxVolume = maxVolume;
+            copy.maxWeight = maxWeight;
+            copy.maxSlots = maxSlots;
+            copy.active = active;
+            copy.usedVolume = usedVolume;
+            copy.usedWeight = usedWeight;
+            copy.contents.putAll(contents);
+            return copy;
+        }
+    }
+
+    /**
+     * Bins and unit dimensions copied out of the index
+     */
+    static final class Snapshot {
+        final List<Slot> bins;
+        final Map<Integer, Unit> units;
+
+        Snapshot(List<Slot> bins, Map<Integer, Unit> units) {
+            this.bins = bins;
+            this.units = units;
+        }
+    }
+
+    /**
+     * Capacity taken by reserve(), and the load of the index it was taken from
+     */
+    public static final class Reservation {
+        private final List<BinPlacement> placements;
+        private final long generation;
+
+        Reservation(List<BinPlacement> placements, long generation) {
+            this.placements = placements;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Volume (cm3) and weight (g) of one unit of a product
+     */
+    static final class Unit {
+        final long volume;
+        final long weight;
+
+        Unit(long volume, long weight) {
+            this.volume = volume;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Line {
+        final int productId;
+        final int quantity;
+        final Unit unit;
+
+        Line(int productId, int quantity, Unit unit) {
+            this.productId = productId;
+            this.quantity = quantity;
+            this.unit = unit;
+        }
+
+        long totalVolume() {
+            return quantity * unit.volume;
+        }
+    }
+}
@@ -0,0 +1,443 @@
+package com.inventory.dao;
+
+import com.inventory.model.Bin;
+import com.inventory.model.BinPlacement;
+import com.inventory.model.BinStock;
+import com.inventory.model.OrderItem;
+import com.inventory.model.ProductDimensions;
+import com.inventory.model.PutawayPlan;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Bin Data Access Object
+ * Handles bins, product dimensions and bin stock, and plans putaway through
+ * BinCapacityIndex.
+ *
+ * Putaway, picks and moves record where goods are stored; they do not
+ * change products.quantity_in_stock (that is done by stock movements).
+ */
+public class BinDAO {
+
+    /**
+     * Get all bins, or the bins of one zone, with their used capacity
+     */
+    public List<Bin> getAllBins(String zone) throws SQLException {
+        List<Bin> bins = new ArrayList<>();
+        String sql = zone == null
+                ? "SELECT * FROM bins ORDER BY code ASC"
+                : "SELECT * FROM bins WHERE zone = ? ORDER BY code ASC";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            if (zone != null) {
+                stmt.setString(1, zone);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    bins.add(extractBinFromResultSet(rs));
+                }
+            }
+        }
+        BinCapacityIndex.getInstance().fillUsage(bins);
+        return bins;
+    }
+
+    /**
+     * Get bin by ID, with its used capacity
+     */
+    public Bin getBinById(int id) throws SQLException {
+        String sql = "SELECT * FROM bins WHERE id = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    Bin bin = extractBinFromResultSet(rs);
+                    BinCapacityIndex.getInstance().fillUsage(Collections.singletonList(bin));
+                    return bin;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Add new bin
+     */
+    public boolean addBin(Bin bin) throws SQLException {
+        validate(bin);
+        String sql = "INSERT INTO bins (code, zone, aisle, shelf, max_volume_cm3, max_weight_g, max_slots, active) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+            setBinParameters(stmt, bin);
+
+            int affectedRows = stmt.executeUpdate();
+            if (affectedRows > 0) {
+                try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        bin.setId(generatedKeys.getInt(1));
+                    }
+                }
+                BinCapacityIndex.getInstance().putBin(bin);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Update bin location and capacity. Lowering capacity below what the bin
+     * holds is allowed; the bin just takes nothing more until it is emptied.
+     */
+    public boolean updateBin(Bin bin) throws SQLException {
+        validate(bin);
+        String sql = "UPDATE bins SET code = ?, zone = ?, aisle = ?, shelf = ?, max_volume_cm3 = ?, " +
+                "max_weight_g = ?, max_slots = ?, active = ? WHERE id = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            setBinParameters(stmt, bin);
+            stmt.setInt(9, bin.getId());
+
+            boolean updated = stmt.executeUpdate() > 0;
+            if (updated) {
+                BinCapacityIndex.getInstance().putBin(bin);
+            }
+            return updated;
+        }
+    }
+
+    /**
+     * Get the unit dimensions of a product, or null if none are recorded
+     */
+    public ProductDimensions getDimensions(int productId) throws SQLException {
+        String sql = "SELECT * FROM product_dimensions WHERE product_id = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, productId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return new ProductDimensions(rs.getInt("product_id"), rs.getInt("length_mm"),
+                            rs.getInt("width_mm"), rs.getInt("height_mm"), rs.getInt("weight_g"));
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Add or replace the unit dimensions of a product
+     */
+    public boolean saveDimensions(ProductDimensions dimensions) throws SQLException {
+        if (dimensions.getLengthMm() <= 0 || dimensions.getWidthMm() <= 0 || dimensions.getHeightMm() <= 0
+                || dimensions.getWeightG() < 0) {
+            throw new IllegalArgumentException("Length, width and height must be positive and weight not negative");
+        }
+        String sql = "INSERT INTO product_dimensions (product_id, length_mm, width_mm, height_mm, weight_g) " +
+                "VALUES (?, ?, ?, ?, ?)" + DatabaseConnection.upsertRowAlias() + " ON DUPLICATE KEY UPDATE " +
+                "length_mm = " + DatabaseConnection.insertedValue("length_mm") + ", " +
+                "width_mm = " + DatabaseConnection.insertedValue("width_mm") + ", " +
+                "height_mm = " + DatabaseConnection.insertedValue("height_mm") + ", " +
+                "weight_g = " + DatabaseConnection.insertedValue("weight_g");
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, dimensions.getProductId());
+            stmt.setInt(2, dimensions.getLengthMm());
+            stmt.setInt(3, dimensions.getWidthMm());
+            stmt.setInt(4, dimensions.getHeightMm());
+            stmt.setInt(5, dimensions.getWeightG());
+
+            boolean saved = stmt.executeUpdate() > 0;
+            if (saved) {
+                BinCapacityIndex.getInstance().putDimensions(dimensions);
+            }
+            return saved;
+        }
+    }
+
+    /**
+     * Get what a bin holds
+     */
+    public List<BinStock> getBinContents(int binId) throws SQLException {
+        return getBinStock("bs.bin_id = ?", binId, "p.name ASC");
+    }
+
+    /**
+     * Get the bins a product is stored in
+     */
+    public List<BinStock> getProductLocations(int productId) throws SQLException {
+        return getBinStock("bs.product_id = ?", productId, "b.code ASC");
+    }
+
+    private List<BinStock> getBinStock(String where, int id, String orderBy) throws SQLException {
+        List<BinStock> stock = new ArrayList<>();
+        String sql = "SELECT bs.*, b.code as bin_code, p.name as product_name, p.sku as product_sku " +
+                "FROM bin_stock bs " +
+                "JOIN bins b ON bs.bin_id = b.id " +
+                "JOIN products p ON bs.product_id = p.id " +
+                "WHERE " + where + " AND bs.quantity > 0 " +
+                "ORDER BY " + orderBy;
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, id);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    BinStock row = new BinStock(rs.getInt("bin_id"), rs.getInt("product_id"), rs.getInt("quantity"));
+                    row.setUpdatedAt(rs.getTimestamp("updated_at"));
+                    row.setBinCode(rs.getString("bin_code"));
+                    row.setProductName(rs.getString("product_name"));
+                    row.setProductSku(rs.getString("product_sku"));
+                    stock.add(row);
+                }
+            }
+        }
+        return stock;
+    }
+
+    /**
+     * Suggest bins for the lines of an order
+     * @param zone only suggest bins in this zone, or null for any zone
+     * @return null if the order does not exist
+     */
+    public PutawayPlan suggestPutaway(int orderId, String zone) throws SQLException {
+        if (new OrderDAO().getOrderById(orderId) == null) {
+            return null;
+        }
+        List<OrderItem> items = new OrderDAO().getOrderItems(orderId);
+        return BinCapacityIndex.getInstance().plan(orderId, items, zone);
+    }
+
+    /**
+     * Suggest bins for a quantity of one product
+     */
+    public PutawayPlan suggestPutaway(int productId, int quantity, String zone) throws SQLException {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        OrderItem line = new OrderItem(productId, quantity, null);
+        return BinCapacityIndex.getInstance().plan(0, Collections.singletonList(line), zone);
+    }
+
+    /**
+     * Store quantities in bins, all-or-nothing. Capacity is reserved in the
+     * index first, so two concurrent putaways cannot both take the last room
+     * in a bin.
+     * @return false (nothing stored) if any placement no longer fits its bin
+     */
+    public boolean recordPutaway(List<BinPlacement> placements) throws SQLException {
+        if (placements.isEmpty()) {
+            return true;
+        }
+        for (BinPlacement placement : placements) {
+            if (placement.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive");
+            }
+        }
+
+        BinCapacityIndex index = BinCapacityIndex.getInstance();
+        BinCapacityIndex.Reservation reservation = index.reserve(placements);
+        if (reservation == null) {
+            return false;
+        }
+
+        boolean stored = false;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                storeInBins(conn, placements);
+                conn.commit();
+                stored = true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } finally {
+            if (stored) {
+                index.confirm(reservation);
+            } else {
+                index.release(reservation);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Take quantities out of bins (picking, write-offs), all-or-nothing. A
+     * bin's quantity never goes below zero, and the room freed is given back
+     * to the capacity index once the change is stored.
+     * @return false (nothing taken) if a bin holds less of a product than asked
+     */
+    public boolean recordPick(List<BinPlacement> placements) throws SQLException {
+        if (placements.isEmpty()) {
+            return true;
+        }
+        for (BinPlacement placement : placements) {
+            if (placement.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive");
+            }
+        }
+
+        BinCapacityIndex index = BinCapacityIndex.getInstance();
+        long version = index.loadVersion();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                if (!takeFromBins(conn, placements)) {
+                    conn.rollback();
+                    return false;
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        index.removed(version, placements);
+        return true;
+    }
+
+    /**
+     * Move a quantity of a product from one bin to another in one transaction
+     * (e.g. a slotting move). Room in the destination is reserved first, as
+     * for putaway.
+     * @return false (nothing moved) if the source holds less than quantity, or
+     *         the destination is unknown, inactive or too full
+     */
+    public boolean moveStock(int fromBinId, int toBinId, int productId, int quantity) throws SQLException {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("Quantity must be positive");
+        }
+        if (fromBinId == toBinId) {
+            throw new IllegalArgumentException("Source and destination bins must differ");
+        }
+        List<BinPlacement> taken = Collections.singletonList(new BinPlacement(fromBinId, productId, quantity));
+        List<BinPlacement> stored = Collections.singletonList(new BinPlacement(toBinId, productId, quantity));
+
+        BinCapacityIndex index = BinCapacityIndex.getInstance();
+        BinCapacityIndex.Reservation reservation = index.reserve(stored);
+        if (reservation == null) {
+            return false;
+        }
+        long version = index.loadVersion();
+
+        boolean moved = false;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                if (takeFromBins(conn, taken)) {
+                    storeInBins(conn, stored);
+                    conn.commit();
+                    moved = true;
+                } else {
+                    conn.rollback();
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } finally {
+            if (moved) {
+                index.confirm(reservation);
+            } else {
+                index.release(reservation);
+            }
+        }
+        if (moved) {
+            index.removed(version, taken);
+        }
+        return moved;
+    }
+
+    private void storeInBins(Connection conn, List<BinPlacement> placements) throws SQLException {
+        String sql = "INSERT INTO bin_stock (bin_id, product_id, quantity) VALUES (?, ?, ?)" +
+                DatabaseConnection.upsertRowAlias() + " ON DUPLICATE KEY UPDATE quantity = quantity + " +
+                DatabaseConnection.insertedValue("quantity");
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (BinPlacement placement : placements) {
+                stmt.setInt(1, placement.getBinId());
+                stmt.setInt(2, placement.getProductId());
+                stmt.setInt(3, placement.getQuantity());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * @return false, leaving the caller to roll back, if a bin holds less of a
+     *         product than asked
+     */
+    private boolean takeFromBins(Connection conn, List<BinPlacement> placements) throws SQLException {
+        String sql = "UPDATE bin_stock SET quantity = quantity - ? " +
+                "WHERE bin_id = ? AND product_id = ? AND quantity >= ?";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (BinPlacement placement : placements) {
+                stmt.setInt(1, placement.getQuantity());
+                stmt.setInt(2, placement.getBinId());
+                stmt.setInt(3, placement.getProductId());
+                stmt.setInt(4, placement.getQuantity());
+                if (stmt.executeUpdate() == 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void validate(Bin bin) {
+        if (bin.getCode() == null || bin.getCode().trim().isEmpty()
+                || bin.getZone() == null || bin.getZone().trim().isEmpty()) {
+            throw new IllegalArgumentException("Bin code and zone are required");
+        }
+        if (bin.getMaxVolumeCm3() <= 0 || bin.getMaxWeightG() <= 0 || bin.getMaxSlots() <= 0) {
+            throw new IllegalArgumentException("Bin volume, weight and slots must be positive");
+        }
+    }
+
+    private void setBinParameters(PreparedStatement stmt, Bin bin) throws SQLException {
+        stmt.setString(1, bin.getCode());
+        stmt.setString(2, bin.getZone());
+        stmt.setInt(3, bin.getAisle());
+        stmt.setInt(4, bin.getShelf());
+        stmt.setLong(5, bin.getMaxVolumeCm3());
+        stmt.setLong(6, bin.getMaxWeightG());
+        stmt.setInt(7, bin.getMaxSlots());
+        stmt.setBoolean(8, bin.isActive());
+    }
+
+    /**
+     * Extract Bin object from ResultSet
+     */
+    private Bin extractBinFromResultSet(ResultSet rs) throws SQLException {
+        Bin bin = new Bin();
+        bin.setId(rs.getInt("id"));
+        bin.setCode(rs.getString("code"));
+        bin.setZone(rs.getString("zone"));
+        bin.setAisle(rs.getInt("aisle"));
+        bin.setShelf(rs.getInt("shelf"));
+        bin.setMaxVolumeCm3(rs.getLong("max_volume_cm3"));
+        bin.setMaxWeightG(rs.getLong("max_weight_g"));
+        bin.setMaxSlots(rs.getInt("max_slots"));
+        bin.setActive(rs.getBoolean("active"));
+        bin.setCreatedAt(rs.getTimestamp("created_at"));
+        return bin;
+    }
+}
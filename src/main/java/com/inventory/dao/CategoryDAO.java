@@ -3,6 +3,7 @@ package com.inventory.dao;
 import com.inventory.model.Category;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -11,10 +12,18 @@ import java.util.List;
  */
 public class CategoryDAO {
 
+    // Tables whose changes start a new coalesced read (see ReadCoalescer)
+    private static final TableVersions.Table[] CATEGORY_TABLE = { TableVersions.Table.CATEGORIES };
+
     /**
      * Get all categories
      */
     public List<Category> getAllCategories() throws SQLException {
+        return ReadCoalescer.getInstance().read("categories.all", CATEGORY_TABLE,
+                () -> Collections.unmodifiableList(loadAllCategories()));
+    }
+
+    private List<Category> loadAllCategories() throws SQLException {
         List<Category> categories = new ArrayList<>();
         String sql = "SELECT * FROM categories ORDER BY name ASC";
 
@@ -86,6 +95,7 @@ public class CategoryDAO {
                         category.setId(generatedKeys.getInt(1));
                     }
                 }
+                TableVersions.getInstance().bump(TableVersions.Table.CATEGORIES);
                 return true;
             }
         }
@@ -105,7 +115,12 @@ public class CategoryDAO {
             stmt.setString(2, category.getDescription());
             stmt.setInt(3, category.getId());
 
-            return stmt.executeUpdate() > 0;
+            boolean updated = stmt.executeUpdate() > 0;
+            if (updated) {
+                ProductCache.getInstance().invalidateCategory(category.getId());
+                TableVersions.getInstance().bump(TableVersions.Table.CATEGORIES);
+            }
+            return updated;
         }
     }
 
@@ -119,7 +134,12 @@ public class CategoryDAO {
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+            boolean deleted = stmt.executeUpdate() > 0;
+            if (deleted) {
+                ProductCache.getInstance().invalidateCategory(id);
+                TableVersions.getInstance().bump(TableVersions.Table.CATEGORIES);
+            }
+            return deleted;
         }
     }
 
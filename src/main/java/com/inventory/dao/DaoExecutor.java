@@ -0,0 +1,126 @@
+package com.inventory.dao;
+
+import com.inventory.util.AppConfig;
+import com.inventory.util.RequestDeadline;
+
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DAO Executor
+ * Runs the queries behind AsyncProductDAO and AsyncOrderDAO so a caller can
+ * start several at once and wait for the slowest instead of the sum.
+ *
+ * The pool has as many threads as the connection pool has connections
+ * (dao.async.threads, default db.pool.maxSize): more could only wait for a
+ * connection. Up to dao.async.queueSize queries wait for a thread; past that
+ * the returned future fails at once with a RejectedExecutionException.
+ *
+ * Queries keep the RequestDeadline of the thread that started them. Tasks
+ * must not wait on other futures from this executor, or a full pool could
+ * wait on itself.
+ */
+public class DaoExecutor {
+
+    private static final DaoExecutor INSTANCE = new DaoExecutor(
+            AppConfig.getInt("dao.async.threads", AppConfig.getInt("db.pool.maxSize", 20)),
+            AppConfig.getInt("dao.async.queueSize", 256));
+
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * One DAO call
+     */
+    public interface Query<T> {
+        T run() throws SQLException;
+    }
+
+    public static DaoExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    DaoExecutor(int threads, int queueSize) {
+        int poolSize = Math.max(1, threads);
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)), r -> {
+                    Thread t = new Thread(r, "dao-async-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Start a query on the pool
+     * @return its result; an SQLException surfaces as the CompletionException's cause
+     */
+    public <T> CompletableFuture<T> supply(Query<T> query) {
+        Long deadline = RequestDeadline.current();
+        try {
+            CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+                if (deadline != null) {
+                    RequestDeadline.set(deadline);
+                }
+                try {
+                    return query.run();
+                } catch (SQLException e) {
+                    failed.increment();
+                    throw new CompletionException(e);
+                } finally {
+                    RequestDeadline.clear();
+                }
+            }, executor);
+            submitted.increment();
+            return future;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            CompletableFuture<T> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+    }
+
+    public int getActiveThreads() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
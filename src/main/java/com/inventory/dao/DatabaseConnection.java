@@ -1,43 +1,97 @@
 package com.inventory.dao;
 
+import com.inventory.util.AppConfig;
+import com.inventory.util.RequestDeadline;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.Statement;
 
 /**
  * Database Connection Manager
- * Handles MySQL database connections
+ * Hands out MySQL connections from a bounded connection pool.
+ * Pool settings are read from inventory.properties (see AppConfig).
+ * Connections are instrumented (see QueryMetrics) unless db.instrumentation.enabled=false.
  */
 public class DatabaseConnection {
-    // Database credentials - CHANGE THESE ACCORDING TO YOUR SETUP
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/inventory_management";
-    private static final String DB_USER = "root";
-    private static final String DB_PASSWORD = "root@123"; 
-    private static final String DB_DRIVER = "com.mysql.cj.jdbc.Driver";
-
-    // Static block to load the JDBC driver
-    static {
-        try {
-            Class.forName(DB_DRIVER);
-            System.out.println("MySQL JDBC Driver loaded successfully!");
-        } catch (ClassNotFoundException e) {
-            System.err.println("Failed to load MySQL JDBC Driver!");
-            e.printStackTrace();
+
+    private static final String DB_URL = AppConfig.get("db.url",
+            "jdbc:mysql://localhost:3306/inventory_management");
+    private static final String DB_USER = AppConfig.get("db.user", "root");
+    private static final String DB_PASSWORD = AppConfig.get("db.password", "");
+    private static final String DB_DRIVER = AppConfig.get("db.driver", "com.mysql.cj.jdbc.Driver");
+
+    // Per-query timing and row counts (QueryMetrics) on every connection handed out
+    private static final boolean INSTRUMENTATION_ENABLED = AppConfig.getBoolean("db.instrumentation.enabled", true);
+
+    // Fetch size used for streaming on drivers that honour a positive fetch size
+    private static final int STREAMING_FETCH_SIZE = 500;
+
+    private static volatile HikariDataSource dataSource;
+
+    /**
+     * Lazily create the pool on first use
+     */
+    private static HikariDataSource getDataSource() {
+        HikariDataSource ds = dataSource;
+        if (ds == null) {
+            synchronized (DatabaseConnection.class) {
+                ds = dataSource;
+                if (ds == null) {
+                    ds = createDataSource();
+                    dataSource = ds;
+                }
+            }
         }
+        return ds;
+    }
+
+    private static HikariDataSource createDataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("inventory-pool");
+        config.setDriverClassName(DB_DRIVER);
+        config.setJdbcUrl(DB_URL);
+        config.setUsername(DB_USER);
+        config.setPassword(DB_PASSWORD);
+        config.setMaximumPoolSize(AppConfig.getInt("db.pool.maxSize", 20));
+        config.setMinimumIdle(AppConfig.getInt("db.pool.minIdle", 2));
+        config.setIdleTimeout(AppConfig.getLong("db.pool.idleTimeoutMs", 600000));
+        config.setMaxLifetime(AppConfig.getLong("db.pool.maxLifetimeMs", 1800000));
+        config.setConnectionTimeout(AppConfig.getLong("db.pool.connectionTimeoutMs", 30000));
+        config.setValidationTimeout(AppConfig.getLong("db.pool.validationTimeoutMs", 5000));
+        config.setLeakDetectionThreshold(AppConfig.getLong("db.pool.leakDetectionThresholdMs", 60000));
+        config.setRegisterMbeans(true);
+
+        // Let the pool start even if MySQL is down; getConnection() reports the failure
+        config.setInitializationFailTimeout(-1);
+
+        System.out.println("Initializing connection pool for " + DB_URL
+                + " (max " + config.getMaximumPoolSize() + " connections)");
+        return new HikariDataSource(config);
     }
 
     /**
-     * Get a new database connection
+     * Borrow a connection from the pool. Closing it returns it to the pool.
      * @return Connection object
-     * @throws SQLException if connection fails
+     * @throws SQLException if no connection could be obtained, or the current
+     *         request's deadline has already passed
      */
     public static Connection getConnection() throws SQLException {
+        RequestDeadline.check();
         try {
-            Connection conn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-            System.out.println("Database connection established successfully!");
-            return conn;
+            if (!INSTRUMENTATION_ENABLED) {
+                return getDataSource().getConnection();
+            }
+            QueryMetrics metrics = QueryMetrics.getInstance();
+            long start = System.nanoTime();
+            Connection conn = getDataSource().getConnection();
+            metrics.recordAcquire(System.nanoTime() - start);
+            return InstrumentedJdbc.wrap(conn, metrics);
         } catch (SQLException e) {
-            System.err.println("Failed to establish database connection!");
+            System.err.println("Failed to obtain database connection!");
             System.err.println("URL: " + DB_URL);
             System.err.println("User: " + DB_USER);
             throw e;
@@ -45,14 +99,13 @@ public class DatabaseConnection {
     }
 
     /**
-     * Close database connection
+     * Close database connection (returns it to the pool)
      * @param conn Connection to close
      */
     public static void closeConnection(Connection conn) {
         if (conn != null) {
             try {
                 conn.close();
-                System.out.println("Database connection closed successfully!");
             } catch (SQLException e) {
                 System.err.println("Error closing database connection!");
                 e.printStackTrace();
@@ -60,13 +113,74 @@ public class DatabaseConnection {
         }
     }
 
+    /**
+     * Make a forward-only, read-only statement stream its rows instead of
+     * buffering the whole result set in memory. MySQL Connector/J only streams
+     * with a fetch size of Integer.MIN_VALUE; other drivers get a normal fetch size.
+     * While a MySQL result is streaming, no other statement may run on the connection.
+     * @param stmt statement created with TYPE_FORWARD_ONLY / CONCUR_READ_ONLY
+     */
+    public static void enableStreaming(Statement stmt) throws SQLException {
+        if (DB_URL.startsWith("jdbc:mysql:")) {
+            stmt.setFetchSize(Integer.MIN_VALUE);
+        } else {
+            stmt.setFetchSize(STREAMING_FETCH_SIZE);
+        }
+    }
+
+    /**
+     * Row alias to put after the VALUES list of an INSERT ... ON DUPLICATE KEY
+     * UPDATE whose update list uses {@link #insertedValue(String)}. MySQL 8.0.20
+     * deprecates VALUES(col) there in favour of a row alias (8.0.19+); other
+     * databases (the embedded H2 of the load test) only know VALUES(col).
+     */
+    public static String upsertRowAlias() {
+        return DB_URL.startsWith("jdbc:mysql:") ? " AS new" : "";
+    }
+
+    /**
+     * The value a row would have inserted into column, for the update list of
+     * an upsert written with {@link #upsertRowAlias()}
+     */
+    public static String insertedValue(String column) {
+        return DB_URL.startsWith("jdbc:mysql:") ? "new." + column : "VALUES(" + column + ")";
+    }
+
+    /**
+     * Get a snapshot of the pool counters
+     * @return current pool statistics, or null if the pool has not been started
+     */
+    public static PoolStats getPoolStats() {
+        HikariDataSource ds = dataSource;
+        if (ds == null || ds.isClosed()) {
+            return null;
+        }
+        HikariPoolMXBean pool = ds.getHikariPoolMXBean();
+        if (pool == null) {
+            return null;
+        }
+        return new PoolStats(pool.getActiveConnections(), pool.getIdleConnections(),
+                pool.getTotalConnections(), pool.getThreadsAwaitingConnection(), ds.getMaximumPoolSize());
+    }
+
+    /**
+     * Shut down the pool and close all connections
+     */
+    public static synchronized void shutdown() {
+        if (dataSource != null) {
+            dataSource.close();
+            dataSource = null;
+            System.out.println("Connection pool shut down.");
+        }
+    }
+
     /**
      * Test the database connection
      * @return true if connection is successful, false otherwise
      */
     public static boolean testConnection() {
         try (Connection conn = getConnection()) {
-            return conn != null && !conn.isClosed();
+            return conn != null && conn.isValid(5);
         } catch (SQLException e) {
             System.err.println("Database connection test failed!");
             e.printStackTrace();
@@ -74,6 +188,53 @@ public class DatabaseConnection {
         }
     }
 
+    /**
+     * Point-in-time connection pool statistics
+     */
+    public static class PoolStats {
+        private final int activeConnections;
+        private final int idleConnections;
+        private final int totalConnections;
+        private final int threadsAwaitingConnection;
+        private final int maxPoolSize;
+
+        public PoolStats(int activeConnections, int idleConnections, int totalConnections,
+                int threadsAwaitingConnection, int maxPoolSize) {
+            this.activeConnections = activeConnections;
+            this.idleConnections = idleConnections;
+            this.totalConnections = totalConnections;
+            this.threadsAwaitingConnection = threadsAwaitingConnection;
+            this.maxPoolSize = maxPoolSize;
+        }
+
+        public int getActiveConnections() {
+            return activeConnections;
+        }
+
+        public int getIdleConnections() {
+            return idleConnections;
+        }
+
+        public int getTotalConnections() {
+            return totalConnections;
+        }
+
+        public int getThreadsAwaitingConnection() {
+            return threadsAwaitingConnection;
+        }
+
+        public int getMaxPoolSize() {
+            return maxPoolSize;
+        }
+
+        @Override
+        public String toString() {
+            return "PoolStats{active=" + activeConnections + ", idle=" + idleConnections
+                    + ", total=" + totalConnections + ", waiting=" + threadsAwaitingConnection
+                    + ", max=" + maxPoolSize + "}";
+        }
+    }
+
     /**
      * Main method for testing database connection
      */
@@ -81,13 +242,15 @@ public class DatabaseConnection {
         System.out.println("Testing database connection...");
         if (testConnection()) {
             System.out.println("✓ Database connection test PASSED!");
+            System.out.println(getPoolStats());
         } else {
             System.out.println("✗ Database connection test FAILED!");
             System.out.println("\nPlease check:");
             System.out.println("1. MySQL is running");
             System.out.println("2. Database 'inventory_management' exists");
-            System.out.println("3. Username and password are correct");
+            System.out.println("3. Username and password are correct (inventory.properties)");
             System.out.println("4. MySQL Connector JAR is in classpath");
         }
+        shutdown();
     }
 }
@@ -0,0 +1,25 @@
+package com.inventory.dao;
+
+import java.sql.Connection;
+
+/**
+ * Instrumented JDBC
+ * Wraps pooled connections in plain delegating classes that time every
+ * statement execution and count fetched and affected rows per SQL template
+ * (see QueryMetrics): InstrumentedConnection hands out InstrumentedStatement
+ * and InstrumentedPreparedStatement, whose result sets are CountingResultSet.
+ * Everything else is a direct call to the driver's object, so reading a row
+ * costs one extra (inlinable) call rather than a reflective one.
+ * The template of a prepared statement is resolved once, when it is prepared.
+ * Statements run for a dispatched request get a query timeout of the time
+ * left before its RequestDeadline.
+ */
+final class InstrumentedJdbc {
+
+    private InstrumentedJdbc() {
+    }
+
+    static Connection wrap(Connection connection, QueryMetrics metrics) {
+        return new InstrumentedConnection(connection, metrics);
+    }
+}
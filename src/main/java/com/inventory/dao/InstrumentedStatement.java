@@ -0,0 +1,408 @@
+package com.inventory.dao;
+
+import com.inventory.util.RequestDeadline;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+
+/**
+ * Instrumented Statement
+ * Times each execution of a statement and counts its affected rows against
+ * its SQL template (see InstrumentedJdbc); result sets it returns count
+ * their fetched rows. Every other call goes straight to the driver.
+ */
+class InstrumentedStatement implements Statement {
+    private final Connection connection;
+    private final Statement target;
+    private final QueryMetrics metrics;
+    // Fixed for prepared statements; taken from each execute(sql) call for plain statements
+    private final QueryMetrics.Template prepared;
+    private QueryMetrics.Template last;
+    // Query timeout set for the request's deadline (0 if none), and the one it replaced
+    private int deadlineTimeout;
+    private int previousTimeout;
+
+    InstrumentedStatement(Connection connection, Statement target, QueryMetrics metrics,
+            QueryMetrics.Template prepared) {
+        this.connection = connection;
+        this.target = target;
+        this.metrics = metrics;
+        this.prepared = prepared;
+        this.last = prepared;
+    }
+
+    /**
+     * One call into the driver that runs the statement
+     */
+    interface Execution<T> {
+        T run() throws SQLException;
+    }
+
+    /**
+     * Run an execution under the request's deadline and record its time
+     * against template
+     */
+    final <T> T timed(QueryMetrics.Template template, Execution<T> execution) throws SQLException {
+        last = template;
+        applyDeadline();
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = execution.run();
+            failed = false;
+            return result;
+        } finally {
+            metrics.recordExecution(template, System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Limit the statement to the time its request has left once that is short
+     * (see RequestDeadline.queryTimeout); set at most once per second left
+     * rather than around every execution, and put back by close()
+     */
+    private void applyDeadline() throws SQLException {
+        int seconds = RequestDeadline.queryTimeout();
+        if (seconds == 0 || (deadlineTimeout != 0 && deadlineTimeout <= seconds)) {
+            return;
+        }
+        if (deadlineTimeout == 0) {
+            previousTimeout = target.getQueryTimeout();
+        }
+        if (previousTimeout != 0 && previousTimeout <= seconds) {
+            return;
+        }
+        target.setQueryTimeout(seconds);
+        deadlineTimeout = seconds;
+    }
+
+    final ResultSet query(QueryMetrics.Template template, Execution<ResultSet> execution) throws SQLException {
+        return counting(timed(template, execution), template);
+    }
+
+    final int update(QueryMetrics.Template template, Execution<Integer> execution) throws SQLException {
+        int count = timed(template, execution);
+        template.rowsAffected.add(Math.max(0, count));
+        return count;
+    }
+
+    final long largeUpdate(QueryMetrics.Template template, Execution<Long> execution) throws SQLException {
+        long count = timed(template, execution);
+        template.rowsAffected.add(Math.max(0, count));
+        return count;
+    }
+
+    private ResultSet counting(ResultSet resultSet, QueryMetrics.Template template) {
+        return resultSet == null || template == null ? resultSet : new CountingResultSet(this, resultSet, template);
+    }
+
+    private QueryMetrics.Template template(String sql) {
+        return prepared != null ? prepared : metrics.template(sql);
+    }
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        return query(template(sql), () -> target.executeQuery(sql));
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        return update(template(sql), () -> target.executeUpdate(sql));
+    }
+
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        return update(template(sql), () -> target.executeUpdate(sql, autoGeneratedKeys));
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        return update(template(sql), () -> target.executeUpdate(sql, columnIndexes));
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        return update(template(sql), () -> target.executeUpdate(sql, columnNames));
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql) throws SQLException {
+        return largeUpdate(template(sql), () -> target.executeLargeUpdate(sql));
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        return largeUpdate(template(sql), () -> target.executeLargeUpdate(sql, autoGeneratedKeys));
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        return largeUpdate(template(sql), () -> target.executeLargeUpdate(sql, columnIndexes));
+    }
+
+    @Override
+    public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException {
+        return largeUpdate(template(sql), () -> target.executeLargeUpdate(sql, columnNames));
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        return timed(template(sql), () -> target.execute(sql));
+    }
+
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        return timed(template(sql), () -> target.execute(sql, autoGeneratedKeys));
+    }
+
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        return timed(template(sql), () -> target.execute(sql, columnIndexes));
+    }
+
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        return timed(template(sql), () -> target.execute(sql, columnNames));
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        QueryMetrics.Template template = template(null);
+        int[] counts = timed(template, target::executeBatch);
+        for (int count : counts) {
+            template.rowsAffected.add(Math.max(0, count));
+        }
+        return counts;
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        QueryMetrics.Template template = template(null);
+        long[] counts = timed(template, target::executeLargeBatch);
+        for (long count : counts) {
+            template.rowsAffected.add(Math.max(0, count));
+        }
+        return counts;
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        return counting(target.getResultSet(), last);
+    }
+
+    /**
+     * Put back a timeout applyDeadline() replaced; the driver may cache and
+     * reuse the statement outside this request
+     */
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (deadlineTimeout != 0 && !target.isClosed()) {
+                target.setQueryTimeout(previousTimeout);
+            }
+        } finally {
+            deadlineTimeout = 0;
+            target.close();
+        }
+    }
+
+    @Override
+    public Connection getConnection() {
+        return connection;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : target.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || target.isWrapperFor(iface);
+    }
+
+
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        return target.getMaxFieldSize();
+    }
+
+    @Override
+    public void setMaxFieldSize(int max) throws SQLException {
+        target.setMaxFieldSize(max);
+    }
+
+    @Override
+    public int getMaxRows() throws SQLException {
+        return target.getMaxRows();
+    }
+
+    @Override
+    public void setMaxRows(int max) throws SQLException {
+        target.setMaxRows(max);
+    }
+
+    @Override
+    public void setEscapeProcessing(boolean enable) throws SQLException {
+        target.setEscapeProcessing(enable);
+    }
+
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        return target.getQueryTimeout();
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        target.setQueryTimeout(seconds);
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        target.cancel();
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return target.getWarnings();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        target.clearWarnings();
+    }
+
+    @Override
+    public void setCursorName(String name) throws SQLException {
+        target.setCursorName(name);
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        return target.getUpdateCount();
+    }
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        return target.getMoreResults();
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        target.setFetchDirection(direction);
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return target.getFetchDirection();
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        target.setFetchSize(rows);
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        return target.getFetchSize();
+    }
+
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        return target.getResultSetConcurrency();
+    }
+
+    @Override
+    public int getResultSetType() throws SQLException {
+        return target.getResultSetType();
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        target.addBatch(sql);
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        target.clearBatch();
+    }
+
+    @Override
+    public boolean getMoreResults(int current) throws SQLException {
+        return target.getMoreResults(current);
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        return target.getGeneratedKeys();
+    }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        return target.getResultSetHoldability();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return target.isClosed();
+    }
+
+    @Override
+    public void setPoolable(boolean poolable) throws SQLException {
+        target.setPoolable(poolable);
+    }
+
+    @Override
+    public boolean isPoolable() throws SQLException {
+        return target.isPoolable();
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        target.closeOnCompletion();
+    }
+
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        return target.isCloseOnCompletion();
+    }
+
+    @Override
+    public long getLargeUpdateCount() throws SQLException {
+        return target.getLargeUpdateCount();
+    }
+
+    @Override
+    public void setLargeMaxRows(long max) throws SQLException {
+        target.setLargeMaxRows(max);
+    }
+
+    @Override
+    public long getLargeMaxRows() throws SQLException {
+        return target.getLargeMaxRows();
+    }
+
+    @Override
+    public String enquoteLiteral(String val) throws SQLException {
+        return target.enquoteLiteral(val);
+    }
+
+    @Override
+    public String enquoteIdentifier(String identifier, boolean alwaysQuote) throws SQLException {
+        return target.enquoteIdentifier(identifier, alwaysQuote);
+    }
+
+    @Override
+    public boolean isSimpleIdentifier(String identifier) throws SQLException {
+        return target.isSimpleIdentifier(identifier);
+    }
+
+    @Override
+    public String enquoteNCharLiteral(String val) throws SQLException {
+        return target.enquoteNCharLiteral(val);
+    }
+}
@@ -0,0 +1,457 @@
+package com.inventory.dao;
+
+import com.inventory.util.AppConfig;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Inventory Statistics
+ * In-memory aggregates behind the "stats" actions: product count, inventory
+ * value (total and per category), low-stock count, and order count / value per status.
+ *
+ * The figures are computed from MySQL once (on startup or first use) and then
+ * kept current by ProductDAO and OrderDAO, which report every change as a delta.
+ * A periodic drift check recomputes from MySQL to correct anything changed
+ * outside this application node.
+ *
+ * DAOs bracket each mutation with beginChange()/endChange(). A recompute only
+ * installs its result if no change was in flight or started while it was
+ * reading, so a change is never counted twice or lost.
+ */
+public class InventoryStats {
+
+    private static final InventoryStats INSTANCE = new InventoryStats();
+
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+    private static final String RECEIVED = "received";
+
+    // Product aggregates
+    private int productCount;
+    private BigDecimal totalValue = BigDecimal.ZERO;
+    private final Map<Integer, BigDecimal> categoryValues = new HashMap<>();
+    private int lowStockCount;
+
+    // Order aggregates
+    private final Map<String, Integer> ordersByStatus = new HashMap<>();
+    private final Map<String, BigDecimal> orderValueByStatus = new HashMap<>();
+
+    private volatile boolean loaded;
+    private final AtomicLong changesStarted = new AtomicLong();
+    private final AtomicInteger changesInFlight = new AtomicInteger();
+    private ScheduledExecutorService driftChecker;
+
+    public static InventoryStats getInstance() {
+        return INSTANCE;
+    }
+
+    // ---------------------------------------------------------------------
+    // Change notifications (called by the DAOs)
+    // ---------------------------------------------------------------------
+
+    /**
+     * Call before starting a database change that will be reported here
+     */
+    public void beginChange() {
+        changesInFlight.incrementAndGet();
+        changesStarted.incrementAndGet();
+    }
+
+    /**
+     * Call after the change was committed and reported (or failed)
+     */
+    public void endChange() {
+        changesInFlight.decrementAndGet();
+    }
+
+    /**
+     * A product row changed.
+     * @param before figures before the change, or null for an insert
+     * @param after  figures after the change, or null for a delete
+     */
+    public synchronized void productChanged(ProductFigures before, ProductFigures after) {
+        if (!loaded) {
+            return; // The initial load will read the committed row
+        }
+        if (before != null) {
+            productCount--;
+            addValue(before.categoryId, before.value().negate());
+            if (before.isLowStock()) {
+                lowStockCount--;
+            }
+        }
+        if (after != null) {
+            productCount++;
+            addValue(after.categoryId, after.value());
+            if (after.isLowStock()) {
+                lowStockCount++;
+            }
+        }
+    }
+
+    /**
+     * An order row changed.
+     * @param before status/total before the change, or null for an insert
+     * @param after  status/total after the change, or null for a delete
+     */
+    public synchronized void orderChanged(OrderFigures before, OrderFigures after) {
+        if (!loaded) {
+            return;
+        }
+        if (before != null) {
+            addOrder(before.status, -1, before.totalAmount.negate());
+        }
+        if (after != null) {
+            addOrder(after.status, 1, after.totalAmount);
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Queries (no database access once loaded)
+    // ---------------------------------------------------------------------
+
+    public ProductStats getProductStats() throws SQLException {
+        ensureLoaded();
+        synchronized (this) {
+            Map<Integer, BigDecimal> values = new TreeMap<>(categoryValues);
+            return new ProductStats(productCount, totalValue, lowStockCount, Collections.unmodifiableMap(values));
+        }
+    }
+
+    public OrderStats getOrderStats() throws SQLException {
+        ensureLoaded();
+        synchronized (this) {
+            int total = 0;
+            for (int count : ordersByStatus.values()) {
+                total += count;
+            }
+            BigDecimal receivedValue = orderValueByStatus.getOrDefault(RECEIVED, BigDecimal.ZERO);
+            return new OrderStats(total, receivedValue, Collections.unmodifiableMap(new TreeMap<>(ordersByStatus)));
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Loading and drift checks
+    // ---------------------------------------------------------------------
+
+    private void ensureLoaded() throws SQLException {
+        if (!loaded) {
+            // Concurrent first callers share one load
+            ReadCoalescer.getInstance().read("stats.load", () -> {
+                if (!loaded) {
+                    recompute(false);
+                }
+                return Boolean.TRUE;
+            });
+        }
+    }
+
+    /**
+     * Recompute all aggregates from MySQL and replace the in-memory figures
+     * @param reportDrift log any difference between the old and new figures
+     * @return true if the in-memory figures had drifted
+     */
+    public boolean recompute(boolean reportDrift) throws SQLException {
+        for (int attempt = 1; ; attempt++) {
+            long startedBefore = changesStarted.get();
+            boolean quiet = changesInFlight.get() == 0;
+
+            Snapshot snapshot = readSnapshot();
+
+            synchronized (this) {
+                boolean consistent = quiet && changesStarted.get() == startedBefore;
+                if (!consistent && attempt < MAX_LOAD_ATTEMPTS) {
+                    continue;
+                }
+                if (!consistent && loaded) {
+                    // Figures kept current by the changes beat a snapshot taken in the middle of them
+                    // (e.g. during a bulk import)
+                    System.err.println("InventoryStats: data kept changing during the drift check; "
+                            + "keeping the current figures until the next one");
+                    return false;
+                }
+                if (!consistent) {
+                    System.err.println("InventoryStats: data kept changing during recompute; "
+                            + "figures will be corrected by the next drift check");
+                }
+                boolean drifted = loaded && !snapshot.matches(this);
+                if (drifted && reportDrift) {
+                    System.err.println("InventoryStats drift corrected: products " + productCount + " -> "
+                            + snapshot.productCount + ", value " + totalValue + " -> " + snapshot.totalValue
+                            + ", low stock " + lowStockCount + " -> " + snapshot.lowStockCount
+                            + ", orders " + ordersByStatus + " -> " + snapshot.ordersByStatus);
+                }
+                if (drifted) {
+                    // Changed outside this node: cached responses built from these tables are stale
+                    TableVersions.getInstance().bump(TableVersions.Table.PRODUCTS);
+                    TableVersions.getInstance().bump(TableVersions.Table.ORDERS);
+                }
+                install(snapshot);
+                return drifted;
+            }
+        }
+    }
+
+    /**
+     * Start the periodic drift check (stats.driftCheckMinutes, 0 = disabled)
+     */
+    public synchronized void startDriftChecks() {
+        long minutes = AppConfig.getLong("stats.driftCheckMinutes", 15);
+        if (minutes <= 0 || driftChecker != null) {
+            return;
+        }
+        driftChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "inventory-stats-drift-check");
+            t.setDaemon(true);
+            return t;
+        });
+        driftChecker.scheduleWithFixedDelay(() -> {
+            try {
+                recompute(true);
+            } catch (SQLException e) {
+                System.err.println("InventoryStats drift check failed: " + e.getMessage());
+            }
+        }, minutes, minutes, TimeUnit.MINUTES);
+    }
+
+    public synchronized void stopDriftChecks() {
+        if (driftChecker != null) {
+            driftChecker.shutdownNow();
+            driftChecker = null;
+        }
+    }
+
+    private Snapshot readSnapshot() throws SQLException {
+        Snapshot snapshot = new Snapshot();
+        String productSql = "SELECT COALESCE(p.category_id, 0) AS category_id, COUNT(*) AS product_count, " +
+                "COALESCE(SUM(p.unit_price * p.quantity_in_stock), 0) AS stock_value, " +
+                "COALESCE(SUM(CASE WHEN p.quantity_in_stock <= COALESCE(f.reorder_point, p.reorder_level) " +
+                "THEN 1 ELSE 0 END), 0) AS low_stock " +
+                "FROM products p LEFT JOIN product_forecasts f ON f.product_id = p.id " +
+                "GROUP BY COALESCE(p.category_id, 0)";
+        String orderSql = "SELECT status, COUNT(*) AS order_count, COALESCE(SUM(total_amount), 0) AS order_value " +
+                "FROM orders GROUP BY status";
+
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(productSql);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    BigDecimal value = rs.getBigDecimal("stock_value");
+                    snapshot.productCount += rs.getInt("product_count");
+                    snapshot.lowStockCount += rs.getInt("low_stock");
+                    snapshot.totalValue = snapshot.totalValue.add(value);
+                    snapshot.categoryValues.put(rs.getInt("category_id"), value);
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(orderSql);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String status = rs.getString("status");
+                    snapshot.ordersByStatus.put(status, rs.getInt("order_count"));
+                    snapshot.orderValueByStatus.put(status, rs.getBigDecimal("order_value"));
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    private void install(Snapshot snapshot) {
+        productCount = snapshot.productCount;
+        totalValue = snapshot.totalValue;
+        lowStockCount = snapshot.lowStockCount;
+        categoryValues.clear();
+        categoryValues.putAll(snapshot.categoryValues);
+        ordersByStatus.clear();
+        ordersByStatus.putAll(snapshot.ordersByStatus);
+        orderValueByStatus.clear();
+        orderValueByStatus.putAll(snapshot.orderValueByStatus);
+        loaded = true;
+    }
+
+    private void addValue(int categoryId, BigDecimal delta) {
+        totalValue = totalValue.add(delta);
+        BigDecimal value = categoryValues.getOrDefault(categoryId, BigDecimal.ZERO).add(delta);
+        if (value.signum() == 0) {
+            categoryValues.remove(categoryId);
+        } else {
+            categoryValues.put(categoryId, value);
+        }
+    }
+
+    private void addOrder(String status, int countDelta, BigDecimal valueDelta) {
+        int count = ordersByStatus.getOrDefault(status, 0) + countDelta;
+        if (count <= 0) {
+            ordersByStatus.remove(status);
+            orderValueByStatus.remove(status);
+        } else {
+            ordersByStatus.put(status, count);
+            orderValueByStatus.put(status, orderValueByStatus.getOrDefault(status, BigDecimal.ZERO).add(valueDelta));
+        }
+    }
+
+    private static boolean sameValue(BigDecimal a, BigDecimal b) {
+        return a.compareTo(b) == 0;
+    }
+
+    /**
+     * Aggregates read from MySQL in one recompute
+     */
+    private static class Snapshot {
+        int productCount;
+        BigDecimal totalValue = BigDecimal.ZERO;
+        int lowStockCount;
+        final Map<Integer, BigDecimal> categoryValues = new HashMap<>();
+        final Map<String, Integer> ordersByStatus = new HashMap<>();
+        final Map<String, BigDecimal> orderValueByStatus = new HashMap<>();
+
+        boolean matches(InventoryStats stats) {
+            if (productCount != stats.productCount || lowStockCount != stats.lowStockCount
+                    || !sameValue(totalValue, stats.totalValue) || !ordersByStatus.equals(stats.ordersByStatus)) {
+                return false;
+            }
+            for (Map.Entry<String, BigDecimal> entry : orderValueByStatus.entrySet()) {
+                BigDecimal current = stats.orderValueByStatus.getOrDefault(entry.getKey(), BigDecimal.ZERO);
+                if (!sameValue(entry.getValue(), current)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The columns of a product row that feed the aggregates
+     * (reorderLevel is the effective one: the forecast reorder point if the
+     * product has one, see ReorderForecaster)
+     */
+    public static class ProductFigures {
+        private final int categoryId;
+        private final BigDecimal unitPrice;
+        private final int quantityInStock;
+        private final int reorderLevel;
+
+        public ProductFigures(int categoryId, BigDecimal unitPrice, int quantityInStock, int reorderLevel) {
+            this.categoryId = categoryId;
+            this.unitPrice = unitPrice != null ? unitPrice : BigDecimal.ZERO;
+            this.quantityInStock = quantityInStock;
+            this.reorderLevel = reorderLevel;
+        }
+
+        int getQuantityInStock() {
+            return quantityInStock;
+        }
+
+        ProductFigures withStockDelta(int delta) {
+            return new ProductFigures(categoryId, unitPrice, quantityInStock + delta, reorderLevel);
+        }
+
+        BigDecimal value() {
+            return unitPrice.multiply(BigDecimal.valueOf(quantityInStock));
+        }
+
+        boolean isLowStock() {
+            return quantityInStock <= reorderLevel;
+        }
+    }
+
+    /**
+     * The columns of an order row that feed the aggregates
+     */
+    public static class OrderFigures {
+        private final String status;
+        private final BigDecimal totalAmount;
+
+        public OrderFigures(String status, BigDecimal totalAmount) {
+            this.status = Objects.requireNonNullElse(status, "pending");
+            this.totalAmount = totalAmount != null ? totalAmount : BigDecimal.ZERO;
+        }
+
+        OrderFigures withStatus(String newStatus) {
+            return new OrderFigures(newStatus, totalAmount);
+        }
+
+        boolean isReceived() {
+            return RECEIVED.equals(status);
+        }
+    }
+
+    /**
+     * Product statistics snapshot
+     */
+    public static class ProductStats {
+        private final int totalProducts;
+        private final BigDecimal totalValue;
+        private final int lowStockCount;
+        private final Map<Integer, BigDecimal> categoryValues;
+
+        public ProductStats(int totalProducts, BigDecimal totalValue, int lowStockCount,
+                Map<Integer, BigDecimal> categoryValues) {
+            this.totalProducts = totalProducts;
+            this.totalValue = totalValue;
+            this.lowStockCount = lowStockCount;
+            this.categoryValues = categoryValues;
+        }
+
+        public int getTotalProducts() {
+            return totalProducts;
+        }
+
+        public BigDecimal getTotalValue() {
+            return totalValue;
+        }
+
+        public int getLowStockCount() {
+            return lowStockCount;
+        }
+
+        /**
+         * Inventory value per category id (0 = uncategorised)
+         */
+        public Map<Integer, BigDecimal> getCategoryValues() {
+            return categoryValues;
+        }
+    }
+
+    /**
+     * Order statistics snapshot
+     */
+    public static class OrderStats {
+        private final int totalOrders;
+        private final BigDecimal totalValue;
+        private final Map<String, Integer> ordersByStatus;
+
+        public OrderStats(int totalOrders, BigDecimal totalValue, Map<String, Integer> ordersByStatus) {
+            this.totalOrders = totalOrders;
+            this.totalValue = totalValue;
+            this.ordersByStatus = ordersByStatus;
+        }
+
+        public int getTotalOrders() {
+            return totalOrders;
+        }
+
+        /**
+         * Total amount of received orders
+         */
+        public BigDecimal getTotalValue() {
+            return totalValue;
+        }
+
+        public Map<String, Integer> getOrdersByStatus() {
+            return ordersByStatus;
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package com.inventory.dao;
 
 import com.inventory.model.Order;
+import com.inventory.model.OrderItem;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Order Data Access Object
@@ -12,10 +21,28 @@ import java.util.List;
  */
 public class OrderDAO {
 
+    // Tables whose changes start a new coalesced read (see ReadCoalescer)
+    private static final TableVersions.Table[] LISTING_TABLES = {
+            TableVersions.Table.ORDERS, TableVersions.Table.SUPPLIERS, TableVersions.Table.USERS };
+    private static final TableVersions.Table[] ORDER_TABLE = { TableVersions.Table.ORDERS };
+
+    // Rows per IN (...) lookup when resolving product prices
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private static final String RECEIVED = "received";
+    // Keeps the first receipt time while the order stays received (parameter: is the new status 'received')
+    private static final String RECEIVED_AT_UPDATE =
+            "received_at = CASE WHEN ? THEN COALESCE(received_at, CURRENT_TIMESTAMP) ELSE NULL END";
+
     /**
      * Get all orders with supplier information
      */
     public List<Order> getAllOrders() throws SQLException {
+        return ReadCoalescer.getInstance().read("orders.all", LISTING_TABLES,
+                () -> Collections.unmodifiableList(loadAllOrders()));
+    }
+
+    private List<Order> loadAllOrders() throws SQLException {
         List<Order> orders = new ArrayList<>();
         String sql = "SELECT o.*, s.name as supplier_name, u.full_name as user_name " +
                 "FROM orders o " +
@@ -88,6 +115,8 @@ public class OrderDAO {
                 +
                 "VALUES (?, ?, ?, ?, ?, ?, ?)";
 
+        InventoryStats stats = InventoryStats.getInstance();
+        stats.beginChange();
         try (Connection conn = DatabaseConnection.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
@@ -106,46 +135,450 @@ public class OrderDAO {
                         order.setId(generatedKeys.getInt(1));
                     }
                 }
+                stats.orderChanged(null, new InventoryStats.OrderFigures(order.getStatus(), order.getTotalAmount()));
+                TableVersions.getInstance().bump(TableVersions.Table.ORDERS);
                 return true;
             }
+        } finally {
+            stats.endChange();
         }
         return false;
     }
 
     /**
-     * Update order
+     * Create an order together with its line items in one transaction.
+     * See {@link #createOrders(List)}.
      */
-    public boolean updateOrder(Order order) throws SQLException {
-        String sql = "UPDATE orders SET supplier_id = ?, order_date = ?, expected_delivery_date = ?, " +
-                "status = ?, total_amount = ? WHERE id = ?";
+    public boolean createOrderWithItems(Order order) throws SQLException {
+        return createOrders(Collections.singletonList(order));
+    }
 
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
+    /**
+     * Create many orders with their line items in one transaction, using
+     * batched inserts (a few round trips regardless of the number of lines).
+     *
+     * Everything is validated before any number is reserved or row written.
+     * Lines are priced with the product's current unit_price and the totals
+     * computed here; caller-supplied prices, totals and order numbers are
+     * ignored (numbers always come from OrderNumberAllocator). New orders are
+     * 'pending' unless 'draft' is given. Generated ids are set on the orders
+     * and items.
+     *
+     * @throws IllegalArgumentException if an order has no date, no lines or
+     *                                  another status, a quantity is not
+     *                                  positive, or a product or supplier does
+     *                                  not exist
+     */
+    public boolean createOrders(List<Order> orders) throws SQLException {
+        if (orders.isEmpty()) {
+            return true;
+        }
+        for (Order order : orders) {
+            validateNewOrder(order);
+        }
+        Map<Integer, BigDecimal> prices;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            checkSuppliersExist(conn, orders);
+            prices = loadUnitPrices(conn, orders);
+        }
+
+        String orderSql = "INSERT INTO orders (order_number, supplier_id, order_date, expected_delivery_date, status, total_amount, user_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String itemSql = "INSERT INTO order_items (order_id, product_id, quantity, unit_price, subtotal) " +
+                "VALUES (?, ?, ?, ?, ?)";
+
+        // Reserved before taking the transaction's connection: a block reservation
+        // borrows a connection of its own, and holding one while waiting for
+        // another can starve the pool under concurrent creates
+        Iterator<String> numbers = OrderNumberAllocator.getInstance().nextOrderNumbers(orders.size()).iterator();
+
+        InventoryStats stats = InventoryStats.getInstance();
+        stats.beginChange();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                for (Order order : orders) {
+                    BigDecimal total = BigDecimal.ZERO;
+                    for (OrderItem item : order.getItems()) {
+                        item.setUnitPrice(prices.get(item.getProductId()));
+                        item.setSubtotal(item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity()))
+                                .setScale(2, RoundingMode.HALF_UP));
+                        total = total.add(item.getSubtotal());
+                    }
+                    order.setTotalAmount(total);
+                    order.setOrderNumber(numbers.next());
+                    if (order.getStatus() == null) {
+                        order.setStatus("pending");
+                    }
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement(orderSql, Statement.RETURN_GENERATED_KEYS)) {
+                    for (Order order : orders) {
+                        stmt.setString(1, order.getOrderNumber());
+                        setNullableId(stmt, 2, order.getSupplierId());
+                        stmt.setDate(3, order.getOrderDate());
+                        stmt.setDate(4, order.getExpectedDeliveryDate());
+                        stmt.setString(5, order.getStatus());
+                        stmt.setBigDecimal(6, order.getTotalAmount());
+                        setNullableId(stmt, 7, order.getUserId());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                        for (Order order : orders) {
+                            if (!generatedKeys.next()) {
+                                throw new SQLException("Missing generated key for order " + order.getOrderNumber());
+                            }
+                            order.setId(generatedKeys.getInt(1));
+                        }
+                    }
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement(itemSql, Statement.RETURN_GENERATED_KEYS)) {
+                    for (Order order : orders) {
+                        for (OrderItem item : order.getItems()) {
+                            item.setOrderId(order.getId());
+                            stmt.setInt(1, order.getId());
+                            stmt.setInt(2, item.getProductId());
+                            stmt.setInt(3, item.getQuantity());
+                            stmt.setBigDecimal(4, item.getUnitPrice());
+                            stmt.setBigDecimal(5, item.getSubtotal());
+                            stmt.addBatch();
+                        }
+                    }
+                    stmt.executeBatch();
+                    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                        for (Order order : orders) {
+                            for (OrderItem item : order.getItems()) {
+                                if (generatedKeys.next()) {
+                                    item.setId(generatedKeys.getInt(1));
+                                }
+                            }
+                        }
+                    }
+                }
 
-            stmt.setInt(1, order.getSupplierId());
-            stmt.setDate(2, order.getOrderDate());
-            stmt.setDate(3, order.getExpectedDeliveryDate());
-            stmt.setString(4, order.getStatus());
-            stmt.setBigDecimal(5, order.getTotalAmount());
-            stmt.setInt(6, order.getId());
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            }
 
-            return stmt.executeUpdate() > 0;
+            for (Order order : orders) {
+                stats.orderChanged(null, new InventoryStats.OrderFigures(order.getStatus(), order.getTotalAmount()));
+            }
+            TableVersions.getInstance().bump(TableVersions.Table.ORDERS);
+            return true;
+        } finally {
+            stats.endChange();
         }
     }
 
     /**
-     * Update order status
+     * Get the line items of an order
      */
-    public boolean updateOrderStatus(int orderId, String status) throws SQLException {
-        String sql = "UPDATE orders SET status = ? WHERE id = ?";
+    public List<OrderItem> getOrderItems(int orderId) throws SQLException {
+        List<OrderItem> items = new ArrayList<>();
+        String sql = "SELECT oi.*, p.name as product_name, p.sku as product_sku " +
+                "FROM order_items oi " +
+                "LEFT JOIN products p ON oi.product_id = p.id " +
+                "WHERE oi.order_id = ? " +
+                "ORDER BY oi.id";
 
         try (Connection conn = DatabaseConnection.getConnection();
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            stmt.setString(1, status);
-            stmt.setInt(2, orderId);
+            stmt.setInt(1, orderId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    items.add(extractOrderItemFromResultSet(rs));
+                }
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Stream the orders of an order_date range (oldest first), each with its
+     * line items, to a handler one order at a time. Orders and items come
+     * from one joined query, so only the current order is held in memory.
+     *
+     * @param from first order_date to include, or null for no lower bound
+     * @param to   order_date to stop before (exclusive), or null for no upper bound
+     */
+    public void streamOrdersWithItems(Date from, Date to, RowHandler<Order> handler)
+            throws SQLException, IOException {
+        String sql = "SELECT o.*, s.name as supplier_name, u.full_name as user_name, " +
+                "oi.id as item_id, oi.product_id as item_product_id, oi.quantity as item_quantity, " +
+                "oi.unit_price as item_unit_price, oi.subtotal as item_subtotal, " +
+                "p.name as product_name, p.sku as product_sku " +
+                "FROM orders o " +
+                "LEFT JOIN suppliers s ON o.supplier_id = s.id " +
+                "LEFT JOIN users u ON o.user_id = u.id " +
+                "LEFT JOIN order_items oi ON oi.order_id = o.id " +
+                "LEFT JOIN products p ON oi.product_id = p.id " +
+                dateRange("o.order_date", from, to) +
+                "ORDER BY o.order_date, o.id, oi.id";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
 
-            return stmt.executeUpdate() > 0;
+            int index = 1;
+            if (from != null) {
+                stmt.setDate(index++, from);
+            }
+            if (to != null) {
+                stmt.setDate(index, to);
+            }
+            DatabaseConnection.enableStreaming(stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                Order order = null;
+                while (rs.next()) {
+                    int orderId = rs.getInt("id");
+                    if (order == null || order.getId() != orderId) {
+                        if (order != null) {
+                            handler.handle(order);
+                        }
+                        order = extractOrderFromResultSet(rs);
+                        order.setItems(new ArrayList<>());
+                    }
+                    int itemId = rs.getInt("item_id");
+                    if (!rs.wasNull()) {
+                        OrderItem item = new OrderItem();
+                        item.setId(itemId);
+                        item.setOrderId(orderId);
+                        item.setProductId(rs.getInt("item_product_id"));
+                        item.setQuantity(rs.getInt("item_quantity"));
+                        item.setUnitPrice(rs.getBigDecimal("item_unit_price"));
+                        item.setSubtotal(rs.getBigDecimal("item_subtotal"));
+                        item.setProductName(rs.getString("product_name"));
+                        item.setProductSku(rs.getString("product_sku"));
+                        order.getItems().add(item);
+                    }
+                }
+                if (order != null) {
+                    handler.handle(order);
+                }
+            }
+        }
+    }
+
+    /**
+     * WHERE clause for an optional [from, to) range of a column (empty without bounds)
+     */
+    static String dateRange(String column, java.util.Date from, java.util.Date to) {
+        if (from == null && to == null) {
+            return "";
+        }
+        if (to == null) {
+            return "WHERE " + column + " >= ? ";
+        }
+        if (from == null) {
+            return "WHERE " + column + " < ? ";
+        }
+        return "WHERE " + column + " >= ? AND " + column + " < ? ";
+    }
+
+    /**
+     * Check what createOrders can check without the database
+     */
+    private static void validateNewOrder(Order order) {
+        if (order == null) {
+            throw new IllegalArgumentException("Order must not be null");
+        }
+        if (order.getOrderDate() == null) {
+            throw new IllegalArgumentException("Order date is required");
+        }
+        if (order.getStatus() != null && !"pending".equals(order.getStatus()) && !"draft".equals(order.getStatus())) {
+            throw new IllegalArgumentException("New orders must be 'pending' or 'draft'");
+        }
+        if (order.getItems() == null || order.getItems().isEmpty()) {
+            throw new IllegalArgumentException("Order must contain at least one item");
+        }
+        for (OrderItem item : order.getItems()) {
+            if (item == null) {
+                throw new IllegalArgumentException("Order items must not be null");
+            }
+            if (item.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Item quantity must be positive (product " + item.getProductId() + ")");
+            }
+        }
+    }
+
+    /**
+     * Fail with IllegalArgumentException if an order names a supplier that does not exist
+     */
+    private void checkSuppliersExist(Connection conn, List<Order> orders) throws SQLException {
+        Set<Integer> supplierIds = new LinkedHashSet<>();
+        for (Order order : orders) {
+            if (order.getSupplierId() > 0) {
+                supplierIds.add(order.getSupplierId());
+            }
+        }
+        List<Integer> ids = new ArrayList<>(supplierIds);
+        Set<Integer> found = new LinkedHashSet<>();
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, ids.size()));
+            StringBuilder placeholders = new StringBuilder();
+            for (int i = 0; i < chunk.size(); i++) {
+                placeholders.append(i == 0 ? "?" : ", ?");
+            }
+            String sql = "SELECT id FROM suppliers WHERE id IN (" + placeholders + ")";
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setInt(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        found.add(rs.getInt("id"));
+                    }
+                }
+            }
+        }
+        for (Integer id : ids) {
+            if (!found.contains(id)) {
+                throw new IllegalArgumentException("Unknown supplier id: " + id);
+            }
+        }
+    }
+
+    /**
+     * Current unit_price of every product referenced by the orders' lines
+     */
+    private Map<Integer, BigDecimal> loadUnitPrices(Connection conn, List<Order> orders) throws SQLException {
+        Set<Integer> productIds = new LinkedHashSet<>();
+        for (Order order : orders) {
+            for (OrderItem item : order.getItems()) {
+                productIds.add(item.getProductId());
+            }
+        }
+
+        Map<Integer, BigDecimal> prices = new HashMap<>();
+        List<Integer> ids = new ArrayList<>(productIds);
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, ids.size()));
+            StringBuilder placeholders = new StringBuilder();
+            for (int i = 0; i < chunk.size(); i++) {
+                placeholders.append(i == 0 ? "?" : ", ?");
+            }
+            String sql = "SELECT id, unit_price FROM products WHERE id IN (" + placeholders + ")";
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setInt(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        prices.put(rs.getInt("id"), rs.getBigDecimal("unit_price"));
+                    }
+                }
+            }
+        }
+
+        for (Integer id : ids) {
+            if (!prices.containsKey(id)) {
+                throw new IllegalArgumentException("Unknown product id: " + id);
+            }
+        }
+        return prices;
+    }
+
+    private static void setNullableId(PreparedStatement stmt, int index, int id) throws SQLException {
+        if (id > 0) {
+            stmt.setInt(index, id);
+        } else {
+            stmt.setNull(index, Types.INTEGER);
+        }
+    }
+
+    /**
+     * Update order (received_at is set when the status becomes 'received'
+     * and cleared when it changes back)
+     */
+    public boolean updateOrder(Order order) throws SQLException {
+        String sql = "UPDATE orders SET supplier_id = ?, order_date = ?, expected_delivery_date = ?, " +
+                "status = ?, total_amount = ?, " + RECEIVED_AT_UPDATE + " WHERE id = ?";
+
+        InventoryStats stats = InventoryStats.getInstance();
+        stats.beginChange();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                InventoryStats.OrderFigures before = lockFigures(conn, order.getId());
+                boolean updated = false;
+                if (before != null) {
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        stmt.setInt(1, order.getSupplierId());
+                        stmt.setDate(2, order.getOrderDate());
+                        stmt.setDate(3, order.getExpectedDeliveryDate());
+                        stmt.setString(4, order.getStatus());
+                        stmt.setBigDecimal(5, order.getTotalAmount());
+                        stmt.setBoolean(6, RECEIVED.equals(order.getStatus()));
+                        stmt.setInt(7, order.getId());
+
+                        updated = stmt.executeUpdate() > 0;
+                    }
+                }
+                conn.commit();
+
+                if (updated) {
+                    stats.orderChanged(before,
+                            new InventoryStats.OrderFigures(order.getStatus(), order.getTotalAmount()));
+                    TableVersions.getInstance().bump(TableVersions.Table.ORDERS);
+                    if (RECEIVED.equals(order.getStatus()) && !before.isReceived()) {
+                        ReorderForecaster.getInstance().orderReceived(order.getId());
+                    }
+                }
+                return updated;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } finally {
+            stats.endChange();
+        }
+    }
+
+    /**
+     * Update order status (received_at is set when it becomes 'received')
+     */
+    public boolean updateOrderStatus(int orderId, String status) throws SQLException {
+        String sql = "UPDATE orders SET status = ?, " + RECEIVED_AT_UPDATE + " WHERE id = ?";
+
+        InventoryStats stats = InventoryStats.getInstance();
+        stats.beginChange();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                InventoryStats.OrderFigures before = lockFigures(conn, orderId);
+                boolean updated = false;
+                if (before != null) {
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        stmt.setString(1, status);
+                        stmt.setBoolean(2, RECEIVED.equals(status));
+                        stmt.setInt(3, orderId);
+
+                        updated = stmt.executeUpdate() > 0;
+                    }
+                }
+                conn.commit();
+
+                if (updated) {
+                    stats.orderChanged(before, before.withStatus(status));
+                    TableVersions.getInstance().bump(TableVersions.Table.ORDERS);
+                    if (RECEIVED.equals(status) && !before.isReceived()) {
+                        ReorderForecaster.getInstance().orderReceived(orderId);
+                    }
+                }
+                return updated;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } finally {
+            stats.endChange();
         }
     }
 
@@ -155,18 +588,62 @@ public class OrderDAO {
     public boolean deleteOrder(int id) throws SQLException {
         String sql = "DELETE FROM orders WHERE id = ?";
 
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
+        InventoryStats stats = InventoryStats.getInstance();
+        stats.beginChange();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                InventoryStats.OrderFigures before = lockFigures(conn, id);
+                boolean deleted = false;
+                if (before != null) {
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        stmt.setInt(1, id);
+                        deleted = stmt.executeUpdate() > 0;
+                    }
+                }
+                conn.commit();
 
+                if (deleted) {
+                    stats.orderChanged(before, null);
+                    TableVersions.getInstance().bump(TableVersions.Table.ORDERS);
+                }
+                return deleted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } finally {
+            stats.endChange();
+        }
+    }
+
+    /**
+     * Read and lock the columns of an order that feed InventoryStats
+     * (must run inside the transaction that changes the row)
+     */
+    private InventoryStats.OrderFigures lockFigures(Connection conn, int id) throws SQLException {
+        String sql = "SELECT status, total_amount FROM orders WHERE id = ? FOR UPDATE";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return new InventoryStats.OrderFigures(rs.getString("status"), rs.getBigDecimal("total_amount"));
+                }
+            }
         }
+        return null;
     }
 
     /**
      * Get orders by status
      */
     public List<Order> getOrdersByStatus(String status) throws SQLException {
+        return ReadCoalescer.getInstance().read("orders.byStatus:" + status, LISTING_TABLES,
+                () -> Collections.unmodifiableList(loadOrdersByStatus(status)));
+    }
+
+    private List<Order> loadOrdersByStatus(String status) throws SQLException {
         List<Order> orders = new ArrayList<>();
         String sql = "SELECT o.*, s.name as supplier_name, u.full_name as user_name " +
                 "FROM orders o " +
@@ -189,31 +666,52 @@ public class OrderDAO {
     }
 
     /**
-     * Generate unique order number
+     * Get the latest orders by order date (newest first)
      */
-    public String generateOrderNumber() throws SQLException {
-        String sql = "SELECT order_number FROM orders ORDER BY id DESC LIMIT 1";
+    public List<Order> getRecentOrders(int limit) throws SQLException {
+        return ReadCoalescer.getInstance().read("orders.recent:" + limit, LISTING_TABLES,
+                () -> Collections.unmodifiableList(loadRecentOrders(limit)));
+    }
+
+    private List<Order> loadRecentOrders(int limit) throws SQLException {
+        List<Order> orders = new ArrayList<>();
+        String sql = "SELECT o.*, s.name as supplier_name, u.full_name as user_name " +
+                "FROM orders o " +
+                "LEFT JOIN suppliers s ON o.supplier_id = s.id " +
+                "LEFT JOIN users u ON o.user_id = u.id " +
+                "ORDER BY o.order_date DESC, o.id DESC " +
+                "LIMIT ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql);
-                ResultSet rs = stmt.executeQuery()) {
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            if (rs.next()) {
-                String lastOrderNumber = rs.getString("order_number");
-                // Extract number from PO-2024-XXX format
-                String[] parts = lastOrderNumber.split("-");
-                int nextNumber = Integer.parseInt(parts[2]) + 1;
-                return String.format("PO-%d-%03d", java.time.Year.now().getValue(), nextNumber);
-            } else {
-                return String.format("PO-%d-001", java.time.Year.now().getValue());
+            stmt.setInt(1, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    orders.add(extractOrderFromResultSet(rs));
+                }
             }
         }
+        return orders;
+    }
+
+    /**
+     * Generate unique order number (PO-YYYY-NNN, restarting each year).
+     * Numbers come from blocks pre-reserved by OrderNumberAllocator, so this
+     * usually needs no database round trip and is safe under concurrency.
+     */
+    public String generateOrderNumber() throws SQLException {
+        return OrderNumberAllocator.getInstance().nextOrderNumber();
     }
 
     /**
      * Get total order count
      */
     public int getTotalOrderCount() throws SQLException {
+        return ReadCoalescer.getInstance().read("orders.count", ORDER_TABLE, this::loadTotalOrderCount);
+    }
+
+    private int loadTotalOrderCount() throws SQLException {
         String sql = "SELECT COUNT(*) FROM orders";
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -231,6 +729,10 @@ public class OrderDAO {
      * Get total order value
      */
     public BigDecimal getTotalOrderValue() throws SQLException {
+        return ReadCoalescer.getInstance().read("orders.value", ORDER_TABLE, this::loadTotalOrderValue);
+    }
+
+    private BigDecimal loadTotalOrderValue() throws SQLException {
         String sql = "SELECT COALESCE(SUM(total_amount), 0) FROM orders WHERE status = 'received'";
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -244,10 +746,27 @@ public class OrderDAO {
         return BigDecimal.ZERO;
     }
 
+    /**
+     * Helper method to extract OrderItem from ResultSet
+     */
+    private OrderItem extractOrderItemFromResultSet(ResultSet rs) throws SQLException {
+        OrderItem item = new OrderItem();
+        item.setId(rs.getInt("id"));
+        item.setOrderId(rs.getInt("order_id"));
+        item.setProductId(rs.getInt("product_id"));
+        item.setQuantity(rs.getInt("quantity"));
+        item.setUnitPrice(rs.getBigDecimal("unit_price"));
+        item.setSubtotal(rs.getBigDecimal("subtotal"));
+        item.setProductName(rs.getString("product_name"));
+        item.setProductSku(rs.getString("product_sku"));
+        return item;
+    }
+
     /**
      * Helper method to extract Order from ResultSet
+     * (package-private so the mapping benchmarks can call it)
      */
-    private Order extractOrderFromResultSet(ResultSet rs) throws SQLException {
+    Order extractOrderFromResultSet(ResultSet rs) throws SQLException {
         Order order = new Order();
         order.setId(rs.getInt("id"));
         order.setOrderNumber(rs.getString("order_number"));
@@ -260,6 +779,7 @@ public class OrderDAO {
         order.setUserId(rs.getInt("user_id"));
         order.setUserName(rs.getString("user_name"));
         order.setCreatedAt(rs.getTimestamp("created_at"));
+        order.setReceivedAt(rs.getTimestamp("received_at"));
         return order;
     }
 }
@@ -0,0 +1,211 @@
+package com.inventory.dao;
+
+import com.inventory.util.AppConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTransactionRollbackException;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Order Number Allocator
+ * Hands out PO-YYYY-NNN order numbers from blocks reserved in the
+ * order_sequences table (one row per year).
+ *
+ * Each application node reserves a block of numbers with one short
+ * transaction and then serves it from memory with an atomic increment, so the
+ * common case needs no lock and no database round trip. Blocks never overlap,
+ * which keeps numbers unique across threads and nodes; numbers left unused in
+ * a block when a node stops are skipped, so the sequence may have gaps.
+ * The counter starts again at 001 each calendar year.
+ */
+public class OrderNumberAllocator {
+
+    private static final OrderNumberAllocator INSTANCE =
+            new OrderNumberAllocator(AppConfig.getInt("orders.numberBlockSize", 20));
+
+    private static final int MAX_RESERVE_ATTEMPTS = 5;
+
+    private final int blockSize;
+    private final AtomicReference<Block> current = new AtomicReference<>();
+
+    public static OrderNumberAllocator getInstance() {
+        return INSTANCE;
+    }
+
+    OrderNumberAllocator(int blockSize) {
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    /**
+     * Allocate the next order number
+     */
+    public String nextOrderNumber() throws SQLException {
+        int year = Year.now().getValue();
+        while (true) {
+            Block block = current.get();
+            if (block != null && block.year == year) {
+                int value = block.next.getAndIncrement();
+                if (value < block.end) {
+                    return String.format("PO-%d-%03d", year, value);
+                }
+            }
+            refill(year, block);
+        }
+    }
+
+    /**
+     * Allocate count consecutive order numbers. More than a block's worth
+     * are reserved with a single round trip of their own.
+     */
+    public List<String> nextOrderNumbers(int count) throws SQLException {
+        List<String> numbers = new ArrayList<>(count);
+        if (count <= blockSize) {
+            for (int i = 0; i < count; i++) {
+                numbers.add(nextOrderNumber());
+            }
+            return numbers;
+        }
+        int year = Year.now().getValue();
+        int start = reserveBlock(year, count);
+        for (int i = 0; i < count; i++) {
+            numbers.add(String.format("PO-%d-%03d", year, start + i));
+        }
+        return numbers;
+    }
+
+    /**
+     * Replace an exhausted (or previous-year) block; only one thread reserves
+     */
+    private synchronized void refill(int year, Block exhausted) throws SQLException {
+        if (current.get() != exhausted) {
+            return; // Another thread already installed a fresh block
+        }
+        int start = reserveBlock(year, blockSize);
+        current.set(new Block(year, start, start + blockSize));
+    }
+
+    /**
+     * Reserve [start, start + size) for this node and return start.
+     *
+     * The year's row is moved on with a relative UPDATE and read back while
+     * this transaction holds its row lock. A missing row is first created on
+     * its own (INSERT ... ON DUPLICATE KEY UPDATE, so nodes racing to create it
+     * both succeed) instead of under SELECT ... FOR UPDATE, whose gap lock
+     * makes two nodes' first reservations of a year deadlock.
+     */
+    private int reserveBlock(int year, int size) throws SQLException {
+        String updateSql = "UPDATE order_sequences SET next_value = next_value + ? WHERE seq_year = ?";
+        String selectSql = "SELECT next_value FROM order_sequences WHERE seq_year = ?";
+
+        for (int attempt = 1; ; attempt++) {
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                conn.setAutoCommit(false);
+                try {
+                    int updated;
+                    try (PreparedStatement stmt = conn.prepareStatement(updateSql)) {
+                        stmt.setInt(1, size);
+                        stmt.setInt(2, year);
+                        updated = stmt.executeUpdate();
+                    }
+
+                    if (updated == 0) {
+                        // First order of the year on any node
+                        conn.rollback();
+                        conn.setAutoCommit(true);
+                        createYear(conn, year);
+                        continue;
+                    }
+
+                    int end;
+                    try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+                        stmt.setInt(1, year);
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            if (!rs.next()) {
+                                throw new SQLException("order_sequences row for " + year + " disappeared");
+                            }
+                            end = rs.getInt("next_value");
+                        }
+                    }
+                    conn.commit();
+                    return end - size;
+
+                } catch (SQLException e) {
+                    if (!conn.getAutoCommit()) {
+                        conn.rollback();
+                    }
+                    // Deadlock victim or lost race: the transaction was rolled back, so try again
+                    if (!isRetryable(e) || attempt >= MAX_RESERVE_ATTEMPTS) {
+                        throw e;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Create the year's row, continuing after any numbers already used.
+     * A row another node created meanwhile is left as it is.
+     */
+    private void createYear(Connection conn, int year) throws SQLException {
+        String sql = "INSERT INTO order_sequences (seq_year, next_value) VALUES (?, ?) " +
+                "ON DUPLICATE KEY UPDATE next_value = next_value";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, year);
+            stmt.setInt(2, highestUsedNumber(conn, year) + 1);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static boolean isRetryable(SQLException e) {
+        return e instanceof SQLIntegrityConstraintViolationException
+                || e instanceof SQLTransactionRollbackException
+                || "40001".equals(e.getSQLState());
+    }
+
+    /**
+     * Highest NNN among existing PO-YYYY-NNN numbers for the year, or 0
+     */
+    private int highestUsedNumber(Connection conn, int year) throws SQLException {
+        String sql = "SELECT order_number FROM orders WHERE order_number LIKE ? " +
+                "ORDER BY LENGTH(order_number) DESC, order_number DESC LIMIT 1";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, "PO-" + year + "-%");
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    String[] parts = rs.getString("order_number").split("-");
+                    try {
+                        return Integer.parseInt(parts[2]);
+                    } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * A reserved range of numbers for one year
+     */
+    private static class Block {
+        final int year;
+        final AtomicInteger next;
+        final int end;
+
+        Block(int year, int start, int end) {
+            this.year = year;
+            this.next = new AtomicInteger(start);
+            this.end = end;
+        }
+    }
+}
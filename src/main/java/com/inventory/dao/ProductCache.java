@@ -0,0 +1,378 @@
+package com.inventory.dao;
+
+import com.inventory.model.Product;
+import com.inventory.util.AppConfig;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Product Cache
+ * Bounded, read-through cache in front of ProductDAO.
+ *
+ * - Products are kept in an LRU map with a time-to-live.
+ * - Category listings and the low-stock listing are cached as ordered id lists
+ *   that resolve against the product map; a listing whose products were evicted
+ *   counts as a miss.
+ * - Secondary indexes by category_id and supplier_id let category/supplier
+ *   changes evict exactly the products whose joined names went stale.
+ *
+ * Cached Product objects are shared between callers and must be treated as read-only.
+ * All methods are thread-safe. Every invalidation bumps a generation counter;
+ * a loader only stores its result if no invalidation happened while it was
+ * reading, so a slow read can never re-insert data that was just changed.
+ */
+public class ProductCache {
+
+    private static final ProductCache INSTANCE = new ProductCache(
+            AppConfig.getBoolean("cache.product.enabled", true),
+            AppConfig.getInt("cache.product.maxSize", 10000),
+            AppConfig.getLong("cache.product.ttlSeconds", 300) * 1000L);
+
+    private final boolean enabled;
+    private final int maxSize;
+    private final long ttlMillis;
+
+    private final LinkedHashMap<Integer, CachedProduct> products;
+    private final Map<Integer, Set<Integer>> byCategory = new HashMap<>();
+    private final Map<Integer, Set<Integer>> bySupplier = new HashMap<>();
+    private final Map<Integer, CachedListing> categoryListings = new HashMap<>();
+    private CachedListing lowStockListing;
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public static ProductCache getInstance() {
+        return INSTANCE;
+    }
+
+    ProductCache(boolean enabled, int maxSize, long ttlMillis) {
+        this.enabled = enabled;
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlMillis = ttlMillis;
+        this.products = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Current invalidation generation; pass it back to the put methods
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Get a cached product, or null on a miss
+     */
+    public synchronized Product getProduct(int id) {
+        Product product = lookup(id);
+        if (product != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return product;
+    }
+
+    /**
+     * Store a product loaded from the database
+     * @param loadGeneration value of generation() taken before the database read
+     */
+    public synchronized void putProduct(Product product, long loadGeneration) {
+        if (!enabled || product == null || loadGeneration != generation) {
+            return;
+        }
+        store(product);
+    }
+
+    /**
+     * Get the cached listing for a category, or null on a miss
+     */
+    public synchronized List<Product> getCategoryListing(int categoryId) {
+        List<Product> listing = resolve(categoryListings.get(categoryId));
+        if (listing == null) {
+            categoryListings.remove(categoryId);
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return listing;
+    }
+
+    public synchronized void putCategoryListing(int categoryId, List<Product> listing, long loadGeneration) {
+        if (!enabled || loadGeneration != generation || listing.size() > maxSize / 2) {
+            return;
+        }
+        categoryListings.put(categoryId, storeListing(listing));
+    }
+
+    /**
+     * Get the cached low-stock listing, or null on a miss
+     */
+    public synchronized List<Product> getLowStockListing() {
+        List<Product> listing = resolve(lowStockListing);
+        if (listing == null) {
+            lowStockListing = null;
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return listing;
+    }
+
+    public synchronized void putLowStockListing(List<Product> listing, long loadGeneration) {
+        if (!enabled || loadGeneration != generation || listing.size() > maxSize / 2) {
+            return;
+        }
+        lowStockListing = storeListing(listing);
+    }
+
+    /**
+     * A product was added, changed or deleted.
+     * @param productId  the product
+     * @param categoryId its (new) category, or 0 if unknown
+     */
+    public synchronized void invalidateProduct(int productId, int categoryId) {
+        generation++;
+        CachedProduct old = products.get(productId);
+        if (old != null) {
+            categoryListings.remove(old.product.getCategoryId());
+            evict(productId);
+        } else {
+            // Old category unknown: drop any listing that contains the product
+            categoryListings.values().removeIf(listing -> listing.contains(productId));
+        }
+        categoryListings.remove(categoryId);
+        lowStockListing = null;
+    }
+
+    /**
+     * A product's stock level changed (its category and names did not)
+     */
+    public synchronized void invalidateStock(int productId) {
+        generation++;
+        evict(productId);
+        lowStockListing = null;
+    }
+
+    /**
+     * Reorder points changed, so the low-stock listing may have
+     */
+    public synchronized void invalidateLowStock() {
+        generation++;
+        lowStockListing = null;
+    }
+
+    /**
+     * A category was renamed or deleted
+     */
+    public synchronized void invalidateCategory(int categoryId) {
+        generation++;
+        Set<Integer> ids = byCategory.get(categoryId);
+        if (ids != null) {
+            for (Integer id : new ArrayList<>(ids)) {
+                evict(id);
+            }
+        }
+        categoryListings.remove(categoryId);
+        lowStockListing = null;
+    }
+
+    /**
+     * A supplier was renamed or deleted
+     */
+    public synchronized void invalidateSupplier(int supplierId) {
+        generation++;
+        Set<Integer> ids = bySupplier.get(supplierId);
+        if (ids != null) {
+            for (Integer id : new ArrayList<>(ids)) {
+                evict(id);
+            }
+        }
+        categoryListings.clear();
+        lowStockListing = null;
+    }
+
+    /**
+     * Drop everything (e.g. after a bulk load)
+     */
+    public synchronized void clear() {
+        generation++;
+        products.clear();
+        byCategory.clear();
+        bySupplier.clear();
+        categoryListings.clear();
+        lowStockListing = null;
+    }
+
+    /**
+     * Snapshot of the cache counters
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), products.size(), maxSize);
+    }
+
+    private Product lookup(int id) {
+        CachedProduct cached = products.get(id);
+        if (cached == null) {
+            return null;
+        }
+        if (isExpired(cached.loadedAt)) {
+            evict(id);
+            return null;
+        }
+        return cached.product;
+    }
+
+    private void store(Product product) {
+        evict(product.getId());
+        products.put(product.getId(), new CachedProduct(product, System.currentTimeMillis()));
+        byCategory.computeIfAbsent(product.getCategoryId(), k -> new HashSet<>()).add(product.getId());
+        bySupplier.computeIfAbsent(product.getSupplierId(), k -> new HashSet<>()).add(product.getId());
+
+        // Evict least recently used entries beyond the bound
+        Iterator<Map.Entry<Integer, CachedProduct>> it = products.entrySet().iterator();
+        while (products.size() > maxSize && it.hasNext()) {
+            Product eldest = it.next().getValue().product;
+            it.remove();
+            unindex(eldest);
+            evictions.increment();
+        }
+    }
+
+    private CachedListing storeListing(List<Product> listing) {
+        int[] ids = new int[listing.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Product product = listing.get(i);
+            ids[i] = product.getId();
+            store(product);
+        }
+        return new CachedListing(ids, System.currentTimeMillis());
+    }
+
+    private List<Product> resolve(CachedListing listing) {
+        if (listing == null || isExpired(listing.loadedAt)) {
+            return null;
+        }
+        List<Product> result = new ArrayList<>(listing.ids.length);
+        for (int id : listing.ids) {
+            Product product = lookup(id);
+            if (product == null) {
+                return null;
+            }
+            result.add(product);
+        }
+        return result;
+    }
+
+    private void evict(int productId) {
+        CachedProduct removed = products.remove(productId);
+        if (removed != null) {
+            unindex(removed.product);
+        }
+    }
+
+    private void unindex(Product product) {
+        removeFromIndex(byCategory, product.getCategoryId(), product.getId());
+        removeFromIndex(bySupplier, product.getSupplierId(), product.getId());
+    }
+
+    private static void removeFromIndex(Map<Integer, Set<Integer>> index, int key, int productId) {
+        Set<Integer> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(productId);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private boolean isExpired(long loadedAt) {
+        return ttlMillis > 0 && System.currentTimeMillis() - loadedAt > ttlMillis;
+    }
+
+    private static class CachedProduct {
+        final Product product;
+        final long loadedAt;
+
+        CachedProduct(Product product, long loadedAt) {
+            this.product = product;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static class CachedListing {
+        final int[] ids;
+        final long loadedAt;
+
+        CachedListing(int[] ids, long loadedAt) {
+            this.ids = ids;
+            this.loadedAt = loadedAt;
+        }
+
+        boolean contains(int productId) {
+            for (int id : ids) {
+                if (id == productId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Point-in-time cache counters
+     */
+    public static class CacheStats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final int size;
+        private final int maxSize;
+
+        public CacheStats(long hits, long misses, long evictions, int size, int maxSize) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.size = size;
+            this.maxSize = maxSize;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public double getHitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.inventory.dao;
 
 import com.inventory.model.Product;
+import com.inventory.model.ProductPage;
+import com.inventory.util.AppConfig;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Product Data Access Object
@@ -12,10 +18,23 @@ import java.util.List;
  */
 public class ProductDAO {
 
+    // Tables whose changes start a new coalesced read (see ReadCoalescer)
+    private static final TableVersions.Table[] LISTING_TABLES = {
+            TableVersions.Table.PRODUCTS, TableVersions.Table.CATEGORIES, TableVersions.Table.SUPPLIERS };
+    private static final TableVersions.Table[] PRODUCT_TABLE = { TableVersions.Table.PRODUCTS };
+
+    private static final boolean SEARCH_INDEX_ENABLED = AppConfig.getBoolean("search.index.enabled", true);
+    private static final int SEARCH_DEFAULT_LIMIT = AppConfig.getInt("search.defaultLimit", 100);
+
     /**
      * Get all products with category and supplier information
      */
     public List<Product> getAllProducts() throws SQLException {
+        return ReadCoalescer.getInstance().read("products.all", LISTING_TABLES,
+                () -> Collections.unmodifiableList(loadAllProducts()));
+    }
+
+    private List<Product> loadAllProducts() throws SQLException {
         List<Product> products = new ArrayList<>();
         String sql = "SELECT p.*, c.name as category_name, s.name as supplier_name " +
                     "FROM products p " +
@@ -35,9 +54,119 @@ public class ProductDAO {
     }
 
     /**
-     * Get product by ID
+     * Stream all products (newest first) to a handler, one row at a time.
+     * Memory use is constant regardless of table size.
+     */
+    public void streamAllProducts(RowHandler<Product> handler) throws SQLException, IOException {
+        String sql = "SELECT p.*, c.name as category_name, s.name as supplier_name " +
+                    "FROM products p " +
+                    "LEFT JOIN categories c ON p.category_id = c.id " +
+                    "LEFT JOIN suppliers s ON p.supplier_id = s.id " +
+                    "ORDER BY p.id DESC";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            DatabaseConnection.enableStreaming(stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(extractProductFromResultSet(rs));
+                }
+            }
+        }
+    }
+
+    /**
+     * Get one page of products using keyset (cursor) pagination.
+     *
+     * @param sort    "id" (newest first, default), "name" or "sku"
+     * @param after   sort value of the last row of the previous page (name/sku sorting), or null for the first page
+     * @param afterId id of the last row of the previous page, or 0 for the first page
+     * @param limit   maximum number of rows to return
+     */
+    public ProductPage getProductsPage(String sort, String after, int afterId, int limit) throws SQLException {
+        String where;
+        String orderBy;
+        // name/sku pages continue from the sort value; id pages from the id alone
+        boolean firstPage = after == null;
+
+        if ("name".equals(sort)) {
+            // (name, id) is unique, so ties on name are broken by id
+            where = firstPage ? "" : "WHERE p.name > ? OR (p.name = ? AND p.id > ?) ";
+            orderBy = "ORDER BY p.name ASC, p.id ASC ";
+        } else if ("sku".equals(sort)) {
+            where = firstPage ? "" : "WHERE p.sku > ? ";
+            orderBy = "ORDER BY p.sku ASC ";
+        } else {
+            sort = "id";
+            firstPage = afterId <= 0;
+            where = firstPage ? "" : "WHERE p.id < ? ";
+            orderBy = "ORDER BY p.id DESC ";
+        }
+
+        String sql = "SELECT p.*, c.name as category_name, s.name as supplier_name " +
+                    "FROM products p " +
+                    "LEFT JOIN categories c ON p.category_id = c.id " +
+                    "LEFT JOIN suppliers s ON p.supplier_id = s.id " +
+                    where + orderBy + "LIMIT ?";
+
+        List<Product> products = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (!firstPage) {
+                if ("name".equals(sort)) {
+                    stmt.setString(index++, after);
+                    stmt.setString(index++, after);
+                    stmt.setInt(index++, afterId);
+                } else if ("sku".equals(sort)) {
+                    stmt.setString(index++, after);
+                } else {
+                    stmt.setInt(index++, afterId);
+                }
+            }
+            // Fetch one extra row to know whether another page exists
+            stmt.setInt(index, limit + 1);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    products.add(extractProductFromResultSet(rs));
+                }
+            }
+        }
+
+        boolean hasMore = products.size() > limit;
+        if (hasMore) {
+            products.remove(products.size() - 1);
+        }
+
+        int nextAfterId = 0;
+        String nextAfter = null;
+        if (!products.isEmpty()) {
+            Product last = products.get(products.size() - 1);
+            nextAfterId = last.getId();
+            if ("name".equals(sort)) {
+                nextAfter = last.getName();
+            } else if ("sku".equals(sort)) {
+                nextAfter = last.getSku();
+            }
+        }
+        return new ProductPage(products, sort, nextAfterId, nextAfter, hasMore);
+    }
+
+    /**
+     * Get product by ID (served from ProductCache when possible)
      */
     public Product getProductById(int id) throws SQLException {
+        ProductCache cache = ProductCache.getInstance();
+        Product cached = cache.getProduct(id);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cache.generation();
+
         String sql = "SELECT p.*, c.name as category_name, s.name as supplier_name " +
                     "FROM products p " +
                     "LEFT JOIN categories c ON p.category_id = c.id " +
@@ -50,7 +179,9 @@ public class ProductDAO {
             stmt.setInt(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return extractProductFromResultSet(rs);
+                    Product product = extractProductFromResultSet(rs);
+                    cache.putProduct(product, generation);
+                    return product;
                 }
             }
         }
@@ -65,6 +196,8 @@ public class ProductDAO {
                     "unit_price, quantity_in_stock, reorder_level, image_url) " +
                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
+        InventoryStats stats = InventoryStats.getInstance();
+        stats.beginChange();
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
 
@@ -85,35 +218,67 @@ public class ProductDAO {
                         product.setId(generatedKeys.getInt(1));
                     }
                 }
+                ProductSearchIndex.getInstance().put(product);
+                ProductCache.getInstance().invalidateProduct(product.getId(), product.getCategoryId());
+                stats.productChanged(null, figuresOf(product));
+                TableVersions.getInstance().bump(TableVersions.Table.PRODUCTS);
                 return true;
             }
+        } finally {
+            stats.endChange();
         }
         return false;
     }
 
     /**
-     * Update existing product
+     * Update existing product. quantity_in_stock is not written: stock only
+     * changes through StockMovementDAO, so an edit made from a stale form
+     * cannot overwrite movements recorded meanwhile. The product's
+     * quantityInStock is set to the stored value.
      */
     public boolean updateProduct(Product product) throws SQLException {
         String sql = "UPDATE products SET name = ?, sku = ?, category_id = ?, supplier_id = ?, " +
-                    "description = ?, unit_price = ?, quantity_in_stock = ?, reorder_level = ?, " +
+                    "description = ?, unit_price = ?, reorder_level = ?, " +
                     "image_url = ? WHERE id = ?";
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, product.getName());
-            stmt.setString(2, product.getSku());
-            stmt.setInt(3, product.getCategoryId());
-            stmt.setInt(4, product.getSupplierId());
-            stmt.setString(5, product.getDescription());
-            stmt.setBigDecimal(6, product.getUnitPrice());
-            stmt.setInt(7, product.getQuantityInStock());
-            stmt.setInt(8, product.getReorderLevel());
-            stmt.setString(9, product.getImageUrl());
-            stmt.setInt(10, product.getId());
+        InventoryStats stats = InventoryStats.getInstance();
+        stats.beginChange();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                InventoryStats.ProductFigures before = lockFigures(conn, product.getId());
+                boolean updated = false;
+                if (before != null) {
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        stmt.setString(1, product.getName());
+                        stmt.setString(2, product.getSku());
+                        stmt.setInt(3, product.getCategoryId());
+                        stmt.setInt(4, product.getSupplierId());
+                        stmt.setString(5, product.getDescription());
+                        stmt.setBigDecimal(6, product.getUnitPrice());
+                        stmt.setInt(7, product.getReorderLevel());
+                        stmt.setString(8, product.getImageUrl());
+                        stmt.setInt(9, product.getId());
+
+                        updated = stmt.executeUpdate() > 0;
+                    }
+                    product.setQuantityInStock(before.getQuantityInStock());
+                }
+                conn.commit();
 
-            return stmt.executeUpdate() > 0;
+                if (updated) {
+                    ProductSearchIndex.getInstance().put(product);
+                    ProductCache.getInstance().invalidateProduct(product.getId(), product.getCategoryId());
+                    stats.productChanged(before, figuresOf(product));
+                    TableVersions.getInstance().bump(TableVersions.Table.PRODUCTS);
+                }
+                return updated;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } finally {
+            stats.endChange();
         }
     }
 
@@ -123,25 +288,161 @@ public class ProductDAO {
     public boolean deleteProduct(int id) throws SQLException {
         String sql = "DELETE FROM products WHERE id = ?";
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        InventoryStats stats = InventoryStats.getInstance();
+        stats.beginChange();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                InventoryStats.ProductFigures before = lockFigures(conn, id);
+                boolean deleted = false;
+                if (before != null) {
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        stmt.setInt(1, id);
+                        deleted = stmt.executeUpdate() > 0;
+                    }
+                }
+                conn.commit();
+
+                if (deleted) {
+                    ProductSearchIndex.getInstance().remove(id);
+                    ProductCache.getInstance().invalidateProduct(id, 0);
+                    BinCapacityIndex.getInstance().removeProduct(id);
+                    ReorderForecaster.getInstance().removeProduct(id);
+                    stats.productChanged(before, null);
+                    TableVersions.getInstance().bump(TableVersions.Table.PRODUCTS);
+                }
+                return deleted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } finally {
+            stats.endChange();
+        }
+    }
 
+    /**
+     * Read and lock the columns of a product that feed InventoryStats
+     * (must run inside the transaction that changes the row)
+     */
+    InventoryStats.ProductFigures lockFigures(Connection conn, int id) throws SQLException {
+        String sql = "SELECT category_id, unit_price, quantity_in_stock, " +
+                    "COALESCE((SELECT f.reorder_point FROM product_forecasts f WHERE f.product_id = products.id), " +
+                    "reorder_level) AS reorder_point " +
+                    "FROM products WHERE id = ? FOR UPDATE";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return new InventoryStats.ProductFigures(rs.getInt("category_id"),
+                            rs.getBigDecimal("unit_price"), rs.getInt("quantity_in_stock"),
+                            rs.getInt("reorder_point"));
+                }
+            }
         }
+        return null;
+    }
+
+    static InventoryStats.ProductFigures figuresOf(Product product) {
+        return new InventoryStats.ProductFigures(product.getCategoryId(), product.getUnitPrice(),
+                product.getQuantityInStock(),
+                ReorderForecaster.getInstance().effectiveReorderPoint(product.getId(), product.getReorderLevel()));
     }
 
     /**
-     * Search products by name or SKU
+     * Search products by name, SKU or description, best match first
      */
     public List<Product> searchProducts(String keyword) throws SQLException {
+        return searchProducts(keyword, SEARCH_DEFAULT_LIMIT);
+    }
+
+    /**
+     * Search products by name, SKU or description, returning at most limit results.
+     * Matching and ranking run against the in-memory ProductSearchIndex;
+     * MySQL is only queried to load the matched rows.
+     */
+    public List<Product> searchProducts(String keyword, int limit) throws SQLException {
+        if (!SEARCH_INDEX_ENABLED) {
+            return searchProductsLike(keyword, limit);
+        }
+        List<Integer> ids = ProductSearchIndex.getInstance().search(keyword, limit);
+        return getProductsByIds(ids);
+    }
+
+    /**
+     * Get products by id, returned in the order of the given ids.
+     * Cached products are reused; only the rest are read from MySQL.
+     * Ids that no longer exist are skipped.
+     */
+    public List<Product> getProductsByIds(List<Integer> ids) throws SQLException {
+        ProductCache cache = ProductCache.getInstance();
+        Map<Integer, Product> byId = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : ids) {
+            Product cached = cache.getProduct(id);
+            if (cached != null) {
+                byId.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long generation = cache.generation();
+            for (Product product : loadProductsByIds(missing)) {
+                byId.put(product.getId(), product);
+                cache.putProduct(product, generation);
+            }
+        }
+
+        List<Product> products = new ArrayList<>(byId.size());
+        for (Integer id : ids) {
+            Product product = byId.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    private List<Product> loadProductsByIds(List<Integer> ids) throws SQLException {
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < ids.size(); i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+        }
+        String sql = "SELECT p.*, c.name as category_name, s.name as supplier_name " +
+                    "FROM products p " +
+                    "LEFT JOIN categories c ON p.category_id = c.id " +
+                    "LEFT JOIN suppliers s ON p.supplier_id = s.id " +
+                    "WHERE p.id IN (" + placeholders + ")";
+
+        List<Product> products = new ArrayList<>(ids.size());
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < ids.size(); i++) {
+                stmt.setInt(i + 1, ids.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    products.add(extractProductFromResultSet(rs));
+                }
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Search with LIKE on name, SKU and description (used when the search index is disabled)
+     */
+    private List<Product> searchProductsLike(String keyword, int limit) throws SQLException {
         List<Product> products = new ArrayList<>();
         String sql = "SELECT p.*, c.name as category_name, s.name as supplier_name " +
                     "FROM products p " +
                     "LEFT JOIN categories c ON p.category_id = c.id " +
                     "LEFT JOIN suppliers s ON p.supplier_id = s.id " +
                     "WHERE p.name LIKE ? OR p.sku LIKE ? OR p.description LIKE ? " +
-                    "ORDER BY p.name";
+                    "ORDER BY p.name LIMIT ?";
 
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -150,6 +451,7 @@ public class ProductDAO {
             stmt.setString(1, searchPattern);
             stmt.setString(2, searchPattern);
             stmt.setString(3, searchPattern);
+            stmt.setInt(4, limit);
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
@@ -161,15 +463,24 @@ public class ProductDAO {
     }
 
     /**
-     * Get low stock products
+     * Get low stock products (served from ProductCache when possible): stock at
+     * or below the forecast reorder point, or reorder_level if there is none
      */
     public List<Product> getLowStockProducts() throws SQLException {
+        ProductCache cache = ProductCache.getInstance();
+        List<Product> cached = cache.getLowStockListing();
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cache.generation();
+
         List<Product> products = new ArrayList<>();
         String sql = "SELECT p.*, c.name as category_name, s.name as supplier_name " +
                     "FROM products p " +
                     "LEFT JOIN categories c ON p.category_id = c.id " +
                     "LEFT JOIN suppliers s ON p.supplier_id = s.id " +
-                    "WHERE p.quantity_in_stock <= p.reorder_level " +
+                    "LEFT JOIN product_forecasts f ON f.product_id = p.id " +
+                    "WHERE p.quantity_in_stock <= COALESCE(f.reorder_point, p.reorder_level) " +
                     "ORDER BY p.quantity_in_stock ASC";
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -180,13 +491,21 @@ public class ProductDAO {
                 products.add(extractProductFromResultSet(rs));
             }
         }
+        cache.putLowStockListing(products, generation);
         return products;
     }
 
     /**
-     * Get products by category
+     * Get products by category (served from ProductCache when possible)
      */
     public List<Product> getProductsByCategory(int categoryId) throws SQLException {
+        ProductCache cache = ProductCache.getInstance();
+        List<Product> cached = cache.getCategoryListing(categoryId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cache.generation();
+
         List<Product> products = new ArrayList<>();
         String sql = "SELECT p.*, c.name as category_name, s.name as supplier_name " +
                     "FROM products p " +
@@ -205,6 +524,7 @@ public class ProductDAO {
                 }
             }
         }
+        cache.putCategoryListing(categoryId, products, generation);
         return products;
     }
 
@@ -212,6 +532,10 @@ public class ProductDAO {
      * Get total number of products
      */
     public int getTotalProductCount() throws SQLException {
+        return ReadCoalescer.getInstance().read("products.count", PRODUCT_TABLE, this::loadTotalProductCount);
+    }
+
+    private int loadTotalProductCount() throws SQLException {
         String sql = "SELECT COUNT(*) FROM products";
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -229,6 +553,10 @@ public class ProductDAO {
      * Get total inventory value
      */
     public BigDecimal getTotalInventoryValue() throws SQLException {
+        return ReadCoalescer.getInstance().read("products.value", PRODUCT_TABLE, this::loadTotalInventoryValue);
+    }
+
+    private BigDecimal loadTotalInventoryValue() throws SQLException {
         String sql = "SELECT SUM(unit_price * quantity_in_stock) FROM products";
 
         try (Connection conn = DatabaseConnection.getConnection();
@@ -244,8 +572,9 @@ public class ProductDAO {
 
     /**
      * Helper method to extract Product object from ResultSet
+     * (package-private so the mapping benchmarks can call it)
      */
-    private Product extractProductFromResultSet(ResultSet rs) throws SQLException {
+    Product extractProductFromResultSet(ResultSet rs) throws SQLException {
         Product product = new Product();
         product.setId(rs.getInt("id"));
         product.setName(rs.getString("name"));
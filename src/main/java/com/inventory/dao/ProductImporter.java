@@ -0,0 +1,581 @@
+package com.inventory.dao;
+
+import com.inventory.model.Product;
+import com.inventory.util.AppConfig;
+import com.inventory.util.CsvReader;
+import com.inventory.util.ValidationUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Product Importer
+ * Loads a product catalog from CSV, inserting new SKUs and updating existing
+ * ones (matched by SKU).
+ *
+ * The file is parsed one record at a time and written in chunks of chunkSize
+ * rows, each in its own transaction: the existing rows of the chunk are locked
+ * and read, all rows are sent as one JDBC batch of INSERT ... ON DUPLICATE KEY
+ * UPDATE (a multi-row statement with rewriteBatchedStatements=true), and the
+ * resulting rows are read back to update ProductSearchIndex, ProductCache,
+ * InventoryStats and TableVersions after commit. Memory use depends on the
+ * chunk size, not the file size. Category and supplier names are resolved
+ * through maps loaded once per import.
+ *
+ * Invalid rows are skipped and reported with their line number; they never
+ * fail the import. A database error rolls back the current chunk and stops the
+ * import, leaving earlier chunks committed; since rows are matched by SKU the
+ * same file can simply be imported again.
+ *
+ * Columns (header names are case-insensitive; '_' and spaces are ignored):
+ * sku, name and unit_price are required; category and supplier (names),
+ * description, quantity_in_stock, reorder_level and image_url are optional.
+ * A column missing from the header is left unchanged on existing products,
+ * and quantity_in_stock is only used for new ones (stock of existing products
+ * is changed by recording movements on /stock).
+ * Empty cells mean no category/supplier, NULL text, and the column default
+ * for numbers (0 in stock, reorder level 10).
+ */
+public class ProductImporter {
+
+    private static final int CHUNK_SIZE = Math.max(1, AppConfig.getInt("import.chunkSize", 1000));
+    private static final int MAX_ERRORS = Math.max(0, AppConfig.getInt("import.maxErrors", 100));
+    // Require the XXXX-### SKU format of ValidationUtils (false = any SKU up to 50 characters)
+    private static final boolean STRICT_SKU = AppConfig.getBoolean("import.strictSku", true);
+
+    private static final int DEFAULT_REORDER_LEVEL = 10;
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+
+    private static final String SKU = "sku";
+    private static final String NAME = "name";
+    private static final String CATEGORY = "category";
+    private static final String SUPPLIER = "supplier";
+    private static final String DESCRIPTION = "description";
+    private static final String UNIT_PRICE = "unitprice";
+    private static final String QUANTITY = "quantityinstock";
+    private static final String REORDER_LEVEL = "reorderlevel";
+    private static final String IMAGE_URL = "imageurl";
+
+    // Normalized header name -> column
+    private static final Map<String, String> HEADER_NAMES = new HashMap<>();
+    static {
+        for (String column : new String[] { SKU, NAME, CATEGORY, SUPPLIER, DESCRIPTION, UNIT_PRICE,
+                QUANTITY, REORDER_LEVEL, IMAGE_URL }) {
+            HEADER_NAMES.put(column, column);
+        }
+        HEADER_NAMES.put("categoryname", CATEGORY);
+        HEADER_NAMES.put("suppliername", SUPPLIER);
+        HEADER_NAMES.put("price", UNIT_PRICE);
+        HEADER_NAMES.put("quantity", QUANTITY);
+    }
+
+    // Column -> products column, in statement order
+    private static final Map<String, String> DB_COLUMNS = new LinkedHashMap<>();
+    static {
+        DB_COLUMNS.put(SKU, "sku");
+        DB_COLUMNS.put(NAME, "name");
+        DB_COLUMNS.put(UNIT_PRICE, "unit_price");
+        DB_COLUMNS.put(CATEGORY, "category_id");
+        DB_COLUMNS.put(SUPPLIER, "supplier_id");
+        DB_COLUMNS.put(DESCRIPTION, "description");
+        DB_COLUMNS.put(QUANTITY, "quantity_in_stock");
+        DB_COLUMNS.put(REORDER_LEVEL, "reorder_level");
+        DB_COLUMNS.put(IMAGE_URL, "image_url");
+    }
+
+    private final ProductDAO productDAO = new ProductDAO();
+
+    /**
+     * Called after each committed chunk
+     */
+    public interface Listener {
+        void chunkCommitted(Progress progress);
+    }
+
+    /**
+     * Import a CSV catalog
+     * @param reader   the CSV text, header first
+     * @param progress receives the counts and row errors as the import runs,
+     *                 so it also describes a partial import when this throws
+     * @param listener notified after each chunk, or null
+     * @throws IllegalArgumentException if the header is missing, lacks a required column or names an unknown one
+     * @throws IOException on malformed CSV or a read error
+     * @throws SQLException if a chunk could not be written (it is rolled back)
+     */
+    public void importCsv(Reader reader, Progress progress, Listener listener) throws IOException, SQLException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new IllegalArgumentException("The file is empty");
+        }
+        Map<String, Integer> columns = mapHeader(header);
+
+        Map<String, Integer> categories = loadNames("SELECT id, name FROM categories ORDER BY id");
+        Map<String, Integer> suppliers = loadNames("SELECT id, name FROM suppliers ORDER BY id");
+        String upsertSql = upsertSql(columns);
+
+        // Keyed by SKU: a later row for the same SKU replaces the earlier one within a chunk
+        Map<String, Product> chunk = new LinkedHashMap<>();
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            progress.rowsRead++;
+            Product product = parseRow(fields, header.size(), columns, categories, suppliers,
+                    csv.getRecordLine(), progress);
+            if (product == null) {
+                continue;
+            }
+            if (chunk.put(skuKey(product.getSku()), product) != null) {
+                progress.duplicates++;
+            }
+            if (chunk.size() >= CHUNK_SIZE) {
+                writeChunk(chunk, columns, upsertSql, progress);
+                chunk.clear();
+                if (listener != null) {
+                    listener.chunkCommitted(progress);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, columns, upsertSql, progress);
+            if (listener != null) {
+                listener.chunkCommitted(progress);
+            }
+        }
+        progress.finish();
+    }
+
+    private static Map<String, Integer> mapHeader(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String normalized = header.get(i).toLowerCase(Locale.ROOT).replaceAll("[\\s_-]", "");
+            String column = HEADER_NAMES.get(normalized);
+            if (column == null) {
+                throw new IllegalArgumentException("Unknown column: " + header.get(i));
+            }
+            if (columns.put(column, i) != null) {
+                throw new IllegalArgumentException("Duplicate column: " + header.get(i));
+            }
+        }
+        for (String required : new String[] { SKU, NAME, UNIT_PRICE }) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("Missing required column: " + DB_COLUMNS.get(required));
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Lower-cased name -> id; of several suppliers with one name the oldest wins
+     */
+    private static Map<String, Integer> loadNames(String sql) throws SQLException {
+        Map<String, Integer> ids = new HashMap<>();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                ids.putIfAbsent(rs.getString("name").trim().toLowerCase(Locale.ROOT), rs.getInt("id"));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * INSERT of the columns in the file; on an existing SKU every one of them
+     * but the SKU and quantity_in_stock is updated. Stock of existing products
+     * only changes through recorded movements, so an import cannot overwrite
+     * movements made meanwhile; the file's quantity only seeds new products.
+     */
+    private static String upsertSql(Map<String, Integer> columns) {
+        StringBuilder names = new StringBuilder();
+        StringBuilder values = new StringBuilder();
+        StringBuilder updates = new StringBuilder();
+        for (Map.Entry<String, String> column : DB_COLUMNS.entrySet()) {
+            if (!columns.containsKey(column.getKey())) {
+                continue;
+            }
+            String name = column.getValue();
+            names.append(names.length() == 0 ? "" : ", ").append(name);
+            values.append(values.length() == 0 ? "?" : ", ?");
+            if (!SKU.equals(column.getKey()) && !QUANTITY.equals(column.getKey())) {
+                updates.append(updates.length() == 0 ? "" : ", ")
+                        .append(name).append(" = ").append(DatabaseConnection.insertedValue(name));
+            }
+        }
+        return "INSERT INTO products (" + names + ") VALUES (" + values + ")"
+                + DatabaseConnection.upsertRowAlias() + " ON DUPLICATE KEY UPDATE " + updates;
+    }
+
+    /**
+     * Validate one record
+     * @return the product, or null if the row was reported as an error
+     */
+    private Product parseRow(List<String> fields, int columnCount, Map<String, Integer> columns,
+            Map<String, Integer> categories, Map<String, Integer> suppliers, long line, Progress progress) {
+
+        String sku = field(fields, columns, SKU);
+        if (fields.size() > columnCount) {
+            return reject(progress, line, sku, "Expected " + columnCount + " fields, found " + fields.size());
+        }
+        if (!ValidationUtils.isNotEmpty(sku)) {
+            return reject(progress, line, sku, ValidationUtils.getValidationError("SKU", "required"));
+        }
+        if (STRICT_SKU ? !ValidationUtils.isValidSKU(sku) : sku.length() > 50) {
+            return reject(progress, line, sku, STRICT_SKU ? ValidationUtils.getValidationError("SKU", "sku")
+                    : "SKU must be at most 50 characters");
+        }
+
+        String name = field(fields, columns, NAME);
+        if (!ValidationUtils.isNotEmpty(name)) {
+            return reject(progress, line, sku, ValidationUtils.getValidationError("Name", "required"));
+        }
+        if (name.length() > 200) {
+            return reject(progress, line, sku, "Name must be at most 200 characters");
+        }
+
+        String price = field(fields, columns, UNIT_PRICE);
+        if (!ValidationUtils.isValidPrice(price)) {
+            return reject(progress, line, sku, ValidationUtils.getValidationError("Unit price", "price"));
+        }
+        BigDecimal unitPrice;
+        try {
+            unitPrice = new BigDecimal(price);
+        } catch (NumberFormatException e) {
+            // Double accepts forms such as "Infinity" that BigDecimal does not
+            return reject(progress, line, sku, ValidationUtils.getValidationError("Unit price", "price"));
+        }
+        if (unitPrice.compareTo(MAX_PRICE) > 0) {
+            return reject(progress, line, sku, "Unit price must be at most " + MAX_PRICE);
+        }
+
+        String quantity = field(fields, columns, QUANTITY);
+        if (ValidationUtils.isNotEmpty(quantity) && !ValidationUtils.isValidQuantity(quantity)) {
+            return reject(progress, line, sku, ValidationUtils.getValidationError("Quantity", "quantity"));
+        }
+        String reorderLevel = field(fields, columns, REORDER_LEVEL);
+        if (ValidationUtils.isNotEmpty(reorderLevel) && !ValidationUtils.isValidQuantity(reorderLevel)) {
+            return reject(progress, line, sku, "Reorder level must be a non-negative integer");
+        }
+
+        String imageUrl = field(fields, columns, IMAGE_URL);
+        if (imageUrl != null && imageUrl.length() > 255) {
+            return reject(progress, line, sku, "Image URL must be at most 255 characters");
+        }
+
+        Product product = new Product();
+        String category = field(fields, columns, CATEGORY);
+        if (ValidationUtils.isNotEmpty(category)) {
+            Integer categoryId = categories.get(category.toLowerCase(Locale.ROOT));
+            if (categoryId == null) {
+                return reject(progress, line, sku, "Unknown category: " + category);
+            }
+            product.setCategoryId(categoryId);
+        }
+        String supplier = field(fields, columns, SUPPLIER);
+        if (ValidationUtils.isNotEmpty(supplier)) {
+            Integer supplierId = suppliers.get(supplier.toLowerCase(Locale.ROOT));
+            if (supplierId == null) {
+                return reject(progress, line, sku, "Unknown supplier: " + supplier);
+            }
+            product.setSupplierId(supplierId);
+        }
+
+        product.setSku(sku);
+        product.setName(name);
+        product.setUnitPrice(unitPrice);
+        product.setDescription(emptyToNull(field(fields, columns, DESCRIPTION)));
+        product.setQuantityInStock(ValidationUtils.isNotEmpty(quantity) ? Integer.parseInt(quantity) : 0);
+        product.setReorderLevel(ValidationUtils.isNotEmpty(reorderLevel)
+                ? Integer.parseInt(reorderLevel) : DEFAULT_REORDER_LEVEL);
+        product.setImageUrl(emptyToNull(imageUrl));
+        return product;
+    }
+
+    /**
+     * The trimmed cell of a column, or null if the file has no such column
+     */
+    private static String field(List<String> fields, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null) {
+            return null;
+        }
+        return index < fields.size() ? fields.get(index).trim() : "";
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    private static Product reject(Progress progress, long line, String sku, String message) {
+        progress.failed++;
+        if (progress.errors.size() < MAX_ERRORS) {
+            progress.errors.add(new RowError(line, sku, message));
+        }
+        return null;
+    }
+
+    // MySQL compares SKUs case-insensitively, so the chunk does too
+    private static String skuKey(String sku) {
+        return sku.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Upsert one chunk in a transaction and report the changes after commit
+     */
+    private void writeChunk(Map<String, Product> chunk, Map<String, Integer> columns, String upsertSql,
+            Progress progress) throws SQLException {
+
+        List<String> skus = new ArrayList<>(chunk.size());
+        for (Product product : chunk.values()) {
+            skus.add(product.getSku());
+        }
+
+        InventoryStats stats = InventoryStats.getInstance();
+        stats.beginChange();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                Map<String, InventoryStats.ProductFigures> before = lockFigures(conn, skus);
+                try (PreparedStatement stmt = conn.prepareStatement(upsertSql)) {
+                    for (Product product : chunk.values()) {
+                        bind(stmt, product, columns);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+                List<Product> after = readProducts(conn, skus);
+                conn.commit();
+
+                ProductSearchIndex.getInstance().putAll(after);
+                for (Product product : after) {
+                    InventoryStats.ProductFigures old = before.get(skuKey(product.getSku()));
+                    stats.productChanged(old, ProductDAO.figuresOf(product));
+                    if (old == null) {
+                        progress.inserted++;
+                    } else {
+                        progress.updated++;
+                    }
+                }
+                // One clear instead of a thousand invalidations
+                ProductCache.getInstance().clear();
+                TableVersions.getInstance().bump(TableVersions.Table.PRODUCTS);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } finally {
+            stats.endChange();
+        }
+    }
+
+    private static void bind(PreparedStatement stmt, Product product, Map<String, Integer> columns)
+            throws SQLException {
+        int index = 1;
+        for (String column : DB_COLUMNS.keySet()) {
+            if (!columns.containsKey(column)) {
+                continue;
+            }
+            switch (column) {
+                case SKU:
+                    stmt.setString(index++, product.getSku());
+                    break;
+                case NAME:
+                    stmt.setString(index++, product.getName());
+                    break;
+                case UNIT_PRICE:
+                    stmt.setBigDecimal(index++, product.getUnitPrice());
+                    break;
+                case CATEGORY:
+                    setId(stmt, index++, product.getCategoryId());
+                    break;
+                case SUPPLIER:
+                    setId(stmt, index++, product.getSupplierId());
+                    break;
+                case DESCRIPTION:
+                    stmt.setString(index++, product.getDescription());
+                    break;
+                case QUANTITY:
+                    stmt.setInt(index++, product.getQuantityInStock());
+                    break;
+                case REORDER_LEVEL:
+                    stmt.setInt(index++, product.getReorderLevel());
+                    break;
+                default:
+                    stmt.setString(index++, product.getImageUrl());
+                    break;
+            }
+        }
+    }
+
+    private static void setId(PreparedStatement stmt, int index, int id) throws SQLException {
+        if (id > 0) {
+            stmt.setInt(index, id);
+        } else {
+            stmt.setNull(index, Types.INTEGER);
+        }
+    }
+
+    /**
+     * Read and lock the InventoryStats figures of the chunk's existing products, by SKU
+     */
+    private static Map<String, InventoryStats.ProductFigures> lockFigures(Connection conn, List<String> skus)
+            throws SQLException {
+        String sql = "SELECT sku, category_id, unit_price, quantity_in_stock, " +
+                    "COALESCE((SELECT f.reorder_point FROM product_forecasts f WHERE f.product_id = products.id), " +
+                    "reorder_level) AS reorder_point " +
+                    "FROM products WHERE sku IN (" + placeholders(skus.size()) + ") FOR UPDATE";
+
+        Map<String, InventoryStats.ProductFigures> figures = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < skus.size(); i++) {
+                stmt.setString(i + 1, skus.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    figures.put(skuKey(rs.getString("sku")), new InventoryStats.ProductFigures(
+                            rs.getInt("category_id"), rs.getBigDecimal("unit_price"),
+                            rs.getInt("quantity_in_stock"), rs.getInt("reorder_point")));
+                }
+            }
+        }
+        return figures;
+    }
+
+    private List<Product> readProducts(Connection conn, List<String> skus) throws SQLException {
+        String sql = "SELECT p.*, c.name as category_name, s.name as supplier_name " +
+                    "FROM products p " +
+                    "LEFT JOIN categories c ON p.category_id = c.id " +
+                    "LEFT JOIN suppliers s ON p.supplier_id = s.id " +
+                    "WHERE p.sku IN (" + placeholders(skus.size()) + ")";
+
+        List<Product> products = new ArrayList<>(skus.size());
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < skus.size(); i++) {
+                stmt.setString(i + 1, skus.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    products.add(productDAO.extractProductFromResultSet(rs));
+                }
+            }
+        }
+        return products;
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+        }
+        return placeholders.toString();
+    }
+
+    /**
+     * Counts and row errors of an import, updated as it runs
+     */
+    public static class Progress {
+        private final long startedAt = System.nanoTime();
+        private long finishedAt;
+        private long rowsRead;
+        private long inserted;
+        private long updated;
+        private long duplicates;
+        private long failed;
+        private final List<RowError> errors = new ArrayList<>();
+
+        void finish() {
+            finishedAt = System.nanoTime();
+        }
+
+        public boolean isFinished() {
+            return finishedAt != 0;
+        }
+
+        /**
+         * Data rows read so far (inserted + updated + duplicates + failed, plus any not yet written)
+         */
+        public long getRowsRead() {
+            return rowsRead;
+        }
+
+        public long getInserted() {
+            return inserted;
+        }
+
+        public long getUpdated() {
+            return updated;
+        }
+
+        /**
+         * Rows replaced by a later row with the same SKU in the same chunk
+         */
+        public long getDuplicates() {
+            return duplicates;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        /**
+         * The first import.maxErrors rejected rows
+         */
+        public List<RowError> getErrors() {
+            return Collections.unmodifiableList(errors);
+        }
+
+        public long getElapsedMillis() {
+            return ((finishedAt != 0 ? finishedAt : System.nanoTime()) - startedAt) / 1_000_000;
+        }
+
+        public long getRowsPerSecond() {
+            long elapsed = getElapsedMillis();
+            return elapsed > 0 ? rowsRead * 1000 / elapsed : rowsRead;
+        }
+    }
+
+    /**
+     * A rejected row
+     */
+    public static class RowError {
+        private final long line;
+        private final String sku;
+        private final String message;
+
+        public RowError(long line, String sku, String message) {
+            this.line = line;
+            this.sku = sku;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public String getSku() {
+            return sku;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "line " + line + (sku != null && !sku.isEmpty() ? " (" + sku + ")" : "") + ": " + message;
+        }
+    }
+}
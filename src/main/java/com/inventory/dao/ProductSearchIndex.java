@@ -0,0 +1,652 @@
+package com.inventory.dao;
+
+import com.inventory.model.Product;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Product Search Index
+ * In-memory inverted index over product name, SKU and description.
+ *
+ * Two posting maps are kept:
+ * - trigrams of the full lower-cased name and SKU, for substring matches
+ * - whole words of name, SKU and description, for (word) prefix matches
+ *
+ * The index is loaded from MySQL on first use and kept current by ProductDAO
+ * on add/update/delete. Changes reported while the load is running are queued
+ * and applied once it finishes, as the load may have read the row before the
+ * change. Changes made directly in the database (or by another application
+ * node) are only picked up after {@link #invalidate()}.
+ */
+public class ProductSearchIndex {
+
+    private static final ProductSearchIndex INSTANCE = new ProductSearchIndex();
+
+    // Relevance weights, highest first
+    private static final int SCORE_NAME_EXACT = 100;
+    private static final int SCORE_SKU_EXACT = 90;
+    private static final int SCORE_NAME_PREFIX = 60;
+    private static final int SCORE_SKU_PREFIX = 50;
+    private static final int SCORE_NAME_WORD_PREFIX = 40;
+    private static final int SCORE_NAME_SUBSTRING = 25;
+    private static final int SCORE_SKU_SUBSTRING = 20;
+    private static final int SCORE_OTHER_WORD_PREFIX = 5;
+
+    // Posting list changes of more ids than this are applied in one pass instead of one by one
+    private static final int BULK_THRESHOLD = 8;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private final Map<String, PostingList> trigrams = new HashMap<>();
+    private final TreeMap<String, PostingList> words = new TreeMap<>();
+    private volatile boolean loaded;
+
+    // Guards loading and pendingChanges, and the changes of loaded
+    private final Object loadState = new Object();
+    private boolean loading;
+    private List<Runnable> pendingChanges = new ArrayList<>();
+
+    public static ProductSearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Search the index and return matching product ids, best match first
+     *
+     * @param keyword search text (case-insensitive)
+     * @param limit   maximum number of ids to return
+     */
+    public List<Integer> search(String keyword, int limit) throws SQLException {
+        if (keyword == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        String query = keyword.trim().toLowerCase(Locale.ROOT);
+        if (query.isEmpty()) {
+            return Collections.emptyList();
+        }
+        ensureLoaded();
+
+        lock.readLock().lock();
+        try {
+            String[] queryWords = tokenize(query);
+
+            // Min-heap on score so the weakest of the current top-k is evicted first
+            PriorityQueue<Hit> top = new PriorityQueue<>(Math.min(limit, 1024) + 1);
+            for (int id : findCandidates(query, queryWords)) {
+                Document doc = documents.get(id);
+                if (doc == null) {
+                    continue;
+                }
+                int score = score(doc, query, queryWords);
+                if (score <= 0) {
+                    continue;
+                }
+                top.add(new Hit(doc, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            Hit[] hits = top.toArray(new Hit[0]);
+            Arrays.sort(hits, Collections.reverseOrder());
+            List<Integer> ids = new ArrayList<>(hits.length);
+            for (Hit hit : hits) {
+                ids.add(hit.doc.id);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace a product in the index
+     */
+    public void put(Product product) {
+        if (!loaded && deferOrDrop(() -> put(product))) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Changes changes = new Changes();
+            replaceDocument(product.getId(), product.getName(), product.getSku(), product.getDescription(), changes);
+            changes.apply();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace several products (each at most once) under one lock, for
+     * bulk imports. Their postings are applied together, so a long posting
+     * list is rewritten once per call rather than once per product.
+     */
+    public void putAll(Collection<Product> products) {
+        if (!loaded) {
+            List<Product> copy = new ArrayList<>(products);
+            if (deferOrDrop(() -> putAll(copy))) {
+                return;
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            Changes changes = new Changes();
+            for (Product product : products) {
+                replaceDocument(product.getId(), product.getName(), product.getSku(), product.getDescription(),
+                        changes);
+            }
+            changes.apply();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a product from the index
+     */
+    public void remove(int productId) {
+        if (!loaded && deferOrDrop(() -> remove(productId))) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(productId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop the index; it is rebuilt from MySQL on the next search
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+        try {
+            synchronized (loadState) {
+                loaded = false;
+            }
+            documents.clear();
+            trigrams.clear();
+            words.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed products
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() throws SQLException {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            synchronized (loadState) {
+                loading = true;
+            }
+            long start = System.currentTimeMillis();
+            String sql = "SELECT id, name, sku, description FROM products";
+
+            try (Connection conn = DatabaseConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql,
+                         ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+                DatabaseConnection.enableStreaming(stmt);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        addDocument(rs.getInt("id"), rs.getString("name"),
+                                rs.getString("sku"), rs.getString("description"));
+                    }
+                }
+            } catch (SQLException e) {
+                documents.clear();
+                trigrams.clear();
+                words.clear();
+                synchronized (loadState) {
+                    loading = false;
+                    pendingChanges = new ArrayList<>();
+                }
+                throw e;
+            }
+            List<Runnable> changes;
+            synchronized (loadState) {
+                loaded = true;
+                loading = false;
+                changes = pendingChanges;
+                pendingChanges = new ArrayList<>();
+            }
+            // Still under the write lock, so no search sees the index without them
+            for (Runnable change : changes) {
+                change.run();
+            }
+            System.out.println("Product search index built: " + documents.size() + " products in "
+                    + (System.currentTimeMillis() - start) + " ms");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Called for a change while the index is not loaded. During a load the
+     * change is queued to be applied after it; otherwise there is nothing to
+     * update, as the next load reads the current rows.
+     *
+     * @return false if the index has been loaded meanwhile and the change should be applied now
+     */
+    private boolean deferOrDrop(Runnable change) {
+        synchronized (loadState) {
+            if (loading) {
+                pendingChanges.add(change);
+                return true;
+            }
+            return !loaded;
+        }
+    }
+
+    /**
+     * Collect candidate ids: substring matches on name/SKU via trigrams, plus
+     * products where every query word prefixes some word of name/SKU/description
+     */
+    private Set<Integer> findCandidates(String query, String[] queryWords) {
+        Set<Integer> candidates = new HashSet<>();
+
+        if (query.length() >= 3) {
+            PostingList smallest = null;
+            List<PostingList> lists = new ArrayList<>();
+            for (String gram : trigramsOf(query)) {
+                PostingList list = trigrams.get(gram);
+                if (list == null) {
+                    lists = null;
+                    break;
+                }
+                lists.add(list);
+                if (smallest == null || list.size < smallest.size) {
+                    smallest = list;
+                }
+            }
+            if (lists != null && smallest != null) {
+                for (int i = 0; i < smallest.size; i++) {
+                    int id = smallest.ids[i];
+                    boolean inAll = true;
+                    for (PostingList list : lists) {
+                        if (list != smallest && !list.contains(id)) {
+                            inAll = false;
+                            break;
+                        }
+                    }
+                    if (inAll) {
+                        candidates.add(id);
+                    }
+                }
+            }
+        }
+
+        Set<Integer> prefixMatches = null;
+        for (String word : queryWords) {
+            Set<Integer> matches = new HashSet<>();
+            for (PostingList list : words.subMap(word, true, word + Character.MAX_VALUE, true).values()) {
+                for (int i = 0; i < list.size; i++) {
+                    matches.add(list.ids[i]);
+                }
+            }
+            if (prefixMatches == null) {
+                prefixMatches = matches;
+            } else {
+                prefixMatches.retainAll(matches);
+            }
+            if (prefixMatches.isEmpty()) {
+                break;
+            }
+        }
+        if (prefixMatches != null) {
+            candidates.addAll(prefixMatches);
+        }
+        return candidates;
+    }
+
+    private int score(Document doc, String query, String[] queryWords) {
+        int score = 0;
+        if (doc.name.equals(query)) {
+            score = SCORE_NAME_EXACT;
+        } else if (doc.sku.equals(query)) {
+            score = SCORE_SKU_EXACT;
+        } else if (doc.name.startsWith(query)) {
+            score = SCORE_NAME_PREFIX;
+        } else if (doc.sku.startsWith(query)) {
+            score = SCORE_SKU_PREFIX;
+        } else if (doc.name.contains(" " + query)) {
+            score = SCORE_NAME_WORD_PREFIX;
+        } else if (doc.name.contains(query)) {
+            score = SCORE_NAME_SUBSTRING;
+        } else if (doc.sku.contains(query)) {
+            score = SCORE_SKU_SUBSTRING;
+        } else if (queryWords.length > 0) {
+            // Reached only through the word index, e.g. a description match
+            score = SCORE_OTHER_WORD_PREFIX;
+        }
+        return score;
+    }
+
+    private void addDocument(int id, String name, String sku, String description) {
+        Document doc = new Document(id, lower(name), lower(sku));
+        documents.put(id, doc);
+
+        for (String gram : gramsOf(doc)) {
+            trigrams.computeIfAbsent(gram, k -> new PostingList()).add(id);
+        }
+
+        Set<String> docWords = wordsOf(doc, description);
+        for (String word : docWords) {
+            words.computeIfAbsent(word, k -> new PostingList()).add(id);
+        }
+        doc.words = docWords.toArray(new String[0]);
+    }
+
+    /**
+     * Add or replace a document, recording only the postings that differ from
+     * its previous version in changes (words shared by many products have long
+     * posting lists, where every insert or removal in the middle is a copy)
+     */
+    private void replaceDocument(int id, String name, String sku, String description, Changes changes) {
+        Document old = documents.get(id);
+        Document doc = new Document(id, lower(name), lower(sku));
+        Set<String> grams = gramsOf(doc);
+        Set<String> docWords = wordsOf(doc, description);
+        doc.words = docWords.toArray(new String[0]);
+        documents.put(id, doc);
+
+        if (old != null) {
+            for (String gram : gramsOf(old)) {
+                if (!grams.remove(gram)) {
+                    changes.record(changes.gramsRemoved, gram, id);
+                }
+            }
+            for (String word : old.words) {
+                if (!docWords.remove(word)) {
+                    changes.record(changes.wordsRemoved, word, id);
+                }
+            }
+        }
+        for (String gram : grams) {
+            changes.record(changes.gramsAdded, gram, id);
+        }
+        for (String word : docWords) {
+            changes.record(changes.wordsAdded, word, id);
+        }
+    }
+
+    private void removeDocument(int id) {
+        Document doc = documents.remove(id);
+        if (doc == null) {
+            return;
+        }
+        for (String gram : gramsOf(doc)) {
+            removePosting(trigrams, gram, id);
+        }
+        for (String word : doc.words) {
+            removePosting(words, word, id);
+        }
+    }
+
+    private static Set<String> gramsOf(Document doc) {
+        Set<String> grams = new HashSet<>();
+        grams.addAll(trigramsOf(doc.name));
+        grams.addAll(trigramsOf(doc.sku));
+        return grams;
+    }
+
+    private static Set<String> wordsOf(Document doc, String description) {
+        Set<String> docWords = new HashSet<>();
+        Collections.addAll(docWords, tokenize(doc.name));
+        Collections.addAll(docWords, tokenize(doc.sku));
+        Collections.addAll(docWords, tokenize(lower(description)));
+        return docWords;
+    }
+
+    private static void removePosting(Map<String, PostingList> map, String key, int id) {
+        PostingList list = map.get(key);
+        if (list != null) {
+            list.remove(id);
+            if (list.size == 0) {
+                map.remove(key);
+            }
+        }
+    }
+
+    private static List<String> trigramsOf(String text) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static String[] tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens.toArray(new String[0]);
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Indexed form of a product (only what ranking needs)
+     */
+    private static class Document {
+        final int id;
+        final String name;
+        final String sku;
+        String[] words;
+
+        Document(int id, String name, String sku) {
+            this.id = id;
+            this.name = name;
+            this.sku = sku;
+        }
+    }
+
+    /**
+     * Posting list changes of one or more replaced documents, by key
+     */
+    private class Changes {
+        final Map<String, List<Integer>> gramsAdded = new HashMap<>();
+        final Map<String, List<Integer>> gramsRemoved = new HashMap<>();
+        final Map<String, List<Integer>> wordsAdded = new HashMap<>();
+        final Map<String, List<Integer>> wordsRemoved = new HashMap<>();
+
+        void record(Map<String, List<Integer>> changes, String key, int id) {
+            changes.computeIfAbsent(key, k -> new ArrayList<>(1)).add(id);
+        }
+
+        void apply() {
+            apply(trigrams, gramsRemoved, gramsAdded);
+            apply(words, wordsRemoved, wordsAdded);
+        }
+
+        private void apply(Map<String, PostingList> postings, Map<String, List<Integer>> removed,
+                Map<String, List<Integer>> added) {
+            for (Map.Entry<String, List<Integer>> entry : removed.entrySet()) {
+                PostingList list = postings.get(entry.getKey());
+                if (list != null) {
+                    list.removeAll(entry.getValue());
+                    if (list.size == 0) {
+                        postings.remove(entry.getKey());
+                    }
+                }
+            }
+            for (Map.Entry<String, List<Integer>> entry : added.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), k -> new PostingList()).addAll(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Ranked search hit; natural order is ascending relevance
+     */
+    private static class Hit implements Comparable<Hit> {
+        final Document doc;
+        final int score;
+
+        Hit(Document doc, int score) {
+            this.doc = doc;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Hit other) {
+            if (score != other.score) {
+                return Integer.compare(score, other.score);
+            }
+            // Shorter names rank higher, then alphabetical order
+            if (doc.name.length() != other.doc.name.length()) {
+                return Integer.compare(other.doc.name.length(), doc.name.length());
+            }
+            return other.doc.name.compareTo(doc.name);
+        }
+    }
+
+    /**
+     * Sorted, growable array of product ids. New products have the highest id,
+     * so inserts are almost always appends.
+     */
+    private static class PostingList {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        void remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+                size--;
+            }
+        }
+
+        /**
+         * Add several ids. Beyond a few, the list is grown once and the runs of
+         * existing ids between the new ones are moved with one copy each.
+         */
+        void addAll(List<Integer> added) {
+            if (added.size() <= BULK_THRESHOLD) {
+                for (int id : added) {
+                    add(id);
+                }
+                return;
+            }
+            int[] sorted = toSortedArray(added);
+            int count = 0;
+            for (int id : sorted) {
+                if ((count == 0 || sorted[count - 1] != id) && !contains(id)) {
+                    sorted[count++] = id;
+                }
+            }
+            if (size + count > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(size + count, size * 2));
+            }
+            // Fill from the end: old ids above each new id move up by the new ids still to place
+            int unmoved = size;
+            int write = size + count;
+            for (int j = count - 1; j >= 0; j--) {
+                int pos = -Arrays.binarySearch(ids, 0, unmoved, sorted[j]) - 1;
+                write -= unmoved - pos;
+                System.arraycopy(ids, pos, ids, write, unmoved - pos);
+                ids[--write] = sorted[j];
+                unmoved = pos;
+            }
+            size += count;
+        }
+
+        /**
+         * Remove several ids. Beyond a few, the runs of ids between the removed
+         * ones are moved down with one copy each.
+         */
+        void removeAll(List<Integer> removed) {
+            if (removed.size() <= BULK_THRESHOLD) {
+                for (int id : removed) {
+                    remove(id);
+                }
+                return;
+            }
+            int write = -1;
+            int from = 0;
+            for (int id : toSortedArray(removed)) {
+                int pos = Arrays.binarySearch(ids, from, size, id);
+                if (pos < 0) {
+                    continue;
+                }
+                if (write < 0) {
+                    write = pos;
+                } else {
+                    System.arraycopy(ids, from, ids, write, pos - from);
+                    write += pos - from;
+                }
+                from = pos + 1;
+            }
+            if (write >= 0) {
+                System.arraycopy(ids, from, ids, write, size - from);
+                size = write + size - from;
+            }
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private static int[] toSortedArray(List<Integer> values) {
+            int[] sorted = new int[values.size()];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = values.get(i);
+            }
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.inventory.dao;
+
+import com.inventory.util.AppConfig;
+import com.inventory.util.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Query Metrics
+ * Per SQL template execution statistics collected by the instrumented
+ * connections that DatabaseConnection hands out, plus connection-acquire wait.
+ *
+ * A template is the SQL text with whitespace collapsed and IN (?, ?, ...)
+ * lists folded to IN (?...), so the chunked id lookups count as one query.
+ * Each distinct SQL string is normalized once and then found with a single
+ * map lookup; recording an execution is a handful of atomic adds.
+ */
+public class QueryMetrics {
+
+    private static final QueryMetrics INSTANCE = new QueryMetrics(
+            AppConfig.getLong("db.slowQueryMs", 500));
+
+    private static final int MAX_TEMPLATES = 500;
+    private static final int MAX_CACHED_SQL = 5000;
+    private static final String OVERFLOW_TEMPLATE = "<other>";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // A character class rather than a repeated group: the regex engine recurses once per group
+    // repetition, which overflows the stack on IN lists of a thousand placeholders
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bIN\\s*\\(\\s*\\?[\\s,?]*\\)");
+
+    private final long slowQueryNanos;
+    private final ConcurrentHashMap<String, Template> bySql = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Template> byTemplate = new ConcurrentHashMap<>();
+    private final LatencyHistogram acquireWait = new LatencyHistogram();
+    private final LongAdder slowQueries = new LongAdder();
+
+    public static QueryMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    QueryMetrics(long slowQueryMillis) {
+        this.slowQueryNanos = slowQueryMillis > 0 ? slowQueryMillis * 1_000_000 : Long.MAX_VALUE;
+    }
+
+    /**
+     * Stats holder for a SQL string (normalized on first sight)
+     */
+    Template template(String sql) {
+        if (sql == null) {
+            return overflow();
+        }
+        Template template = bySql.get(sql);
+        if (template != null) {
+            return template;
+        }
+        String normalized = normalize(sql);
+        template = byTemplate.get(normalized);
+        if (template == null) {
+            template = byTemplate.size() < MAX_TEMPLATES
+                    ? byTemplate.computeIfAbsent(normalized, Template::new)
+                    : overflow();
+        }
+        if (bySql.size() < MAX_CACHED_SQL) {
+            bySql.putIfAbsent(sql, template);
+        }
+        return template;
+    }
+
+    private Template overflow() {
+        return byTemplate.computeIfAbsent(OVERFLOW_TEMPLATE, Template::new);
+    }
+
+    static String normalize(String sql) {
+        String collapsed = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return IN_LIST.matcher(collapsed).replaceAll("IN (?...)");
+    }
+
+    void recordAcquire(long nanos) {
+        acquireWait.record(nanos / 1000);
+    }
+
+    void recordExecution(Template template, long nanos, boolean failed) {
+        template.executions.increment();
+        template.totalNanos.add(nanos);
+        long max = template.maxNanos.get();
+        while (nanos > max && !template.maxNanos.compareAndSet(max, nanos)) {
+            max = template.maxNanos.get();
+        }
+        if (failed) {
+            template.errors.increment();
+        }
+        if (nanos >= slowQueryNanos) {
+            slowQueries.increment();
+            System.err.printf("Slow query (%.1f ms%s): %s%n", nanos / 1_000_000.0, failed ? ", failed" : "",
+                    template.sql);
+        }
+    }
+
+    /**
+     * All templates, most total time first
+     */
+    public List<Template> getTemplates() {
+        List<Template> templates = new ArrayList<>(byTemplate.values());
+        templates.sort((a, b) -> Long.compare(b.getTotalNanos(), a.getTotalNanos()));
+        return templates;
+    }
+
+    public LatencyHistogram getAcquireWait() {
+        return acquireWait;
+    }
+
+    public long getSlowQueries() {
+        return slowQueries.sum();
+    }
+
+    /**
+     * Counters for one SQL template
+     */
+    public static final class Template {
+        private final String sql;
+        final LongAdder executions = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+        final LongAdder rowsFetched = new LongAdder();
+        final LongAdder rowsAffected = new LongAdder();
+
+        Template(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getExecutions() {
+            return executions.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public long getRowsFetched() {
+            return rowsFetched.sum();
+        }
+
+        public long getRowsAffected() {
+            return rowsAffected.sum();
+        }
+    }
+}
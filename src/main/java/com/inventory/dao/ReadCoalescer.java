@@ -0,0 +1,195 @@
+package com.inventory.dao;
+
+import com.inventory.util.AppConfig;
+import com.inventory.util.RequestDeadline;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read Coalescer
+ * Single-flight for identical reads: while a query for a key is running,
+ * further calls with the same key wait for it and get the same result (or
+ * the same failure) instead of running the query again. With coalesce.ttlMs
+ * above 0 a finished result is also handed out for that long afterwards.
+ *
+ * A wait ends at the waiter's own RequestDeadline. Failures that belong to
+ * the caller running the query rather than to the query (a timeout or
+ * transient connection failure, or an interrupt) are not shared: the waiters
+ * run the query again under their own deadlines.
+ *
+ * Keys are built from the DAO method, its parameters and the TableVersions
+ * tag of the tables it reads, so a read that starts after a committed change
+ * never joins a query that may predate it. Results are shared between callers
+ * and must not be modified (the DAOs hand out unmodifiable lists).
+ */
+public class ReadCoalescer {
+
+    private static final ReadCoalescer INSTANCE = new ReadCoalescer(
+            AppConfig.getBoolean("coalesce.enabled", true),
+            AppConfig.getLong("coalesce.ttlMs", 0));
+
+    // Finished entries are swept once the map holds more than this many keys
+    private static final int SWEEP_THRESHOLD = 1024;
+
+    // Returned by await() when the flight failed for its own caller only
+    private static final Object RETRY = new Object();
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<String, Flight> flights = new ConcurrentHashMap<>();
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+    private final LongAdder ttlHits = new LongAdder();
+
+    public static ReadCoalescer getInstance() {
+        return INSTANCE;
+    }
+
+    ReadCoalescer(boolean enabled, long ttlMillis) {
+        this.enabled = enabled;
+        this.ttlNanos = Math.max(0, ttlMillis) * 1_000_000L;
+    }
+
+    /**
+     * Run the query, or share the result of the identical one in progress
+     * @param name DAO method and parameters, e.g. "orders.byStatus:pending"
+     * @param tables tables the query reads; their versions become part of the key
+     */
+    public <T> T read(String name, TableVersions.Table[] tables, DaoExecutor.Query<T> query) throws SQLException {
+        return read(name + "@" + TableVersions.getInstance().tag(tables), query);
+    }
+
+    /**
+     * Run the query, or share the result of the identical one in progress
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T read(String key, DaoExecutor.Query<T> query) throws SQLException {
+        if (!enabled) {
+            return query.run();
+        }
+
+        Flight own = new Flight();
+        Flight flight;
+        while (true) {
+            flight = flights.putIfAbsent(key, own);
+            if (flight == null) {
+                break;
+            }
+            if (!flight.isExpired(System.nanoTime())) {
+                Object shared = await(flight);
+                if (shared != RETRY) {
+                    return (T) shared;
+                }
+            }
+            flights.remove(key, flight);
+        }
+
+        executed.increment();
+        try {
+            T result = query.run();
+            own.finish(result, System.nanoTime() + ttlNanos);
+            return result;
+        } catch (SQLException | RuntimeException | Error e) {
+            own.fail(e, e instanceof SQLTransientException || Thread.currentThread().isInterrupted());
+            throw e;
+        } finally {
+            // A failure is never reused; neither is a result when there is no TTL
+            if (ttlNanos == 0 || own.result.isCompletedExceptionally()) {
+                flights.remove(key, own);
+            } else if (flights.size() > SWEEP_THRESHOLD) {
+                sweep();
+            }
+        }
+    }
+
+    /**
+     * Wait for a flight, at most until the current request's deadline
+     * @return its result, or RETRY if it failed for its own caller only
+     */
+    private Object await(Flight flight) throws SQLException {
+        if (flight.result.isDone()) {
+            ttlHits.increment();
+        } else {
+            joined.increment();
+        }
+        try {
+            Long deadline = RequestDeadline.current();
+            if (deadline == null) {
+                return flight.result.get();
+            }
+            return flight.result.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new SQLTimeoutException("Request deadline exceeded while waiting for a shared query");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a shared query", e);
+        } catch (ExecutionException e) {
+            if (flight.retry) {
+                return RETRY;
+            }
+            // Rethrown as is, so callers still see its type
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new SQLException(cause);
+        }
+    }
+
+    private void sweep() {
+        long now = System.nanoTime();
+        flights.values().removeIf(flight -> flight.isExpired(now));
+    }
+
+    /**
+     * Queries run, callers that waited for one already running, and callers
+     * served a finished result within the TTL
+     */
+    public long getExecuted() {
+        return executed.sum();
+    }
+
+    public long getJoined() {
+        return joined.sum();
+    }
+
+    public long getTtlHits() {
+        return ttlHits.sum();
+    }
+
+    private static final class Flight {
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        volatile long expiresAt;
+        // The failure was its caller's (timeout, interrupt), not the query's
+        volatile boolean retry;
+
+        void finish(Object value, long expiresAt) {
+            this.expiresAt = expiresAt;
+            result.complete(value);
+        }
+
+        void fail(Throwable failure, boolean retry) {
+            this.retry = retry;
+            result.completeExceptionally(failure);
+        }
+
+        boolean isExpired(long now) {
+            return result.isDone() && (result.isCompletedExceptionally() || now - expiresAt >= 0);
+        }
+    }
+}
@@ -0,0 +1,837 @@
+package com.inventory.dao;
+
+import com.inventory.model.ProductForecast;
+import com.inventory.model.StockMovement;
+import com.inventory.util.AppConfig;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Reorder Forecaster
+ * Recommended safety stock and reorder point per product, computed from
+ * stock movement and order history instead of the hand-entered
+ * products.reorder_level.
+ *
+ * Demand is the units moved 'out' per day over the last windowDays days,
+ * kept per product as a ring of daily totals with a running sum and sum of
+ * squares, so recording a movement and reading the mean and deviation are
+ * O(1) and old days simply drop out of the window. Lead time is the days from
+ * order_date to received_at of the product's latest leadTimeSamples receipts
+ * within leadTimeWindowDays; products never received use defaultLeadTimeDays.
+ *
+ *   safety stock  = z * sqrt(L * sd^2 + d^2 * sL^2)
+ *   reorder point = d * L + safety stock
+ *
+ * where z is the normal quantile of the service level. Products with no
+ * demand in the window get no forecast and keep their reorder_level.
+ *
+ * History is read in full on startup and every rebuildMinutes (which also
+ * picks up movements recorded by other nodes). In between, StockMovementDAO
+ * and OrderDAO report new 'out' movements and receipts, which only update
+ * the in-memory figures and mark the products dirty; those reported while a
+ * rebuild reads the history are held back and applied after it, unless the
+ * rebuild already read them. A periodic refresh
+ * recomputes the dirty products in parallel and writes those whose figures
+ * changed to product_forecasts, which the low-stock queries read.
+ */
+public class ReorderForecaster {
+
+    private static final ReorderForecaster INSTANCE = new ReorderForecaster();
+
+    // Rows per IN (...) lookup and per write batch
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(Math.max(1, AppConfig.getInt(
+            "forecast.parallelism", Runtime.getRuntime().availableProcessors())));
+
+    private final int windowDays = Math.max(1, AppConfig.getInt("forecast.windowDays", 56));
+    private final int leadTimeWindowDays = Math.max(1, AppConfig.getInt("forecast.leadTimeWindowDays", 365));
+    private final int leadTimeSamples = Math.max(1, AppConfig.getInt("forecast.leadTimeSamples", 8));
+    private final double defaultLeadTimeDays = AppConfig.getDouble("forecast.defaultLeadTimeDays", 7);
+    private final double serviceFactor = normalQuantile(AppConfig.getDouble("forecast.serviceLevel", 0.95));
+
+    private volatile Map<Integer, Demand> demand = new ConcurrentHashMap<>();
+    private volatile Map<Integer, LeadTimes> leadTimes = new ConcurrentHashMap<>();
+    // As last written to product_forecasts
+    private final Map<Integer, ProductForecast> forecasts = new ConcurrentHashMap<>();
+    private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean loaded;
+    private long refreshedDay;
+
+    // Guards the swap of demand and leadTimes by rebuild and the pending
+    // changes, which are non-null while a rebuild reads the history
+    private final Object pendingLock = new Object();
+    private List<StockMovement> pendingMovements;
+    private List<Integer> pendingReceipts;
+    private ScheduledExecutorService scheduler;
+
+    public static ReorderForecaster getInstance() {
+        return INSTANCE;
+    }
+
+    // ---------------------------------------------------------------------
+    // Change notifications (called by the DAOs after commit)
+    // ---------------------------------------------------------------------
+
+    /**
+     * Movements were recorded today; 'out' movements count as demand
+     */
+    public void movementsRecorded(List<StockMovement> movements) {
+        long today = today();
+        synchronized (pendingLock) {
+            for (StockMovement movement : movements) {
+                if (!"out".equals(movement.getMovementType())) {
+                    continue;
+                }
+                if (pendingMovements != null) {
+                    pendingMovements.add(movement);
+                } else if (loaded) {
+                    addDemand(movement, today);
+                }
+                // Otherwise the initial load will read it
+            }
+        }
+    }
+
+    /**
+     * An order was marked received: its lines give a lead time sample each.
+     * Failures are logged, not thrown, since the order change is already committed.
+     */
+    public void orderReceived(int orderId) {
+        Map<Integer, LeadTimes> target;
+        synchronized (pendingLock) {
+            if (pendingReceipts != null) {
+                pendingReceipts.add(orderId);
+                return;
+            }
+            if (!loaded) {
+                return;
+            }
+            target = leadTimes;
+        }
+        readReceipt(orderId, target);
+    }
+
+    private void readReceipt(int orderId, Map<Integer, LeadTimes> target) {
+        String sql = "SELECT oi.product_id, o.order_date, o.received_at " +
+                "FROM order_items oi JOIN orders o ON oi.order_id = o.id " +
+                "WHERE o.id = ? AND o.received_at IS NOT NULL";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, orderId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    addLeadTime(target, rs);
+                    dirty.add(rs.getInt("product_id"));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("ReorderForecaster: could not read receipt of order " + orderId + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * A product was deleted (its product_forecasts row goes with it)
+     */
+    public void removeProduct(int productId) {
+        demand.remove(productId);
+        leadTimes.remove(productId);
+        forecasts.remove(productId);
+        dirty.remove(productId);
+    }
+
+    // ---------------------------------------------------------------------
+    // Queries
+    // ---------------------------------------------------------------------
+
+    /**
+     * The stored forecast of a product, or null if it has none
+     */
+    public ProductForecast getForecast(int productId) throws SQLException {
+        ensureLoaded();
+        return forecasts.get(productId);
+    }
+
+    /**
+     * The reorder point the low-stock queries use for a product: its
+     * forecast if it has one, otherwise its reorder_level
+     */
+    public int effectiveReorderPoint(int productId, int reorderLevel) {
+        ProductForecast forecast = forecasts.get(productId);
+        return forecast != null ? forecast.getReorderPoint() : reorderLevel;
+    }
+
+    // ---------------------------------------------------------------------
+    // Loading, refresh and background jobs
+    // ---------------------------------------------------------------------
+
+    private void ensureLoaded() throws SQLException {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the demand and lead time history from MySQL, replace the in-memory
+     * figures and recompute every product. The history is read from one
+     * snapshot; movements and receipts reported meanwhile are applied
+     * afterwards if that snapshot did not contain them.
+     */
+    public synchronized void rebuild() throws SQLException {
+        long start = System.currentTimeMillis();
+        long today = today();
+        Map<Integer, Demand> newDemand = new ConcurrentHashMap<>();
+        Map<Integer, LeadTimes> newLeadTimes = new ConcurrentHashMap<>();
+        Map<Integer, ProductForecast> stored = new HashMap<>();
+
+        String demandSql = "SELECT product_id, CAST(created_at AS DATE) AS movement_day, SUM(quantity) AS units " +
+                "FROM stock_movements WHERE movement_type = 'out' AND created_at >= ? " +
+                "GROUP BY product_id, CAST(created_at AS DATE)";
+        String leadTimeSql = "SELECT oi.product_id, o.order_date, o.received_at " +
+                "FROM order_items oi JOIN orders o ON oi.order_id = o.id " +
+                "WHERE o.status = 'received' AND o.received_at >= ? " +
+                "ORDER BY o.received_at ASC";
+        String storedSql = "SELECT * FROM product_forecasts";
+
+        synchronized (pendingLock) {
+            pendingMovements = new ArrayList<>();
+            pendingReceipts = new ArrayList<>();
+        }
+        boolean swapped = false;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(demandSql)) {
+                    stmt.setDate(1, Date.valueOf(LocalDate.ofEpochDay(today - windowDays + 1)));
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            newDemand.computeIfAbsent(rs.getInt("product_id"), id -> new Demand(windowDays, today))
+                                    .add(rs.getDate("movement_day").toLocalDate().toEpochDay(), rs.getLong("units"));
+                        }
+                    }
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(leadTimeSql)) {
+                    stmt.setDate(1, Date.valueOf(LocalDate.ofEpochDay(today - leadTimeWindowDays)));
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        while (rs.next()) {
+                            addLeadTime(newLeadTimes, rs);
+                        }
+                    }
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(storedSql);
+                        ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        ProductForecast forecast = extractForecastFromResultSet(rs);
+                        stored.put(forecast.getProductId(), forecast);
+                    }
+                }
+
+                forecasts.clear();
+                forecasts.putAll(stored);
+                List<StockMovement> movements;
+                List<Integer> receipts;
+                synchronized (pendingLock) {
+                    movements = pendingMovements;
+                    receipts = pendingReceipts;
+                    pendingMovements = null;
+                    pendingReceipts = null;
+                    demand = newDemand;
+                    leadTimes = newLeadTimes;
+                    loaded = true;
+                }
+                swapped = true;
+
+                // Still in the snapshot: which of the changes reported meanwhile it already contains
+                List<Integer> movementIds = new ArrayList<>();
+                for (StockMovement movement : movements) {
+                    movementIds.add(movement.getId());
+                }
+                Set<Integer> readMovements = readIds(conn, "SELECT id FROM stock_movements WHERE id IN ", movementIds);
+                Set<Integer> readReceipts = readIds(conn,
+                        "SELECT id FROM orders WHERE status = 'received' AND id IN ", receipts);
+                conn.commit();
+                applyPending(movements, receipts, readMovements, readReceipts);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } finally {
+            if (!swapped) {
+                // Failed: the changes reported meanwhile belong to the figures kept
+                List<StockMovement> movements;
+                List<Integer> receipts;
+                synchronized (pendingLock) {
+                    movements = pendingMovements;
+                    receipts = pendingReceipts;
+                    pendingMovements = null;
+                    pendingReceipts = null;
+                }
+                if (loaded) {
+                    applyPending(movements, receipts, new HashSet<>(), new HashSet<>());
+                }
+            }
+        }
+
+        Set<Integer> ids = new HashSet<>(newDemand.keySet());
+        ids.addAll(stored.keySet());
+        dirty.clear();
+        refreshedDay = today;
+        int written = recompute(ids, today);
+        System.out.println("ReorderForecaster: rebuilt " + newDemand.size() + " products with demand, "
+                + written + " forecasts changed, in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * Recompute the products changed since the last refresh (all products
+     * with demand once a day, as the window moves on) and store the results
+     */
+    public synchronized void refresh() throws SQLException {
+        ensureLoaded();
+        long today = today();
+        if (today != refreshedDay) {
+            dirty.addAll(demand.keySet());
+            dirty.addAll(forecasts.keySet());
+            refreshedDay = today;
+        }
+        if (dirty.isEmpty()) {
+            return;
+        }
+        Set<Integer> ids = new HashSet<>();
+        for (Integer id : dirty) {
+            if (dirty.remove(id)) {
+                ids.add(id);
+            }
+        }
+        try {
+            recompute(ids, today);
+        } catch (SQLException e) {
+            dirty.addAll(ids);
+            throw e;
+        }
+    }
+
+    /**
+     * Start the refresh (forecast.refreshSeconds) and rebuild
+     * (forecast.rebuildMinutes) jobs; the first rebuild runs right away
+     */
+    public synchronized void start() {
+        long refreshSeconds = AppConfig.getLong("forecast.refreshSeconds", 30);
+        long rebuildMinutes = AppConfig.getLong("forecast.rebuildMinutes", 60);
+        if (scheduler != null || !AppConfig.getBoolean("forecast.enabled", true)) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "reorder-forecaster");
+            t.setDaemon(true);
+            return t;
+        });
+        if (rebuildMinutes > 0) {
+            scheduler.scheduleWithFixedDelay(() -> run("rebuild", this::rebuild), 0, rebuildMinutes, TimeUnit.MINUTES);
+        } else {
+            scheduler.execute(() -> run("rebuild", this::rebuild));
+        }
+        if (refreshSeconds > 0) {
+            scheduler.scheduleWithFixedDelay(() -> run("refresh", this::refresh),
+                    refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private interface Job {
+        void run() throws SQLException;
+    }
+
+    private static void run(String name, Job job) {
+        try {
+            job.run();
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("ReorderForecaster " + name + " failed: " + e.getMessage());
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Computing and storing forecasts
+    // ---------------------------------------------------------------------
+
+    /**
+     * Compute the given products in parallel and store the changed forecasts
+     * @return number of forecasts written or removed
+     */
+    private int recompute(Set<Integer> ids, long today) throws SQLException {
+        List<Integer> list = new ArrayList<>(ids);
+        List<ProductForecast> computed = POOL.invoke(ForkJoinTask.adapt(() -> list.parallelStream()
+                .map(id -> compute(id, today))
+                .collect(Collectors.toList())));
+
+        List<ProductForecast> changed = new ArrayList<>();
+        List<Integer> removed = new ArrayList<>();
+        for (int i = 0; i < list.size(); i++) {
+            ProductForecast forecast = computed.get(i);
+            ProductForecast old = forecasts.get(list.get(i));
+            if (forecast == null) {
+                if (old != null) {
+                    removed.add(list.get(i));
+                }
+            } else if (!sameFigures(old, forecast)) {
+                changed.add(forecast);
+            }
+        }
+        for (int from = 0; from < changed.size(); from += CHUNK_SIZE) {
+            store(changed.subList(from, Math.min(from + CHUNK_SIZE, changed.size())), new ArrayList<>());
+        }
+        for (int from = 0; from < removed.size(); from += CHUNK_SIZE) {
+            store(new ArrayList<>(), removed.subList(from, Math.min(from + CHUNK_SIZE, removed.size())));
+        }
+        return changed.size() + removed.size();
+    }
+
+    /**
+     * Forecast of one product from the in-memory figures, or null if it had
+     * no demand in the window
+     */
+    ProductForecast compute(int productId, long today) {
+        Demand productDemand = demand.get(productId);
+        double[] demandStats = productDemand != null ? productDemand.stats(today) : null;
+        if (demandStats == null || demandStats[0] <= 0) {
+            return null;
+        }
+        double perDay = demandStats[0];
+        double deviation = demandStats[1];
+
+        LeadTimes productLeadTimes = leadTimes.get(productId);
+        double[] leadStats = productLeadTimes != null ? productLeadTimes.stats(today - leadTimeWindowDays) : null;
+        double leadTime = leadStats != null ? leadStats[0] : defaultLeadTimeDays;
+        double leadDeviation = leadStats != null ? leadStats[1] : 0;
+
+        double safetyStock = serviceFactor * Math.sqrt(leadTime * deviation * deviation
+                + perDay * perDay * leadDeviation * leadDeviation);
+
+        ProductForecast forecast = new ProductForecast();
+        forecast.setProductId(productId);
+        forecast.setDemandPerDay(round(perDay, 4));
+        forecast.setDemandStdDev(round(deviation, 4));
+        forecast.setWindowDays(windowDays);
+        forecast.setLeadTimeDays(round(leadTime, 2));
+        forecast.setLeadTimeStdDev(round(leadDeviation, 2));
+        forecast.setLeadTimeSamples(leadStats != null ? (int) leadStats[2] : 0);
+        forecast.setSafetyStock((int) Math.ceil(Math.max(0, safetyStock)));
+        forecast.setReorderPoint((int) Math.ceil(perDay * leadTime + Math.max(0, safetyStock)));
+        return forecast;
+    }
+
+    /**
+     * Write one chunk of changed and removed forecasts in a transaction and
+     * report any change in low-stock status to InventoryStats
+     */
+    private void store(List<ProductForecast> changed, List<Integer> removed) throws SQLException {
+        StringBuilder updates = new StringBuilder();
+        for (String column : new String[] { "demand_per_day", "demand_stddev", "window_days", "lead_time_days",
+                "lead_time_stddev", "lead_time_samples", "safety_stock", "reorder_point", "computed_at" }) {
+            updates.append(updates.length() == 0 ? "" : ", ")
+                    .append(column).append(" = ").append(DatabaseConnection.insertedValue(column));
+        }
+        String upsertSql = "INSERT INTO product_forecasts (product_id, demand_per_day, demand_stddev, window_days, " +
+                "lead_time_days, lead_time_stddev, lead_time_samples, safety_stock, reorder_point, computed_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)" + DatabaseConnection.upsertRowAlias() +
+                " ON DUPLICATE KEY UPDATE " + updates;
+        String deleteSql = "DELETE FROM product_forecasts WHERE product_id = ?";
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        Map<Integer, ProductForecast> byId = new HashMap<>();
+        for (ProductForecast forecast : changed) {
+            forecast.setComputedAt(now);
+            byId.put(forecast.getProductId(), forecast);
+        }
+        List<Integer> ids = new ArrayList<>(byId.keySet());
+        ids.addAll(removed);
+
+        InventoryStats stats = InventoryStats.getInstance();
+        stats.beginChange();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(upsertSql)) {
+                    for (ProductForecast forecast : changed) {
+                        stmt.setInt(1, forecast.getProductId());
+                        stmt.setDouble(2, forecast.getDemandPerDay());
+                        stmt.setDouble(3, forecast.getDemandStdDev());
+                        stmt.setInt(4, forecast.getWindowDays());
+                        stmt.setDouble(5, forecast.getLeadTimeDays());
+                        stmt.setDouble(6, forecast.getLeadTimeStdDev());
+                        stmt.setInt(7, forecast.getLeadTimeSamples());
+                        stmt.setInt(8, forecast.getSafetyStock());
+                        stmt.setInt(9, forecast.getReorderPoint());
+                        stmt.setTimestamp(10, now);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+                try (PreparedStatement stmt = conn.prepareStatement(deleteSql)) {
+                    for (Integer id : removed) {
+                        stmt.setInt(1, id);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+                Map<Integer, ProductRow> rows = readProducts(conn, ids);
+                conn.commit();
+
+                boolean lowStockChanged = false;
+                for (Integer id : ids) {
+                    ProductRow row = rows.get(id);
+                    ProductForecast old = forecasts.get(id);
+                    int before = old != null ? old.getReorderPoint() : row != null ? row.reorderLevel : 0;
+                    ProductForecast forecast = byId.get(id);
+                    if (forecast != null) {
+                        forecasts.put(id, forecast);
+                    } else {
+                        forecasts.remove(id);
+                    }
+                    if (row == null) {
+                        continue; // Deleted meanwhile
+                    }
+                    int after = forecast != null ? forecast.getReorderPoint() : row.reorderLevel;
+                    if (before != after) {
+                        stats.productChanged(row.figures(before), row.figures(after));
+                        lowStockChanged = true;
+                    }
+                }
+                if (lowStockChanged) {
+                    ProductCache.getInstance().invalidateLowStock();
+                    TableVersions.getInstance().bump(TableVersions.Table.PRODUCTS);
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } finally {
+            stats.endChange();
+        }
+    }
+
+    /**
+     * Read the stock figures of the given products (at most CHUNK_SIZE)
+     */
+    private Map<Integer, ProductRow> readProducts(Connection conn, List<Integer> ids) throws SQLException {
+        Map<Integer, ProductRow> rows = new HashMap<>();
+        if (ids.isEmpty()) {
+            return rows;
+        }
+        StringBuilder placeholders = new StringBuilder();
+        for (int i = 0; i < ids.size(); i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+        }
+        String sql = "SELECT id, category_id, unit_price, quantity_in_stock, reorder_level " +
+                "FROM products WHERE id IN (" + placeholders + ")";
+
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < ids.size(); i++) {
+                stmt.setInt(i + 1, ids.get(i));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ProductRow row = new ProductRow();
+                    row.categoryId = rs.getInt("category_id");
+                    row.unitPrice = rs.getBigDecimal("unit_price");
+                    row.quantityInStock = rs.getInt("quantity_in_stock");
+                    row.reorderLevel = rs.getInt("reorder_level");
+                    rows.put(rs.getInt("id"), row);
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Apply the movements and receipts reported during a rebuild that it did not read
+     */
+    private void applyPending(List<StockMovement> movements, List<Integer> receipts,
+            Set<Integer> readMovements, Set<Integer> readReceipts) {
+        long today = today();
+        Map<Integer, LeadTimes> target;
+        synchronized (pendingLock) {
+            for (StockMovement movement : movements) {
+                if (!readMovements.contains(movement.getId())) {
+                    addDemand(movement, today);
+                }
+            }
+            target = leadTimes;
+        }
+        for (Integer orderId : receipts) {
+            if (!readReceipts.contains(orderId)) {
+                readReceipt(orderId, target);
+            }
+        }
+    }
+
+    /**
+     * The ids among the given ones that a query (ending in "IN ") finds
+     */
+    private static Set<Integer> readIds(Connection conn, String sql, List<Integer> ids) throws SQLException {
+        Set<Integer> found = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            StringBuilder placeholders = new StringBuilder();
+            for (int i = 0; i < chunk.size(); i++) {
+                placeholders.append(i == 0 ? "?" : ", ?");
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(sql + "(" + placeholders + ")")) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setInt(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        found.add(rs.getInt(1));
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private void addDemand(StockMovement movement, long today) {
+        demand.computeIfAbsent(movement.getProductId(), id -> new Demand(windowDays, today))
+                .add(today, movement.getQuantity());
+        dirty.add(movement.getProductId());
+    }
+
+    private void addLeadTime(Map<Integer, LeadTimes> target, ResultSet rs) throws SQLException {
+        Date ordered = rs.getDate("order_date");
+        Timestamp received = rs.getTimestamp("received_at");
+        if (ordered == null || received == null) {
+            return;
+        }
+        double days = Math.max(0, (received.getTime() - ordered.getTime()) / 86_400_000.0);
+        long receivedDay = received.toLocalDateTime().toLocalDate().toEpochDay();
+        target.computeIfAbsent(rs.getInt("product_id"), id -> new LeadTimes(leadTimeSamples))
+                .add(receivedDay, days);
+    }
+
+    private static boolean sameFigures(ProductForecast a, ProductForecast b) {
+        return a != null && b != null
+                && a.getReorderPoint() == b.getReorderPoint()
+                && a.getSafetyStock() == b.getSafetyStock()
+                && a.getDemandPerDay() == b.getDemandPerDay()
+                && a.getDemandStdDev() == b.getDemandStdDev()
+                && a.getWindowDays() == b.getWindowDays()
+                && a.getLeadTimeDays() == b.getLeadTimeDays()
+                && a.getLeadTimeStdDev() == b.getLeadTimeStdDev()
+                && a.getLeadTimeSamples() == b.getLeadTimeSamples();
+    }
+
+    private static ProductForecast extractForecastFromResultSet(ResultSet rs) throws SQLException {
+        ProductForecast forecast = new ProductForecast();
+        forecast.setProductId(rs.getInt("product_id"));
+        forecast.setDemandPerDay(rs.getDouble("demand_per_day"));
+        forecast.setDemandStdDev(rs.getDouble("demand_stddev"));
+        forecast.setWindowDays(rs.getInt("window_days"));
+        forecast.setLeadTimeDays(rs.getDouble("lead_time_days"));
+        forecast.setLeadTimeStdDev(rs.getDouble("lead_time_stddev"));
+        forecast.setLeadTimeSamples(rs.getInt("lead_time_samples"));
+        forecast.setSafetyStock(rs.getInt("safety_stock"));
+        forecast.setReorderPoint(rs.getInt("reorder_point"));
+        forecast.setComputedAt(rs.getTimestamp("computed_at"));
+        return forecast;
+    }
+
+    private static double round(double value, int decimals) {
+        double scale = Math.pow(10, decimals);
+        return Math.round(value * scale) / scale;
+    }
+
+    private static long today() {
+        return LocalDate.now().toEpochDay();
+    }
+
+    /**
+     * Inverse of the standard normal distribution (Acklam's rational
+     * approximation, relative error below 1.2e-9)
+     */
+    static double normalQuantile(double p) {
+        if (!(p > 0 && p < 1)) {
+            throw new IllegalArgumentException("forecast.serviceLevel must be between 0 and 1");
+        }
+        double[] a = { -3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+                1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00 };
+        double[] b = { -5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+                6.680131188771972e+01, -1.328068155288572e+01 };
+        double[] c = { -7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+                -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00 };
+        double[] d = { 7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+                3.754408661907416e+00 };
+        double low = 0.02425;
+
+        if (p < low) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                    / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        }
+        if (p > 1 - low) {
+            return -normalQuantile(1 - p);
+        }
+        double q = p - 0.5;
+        double r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+                / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+
+    /**
+     * Units moved out per day over the last windowDays days, as a ring
+     * indexed by epoch day with running totals
+     */
+    static final class Demand {
+        private final long[] daily;
+        private long lastDay;
+        private long sum;
+        private double sumSquares;
+
+        Demand(int windowDays, long today) {
+            this.daily = new long[windowDays];
+            this.lastDay = today;
+        }
+
+        synchronized void add(long day, long units) {
+            advance(day);
+            if (day <= lastDay - daily.length) {
+                return; // Already outside the window
+            }
+            int slot = slot(day);
+            long old = daily[slot];
+            daily[slot] = old + units;
+            sum += units;
+            sumSquares += (double) (old + units) * (old + units) - (double) old * old;
+        }
+
+        /**
+         * Mean and (population) standard deviation of daily demand, days
+         * without movements counting as zero
+         */
+        synchronized double[] stats(long today) {
+            advance(today);
+            double mean = (double) sum / daily.length;
+            double variance = Math.max(0, sumSquares / daily.length - mean * mean);
+            return new double[] { mean, Math.sqrt(variance) };
+        }
+
+        /**
+         * Move the window forward to end at day, dropping the days that fall out
+         */
+        private void advance(long day) {
+            if (day <= lastDay) {
+                return;
+            }
+            long first = Math.max(lastDay + 1, day - daily.length + 1);
+            for (long d = first; d <= day; d++) {
+                int slot = slot(d);
+                sum -= daily[slot];
+                sumSquares -= (double) daily[slot] * daily[slot];
+                daily[slot] = 0;
+            }
+            if (sum == 0) {
+                sumSquares = 0; // Clear accumulated rounding error
+            }
+            lastDay = day;
+        }
+
+        private int slot(long day) {
+            return (int) Math.floorMod(day, (long) daily.length);
+        }
+    }
+
+    /**
+     * The latest lead time samples of a product, with the day each order was received
+     */
+    static final class LeadTimes {
+        private final long[] receivedDays;
+        private final double[] days;
+        private int count;
+        private int next;
+
+        LeadTimes(int samples) {
+            this.receivedDays = new long[samples];
+            this.days = new double[samples];
+        }
+
+        synchronized void add(long receivedDay, double leadTimeDays) {
+            receivedDays[next] = receivedDay;
+            days[next] = leadTimeDays;
+            next = (next + 1) % days.length;
+            count = Math.min(count + 1, days.length);
+        }
+
+        /**
+         * Mean, sample standard deviation and number of the samples received
+         * after the given day, or null if there are none
+         */
+        synchronized double[] stats(long afterDay) {
+            int n = 0;
+            double total = 0;
+            for (int i = 0; i < count; i++) {
+                if (receivedDays[i] > afterDay) {
+                    n++;
+                    total += days[i];
+                }
+            }
+            if (n == 0) {
+                return null;
+            }
+            double mean = total / n;
+            double squares = 0;
+            for (int i = 0; i < count; i++) {
+                if (receivedDays[i] > afterDay) {
+                    squares += (days[i] - mean) * (days[i] - mean);
+                }
+            }
+            double deviation = n > 1 ? Math.sqrt(squares / (n - 1)) : 0;
+            return new double[] { mean, deviation, n };
+        }
+    }
+
+    /**
+     * The product columns needed to report a reorder point change to InventoryStats
+     */
+    private static final class ProductRow {
+        int categoryId;
+        BigDecimal unitPrice;
+        int quantityInStock;
+        int reorderLevel;
+
+        InventoryStats.ProductFigures figures(int reorderPoint) {
+            return new InventoryStats.ProductFigures(categoryId, unitPrice, quantityInStock, reorderPoint);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.inventory.dao;
+
+import com.inventory.model.Order;
+import com.inventory.model.OrderItem;
+import com.inventory.model.ReplenishmentRun;
+import com.inventory.util.AppConfig;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replenishment Planner
+ * Turns every product at or below its reorder point into lines of draft
+ * purchase orders, one order per supplier (split every maxLinesPerOrder lines).
+ *
+ * The reorder point is the forecast one when the product has a forecast,
+ * otherwise reorder_level (see ReorderForecaster). Quantities on draft or
+ * pending orders count as already ordered, so running the job again does not
+ * order the same shortfall twice. Each line orders up to the reorder point
+ * plus coverDays of forecast demand (or plus reorder_level for products
+ * without a forecast).
+ *
+ * The whole catalog is read with one query (the on-order quantities come from
+ * a grouped subquery, not per product), and the drafts are written through
+ * OrderDAO.createOrders in transactions of ordersPerTransaction orders, each a
+ * few batched inserts. Orders committed before a failing transaction stay; a
+ * rerun then only orders what is still missing.
+ */
+public class ReplenishmentPlanner {
+
+    private static final int COVER_DAYS = Math.max(0, AppConfig.getInt("replenishment.coverDays", 30));
+    private static final int MAX_LINES_PER_ORDER = Math.max(1, AppConfig.getInt("replenishment.maxLinesPerOrder", 200));
+    private static final int ORDERS_PER_TRANSACTION = Math.max(1,
+            AppConfig.getInt("replenishment.ordersPerTransaction", 100));
+    private static final double DEFAULT_LEAD_TIME_DAYS = AppConfig.getDouble("forecast.defaultLeadTimeDays", 7);
+
+    // One run at a time per node, so two runs cannot both order the same shortfall
+    private static final Object RUN_LOCK = new Object();
+
+    private final OrderDAO orderDAO = new OrderDAO();
+
+    /**
+     * Create draft orders for every product at or below its reorder point
+     * @param userId user recorded on the drafts (0 = none)
+     * @param dryRun only compute the drafts, do not store them
+     */
+    public ReplenishmentRun generateDrafts(int userId, boolean dryRun) throws SQLException {
+        synchronized (RUN_LOCK) {
+            long start = System.currentTimeMillis();
+            ReplenishmentRun run = new ReplenishmentRun();
+            run.setDryRun(dryRun);
+
+            List<Order> orders = planOrders(run, userId);
+            if (!dryRun) {
+                for (int from = 0; from < orders.size(); from += ORDERS_PER_TRANSACTION) {
+                    orderDAO.createOrders(orders.subList(from, Math.min(from + ORDERS_PER_TRANSACTION, orders.size())));
+                }
+            }
+
+            for (Order order : orders) {
+                run.setLinesCreated(run.getLinesCreated() + order.getItems().size());
+                run.setTotalAmount(run.getTotalAmount().add(order.getTotalAmount()));
+            }
+            run.setOrdersCreated(orders.size());
+            run.setOrders(orders);
+            run.setElapsedMillis(System.currentTimeMillis() - start);
+            return run;
+        }
+    }
+
+    /**
+     * Read the low-stock products with their on-order quantities and build
+     * the draft orders, grouped by supplier
+     */
+    private List<Order> planOrders(ReplenishmentRun run, int userId) throws SQLException {
+        String sql = "SELECT p.id, p.name, p.sku, p.supplier_id, p.unit_price, p.quantity_in_stock, p.reorder_level, " +
+                "f.reorder_point, f.demand_per_day, f.lead_time_days, COALESCE(oo.on_order, 0) AS on_order " +
+                "FROM products p " +
+                "LEFT JOIN product_forecasts f ON f.product_id = p.id " +
+                "LEFT JOIN (SELECT oi.product_id, SUM(oi.quantity) AS on_order " +
+                "    FROM order_items oi JOIN orders o ON oi.order_id = o.id " +
+                "    WHERE o.status IN ('draft', 'pending') GROUP BY oi.product_id) oo ON oo.product_id = p.id " +
+                "WHERE p.quantity_in_stock <= COALESCE(f.reorder_point, p.reorder_level) " +
+                "ORDER BY p.supplier_id, p.id";
+
+        Map<Integer, List<OrderItem>> linesBySupplier = new LinkedHashMap<>();
+        Map<Integer, Double> leadTimeBySupplier = new LinkedHashMap<>();
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql);
+                ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                run.setProductsBelow(run.getProductsBelow() + 1);
+                int supplierId = rs.getInt("supplier_id");
+                if (rs.wasNull() || supplierId <= 0) {
+                    run.setProductsWithoutSupplier(run.getProductsWithoutSupplier() + 1);
+                    continue;
+                }
+
+                int reorderLevel = rs.getInt("reorder_level");
+                int reorderPoint = rs.getInt("reorder_point");
+                boolean forecast = !rs.wasNull();
+                if (!forecast) {
+                    reorderPoint = reorderLevel;
+                }
+                long position = (long) rs.getInt("quantity_in_stock") + rs.getLong("on_order");
+                if (position > reorderPoint) {
+                    run.setProductsOnOrder(run.getProductsOnOrder() + 1);
+                    continue;
+                }
+
+                long cover = forecast
+                        ? (long) Math.ceil(rs.getDouble("demand_per_day") * COVER_DAYS)
+                        : reorderLevel;
+                int quantity = (int) Math.min(Integer.MAX_VALUE, Math.max(1, reorderPoint + cover - position));
+
+                OrderItem item = new OrderItem(rs.getInt("id"), quantity, rs.getBigDecimal("unit_price"));
+                item.setProductName(rs.getString("name"));
+                item.setProductSku(rs.getString("sku"));
+                if (item.getUnitPrice() != null) {
+                    item.setSubtotal(item.getUnitPrice().multiply(BigDecimal.valueOf(quantity))
+                            .setScale(2, RoundingMode.HALF_UP));
+                }
+                linesBySupplier.computeIfAbsent(supplierId, id -> new ArrayList<>()).add(item);
+
+                double leadTime = forecast ? rs.getDouble("lead_time_days") : DEFAULT_LEAD_TIME_DAYS;
+                leadTimeBySupplier.merge(supplierId, leadTime, Math::max);
+            }
+        }
+
+        LocalDate today = LocalDate.now();
+        List<Order> orders = new ArrayList<>();
+        for (Map.Entry<Integer, List<OrderItem>> entry : linesBySupplier.entrySet()) {
+            List<OrderItem> lines = entry.getValue();
+            LocalDate expected = today.plusDays((long) Math.ceil(leadTimeBySupplier.get(entry.getKey())));
+            for (int from = 0; from < lines.size(); from += MAX_LINES_PER_ORDER) {
+                Order order = new Order();
+                order.setSupplierId(entry.getKey());
+                order.setOrderDate(Date.valueOf(today));
+                order.setExpectedDeliveryDate(Date.valueOf(expected));
+                order.setStatus("draft");
+                order.setUserId(userId);
+                order.setItems(new ArrayList<>(lines.subList(from, Math.min(from + MAX_LINES_PER_ORDER, lines.size()))));
+
+                BigDecimal total = BigDecimal.ZERO;
+                for (OrderItem item : order.getItems()) {
+                    if (item.getSubtotal() != null) {
+                        total = total.add(item.getSubtotal());
+                    }
+                }
+                order.setTotalAmount(total);
+                orders.add(order);
+            }
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,18 @@
+package com.inventory.dao;
+
+import java.io.IOException;
+
+/**
+ * Row Handler
+ * Callback used by DAO methods that stream rows one at a time
+ * instead of collecting them into a list
+ */
+public interface RowHandler<T> {
+
+    /**
+     * Handle a single row read from the database
+     * @param row the mapped row
+     * @throws IOException if the row could not be written to its destination
+     */
+    void handle(T row) throws IOException;
+}
@@ -0,0 +1,382 @@
+package com.inventory.dao;
+
+import com.inventory.model.SlottingMove;
+import com.inventory.model.SlottingPlan;
+import com.inventory.util.AppConfig;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Slotting Optimizer
+ * Batch plan that moves fast-moving products into the best placed bins.
+ *
+ * Pick velocity is the number of 'out' stock movements per product over the
+ * last velocityDays (units picked break ties). Within a zone, bins are ranked
+ * by pick cost: aisle 1 is nearest dispatch and lower shelves are quicker to
+ * reach. Products without picks or without dimensions stay where they are;
+ * the others are moved fastest first, each into the best ranked bin that
+ * takes its whole zone quantity (volume, weight and a free slot) once it has
+ * left its current bins. A product already in a bin ranked as well as that
+ * keeps its place, and one that fits nowhere whole is left where it is.
+ *
+ * Slower products hold their space until their own turn, so a product never
+ * takes room another one still occupies: the moves can be carried out in
+ * plan order, and any prefix of them (see limit) needs no later move.
+ *
+ * The best ranked bin with room is found with a segment tree over the ranked
+ * bins holding the largest free volume, weight and slots per range, so a
+ * product costs O(log bins) rather than a scan. Zones are independent and are
+ * planned in parallel on a fork/join pool.
+ */
+public class SlottingOptimizer {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(Math.max(1, AppConfig.getInt(
+            "space.slotting.parallelism", Runtime.getRuntime().availableProcessors())));
+
+    /**
+     * Plan moves for one zone, or all zones when zone is null
+     *
+     * @param velocityDays pick history to rank products by
+     * @param limit        maximum number of moves returned, fastest movers first
+     *                     (the plan still counts all of them)
+     */
+    public SlottingPlan optimize(String zone, int velocityDays, int limit) throws SQLException {
+        if (velocityDays <= 0) {
+            throw new IllegalArgumentException("Velocity window must be at least one day");
+        }
+        long start = System.currentTimeMillis();
+        Map<Integer, Velocity> velocity = readVelocity(velocityDays);
+        BinCapacityIndex.Snapshot snapshot = BinCapacityIndex.getInstance().snapshot(zone);
+
+        SlottingPlan plan = plan(snapshot, velocity, limit);
+        plan.setVelocityDays(velocityDays);
+        plan.setElapsedMillis(System.currentTimeMillis() - start);
+        return plan;
+    }
+
+    /**
+     * Pick count and units picked per product since velocityDays ago
+     */
+    private Map<Integer, Velocity> readVelocity(int velocityDays) throws SQLException {
+        Map<Integer, Velocity> velocity = new HashMap<>();
+        String sql = "SELECT product_id, COUNT(*) AS picks, SUM(quantity) AS units " +
+                "FROM stock_movements WHERE movement_type = 'out' AND created_at >= ? " +
+                "GROUP BY product_id";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, new Timestamp(System.currentTimeMillis() - velocityDays * 86_400_000L));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    velocity.put(rs.getInt("product_id"), new Velocity(rs.getInt("picks"), rs.getLong("units")));
+                }
+            }
+        }
+        return velocity;
+    }
+
+    /**
+     * Plan every zone of the snapshot in parallel and merge the moves,
+     * fastest movers first. The sort keeps each zone's moves in the order
+     * they were planned, so the first limit moves are a prefix of every zone's
+     * plan and can be carried out without the rest.
+     */
+    static SlottingPlan plan(BinCapacityIndex.Snapshot snapshot, Map<Integer, Velocity> velocity, int limit) {
+        Map<String, List<BinCapacityIndex.Slot>> byZone = new LinkedHashMap<>();
+        for (BinCapacityIndex.Slot slot : snapshot.bins) {
+            byZone.computeIfAbsent(slot.zone, k -> new ArrayList<>()).add(slot);
+        }
+        List<List<BinCapacityIndex.Slot>> zones = new ArrayList<>(byZone.values());
+
+        ZoneResult result = POOL.invoke(new ZoneTask(zones, 0, zones.size(), snapshot.units, velocity));
+
+        result.moves.sort(Comparator.comparingInt(SlottingMove::getPicks).reversed()
+                .thenComparing(Comparator.comparingLong(SlottingMove::getUnitsPicked).reversed())
+                .thenComparingInt(SlottingMove::getProductId));
+
+        SlottingPlan plan = new SlottingPlan();
+        plan.setZones(zones.size());
+        plan.setBins(snapshot.bins.size());
+        plan.setProductsRanked(result.ranked);
+        plan.setProductsKept(result.kept);
+        plan.setTotalMoves(result.moves.size());
+        plan.setMoves(new ArrayList<>(result.moves.subList(0, Math.min(Math.max(0, limit), result.moves.size()))));
+        return plan;
+    }
+
+    /**
+     * Splits the zones in halves until one is left, then plans it
+     */
+    private static final class ZoneTask extends RecursiveTask<ZoneResult> {
+        private final List<List<BinCapacityIndex.Slot>> zones;
+        private final int from;
+        private final int to;
+        private final Map<Integer, BinCapacityIndex.Unit> units;
+        private final Map<Integer, Velocity> velocity;
+
+        ZoneTask(List<List<BinCapacityIndex.Slot>> zones, int from, int to,
+                Map<Integer, BinCapacityIndex.Unit> units, Map<Integer, Velocity> velocity) {
+            this.zones = zones;
+            this.from = from;
+            this.to = to;
+            this.units = units;
+            this.velocity = velocity;
+        }
+
+        @Override
+        protected ZoneResult compute() {
+            if (to - from == 0) {
+                return new ZoneResult();
+            }
+            if (to - from == 1) {
+                return planZone(zones.get(from), units, velocity);
+            }
+            int middle = (from + to) >>> 1;
+            ZoneTask left = new ZoneTask(zones, from, middle, units, velocity);
+            left.fork();
+            ZoneResult right = new ZoneTask(zones, middle, to, units, velocity).compute();
+            ZoneResult merged = left.join();
+            merged.moves.addAll(right.moves);
+            merged.ranked += right.ranked;
+            merged.kept += right.kept;
+            return merged;
+        }
+    }
+
+    private static ZoneResult planZone(List<BinCapacityIndex.Slot> bins,
+            Map<Integer, BinCapacityIndex.Unit> units, Map<Integer, Velocity> velocity) {
+
+        // Best placed bins first
+        bins.sort(Comparator.<BinCapacityIndex.Slot>comparingInt(b -> b.aisle)
+                .thenComparingInt(b -> b.shelf).thenComparingInt(b -> b.id));
+
+        int n = bins.size();
+        long[] freeVolume = new long[n];
+        long[] freeWeight = new long[n];
+        int[] freeSlots = new int[n];
+        Map<Integer, ZoneStock> stock = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            BinCapacityIndex.Slot bin = bins.get(i);
+            // Inactive bins keep what they hold but take nothing new
+            freeVolume[i] = bin.active ? bin.maxVolume : Long.MIN_VALUE / 2;
+            freeWeight[i] = bin.maxWeight;
+            freeSlots[i] = bin.maxSlots;
+            for (Map.Entry<Integer, Integer> entry : bin.contents.entrySet()) {
+                stock.computeIfAbsent(entry.getKey(), ZoneStock::new).add(i, entry.getValue());
+            }
+        }
+
+        // Every product starts out in its current bins; ranked ones give
+        // their space back on their turn
+        List<ZoneStock> ranked = new ArrayList<>();
+        for (ZoneStock product : stock.values()) {
+            product.unit = units.get(product.productId);
+            product.velocity = velocity.get(product.productId);
+            for (int i = 0; i < product.bins.size(); i++) {
+                int bin = product.bins.get(i);
+                long quantity = product.quantities.get(i);
+                freeVolume[bin] -= quantity * (product.unit != null ? product.unit.volume : 0);
+                freeWeight[bin] -= quantity * (product.unit != null ? product.unit.weight : 0);
+                freeSlots[bin]--;
+            }
+            if (product.unit != null && product.velocity != null && product.velocity.picks > 0) {
+                ranked.add(product);
+            }
+        }
+        ranked.sort((a, b) -> {
+            int byPicks = Integer.compare(b.velocity.picks, a.velocity.picks);
+            if (byPicks != 0) {
+                return byPicks;
+            }
+            int byUnits = Long.compare(b.velocity.units, a.velocity.units);
+            return byUnits != 0 ? byUnits : Integer.compare(a.productId, b.productId);
+        });
+
+        CapacityTree tree = new CapacityTree(freeVolume, freeWeight, freeSlots);
+        ZoneResult result = new ZoneResult();
+        result.ranked = ranked.size();
+
+        for (ZoneStock product : ranked) {
+            for (int i = 0; i < product.bins.size(); i++) {
+                long quantity = product.quantities.get(i);
+                tree.give(product.bins.get(i), quantity * product.unit.volume, quantity * product.unit.weight);
+            }
+            long volume = product.total * product.unit.volume;
+            long weight = product.total * product.unit.weight;
+            int target = tree.findFirst(volume, weight);
+
+            // Already in a single bin that is as well placed and still has room: stay
+            if (product.bins.size() == 1) {
+                int current = product.bins.get(0);
+                if ((target < 0 || current <= target) && tree.fits(current, volume, weight)) {
+                    target = current;
+                }
+            }
+
+            if (target < 0) {
+                // Fits no bin whole: leave it spread over its current bins,
+                // whose room nothing else has taken meanwhile
+                for (int i = 0; i < product.bins.size(); i++) {
+                    long quantity = product.quantities.get(i);
+                    tree.take(product.bins.get(i), quantity * product.unit.volume, quantity * product.unit.weight);
+                }
+                result.kept++;
+                continue;
+            }
+
+            tree.take(target, volume, weight);
+            for (int i = 0; i < product.bins.size(); i++) {
+                int from = product.bins.get(i);
+                if (from != target) {
+                    SlottingMove move = new SlottingMove(product.productId, bins.get(from).zone, bins.get(from).id,
+                            bins.get(target).id, product.quantities.get(i));
+                    move.setFromBinCode(bins.get(from).code);
+                    move.setToBinCode(bins.get(target).code);
+                    move.setPicks(product.velocity.picks);
+                    move.setUnitsPicked(product.velocity.units);
+                    result.moves.add(move);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Picks and units picked in the velocity window
+     */
+    static final class Velocity {
+        final int picks;
+        final long units;
+
+        Velocity(int picks, long units) {
+            this.picks = picks;
+            this.units = units;
+        }
+    }
+
+    /**
+     * Where a product is stored within one zone
+     */
+    private static final class ZoneStock {
+        final int productId;
+        final List<Integer> bins = new ArrayList<>(2);
+        final List<Integer> quantities = new ArrayList<>(2);
+        long total;
+        BinCapacityIndex.Unit unit;
+        Velocity velocity;
+
+        ZoneStock(int productId) {
+            this.productId = productId;
+        }
+
+        void add(int bin, int quantity) {
+            bins.add(bin);
+            quantities.add(quantity);
+            total += quantity;
+        }
+    }
+
+    private static final class ZoneResult {
+        final List<SlottingMove> moves = new ArrayList<>();
+        int ranked;
+        int kept;
+    }
+
+    /**
+     * Segment tree over the ranked bins of a zone holding, per range, the
+     * largest free volume, weight and slot count, to find the best ranked bin
+     * with room for a product
+     */
+    static final class CapacityTree {
+        private final int size;
+        private final long[] volume;
+        private final long[] weight;
+        private final int[] slots;
+
+        CapacityTree(long[] freeVolume, long[] freeWeight, int[] freeSlots) {
+            int leaves = 1;
+            while (leaves < Math.max(1, freeVolume.length)) {
+                leaves <<= 1;
+            }
+            size = leaves;
+            volume = new long[2 * size];
+            weight = new long[2 * size];
+            slots = new int[2 * size];
+            for (int i = 0; i < size; i++) {
+                boolean bin = i < freeVolume.length;
+                volume[size + i] = bin ? freeVolume[i] : Long.MIN_VALUE;
+                weight[size + i] = bin ? freeWeight[i] : Long.MIN_VALUE;
+                slots[size + i] = bin ? freeSlots[i] : Integer.MIN_VALUE;
+            }
+            for (int node = size - 1; node > 0; node--) {
+                pull(node);
+            }
+        }
+
+        /**
+         * Best ranked bin with the volume, weight and a slot to spare, or -1
+         */
+        int findFirst(long needVolume, long needWeight) {
+            return findFirst(1, needVolume, needWeight);
+        }
+
+        private int findFirst(int node, long needVolume, long needWeight) {
+            if (volume[node] < needVolume || weight[node] < needWeight || slots[node] < 1) {
+                return -1;
+            }
+            if (node >= size) {
+                return node - size;
+            }
+            int left = findFirst(2 * node, needVolume, needWeight);
+            return left >= 0 ? left : findFirst(2 * node + 1, needVolume, needWeight);
+        }
+
+        boolean fits(int bin, long needVolume, long needWeight) {
+            int leaf = size + bin;
+            return volume[leaf] >= needVolume && weight[leaf] >= needWeight && slots[leaf] >= 1;
+        }
+
+        /**
+         * Use up space and one slot of a bin
+         */
+        void take(int bin, long usedVolume, long usedWeight) {
+            update(bin, -usedVolume, -usedWeight, -1);
+        }
+
+        /**
+         * Free space and one slot of a bin
+         */
+        void give(int bin, long freedVolume, long freedWeight) {
+            update(bin, freedVolume, freedWeight, 1);
+        }
+
+        private void update(int bin, long deltaVolume, long deltaWeight, int deltaSlots) {
+            int node = size + bin;
+            volume[node] += deltaVolume;
+            weight[node] += deltaWeight;
+            slots[node] += deltaSlots;
+            for (node >>= 1; node > 0; node >>= 1) {
+                pull(node);
+            }
+        }
+
+        private void pull(int node) {
+            volume[node] = Math.max(volume[2 * node], volume[2 * node + 1]);
+            weight[node] = Math.max(weight[2 * node], weight[2 * node + 1]);
+            slots[node] = Math.max(slots[2 * node], slots[2 * node + 1]);
+        }
+    }
+}
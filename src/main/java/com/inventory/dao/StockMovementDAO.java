@@ -0,0 +1,278 @@
+package com.inventory.dao;
+
+import com.inventory.model.StockMovement;
+import java.io.IOException;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Stock Movement Data Access Object
+ * Records stock movements and applies them to products.quantity_in_stock.
+ *
+ * Stock is only ever changed with relative, conditional updates
+ * (quantity_in_stock = quantity_in_stock + delta, refusing to go below zero),
+ * so concurrent pickers never overwrite each other's changes and no
+ * application-level lock is needed. A batch touches each product once, in
+ * ascending id order, so concurrent batches cannot deadlock on row locks.
+ */
+public class StockMovementDAO {
+
+    // Rows per IN (...) lookup when reading back updated products
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    /**
+     * Record a single movement and apply it to stock
+     * @return false if the product does not exist or has too little stock
+     */
+    public boolean recordMovement(StockMovement movement) throws SQLException {
+        return recordMovements(Collections.singletonList(movement));
+    }
+
+    /**
+     * Record many movements and apply them to stock in one transaction.
+     * Either every movement is applied or none is.
+     * @return false (nothing applied) if any product does not exist or would go below zero
+     */
+    public boolean recordMovements(List<StockMovement> movements) throws SQLException {
+        if (movements.isEmpty()) {
+            return true;
+        }
+
+        // Net change per product, in ascending id order
+        Map<Integer, Integer> deltas = new TreeMap<>();
+        for (StockMovement movement : movements) {
+            validate(movement);
+            deltas.merge(movement.getProductId(), movement.getStockDelta(), Integer::sum);
+        }
+
+        String updateSql = "UPDATE products SET quantity_in_stock = quantity_in_stock + ? " +
+                "WHERE id = ? AND quantity_in_stock + ? >= 0";
+        String insertSql = "INSERT INTO stock_movements (product_id, movement_type, quantity, " +
+                "reference_number, notes, user_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+        InventoryStats stats = InventoryStats.getInstance();
+        stats.beginChange();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(updateSql)) {
+                    for (Map.Entry<Integer, Integer> entry : deltas.entrySet()) {
+                        stmt.setInt(1, entry.getValue());
+                        stmt.setInt(2, entry.getKey());
+                        stmt.setInt(3, entry.getValue());
+                        stmt.addBatch();
+                    }
+                    for (int count : stmt.executeBatch()) {
+                        if (count == 0) {
+                            conn.rollback();
+                            return false;
+                        }
+                    }
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
+                    for (StockMovement movement : movements) {
+                        stmt.setInt(1, movement.getProductId());
+                        stmt.setString(2, movement.getMovementType());
+                        stmt.setInt(3, movement.getQuantity());
+                        stmt.setString(4, movement.getReferenceNumber());
+                        stmt.setString(5, movement.getNotes());
+                        if (movement.getUserId() > 0) {
+                            stmt.setInt(6, movement.getUserId());
+                        } else {
+                            stmt.setNull(6, Types.INTEGER);
+                        }
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                    // ReorderForecaster tells recorded movements from those its rebuild has read by id
+                    try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                        for (StockMovement movement : movements) {
+                            if (generatedKeys.next()) {
+                                movement.setId(generatedKeys.getInt(1));
+                            }
+                        }
+                    }
+                }
+
+                Map<Integer, InventoryStats.ProductFigures> after = readFigures(conn, new ArrayList<>(deltas.keySet()));
+                conn.commit();
+
+                ProductCache cache = ProductCache.getInstance();
+                for (Map.Entry<Integer, Integer> entry : deltas.entrySet()) {
+                    InventoryStats.ProductFigures figures = after.get(entry.getKey());
+                    if (figures != null) {
+                        stats.productChanged(figures.withStockDelta(-entry.getValue()), figures);
+                    }
+                    cache.invalidateStock(entry.getKey());
+                }
+                TableVersions.getInstance().bump(TableVersions.Table.PRODUCTS);
+                ReorderForecaster.getInstance().movementsRecorded(movements);
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } finally {
+            stats.endChange();
+        }
+    }
+
+    /**
+     * Get the most recent movements for a product
+     */
+    public List<StockMovement> getMovementsByProduct(int productId, int limit) throws SQLException {
+        List<StockMovement> movements = new ArrayList<>();
+        String sql = "SELECT sm.*, p.name as product_name, p.sku as product_sku, u.full_name as user_name " +
+                "FROM stock_movements sm " +
+                "JOIN products p ON sm.product_id = p.id " +
+                "LEFT JOIN users u ON sm.user_id = u.id " +
+                "WHERE sm.product_id = ? " +
+                "ORDER BY sm.id DESC LIMIT ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, productId);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    movements.add(extractMovementFromResultSet(rs));
+                }
+            }
+        }
+        return movements;
+    }
+
+    /**
+     * Get the most recent movements across all products
+     */
+    public List<StockMovement> getRecentMovements(int limit) throws SQLException {
+        List<StockMovement> movements = new ArrayList<>();
+        String sql = "SELECT sm.*, p.name as product_name, p.sku as product_sku, u.full_name as user_name " +
+                "FROM stock_movements sm " +
+                "JOIN products p ON sm.product_id = p.id " +
+                "LEFT JOIN users u ON sm.user_id = u.id " +
+                "ORDER BY sm.id DESC LIMIT ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    movements.add(extractMovementFromResultSet(rs));
+                }
+            }
+        }
+        return movements;
+    }
+
+    /**
+     * Stream the movements of a created_at range (oldest first) to a handler,
+     * one row at a time. Memory use is constant regardless of the range.
+     *
+     * @param from first created_at to include, or null for no lower bound
+     * @param to   created_at to stop before (exclusive), or null for no upper bound
+     */
+    public void streamMovements(Timestamp from, Timestamp to, RowHandler<StockMovement> handler)
+            throws SQLException, IOException {
+        String sql = "SELECT sm.*, p.name as product_name, p.sku as product_sku, u.full_name as user_name " +
+                "FROM stock_movements sm " +
+                "JOIN products p ON sm.product_id = p.id " +
+                "LEFT JOIN users u ON sm.user_id = u.id " +
+                OrderDAO.dateRange("sm.created_at", from, to) +
+                "ORDER BY sm.created_at, sm.id";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            int index = 1;
+            if (from != null) {
+                stmt.setTimestamp(index++, from);
+            }
+            if (to != null) {
+                stmt.setTimestamp(index, to);
+            }
+            DatabaseConnection.enableStreaming(stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(extractMovementFromResultSet(rs));
+                }
+            }
+        }
+    }
+
+    /**
+     * Read the post-update figures of the given products (rows are already locked by this transaction)
+     */
+    private Map<Integer, InventoryStats.ProductFigures> readFigures(Connection conn, List<Integer> productIds)
+            throws SQLException {
+        Map<Integer, InventoryStats.ProductFigures> figures = new HashMap<>();
+        for (int from = 0; from < productIds.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Integer> chunk = productIds.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, productIds.size()));
+            StringBuilder placeholders = new StringBuilder();
+            for (int i = 0; i < chunk.size(); i++) {
+                placeholders.append(i == 0 ? "?" : ", ?");
+            }
+            String sql = "SELECT id, category_id, unit_price, quantity_in_stock, " +
+                    "COALESCE((SELECT f.reorder_point FROM product_forecasts f WHERE f.product_id = products.id), " +
+                    "reorder_level) AS reorder_point " +
+                    "FROM products WHERE id IN (" + placeholders + ")";
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setInt(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        figures.put(rs.getInt("id"), new InventoryStats.ProductFigures(rs.getInt("category_id"),
+                                rs.getBigDecimal("unit_price"), rs.getInt("quantity_in_stock"),
+                                rs.getInt("reorder_point")));
+                    }
+                }
+            }
+        }
+        return figures;
+    }
+
+    private void validate(StockMovement movement) {
+        String type = movement.getMovementType();
+        if ("in".equals(type) || "out".equals(type)) {
+            if (movement.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Quantity must be positive for '" + type + "' movements");
+            }
+        } else if ("adjustment".equals(type)) {
+            if (movement.getQuantity() == 0) {
+                throw new IllegalArgumentException("Adjustment quantity must not be zero");
+            }
+        } else {
+            throw new IllegalArgumentException("Movement type must be 'in', 'out' or 'adjustment'");
+        }
+    }
+
+    /**
+     * Helper method to extract StockMovement from ResultSet
+     */
+    private StockMovement extractMovementFromResultSet(ResultSet rs) throws SQLException {
+        StockMovement movement = new StockMovement();
+        movement.setId(rs.getInt("id"));
+        movement.setProductId(rs.getInt("product_id"));
+        movement.setMovementType(rs.getString("movement_type"));
+        movement.setQuantity(rs.getInt("quantity"));
+        movement.setReferenceNumber(rs.getString("reference_number"));
+        movement.setNotes(rs.getString("notes"));
+        movement.setUserId(rs.getInt("user_id"));
+        movement.setCreatedAt(rs.getTimestamp("created_at"));
+        movement.setProductName(rs.getString("product_name"));
+        movement.setProductSku(rs.getString("product_sku"));
+        movement.setUserName(rs.getString("user_name"));
+        return movement;
+    }
+}
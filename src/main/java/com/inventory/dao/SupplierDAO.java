@@ -70,6 +70,7 @@ public class SupplierDAO {
                         supplier.setId(generatedKeys.getInt(1));
                     }
                 }
+                TableVersions.getInstance().bump(TableVersions.Table.SUPPLIERS);
                 return true;
             }
         }
@@ -92,7 +93,12 @@ public class SupplierDAO {
             stmt.setString(5, supplier.getAddress());
             stmt.setInt(6, supplier.getId());
 
-            return stmt.executeUpdate() > 0;
+            boolean updated = stmt.executeUpdate() > 0;
+            if (updated) {
+                ProductCache.getInstance().invalidateSupplier(supplier.getId());
+                TableVersions.getInstance().bump(TableVersions.Table.SUPPLIERS);
+            }
+            return updated;
         }
     }
 
@@ -106,7 +112,12 @@ public class SupplierDAO {
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+            boolean deleted = stmt.executeUpdate() > 0;
+            if (deleted) {
+                ProductCache.getInstance().invalidateSupplier(id);
+                TableVersions.getInstance().bump(TableVersions.Table.SUPPLIERS);
+            }
+            return deleted;
         }
     }
 
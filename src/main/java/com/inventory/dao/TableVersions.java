@@ -0,0 +1,55 @@
+package com.inventory.dao;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Table Versions
+ * Modification counters per table, bumped by the DAOs after each committed
+ * change. Servlets combine the counters a response depends on into a version
+ * tag (ETag), so an unchanged listing can be answered with 304 Not Modified
+ * without touching MySQL.
+ *
+ * Tags start with this node's startup time, so a restart never reissues an
+ * old tag. Changes made outside this node are picked up by the InventoryStats
+ * drift check, which bumps the tables it found drifted.
+ */
+public class TableVersions {
+
+    public enum Table {
+        PRODUCTS, CATEGORIES, SUPPLIERS, ORDERS, USERS
+    }
+
+    private static final TableVersions INSTANCE = new TableVersions();
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLongArray versions = new AtomicLongArray(Table.values().length);
+
+    public static TableVersions getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Record a committed change to a table
+     */
+    public void bump(Table table) {
+        versions.incrementAndGet(table.ordinal());
+    }
+
+    public long get(Table table) {
+        return versions.get(table.ordinal());
+    }
+
+    /**
+     * Version tag covering the given tables, e.g. "lq3v8k2a-12.0.3"
+     */
+    public String tag(Table... tables) {
+        StringBuilder tag = new StringBuilder(epoch.length() + 8 * tables.length).append(epoch).append('-');
+        for (int i = 0; i < tables.length; i++) {
+            if (i > 0) {
+                tag.append('.');
+            }
+            tag.append(versions.get(tables[i].ordinal()));
+        }
+        return tag.toString();
+    }
+}
@@ -116,7 +116,11 @@ public class UserDAO {
             stmt.setString(4, user.getRole());
             stmt.setInt(5, user.getId());
 
-            return stmt.executeUpdate() > 0;
+            boolean updated = stmt.executeUpdate() > 0;
+            if (updated) {
+                TableVersions.getInstance().bump(TableVersions.Table.USERS);
+            }
+            return updated;
         }
     }
 
@@ -130,7 +134,11 @@ public class UserDAO {
                 PreparedStatement stmt = conn.prepareStatement(sql)) {
 
             stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+            boolean deleted = stmt.executeUpdate() > 0;
+            if (deleted) {
+                TableVersions.getInstance().bump(TableVersions.Table.USERS);
+            }
+            return deleted;
         }
     }
 
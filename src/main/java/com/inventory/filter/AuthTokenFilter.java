@@ -0,0 +1,79 @@
+package com.inventory.filter;
+
+import com.inventory.util.AuthTokens;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.annotation.WebFilter;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Auth Token Filter
+ * In token mode (auth.mode=token), requires a valid signed token on the data
+ * endpoints, taken from the "Authorization: Bearer" header or the AUTH_TOKEN
+ * cookie. The verified user id and role are exposed to servlets as the
+ * "userId" and "role" request attributes. In session mode the filter does nothing.
+ */
+@WebFilter(urlPatterns = { "/products", "/products/import", "/orders", "/stock", "/space", "/dashboard",
+        "/export" },
+        asyncSupported = true)
+public class AuthTokenFilter implements Filter {
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+    }
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest request = (HttpServletRequest) req;
+        HttpServletResponse response = (HttpServletResponse) res;
+
+        if (!AuthTokens.isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        AuthTokens.Claims claims = AuthTokens.verify(readToken(request));
+        if (claims == null) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setHeader("WWW-Authenticate", "Bearer");
+            response.setContentType("application/json");
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write("{\"success\": false, \"message\": \"Authentication required\"}");
+            return;
+        }
+
+        request.setAttribute("userId", claims.getUserId());
+        request.setAttribute("role", claims.getRole());
+        chain.doFilter(request, response);
+    }
+
+    private String readToken(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (header != null && header.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return header.substring(7).trim();
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (AuthTokens.COOKIE_NAME.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
@@ -0,0 +1,115 @@
+package com.inventory.filter;
+
+import com.inventory.util.RequestMetrics;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Request Metrics Filter
+ * Times every request and records it in RequestMetrics under its servlet path
+ * and action. Async requests (e.g. /login) are recorded when they complete.
+ * Static files are grouped under the "static" route.
+ *
+ * Mapped in web.xml (rather than with @WebFilter) so that it runs first and
+ * also times the other filters.
+ */
+public class RequestMetricsFilter implements Filter {
+
+    private static final String STATIC_ROUTE = "static";
+
+    private final RequestMetrics metrics = RequestMetrics.getInstance();
+
+    @Override
+    public void init(FilterConfig filterConfig) {
+    }
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest request = (HttpServletRequest) req;
+        HttpServletResponse response = (HttpServletResponse) res;
+
+        RequestMetrics.Endpoint endpoint = metrics.endpoint(routeOf(request), request.getQueryString());
+        long start = System.nanoTime();
+        endpoint.started();
+
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new CompletionListener(endpoint, start, response));
+            } else {
+                endpoint.finished(failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                        System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static String routeOf(HttpServletRequest request) {
+        String path = request.getServletPath();
+        if (path == null || path.isEmpty()) {
+            path = "/";
+        }
+        return path.indexOf('.') >= 0 ? STATIC_ROUTE : path;
+    }
+
+    @Override
+    public void destroy() {
+    }
+
+    /**
+     * Records an async request once, on whichever terminal event comes first
+     */
+    private static final class CompletionListener implements AsyncListener {
+        private final RequestMetrics.Endpoint endpoint;
+        private final long start;
+        private final HttpServletResponse response;
+        private boolean recorded;
+
+        CompletionListener(RequestMetrics.Endpoint endpoint, long start, HttpServletResponse response) {
+            this.endpoint = endpoint;
+            this.start = start;
+            this.response = response;
+        }
+
+        private synchronized void record(int status) {
+            if (!recorded) {
+                recorded = true;
+                endpoint.finished(status, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record(response.getStatus());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // The application's own timeout handler may still write a response; onComplete follows
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            record(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
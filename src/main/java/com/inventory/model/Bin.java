@@ -0,0 +1,157 @@
+package com.inventory.model;
+
+import java.sql.Timestamp;
+
+/**
+ * Bin Model - Represents a storage location (bin) and its capacity
+ */
+public class Bin {
+    private int id;
+    private String code; // zone-aisle-shelf-position, e.g. A-03-2-07
+    private String zone;
+    private int aisle;
+    private int shelf;
+    private long maxVolumeCm3;
+    private long maxWeightG;
+    private int maxSlots; // distinct products the bin can hold
+    private boolean active = true;
+    private Timestamp createdAt;
+    
+    // Capacity in use, from bin_stock and product_dimensions
+    private long usedVolumeCm3;
+    private long usedWeightG;
+    private int usedSlots;
+
+    // Constructors
+    public Bin() {
+    }
+
+    public Bin(String code, String zone, int aisle, int shelf, long maxVolumeCm3, long maxWeightG, int maxSlots) {
+        this.code = code;
+        this.zone = zone;
+        this.aisle = aisle;
+        this.shelf = shelf;
+        this.maxVolumeCm3 = maxVolumeCm3;
+        this.maxWeightG = maxWeightG;
+        this.maxSlots = maxSlots;
+    }
+
+    // Getters and Setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    public String getZone() {
+        return zone;
+    }
+
+    public void setZone(String zone) {
+        this.zone = zone;
+    }
+
+    public int getAisle() {
+        return aisle;
+    }
+
+    public void setAisle(int aisle) {
+        this.aisle = aisle;
+    }
+
+    public int getShelf() {
+        return shelf;
+    }
+
+    public void setShelf(int shelf) {
+        this.shelf = shelf;
+    }
+
+    public long getMaxVolumeCm3() {
+        return maxVolumeCm3;
+    }
+
+    public void setMaxVolumeCm3(long maxVolumeCm3) {
+        this.maxVolumeCm3 = maxVolumeCm3;
+    }
+
+    public long getMaxWeightG() {
+        return maxWeightG;
+    }
+
+    public void setMaxWeightG(long maxWeightG) {
+        this.maxWeightG = maxWeightG;
+    }
+
+    public int getMaxSlots() {
+        return maxSlots;
+    }
+
+    public void setMaxSlots(int maxSlots) {
+        this.maxSlots = maxSlots;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Timestamp createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public long getUsedVolumeCm3() {
+        return usedVolumeCm3;
+    }
+
+    public void setUsedVolumeCm3(long usedVolumeCm3) {
+        this.usedVolumeCm3 = usedVolumeCm3;
+    }
+
+    public long getUsedWeightG() {
+        return usedWeightG;
+    }
+
+    public void setUsedWeightG(long usedWeightG) {
+        this.usedWeightG = usedWeightG;
+    }
+
+    public int getUsedSlots() {
+        return usedSlots;
+    }
+
+    public void setUsedSlots(int usedSlots) {
+        this.usedSlots = usedSlots;
+    }
+
+    @Override
+    public String toString() {
+        return "Bin{" +
+                "code=" + code +
+                ", zone=" + zone +
+                ", maxVolumeCm3=" + maxVolumeCm3 +
+                ", maxWeightG=" + maxWeightG +
+                ", maxSlots=" + maxSlots +
+                ", usedVolumeCm3=" + usedVolumeCm3 +
+                ", usedWeightG=" + usedWeightG +
+                ", usedSlots=" + usedSlots +
+                '}';
+    }
+}
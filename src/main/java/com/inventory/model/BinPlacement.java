@@ -0,0 +1,81 @@
+package com.inventory.model;
+
+/**
+ * BinPlacement Model - A quantity of a product put into (or suggested for) a bin
+ */
+public class BinPlacement {
+    private int binId;
+    private String binCode;
+    private String zone;
+    private int productId;
+    private int quantity;
+    private String reason; // why a quantity could not be placed (unplaced lines only)
+
+    // Constructors
+    public BinPlacement() {
+    }
+
+    public BinPlacement(int binId, int productId, int quantity) {
+        this.binId = binId;
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    // Getters and Setters
+    public int getBinId() {
+        return binId;
+    }
+
+    public void setBinId(int binId) {
+        this.binId = binId;
+    }
+
+    public String getBinCode() {
+        return binCode;
+    }
+
+    public void setBinCode(String binCode) {
+        this.binCode = binCode;
+    }
+
+    public String getZone() {
+        return zone;
+    }
+
+    public void setZone(String zone) {
+        this.zone = zone;
+    }
+
+    public int getProductId() {
+        return productId;
+    }
+
+    public void setProductId(int productId) {
+        this.productId = productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    @Override
+    public String toString() {
+        return "BinPlacement{" +
+                "binId=" + binId +
+                ", productId=" + productId +
+                ", quantity=" + quantity +
+                '}';
+    }
+}
@@ -0,0 +1,94 @@
+package com.inventory.model;
+
+import java.sql.Timestamp;
+
+/**
+ * BinStock Model - Quantity of one product held in one bin
+ */
+public class BinStock {
+    private int binId;
+    private int productId;
+    private int quantity;
+    private Timestamp updatedAt;
+    
+    // Additional fields for joined data
+    private String binCode;
+    private String productName;
+    private String productSku;
+
+    // Constructors
+    public BinStock() {
+    }
+
+    public BinStock(int binId, int productId, int quantity) {
+        this.binId = binId;
+        this.productId = productId;
+        this.quantity = quantity;
+    }
+
+    // Getters and Setters
+    public int getBinId() {
+        return binId;
+    }
+
+    public void setBinId(int binId) {
+        this.binId = binId;
+    }
+
+    public int getProductId() {
+        return productId;
+    }
+
+    public void setProductId(int productId) {
+        this.productId = productId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public Timestamp getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Timestamp updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public String getBinCode() {
+        return binCode;
+    }
+
+    public void setBinCode(String binCode) {
+        this.binCode = binCode;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public String getProductSku() {
+        return productSku;
+    }
+
+    public void setProductSku(String productSku) {
+        this.productSku = productSku;
+    }
+
+    @Override
+    public String toString() {
+        return "BinStock{" +
+                "binId=" + binId +
+                ", productId=" + productId +
+                ", quantity=" + quantity +
+                '}';
+    }
+}
@@ -3,6 +3,7 @@ package com.inventory.model;
 import java.math.BigDecimal;
 import java.sql.Date;
 import java.sql.Timestamp;
+import java.util.List;
 
 /**
  * Order Model - Represents a purchase order
@@ -14,11 +15,15 @@ public class Order {
     private String supplierName;
     private Date orderDate;
     private Date expectedDeliveryDate;
-    private String status; // pending, received, cancelled
+    private String status; // draft, pending, received, cancelled
     private BigDecimal totalAmount;
     private int userId;
     private String userName;
     private Timestamp createdAt;
+    private Timestamp receivedAt;
+
+    // Line items (only loaded when requested)
+    private List<OrderItem> items;
 
     // Constructors
     public Order() {
@@ -121,6 +126,22 @@ public class Order {
         this.createdAt = createdAt;
     }
 
+    public Timestamp getReceivedAt() {
+        return receivedAt;
+    }
+
+    public void setReceivedAt(Timestamp receivedAt) {
+        this.receivedAt = receivedAt;
+    }
+
+    public List<OrderItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<OrderItem> items) {
+        this.items = items;
+    }
+
     @Override
     public String toString() {
         return "Order{" +
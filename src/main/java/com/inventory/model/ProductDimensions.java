@@ -0,0 +1,84 @@
+package com.inventory.model;
+
+/**
+ * ProductDimensions Model - Unit size and weight of a product, used for bin capacity
+ */
+public class ProductDimensions {
+    private int productId;
+    private int lengthMm;
+    private int widthMm;
+    private int heightMm;
+    private int weightG;
+
+    // Constructors
+    public ProductDimensions() {
+    }
+
+    public ProductDimensions(int productId, int lengthMm, int widthMm, int heightMm, int weightG) {
+        this.productId = productId;
+        this.lengthMm = lengthMm;
+        this.widthMm = widthMm;
+        this.heightMm = heightMm;
+        this.weightG = weightG;
+    }
+
+    // Getters and Setters
+    public int getProductId() {
+        return productId;
+    }
+
+    public void setProductId(int productId) {
+        this.productId = productId;
+    }
+
+    public int getLengthMm() {
+        return lengthMm;
+    }
+
+    public void setLengthMm(int lengthMm) {
+        this.lengthMm = lengthMm;
+    }
+
+    public int getWidthMm() {
+        return widthMm;
+    }
+
+    public void setWidthMm(int widthMm) {
+        this.widthMm = widthMm;
+    }
+
+    public int getHeightMm() {
+        return heightMm;
+    }
+
+    public void setHeightMm(int heightMm) {
+        this.heightMm = heightMm;
+    }
+
+    public int getWeightG() {
+        return weightG;
+    }
+
+    public void setWeightG(int weightG) {
+        this.weightG = weightG;
+    }
+
+    /**
+     * Volume of one unit in cubic centimetres, rounded up
+     */
+    public long unitVolumeCm3() {
+        long cubicMm = (long) lengthMm * widthMm * heightMm;
+        return (cubicMm + 999) / 1000;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductDimensions{" +
+                "productId=" + productId +
+                ", lengthMm=" + lengthMm +
+                ", widthMm=" + widthMm +
+                ", heightMm=" + heightMm +
+                ", weightG=" + weightG +
+                '}';
+    }
+}
@@ -0,0 +1,105 @@
+package com.inventory.model;
+
+import java.sql.Timestamp;
+
+/**
+ * ProductForecast Model - Demand, lead time and the recommended safety stock
+ * and reorder point of a product
+ */
+public class ProductForecast {
+    private int productId;
+    private double demandPerDay;
+    private double demandStdDev;
+    private int windowDays;
+    private double leadTimeDays;
+    private double leadTimeStdDev;
+    private int leadTimeSamples;
+    private int safetyStock;
+    private int reorderPoint;
+    private Timestamp computedAt;
+
+    // Constructors
+    public ProductForecast() {
+    }
+
+    // Getters and Setters
+    public int getProductId() {
+        return productId;
+    }
+
+    public void setProductId(int productId) {
+        this.productId = productId;
+    }
+
+    public double getDemandPerDay() {
+        return demandPerDay;
+    }
+
+    public void setDemandPerDay(double demandPerDay) {
+        this.demandPerDay = demandPerDay;
+    }
+
+    public double getDemandStdDev() {
+        return demandStdDev;
+    }
+
+    public void setDemandStdDev(double demandStdDev) {
+        this.demandStdDev = demandStdDev;
+    }
+
+    public int getWindowDays() {
+        return windowDays;
+    }
+
+    public void setWindowDays(int windowDays) {
+        this.windowDays = windowDays;
+    }
+
+    public double getLeadTimeDays() {
+        return leadTimeDays;
+    }
+
+    public void setLeadTimeDays(double leadTimeDays) {
+        this.leadTimeDays = leadTimeDays;
+    }
+
+    public double getLeadTimeStdDev() {
+        return leadTimeStdDev;
+    }
+
+    public void setLeadTimeStdDev(double leadTimeStdDev) {
+        this.leadTimeStdDev = leadTimeStdDev;
+    }
+
+    public int getLeadTimeSamples() {
+        return leadTimeSamples;
+    }
+
+    public void setLeadTimeSamples(int leadTimeSamples) {
+        this.leadTimeSamples = leadTimeSamples;
+    }
+
+    public int getSafetyStock() {
+        return safetyStock;
+    }
+
+    public void setSafetyStock(int safetyStock) {
+        this.safetyStock = safetyStock;
+    }
+
+    public int getReorderPoint() {
+        return reorderPoint;
+    }
+
+    public void setReorderPoint(int reorderPoint) {
+        this.reorderPoint = reorderPoint;
+    }
+
+    public Timestamp getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(Timestamp computedAt) {
+        this.computedAt = computedAt;
+    }
+}
@@ -0,0 +1,68 @@
+package com.inventory.model;
+
+import java.util.List;
+
+/**
+ * ProductPage Model - One page of a keyset-paginated product listing.
+ * Pass nextAfterId (and nextAfter for name/sku sorting) back to fetch the next page.
+ */
+public class ProductPage {
+    private List<Product> products;
+    private String sort;
+    private int nextAfterId;
+    private String nextAfter;
+    private boolean hasMore;
+
+    // Constructors
+    public ProductPage() {
+    }
+
+    public ProductPage(List<Product> products, String sort, int nextAfterId, String nextAfter, boolean hasMore) {
+        this.products = products;
+        this.sort = sort;
+        this.nextAfterId = nextAfterId;
+        this.nextAfter = nextAfter;
+        this.hasMore = hasMore;
+    }
+
+    // Getters and Setters
+    public List<Product> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<Product> products) {
+        this.products = products;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+
+    public int getNextAfterId() {
+        return nextAfterId;
+    }
+
+    public void setNextAfterId(int nextAfterId) {
+        this.nextAfterId = nextAfterId;
+    }
+
+    public String getNextAfter() {
+        return nextAfter;
+    }
+
+    public void setNextAfter(String nextAfter) {
+        this.nextAfter = nextAfter;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,42 @@
+package com.inventory.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PutawayPlan Model - Suggested bins for the lines of an incoming order
+ */
+public class PutawayPlan {
+    private int orderId;
+    private List<BinPlacement> placements = new ArrayList<>();
+    private List<BinPlacement> unplaced = new ArrayList<>(); // quantities no bin had room for
+
+    // Constructors
+    public PutawayPlan() {
+    }
+
+    // Getters and Setters
+    public int getOrderId() {
+        return orderId;
+    }
+
+    public void setOrderId(int orderId) {
+        this.orderId = orderId;
+    }
+
+    public List<BinPlacement> getPlacements() {
+        return placements;
+    }
+
+    public void setPlacements(List<BinPlacement> placements) {
+        this.placements = placements;
+    }
+
+    public List<BinPlacement> getUnplaced() {
+        return unplaced;
+    }
+
+    public void setUnplaced(List<BinPlacement> unplaced) {
+        this.unplaced = unplaced;
+    }
+}
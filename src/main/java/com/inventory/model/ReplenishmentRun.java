@@ -0,0 +1,97 @@
+package com.inventory.model;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ReplenishmentRun Model - Draft purchase orders generated for low-stock products
+ */
+public class ReplenishmentRun {
+    private boolean dryRun;
+    private int productsBelow;
+    private int productsOnOrder; // below their reorder point but already covered by draft/pending orders
+    private int productsWithoutSupplier;
+    private int ordersCreated;
+    private int linesCreated;
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    private long elapsedMillis;
+    private List<Order> orders = new ArrayList<>();
+
+    // Constructors
+    public ReplenishmentRun() {
+    }
+
+    // Getters and Setters
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public int getProductsBelow() {
+        return productsBelow;
+    }
+
+    public void setProductsBelow(int productsBelow) {
+        this.productsBelow = productsBelow;
+    }
+
+    public int getProductsOnOrder() {
+        return productsOnOrder;
+    }
+
+    public void setProductsOnOrder(int productsOnOrder) {
+        this.productsOnOrder = productsOnOrder;
+    }
+
+    public int getProductsWithoutSupplier() {
+        return productsWithoutSupplier;
+    }
+
+    public void setProductsWithoutSupplier(int productsWithoutSupplier) {
+        this.productsWithoutSupplier = productsWithoutSupplier;
+    }
+
+    public int getOrdersCreated() {
+        return ordersCreated;
+    }
+
+    public void setOrdersCreated(int ordersCreated) {
+        this.ordersCreated = ordersCreated;
+    }
+
+    public int getLinesCreated() {
+        return linesCreated;
+    }
+
+    public void setLinesCreated(int linesCreated) {
+        this.linesCreated = linesCreated;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<Order> getOrders() {
+        return orders;
+    }
+
+    public void setOrders(List<Order> orders) {
+        this.orders = orders;
+    }
+}
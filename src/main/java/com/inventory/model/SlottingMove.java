@@ -0,0 +1,101 @@
+package com.inventory.model;
+
+/**
+ * SlottingMove Model - Moving a product's stock to a better placed bin
+ */
+public class SlottingMove {
+    private int productId;
+    private String zone;
+    private int fromBinId;
+    private String fromBinCode;
+    private int toBinId;
+    private String toBinCode;
+    private int quantity;
+    private int picks; // 'out' movements in the velocity window
+    private long unitsPicked;
+
+    // Constructors
+    public SlottingMove() {
+    }
+
+    public SlottingMove(int productId, String zone, int fromBinId, int toBinId, int quantity) {
+        this.productId = productId;
+        this.zone = zone;
+        this.fromBinId = fromBinId;
+        this.toBinId = toBinId;
+        this.quantity = quantity;
+    }
+
+    // Getters and Setters
+    public int getProductId() {
+        return productId;
+    }
+
+    public void setProductId(int productId) {
+        this.productId = productId;
+    }
+
+    public String getZone() {
+        return zone;
+    }
+
+    public void setZone(String zone) {
+        this.zone = zone;
+    }
+
+    public int getFromBinId() {
+        return fromBinId;
+    }
+
+    public void setFromBinId(int fromBinId) {
+        this.fromBinId = fromBinId;
+    }
+
+    public String getFromBinCode() {
+        return fromBinCode;
+    }
+
+    public void setFromBinCode(String fromBinCode) {
+        this.fromBinCode = fromBinCode;
+    }
+
+    public int getToBinId() {
+        return toBinId;
+    }
+
+    public void setToBinId(int toBinId) {
+        this.toBinId = toBinId;
+    }
+
+    public String getToBinCode() {
+        return toBinCode;
+    }
+
+    public void setToBinCode(String toBinCode) {
+        this.toBinCode = toBinCode;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+
+    public int getPicks() {
+        return picks;
+    }
+
+    public void setPicks(int picks) {
+        this.picks = picks;
+    }
+
+    public long getUnitsPicked() {
+        return unitsPicked;
+    }
+
+    public void setUnitsPicked(long unitsPicked) {
+        this.unitsPicked = unitsPicked;
+    }
+}
@@ -0,0 +1,87 @@
+package com.inventory.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SlottingPlan Model - Moves that bring fast-moving products to the best placed bins
+ */
+public class SlottingPlan {
+    private int velocityDays; // pick history looked at
+    private int zones;
+    private int bins;
+    private int productsRanked; // products with picks in the window
+    private int productsKept; // ranked products left where they are because no bin takes them whole
+    private int totalMoves;
+    private long elapsedMillis;
+    private List<SlottingMove> moves = new ArrayList<>(); // fastest movers first, at most the requested limit
+
+    // Constructors
+    public SlottingPlan() {
+    }
+
+    // Getters and Setters
+    public int getVelocityDays() {
+        return velocityDays;
+    }
+
+    public void setVelocityDays(int velocityDays) {
+        this.velocityDays = velocityDays;
+    }
+
+    public int getZones() {
+        return zones;
+    }
+
+    public void setZones(int zones) {
+        this.zones = zones;
+    }
+
+    public int getBins() {
+        return bins;
+    }
+
+    public void setBins(int bins) {
+        this.bins = bins;
+    }
+
+    public int getProductsRanked() {
+        return productsRanked;
+    }
+
+    public void setProductsRanked(int productsRanked) {
+        this.productsRanked = productsRanked;
+    }
+
+    public int getProductsKept() {
+        return productsKept;
+    }
+
+    public void setProductsKept(int productsKept) {
+        this.productsKept = productsKept;
+    }
+
+    public int getTotalMoves() {
+        return totalMoves;
+    }
+
+    public void setTotalMoves(int totalMoves) {
+        this.totalMoves = totalMoves;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public List<SlottingMove> getMoves() {
+        return moves;
+    }
+
+    public void setMoves(List<SlottingMove> moves) {
+        this.moves = moves;
+    }
+}
@@ -123,6 +123,22 @@ public class StockMovement {
         this.userName = userName;
     }
 
+    // Business Methods
+    /**
+     * Change in stock caused by this movement:
+     * 'in' adds the quantity, 'out' removes it, 'adjustment' applies it as a signed delta
+     */
+    public int getStockDelta() {
+        if ("in".equals(movementType)) {
+            return quantity;
+        } else if ("out".equals(movementType)) {
+            return -quantity;
+        } else if ("adjustment".equals(movementType)) {
+            return quantity;
+        }
+        throw new IllegalArgumentException("Unknown movement type: " + movementType);
+    }
+
     @Override
     public String toString() {
         return "StockMovement{" +
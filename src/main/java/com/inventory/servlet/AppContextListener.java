@@ -0,0 +1,47 @@
+package com.inventory.servlet;
+
+import com.inventory.dao.DaoExecutor;
+import com.inventory.dao.DatabaseConnection;
+import com.inventory.dao.InventoryStats;
+import com.inventory.dao.ReorderForecaster;
+import com.inventory.util.AsyncExecutor;
+import com.inventory.util.PasswordVerifier;
+
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.annotation.WebListener;
+import java.sql.SQLException;
+
+/**
+ * Application Lifecycle Listener
+ * Warms up in-memory statistics, starts reorder forecasting on startup and releases shared resources
+ * (background jobs, login verification pool, connection pool) when the web application stops
+ */
+@WebListener
+public class AppContextListener implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        System.out.println("Inventory Management System starting...");
+
+        InventoryStats stats = InventoryStats.getInstance();
+        try {
+            stats.recompute(false);
+        } catch (SQLException e) {
+            // Not fatal: the figures are loaded on the first stats request instead
+            System.err.println("Could not load inventory statistics at startup: " + e.getMessage());
+        }
+        stats.startDriftChecks();
+        ReorderForecaster.getInstance().start();
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        InventoryStats.getInstance().stopDriftChecks();
+        ReorderForecaster.getInstance().stop();
+        PasswordVerifier.getInstance().shutdown();
+        AsyncExecutor.getInstance().shutdown();
+        DaoExecutor.getInstance().shutdown();
+        DatabaseConnection.shutdown();
+    }
+}
@@ -0,0 +1,220 @@
+package com.inventory.servlet;
+
+import com.inventory.util.AppConfig;
+import com.inventory.util.AsyncExecutor;
+import com.inventory.util.RequestDeadline;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Async Dispatch
+ * Runs a servlet handler on the AsyncExecutor while the request is suspended,
+ * so the container thread goes back to the pool during the handler's JDBC work.
+ *
+ * Each request gets async.timeoutMs: the handler's SQL runs under a
+ * RequestDeadline of that length, and a handler still running once it has
+ * passed (plus a short grace for the query timeout to fire) is interrupted and
+ * answered with 504. A request that could not start because the executor is
+ * full, or still waits for a thread at the deadline, gets 503 with Retry-After.
+ *
+ * The timeout is kept here rather than by the container: a handler that is
+ * running owns the response until it returns, so the 504 is written and the
+ * request completed from the handler's own thread (see Task.run), never while
+ * it may still be writing.
+ *
+ * With async.enabled=false, or when a filter in the chain is not async
+ * capable, the handler simply runs on the calling thread.
+ */
+final class AsyncDispatch {
+
+    private static final boolean ENABLED = AppConfig.getBoolean("async.enabled", true);
+    private static final long TIMEOUT_MS = Math.max(1, AppConfig.getLong("async.timeoutMs", 30000));
+    private static final long GRACE_MS = Math.max(0, AppConfig.getLong("async.timeoutGraceMs", 2000));
+    private static final int RETRY_AFTER_SECONDS = Math.max(1, AppConfig.getInt("async.retryAfterSeconds", 1));
+
+    private static final int QUEUED = 0;
+    private static final int RUNNING = 1;
+    private static final int DONE = 2;
+    // Running past its deadline: interrupted, and answered with 504 once the handler returns
+    private static final int TIMED_OUT = 3;
+
+    private static final ScheduledThreadPoolExecutor TIMEOUTS = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread t = new Thread(r, "async-request-timeout");
+        t.setDaemon(true);
+        return t;
+    });
+
+    static {
+        TIMEOUTS.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * A servlet method body: doGet, doPost, ... minus the dispatch
+     */
+    interface Handler {
+        void handle(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException;
+    }
+
+    private AsyncDispatch() {
+    }
+
+    static void run(HttpServletRequest request, HttpServletResponse response, Handler handler)
+            throws ServletException, IOException {
+
+        if (!ENABLED || !request.isAsyncSupported()) {
+            handler.handle(request, response);
+            return;
+        }
+
+        AsyncContext async = request.startAsync(request, response);
+        // No container timeout: Task.expire enforces it
+        async.setTimeout(0);
+        Task task = new Task(async, request, response, handler);
+        async.addListener(task);
+
+        try {
+            task.future = AsyncExecutor.getInstance().submit(task);
+        } catch (RejectedExecutionException e) {
+            if (task.state.compareAndSet(QUEUED, DONE)) {
+                writeError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                        "Server busy. Please try again shortly.");
+                async.complete();
+            }
+            return;
+        }
+        task.timeout = TIMEOUTS.schedule(task::expire, TIMEOUT_MS + GRACE_MS, TimeUnit.MILLISECONDS);
+        if (task.state.get() == DONE) {
+            // Finished before the timeout was even scheduled
+            task.timeout.cancel(false);
+        }
+    }
+
+    private static void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        if (response.isCommitted()) {
+            return;
+        }
+        response.reset();
+        response.setStatus(status);
+        if (status == HttpServletResponse.SC_SERVICE_UNAVAILABLE) {
+            response.setHeader("Retry-After", String.valueOf(RETRY_AFTER_SECONDS));
+        }
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write("{\"error\": \"" + message + "\"}");
+    }
+
+    /**
+     * One dispatched request; also listens for connection errors
+     */
+    private static class Task implements Runnable, AsyncListener {
+        private final AsyncContext async;
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final Handler handler;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        private volatile Future<?> future;
+        private volatile ScheduledFuture<?> timeout;
+
+        Task(AsyncContext async, HttpServletRequest request, HttpServletResponse response, Handler handler) {
+            this.async = async;
+            this.request = request;
+            this.response = response;
+            this.handler = handler;
+            this.deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MS);
+        }
+
+        @Override
+        public void run() {
+            if (!state.compareAndSet(QUEUED, RUNNING)) {
+                return; // Timed out while waiting for a thread
+            }
+            RequestDeadline.set(deadline);
+            try {
+                handler.handle(request, response);
+            } catch (Exception e) {
+                if (state.get() != TIMED_OUT) {
+                    e.printStackTrace();
+                    tryWriteError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Server error: request failed");
+                }
+            } finally {
+                RequestDeadline.clear();
+                ScheduledFuture<?> scheduled = timeout;
+                if (scheduled != null) {
+                    scheduled.cancel(false);
+                }
+                if (state.compareAndSet(RUNNING, DONE)) {
+                    async.complete();
+                } else if (state.compareAndSet(TIMED_OUT, DONE)) {
+                    Thread.interrupted(); // Clear our own interrupt before writing
+                    tryWriteError(HttpServletResponse.SC_GATEWAY_TIMEOUT, "Request timed out");
+                    async.complete();
+                }
+            }
+        }
+
+        /**
+         * Deadline passed. A request still waiting for a thread is answered
+         * here; a running handler is only interrupted, and answers and
+         * completes the request itself when it returns.
+         */
+        void expire() {
+            if (state.compareAndSet(QUEUED, DONE)) {
+                tryWriteError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server busy. Please try again shortly.");
+                async.complete();
+            } else if (state.compareAndSet(RUNNING, TIMED_OUT)) {
+                Future<?> running = future;
+                if (running != null) {
+                    running.cancel(true);
+                }
+            }
+        }
+
+        private void tryWriteError(int status, String message) {
+            try {
+                writeError(response, status, message);
+            } catch (IOException | RuntimeException ignored) {
+                // Client gone; nothing left to tell it
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            ScheduledFuture<?> scheduled = timeout;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+            int previous = state.getAndSet(DONE);
+            if (previous == RUNNING || previous == TIMED_OUT) {
+                Future<?> running = future;
+                if (running != null) {
+                    running.cancel(true);
+                }
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.inventory.servlet;
+
+import com.inventory.dao.AsyncOrderDAO;
+import com.inventory.dao.AsyncProductDAO;
+import com.inventory.dao.CategoryDAO;
+import com.inventory.dao.DaoExecutor;
+import com.inventory.dao.InventoryStats;
+import com.inventory.dao.TableVersions;
+import com.inventory.model.Order;
+import com.inventory.model.Product;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.*;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Dashboard Servlet
+ * Everything the dashboard page shows in one response: product and order
+ * figures, category count, low-stock products and the latest orders.
+ *
+ * The five reads are started together on the DaoExecutor and composed once
+ * all have finished, so the response takes as long as the slowest of them
+ * rather than their sum.
+ */
+@WebServlet(urlPatterns = "/dashboard", asyncSupported = true)
+public class DashboardServlet extends HttpServlet {
+
+    private static final int DEFAULT_RECENT_ORDERS = 10;
+    private static final int DEFAULT_LOW_STOCK = 20;
+    private static final int MAX_LIMIT = 100;
+
+    private AsyncProductDAO productDAO;
+    private AsyncOrderDAO orderDAO;
+    private CategoryDAO categoryDAO;
+    private Gson gson;
+
+    @Override
+    public void init() {
+        productDAO = new AsyncProductDAO();
+        orderDAO = new AsyncOrderDAO();
+        categoryDAO = new CategoryDAO();
+        gson = new GsonBuilder().setDateFormat("yyyy-MM-dd").create();
+    }
+
+    /**
+     * recentOrders (default 10) and lowStock (default 20) limit the two
+     * listings; lowStockCount in productStats is always the full count
+     */
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        AsyncDispatch.run(request, response, this::handleGet);
+    }
+
+    private void handleGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+
+        try {
+            int recentLimit = limit(request.getParameter("recentOrders"), DEFAULT_RECENT_ORDERS);
+            int lowStockLimit = limit(request.getParameter("lowStock"), DEFAULT_LOW_STOCK);
+
+            String tag = TableVersions.getInstance().tag(TableVersions.Table.PRODUCTS, TableVersions.Table.CATEGORIES,
+                    TableVersions.Table.SUPPLIERS, TableVersions.Table.ORDERS, TableVersions.Table.USERS);
+            ResponseCache.getInstance().send(request, response, gson, tag,
+                    json -> writeDashboard(json, recentLimit, lowStockLimit));
+
+        } catch (NumberFormatException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.getWriter().write("{\"error\": \"Invalid limit\"}");
+
+        } catch (RejectedExecutionException e) {
+            if (response.isCommitted()) {
+                return;
+            }
+            response.resetBuffer();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            JsonResponseWriter.writeRaw(response, "{\"error\": \"Server busy. Please try again shortly.\"}");
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            if (response.isCommitted()) {
+                return;
+            }
+            response.resetBuffer();
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            JsonResponseWriter.writeRaw(response, "{\"error\": \"Server error: " + e.getMessage() + "\"}");
+        }
+    }
+
+    private void writeDashboard(JsonResponseWriter json, int recentLimit, int lowStockLimit)
+            throws SQLException, IOException {
+
+        // Start every read before waiting on any of them
+        CompletableFuture<InventoryStats.ProductStats> productStats = productDAO.getProductStats();
+        CompletableFuture<InventoryStats.OrderStats> orderStats = orderDAO.getOrderStats();
+        CompletableFuture<Integer> categories = DaoExecutor.getInstance()
+                .supply(() -> categoryDAO.getAllCategories().size());
+        CompletableFuture<List<Product>> lowStock = productDAO.getLowStockProducts();
+        CompletableFuture<List<Order>> recentOrders = orderDAO.getRecentOrders(recentLimit);
+
+        InventoryStats.ProductStats products = await(productStats);
+        InventoryStats.OrderStats orders = await(orderStats);
+        int categoryCount = await(categories);
+        List<Product> lowStockProducts = await(lowStock);
+        List<Order> latestOrders = await(recentOrders);
+
+        json.raw("{\"productStats\": ");
+        json.productStats(products);
+        json.raw(", \"orderStats\": ");
+        json.orderStats(orders);
+        json.raw(", \"totalCategories\": ");
+        json.number(categoryCount);
+        json.raw(", \"lowStock\": ");
+        json.products(lowStockProducts.subList(0, Math.min(lowStockLimit, lowStockProducts.size())));
+        json.raw(", \"recentOrders\": ");
+        json.orders(latestOrders);
+        json.raw("}");
+    }
+
+    /**
+     * Wait for one read; its SQLException or rejection is rethrown as is
+     */
+    private static <T> T await(CompletableFuture<T> future) throws SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the dashboard queries", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SQLException(cause);
+        }
+    }
+
+    private static int limit(String value, int defaultLimit) {
+        if (value == null || value.trim().isEmpty()) {
+            return defaultLimit;
+        }
+        return Math.max(1, Math.min(MAX_LIMIT, Integer.parseInt(value.trim())));
+    }
+}
@@ -0,0 +1,277 @@
+package com.inventory.servlet;
+
+import com.inventory.dao.OrderDAO;
+import com.inventory.dao.ProductDAO;
+import com.inventory.dao.StockMovementDAO;
+import com.inventory.model.Order;
+import com.inventory.model.OrderItem;
+import com.inventory.model.Product;
+import com.inventory.model.StockMovement;
+import com.inventory.util.AppConfig;
+import com.inventory.util.CsvWriter;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.*;
+import java.io.IOException;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Export Servlet
+ * Handles bulk exports for reporting:
+ *   GET /export?type=products|orders|movements&format=csv|ndjson[&from=yyyy-MM-dd][&to=yyyy-MM-dd]
+ *
+ * Rows are written as they are read from a streaming result set, so memory
+ * use does not grow with the table and the response goes out with chunked
+ * transfer encoding. from/to (both inclusive) select orders by order_date
+ * and movements by created_at; products are always exported in full.
+ * Orders are one CSV row per line item (order columns repeated) or one
+ * NDJSON object per order with its items; NDJSON objects are the same as
+ * in the JSON listings of /products, /orders and /stock.
+ *
+ * The queries are plain reads, which InnoDB answers from a snapshot without
+ * row locks. Each export keeps one pooled connection for its whole run, so
+ * exports run on the request thread (the async request deadline would cut
+ * them short) and at most export.maxConcurrent at once; further requests get 503.
+ */
+@WebServlet("/export")
+public class ExportServlet extends HttpServlet {
+
+    private static final int FLUSH_EVERY_ROWS = Math.max(1, AppConfig.getInt("export.flushEveryRows", 1000));
+
+    private static final Semaphore RUNNING = new Semaphore(Math.max(1, AppConfig.getInt("export.maxConcurrent", 2)));
+
+    private ProductDAO productDAO;
+    private OrderDAO orderDAO;
+    private StockMovementDAO stockMovementDAO;
+    // Same date formats as the /products, /stock and /orders listings
+    private Gson gson;
+    private Gson orderGson;
+
+    @Override
+    public void init() {
+        productDAO = new ProductDAO();
+        orderDAO = new OrderDAO();
+        stockMovementDAO = new StockMovementDAO();
+        gson = new Gson();
+        orderGson = new GsonBuilder().setDateFormat("yyyy-MM-dd").create();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String type = request.getParameter("type");
+        String format = request.getParameter("format") != null ? request.getParameter("format") : "csv";
+        LocalDate from;
+        LocalDate to;
+        try {
+            from = parseDate(request.getParameter("from"));
+            to = parseDate(request.getParameter("to"));
+        } catch (IllegalArgumentException e) {
+            sendError(response, HttpServletResponse.SC_BAD_REQUEST, "Dates must be given as yyyy-MM-dd");
+            return;
+        }
+
+        if (!"products".equals(type) && !"orders".equals(type) && !"movements".equals(type)) {
+            sendError(response, HttpServletResponse.SC_BAD_REQUEST, "type must be products, orders or movements");
+            return;
+        }
+        if (!"csv".equals(format) && !"ndjson".equals(format)) {
+            sendError(response, HttpServletResponse.SC_BAD_REQUEST, "format must be csv or ndjson");
+            return;
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            sendError(response, HttpServletResponse.SC_BAD_REQUEST, "from must not be after to");
+            return;
+        }
+
+        if (!RUNNING.tryAcquire()) {
+            response.setHeader("Retry-After", "30");
+            sendError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                    "Too many exports are running. Please try again later.");
+            return;
+        }
+
+        long[] rows = { 0 };
+        try {
+            response.setContentType("csv".equals(format) ? "text/csv" : "application/x-ndjson");
+            response.setCharacterEncoding("UTF-8");
+            response.setHeader("Content-Disposition", "attachment; filename=\"" + type + "-"
+                    + LocalDate.now() + "." + format + "\"");
+
+            // Ends are exclusive in the DAOs
+            Date orderFrom = from != null ? Date.valueOf(from) : null;
+            Date orderTo = to != null ? Date.valueOf(to.plusDays(1)) : null;
+            Timestamp movementFrom = from != null ? Timestamp.valueOf(from.atStartOfDay()) : null;
+            Timestamp movementTo = to != null ? Timestamp.valueOf(to.plusDays(1).atStartOfDay()) : null;
+
+            if ("csv".equals(format)) {
+                CsvWriter csv = new CsvWriter(response.getWriter());
+                if ("products".equals(type)) {
+                    csv.record("id", "sku", "name", "category", "supplier", "description", "unit_price",
+                            "quantity_in_stock", "reorder_level", "image_url", "created_at", "updated_at");
+                    productDAO.streamAllProducts(product -> {
+                        writeProduct(csv, product);
+                        flushEvery(csv, ++rows[0]);
+                    });
+                } else if ("orders".equals(type)) {
+                    csv.record("order_id", "order_number", "order_date", "expected_delivery_date", "status",
+                            "total_amount", "supplier_id", "supplier_name", "user_name", "created_at",
+                            "received_at", "item_id", "product_id", "product_sku", "product_name", "quantity",
+                            "unit_price", "subtotal");
+                    orderDAO.streamOrdersWithItems(orderFrom, orderTo, order -> {
+                        writeOrder(csv, order);
+                        flushEvery(csv, ++rows[0]);
+                    });
+                } else {
+                    csv.record("id", "created_at", "product_id", "product_sku", "product_name", "movement_type",
+                            "quantity", "reference_number", "notes", "user_id", "user_name");
+                    stockMovementDAO.streamMovements(movementFrom, movementTo, movement -> {
+                        writeMovement(csv, movement);
+                        flushEvery(csv, ++rows[0]);
+                    });
+                }
+                csv.flush();
+            } else {
+                try (JsonResponseWriter json = JsonResponseWriter.open(response,
+                        "orders".equals(type) ? orderGson : gson)) {
+                    if ("products".equals(type)) {
+                        productDAO.streamAllProducts(product -> {
+                            json.product(product);
+                            endLine(json, ++rows[0]);
+                        });
+                    } else if ("orders".equals(type)) {
+                        orderDAO.streamOrdersWithItems(orderFrom, orderTo, order -> {
+                            json.order(order);
+                            endLine(json, ++rows[0]);
+                        });
+                    } else {
+                        stockMovementDAO.streamMovements(movementFrom, movementTo, movement -> {
+                            json.stockMovement(movement);
+                            endLine(json, ++rows[0]);
+                        });
+                    }
+                }
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            if (response.isCommitted()) {
+                // Fail the transfer rather than end it cleanly, so a cut-off export is not taken as complete
+                throw new ServletException("Export of " + type + " failed after " + rows[0] + " records", e);
+            }
+            response.reset();
+            sendError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Server error: " + e.getMessage());
+
+        } finally {
+            RUNNING.release();
+        }
+    }
+
+    private static void writeProduct(CsvWriter csv, Product product) throws IOException {
+        csv.field(product.getId());
+        csv.field(product.getSku());
+        csv.field(product.getName());
+        csv.field(product.getCategoryName());
+        csv.field(product.getSupplierName());
+        csv.field(product.getDescription());
+        csv.field(product.getUnitPrice());
+        csv.field(product.getQuantityInStock());
+        csv.field(product.getReorderLevel());
+        csv.field(product.getImageUrl());
+        csv.field(product.getCreatedAt());
+        csv.field(product.getUpdatedAt());
+        csv.endRecord();
+    }
+
+    private static void writeOrder(CsvWriter csv, Order order) throws IOException {
+        if (order.getItems().isEmpty()) {
+            writeOrderFields(csv, order);
+            csv.record("", "", "", "", "", "", "");
+            return;
+        }
+        for (OrderItem item : order.getItems()) {
+            writeOrderFields(csv, order);
+            csv.field(item.getId());
+            csv.field(item.getProductId());
+            csv.field(item.getProductSku());
+            csv.field(item.getProductName());
+            csv.field(item.getQuantity());
+            csv.field(item.getUnitPrice());
+            csv.field(item.getSubtotal());
+            csv.endRecord();
+        }
+    }
+
+    private static void writeOrderFields(CsvWriter csv, Order order) throws IOException {
+        csv.field(order.getId());
+        csv.field(order.getOrderNumber());
+        csv.field(order.getOrderDate());
+        csv.field(order.getExpectedDeliveryDate());
+        csv.field(order.getStatus());
+        csv.field(order.getTotalAmount());
+        csv.field(order.getSupplierId());
+        csv.field(order.getSupplierName());
+        csv.field(order.getUserName());
+        csv.field(order.getCreatedAt());
+        csv.field(order.getReceivedAt());
+    }
+
+    private static void writeMovement(CsvWriter csv, StockMovement movement) throws IOException {
+        csv.field(movement.getId());
+        csv.field(movement.getCreatedAt());
+        csv.field(movement.getProductId());
+        csv.field(movement.getProductSku());
+        csv.field(movement.getProductName());
+        csv.field(movement.getMovementType());
+        csv.field(movement.getQuantity());
+        csv.field(movement.getReferenceNumber());
+        csv.field(movement.getNotes());
+        csv.field(movement.getUserId());
+        csv.field(movement.getUserName());
+        csv.endRecord();
+    }
+
+    /**
+     * Push records to the client every FLUSH_EVERY_ROWS, so a slow consumer
+     * sees steady progress and the container never buffers more than that
+     */
+    private static void flushEvery(CsvWriter csv, long rows) throws IOException {
+        if (rows % FLUSH_EVERY_ROWS == 0) {
+            csv.flush();
+        }
+    }
+
+    private static void endLine(JsonResponseWriter json, long rows) throws IOException {
+        json.raw("\n");
+        if (rows % FLUSH_EVERY_ROWS == 0) {
+            json.flush();
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static void sendError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        JsonResponseWriter.writeRaw(response, "{\"error\": \"" + message + "\"}");
+    }
+}
@@ -0,0 +1,900 @@
+package com.inventory.servlet;
+
+import com.inventory.dao.InventoryStats;
+import com.inventory.model.Bin;
+import com.inventory.model.Category;
+import com.inventory.model.Order;
+import com.inventory.model.OrderItem;
+import com.inventory.model.Product;
+import com.inventory.model.ProductPage;
+import com.inventory.model.StockMovement;
+import com.inventory.model.Supplier;
+import com.inventory.util.AppConfig;
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON Response Writer
+ * Streams model objects as UTF-8 JSON straight into the servlet response,
+ * producing exactly the bytes gson.toJson would (field order, omitted nulls,
+ * HTML-safe escaping, dates formatted by the servlet's own Gson) without
+ * building the response as a String first.
+ *
+ * Output goes through a per-thread byte buffer that is copied to the response
+ * whenever it fills (json.response.bufferSize); with json.response.flushOnFill
+ * each full buffer is also flushed to the client. Field names are encoded once.
+ *
+ * The response stream is only opened on the first full buffer or on close(),
+ * so an error before that can still be answered with getWriter(); use
+ * writeRaw() in error paths that may run after streaming started.
+ */
+public final class JsonResponseWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = Math.max(1024, AppConfig.getInt("json.response.bufferSize", 16384));
+    private static final boolean FLUSH_ON_FILL = AppConfig.getBoolean("json.response.flushOnFill", false);
+    private static final ThreadLocal<byte[]> BUFFERS = new ThreadLocal<>();
+
+    private static final byte[][] ESCAPES = new byte[128][];
+    private static final byte[] NULL = bytes("null");
+    private static final byte[] TRUE = bytes("true");
+    private static final byte[] FALSE = bytes("false");
+    private static final byte[] LINE_SEPARATOR = bytes("\\u2028");
+    private static final byte[] PARAGRAPH_SEPARATOR = bytes("\\u2029");
+
+    private static final byte[] PRODUCT_ID = fieldName("id");
+    private static final byte[] PRODUCT_NAME = fieldName("name");
+    private static final byte[] PRODUCT_SKU = fieldName("sku");
+    private static final byte[] PRODUCT_CATEGORY_ID = fieldName("categoryId");
+    private static final byte[] PRODUCT_SUPPLIER_ID = fieldName("supplierId");
+    private static final byte[] PRODUCT_DESCRIPTION = fieldName("description");
+    private static final byte[] PRODUCT_UNIT_PRICE = fieldName("unitPrice");
+    private static final byte[] PRODUCT_QUANTITY = fieldName("quantityInStock");
+    private static final byte[] PRODUCT_REORDER_LEVEL = fieldName("reorderLevel");
+    private static final byte[] PRODUCT_IMAGE_URL = fieldName("imageUrl");
+    private static final byte[] PRODUCT_CREATED_AT = fieldName("createdAt");
+    private static final byte[] PRODUCT_UPDATED_AT = fieldName("updatedAt");
+    private static final byte[] PRODUCT_CATEGORY_NAME = fieldName("categoryName");
+    private static final byte[] PRODUCT_SUPPLIER_NAME = fieldName("supplierName");
+
+    private static final byte[] PAGE_PRODUCTS = fieldName("products");
+    private static final byte[] PAGE_SORT = fieldName("sort");
+    private static final byte[] PAGE_NEXT_AFTER_ID = fieldName("nextAfterId");
+    private static final byte[] PAGE_NEXT_AFTER = fieldName("nextAfter");
+    private static final byte[] PAGE_HAS_MORE = fieldName("hasMore");
+
+    private static final byte[] ORDER_ID = fieldName("id");
+    private static final byte[] ORDER_NUMBER = fieldName("orderNumber");
+    private static final byte[] ORDER_SUPPLIER_ID = fieldName("supplierId");
+    private static final byte[] ORDER_SUPPLIER_NAME = fieldName("supplierName");
+    private static final byte[] ORDER_DATE = fieldName("orderDate");
+    private static final byte[] ORDER_EXPECTED_DELIVERY = fieldName("expectedDeliveryDate");
+    private static final byte[] ORDER_STATUS = fieldName("status");
+    private static final byte[] ORDER_TOTAL_AMOUNT = fieldName("totalAmount");
+    private static final byte[] ORDER_USER_ID = fieldName("userId");
+    private static final byte[] ORDER_USER_NAME = fieldName("userName");
+    private static final byte[] ORDER_CREATED_AT = fieldName("createdAt");
+    private static final byte[] ORDER_RECEIVED_AT = fieldName("receivedAt");
+    private static final byte[] ORDER_ITEMS = fieldName("items");
+
+    private static final byte[] ITEM_ID = fieldName("id");
+    private static final byte[] ITEM_ORDER_ID = fieldName("orderId");
+    private static final byte[] ITEM_PRODUCT_ID = fieldName("productId");
+    private static final byte[] ITEM_QUANTITY = fieldName("quantity");
+    private static final byte[] ITEM_UNIT_PRICE = fieldName("unitPrice");
+    private static final byte[] ITEM_SUBTOTAL = fieldName("subtotal");
+    private static final byte[] ITEM_PRODUCT_NAME = fieldName("productName");
+    private static final byte[] ITEM_PRODUCT_SKU = fieldName("productSku");
+
+    private static final byte[] CATEGORY_ID = fieldName("id");
+    private static final byte[] CATEGORY_NAME = fieldName("name");
+    private static final byte[] CATEGORY_DESCRIPTION = fieldName("description");
+    private static final byte[] CATEGORY_CREATED_AT = fieldName("createdAt");
+
+    private static final byte[] SUPPLIER_ID = fieldName("id");
+    private static final byte[] SUPPLIER_NAME = fieldName("name");
+    private static final byte[] SUPPLIER_CONTACT_PERSON = fieldName("contactPerson");
+    private static final byte[] SUPPLIER_EMAIL = fieldName("email");
+    private static final byte[] SUPPLIER_PHONE = fieldName("phone");
+    private static final byte[] SUPPLIER_ADDRESS = fieldName("address");
+    private static final byte[] SUPPLIER_CREATED_AT = fieldName("createdAt");
+
+    private static final byte[] MOVEMENT_ID = fieldName("id");
+    private static final byte[] MOVEMENT_PRODUCT_ID = fieldName("productId");
+    private static final byte[] MOVEMENT_TYPE = fieldName("movementType");
+    private static final byte[] MOVEMENT_QUANTITY = fieldName("quantity");
+    private static final byte[] MOVEMENT_REFERENCE = fieldName("referenceNumber");
+    private static final byte[] MOVEMENT_NOTES = fieldName("notes");
+    private static final byte[] MOVEMENT_USER_ID = fieldName("userId");
+    private static final byte[] MOVEMENT_CREATED_AT = fieldName("createdAt");
+    private static final byte[] MOVEMENT_PRODUCT_NAME = fieldName("productName");
+    private static final byte[] MOVEMENT_PRODUCT_SKU = fieldName("productSku");
+    private static final byte[] MOVEMENT_USER_NAME = fieldName("userName");
+
+    private static final byte[] BIN_ID = fieldName("id");
+    private static final byte[] BIN_CODE = fieldName("code");
+    private static final byte[] BIN_ZONE = fieldName("zone");
+    private static final byte[] BIN_AISLE = fieldName("aisle");
+    private static final byte[] BIN_SHELF = fieldName("shelf");
+    private static final byte[] BIN_MAX_VOLUME = fieldName("maxVolumeCm3");
+    private static final byte[] BIN_MAX_WEIGHT = fieldName("maxWeightG");
+    private static final byte[] BIN_MAX_SLOTS = fieldName("maxSlots");
+    private static final byte[] BIN_ACTIVE = fieldName("active");
+    private static final byte[] BIN_CREATED_AT = fieldName("createdAt");
+    private static final byte[] BIN_USED_VOLUME = fieldName("usedVolumeCm3");
+    private static final byte[] BIN_USED_WEIGHT = fieldName("usedWeightG");
+    private static final byte[] BIN_USED_SLOTS = fieldName("usedSlots");
+
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            ESCAPES[c] = bytes(String.format("\\u%04x", c));
+        }
+        ESCAPES['"'] = bytes("\\\"");
+        ESCAPES['\\'] = bytes("\\\\");
+        ESCAPES['\t'] = bytes("\\t");
+        ESCAPES['\b'] = bytes("\\b");
+        ESCAPES['\n'] = bytes("\\n");
+        ESCAPES['\r'] = bytes("\\r");
+        ESCAPES['\f'] = bytes("\\f");
+        // Gson escapes these by default so JSON can be embedded in HTML
+        for (char c : new char[] { '<', '>', '&', '=', '\'' }) {
+            ESCAPES[c] = bytes(String.format("\\u%04x", (int) c));
+        }
+    }
+
+    private final HttpServletResponse response;
+    private final Gson gson;
+    private byte[] buffer;
+    private int position;
+    private OutputStream out;
+    private Writer writer;
+
+    // Last date type seen and its Gson adapter (rows alternate between a few date types at most)
+    private Class<?> dateClass;
+    private TypeAdapter<Date> dateAdapter;
+    private StringCapture dateCapture;
+
+    // Set right after '{' so the next field name is written without its leading comma
+    private boolean objectStart;
+    // Top-level streamed array (beginArray/endArray)
+    private boolean inArray;
+    private boolean arrayHasElement;
+
+    private JsonResponseWriter(HttpServletResponse response, Gson gson) {
+        this.response = response;
+        this.gson = gson;
+        byte[] pooled = BUFFERS.get();
+        if (pooled != null) {
+            BUFFERS.remove();
+            this.buffer = pooled;
+        } else {
+            this.buffer = new byte[BUFFER_SIZE];
+        }
+    }
+
+    /**
+     * Writer for one response. Dates are formatted with the given Gson's
+     * adapters, so they match what that Gson's toJson produced.
+     */
+    public static JsonResponseWriter open(HttpServletResponse response, Gson gson) {
+        return new JsonResponseWriter(response, gson);
+    }
+
+    /**
+     * Write a preformatted JSON string (e.g. an error message) through
+     * whichever of getWriter/getOutputStream the response is already using
+     */
+    public static void writeRaw(HttpServletResponse response, String json) throws IOException {
+        try {
+            response.getWriter().write(json);
+        } catch (IllegalStateException e) {
+            response.getOutputStream().write(json.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    // ---- Top-level values ----
+
+    public void product(Product product) throws IOException {
+        separator();
+        if (product == null) {
+            put(NULL);
+        } else {
+            writeProduct(product);
+        }
+    }
+
+    public void products(List<Product> products) throws IOException {
+        separator();
+        if (products == null) {
+            put(NULL);
+            return;
+        }
+        put((byte) '[');
+        for (int i = 0; i < products.size(); i++) {
+            if (i > 0) {
+                put((byte) ',');
+            }
+            writeProduct(products.get(i));
+        }
+        put((byte) ']');
+    }
+
+    public void productPage(ProductPage page) throws IOException {
+        separator();
+        if (page == null) {
+            put(NULL);
+            return;
+        }
+        beginObject();
+        if (page.getProducts() != null) {
+            name(PAGE_PRODUCTS);
+            products(page.getProducts());
+        }
+        stringField(PAGE_SORT, page.getSort());
+        name(PAGE_NEXT_AFTER_ID);
+        number(page.getNextAfterId());
+        stringField(PAGE_NEXT_AFTER, page.getNextAfter());
+        name(PAGE_HAS_MORE);
+        put(page.isHasMore() ? TRUE : FALSE);
+        endObject();
+    }
+
+    public void order(Order order) throws IOException {
+        separator();
+        if (order == null) {
+            put(NULL);
+        } else {
+            writeOrder(order);
+        }
+    }
+
+    public void orders(List<Order> orders) throws IOException {
+        separator();
+        if (orders == null) {
+            put(NULL);
+            return;
+        }
+        put((byte) '[');
+        for (int i = 0; i < orders.size(); i++) {
+            if (i > 0) {
+                put((byte) ',');
+            }
+            writeOrder(orders.get(i));
+        }
+        put((byte) ']');
+    }
+
+    public void orderItems(List<OrderItem> items) throws IOException {
+        separator();
+        writeOrderItems(items);
+    }
+
+    public void category(Category category) throws IOException {
+        separator();
+        if (category == null) {
+            put(NULL);
+        } else {
+            writeCategory(category);
+        }
+    }
+
+    public void categories(List<Category> categories) throws IOException {
+        separator();
+        if (categories == null) {
+            put(NULL);
+            return;
+        }
+        put((byte) '[');
+        for (int i = 0; i < categories.size(); i++) {
+            if (i > 0) {
+                put((byte) ',');
+            }
+            writeCategory(categories.get(i));
+        }
+        put((byte) ']');
+    }
+
+    public void supplier(Supplier supplier) throws IOException {
+        separator();
+        if (supplier == null) {
+            put(NULL);
+        } else {
+            writeSupplier(supplier);
+        }
+    }
+
+    public void suppliers(List<Supplier> suppliers) throws IOException {
+        separator();
+        if (suppliers == null) {
+            put(NULL);
+            return;
+        }
+        put((byte) '[');
+        for (int i = 0; i < suppliers.size(); i++) {
+            if (i > 0) {
+                put((byte) ',');
+            }
+            writeSupplier(suppliers.get(i));
+        }
+        put((byte) ']');
+    }
+
+    public void stockMovement(StockMovement movement) throws IOException {
+        separator();
+        if (movement == null) {
+            put(NULL);
+        } else {
+            writeStockMovement(movement);
+        }
+    }
+
+    public void stockMovements(List<StockMovement> movements) throws IOException {
+        separator();
+        if (movements == null) {
+            put(NULL);
+            return;
+        }
+        put((byte) '[');
+        for (int i = 0; i < movements.size(); i++) {
+            if (i > 0) {
+                put((byte) ',');
+            }
+            writeStockMovement(movements.get(i));
+        }
+        put((byte) ']');
+    }
+
+    public void bin(Bin bin) throws IOException {
+        separator();
+        if (bin == null) {
+            put(NULL);
+        } else {
+            writeBin(bin);
+        }
+    }
+
+    public void bins(List<Bin> bins) throws IOException {
+        separator();
+        if (bins == null) {
+            put(NULL);
+            return;
+        }
+        put((byte) '[');
+        for (int i = 0; i < bins.size(); i++) {
+            if (i > 0) {
+                put((byte) ',');
+            }
+            writeBin(bins.get(i));
+        }
+        put((byte) ']');
+    }
+
+    /**
+     * Product figures: totalProducts, totalValue, lowStockCount, categoryValues
+     */
+    public void productStats(InventoryStats.ProductStats stats) throws IOException {
+        separator();
+        raw("{\"totalProducts\": ");
+        number(stats.getTotalProducts());
+        raw(", \"totalValue\": ");
+        raw(stats.getTotalValue().setScale(2, RoundingMode.HALF_UP).toPlainString());
+        raw(", \"lowStockCount\": ");
+        number(stats.getLowStockCount());
+        raw(", \"categoryValues\": ");
+        numberMap(stats.getCategoryValues());
+        raw("}");
+    }
+
+    /**
+     * Order figures: totalOrders, totalValue, byStatus
+     */
+    public void orderStats(InventoryStats.OrderStats stats) throws IOException {
+        separator();
+        raw("{\"totalOrders\": ");
+        number(stats.getTotalOrders());
+        raw(", \"totalValue\": ");
+        raw(stats.getTotalValue().setScale(2, RoundingMode.HALF_UP).toPlainString());
+        raw(", \"byStatus\": ");
+        numberMap(stats.getOrdersByStatus());
+        raw("}");
+    }
+
+    /**
+     * A map of numbers keyed by id or name (e.g. stats breakdowns), as Gson writes it
+     */
+    public void numberMap(Map<?, ? extends Number> map) throws IOException {
+        separator();
+        if (map == null) {
+            put(NULL);
+            return;
+        }
+        put((byte) '{');
+        boolean first = true;
+        for (Map.Entry<?, ? extends Number> entry : map.entrySet()) {
+            if (entry.getValue() == null) {
+                continue;
+            }
+            if (!first) {
+                put((byte) ',');
+            }
+            first = false;
+            string(String.valueOf(entry.getKey()));
+            put((byte) ':');
+            writeAscii(entry.getValue().toString());
+        }
+        put((byte) '}');
+    }
+
+    /**
+     * Literal ASCII JSON text, e.g. the fixed parts of a hand-shaped stats object
+     */
+    public void raw(String json) throws IOException {
+        writeAscii(json);
+    }
+
+    public void number(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position = end;
+    }
+
+    /**
+     * Streamed top-level array: values written between beginArray and endArray
+     * are comma-separated
+     */
+    public void beginArray() throws IOException {
+        put((byte) '[');
+        inArray = true;
+        arrayHasElement = false;
+    }
+
+    public void endArray() throws IOException {
+        put((byte) ']');
+        inArray = false;
+    }
+
+    /**
+     * Send what has been written so far to the client, e.g. between the
+     * records of a long export
+     */
+    public void flush() throws IOException {
+        drain(false);
+        if (out != null) {
+            out.flush();
+        } else if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Copy whatever is buffered to the response and hand the buffer back to
+     * this thread. The response itself is left open for the container.
+     */
+    @Override
+    public void close() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        try {
+            drain(false);
+        } finally {
+            if (BUFFERS.get() == null) {
+                BUFFERS.set(buffer);
+            }
+            buffer = null;
+        }
+    }
+
+    // ---- Entities (field order and null handling follow Gson's reflective output) ----
+
+    private void writeProduct(Product p) throws IOException {
+        beginObject();
+        name(PRODUCT_ID);
+        number(p.getId());
+        stringField(PRODUCT_NAME, p.getName());
+        stringField(PRODUCT_SKU, p.getSku());
+        name(PRODUCT_CATEGORY_ID);
+        number(p.getCategoryId());
+        name(PRODUCT_SUPPLIER_ID);
+        number(p.getSupplierId());
+        stringField(PRODUCT_DESCRIPTION, p.getDescription());
+        decimalField(PRODUCT_UNIT_PRICE, p.getUnitPrice());
+        name(PRODUCT_QUANTITY);
+        number(p.getQuantityInStock());
+        name(PRODUCT_REORDER_LEVEL);
+        number(p.getReorderLevel());
+        stringField(PRODUCT_IMAGE_URL, p.getImageUrl());
+        dateField(PRODUCT_CREATED_AT, p.getCreatedAt());
+        dateField(PRODUCT_UPDATED_AT, p.getUpdatedAt());
+        stringField(PRODUCT_CATEGORY_NAME, p.getCategoryName());
+        stringField(PRODUCT_SUPPLIER_NAME, p.getSupplierName());
+        endObject();
+    }
+
+    private void writeOrder(Order o) throws IOException {
+        beginObject();
+        name(ORDER_ID);
+        number(o.getId());
+        stringField(ORDER_NUMBER, o.getOrderNumber());
+        name(ORDER_SUPPLIER_ID);
+        number(o.getSupplierId());
+        stringField(ORDER_SUPPLIER_NAME, o.getSupplierName());
+        dateField(ORDER_DATE, o.getOrderDate());
+        dateField(ORDER_EXPECTED_DELIVERY, o.getExpectedDeliveryDate());
+        stringField(ORDER_STATUS, o.getStatus());
+        decimalField(ORDER_TOTAL_AMOUNT, o.getTotalAmount());
+        name(ORDER_USER_ID);
+        number(o.getUserId());
+        stringField(ORDER_USER_NAME, o.getUserName());
+        dateField(ORDER_CREATED_AT, o.getCreatedAt());
+        dateField(ORDER_RECEIVED_AT, o.getReceivedAt());
+        if (o.getItems() != null) {
+            name(ORDER_ITEMS);
+            writeOrderItems(o.getItems());
+        }
+        endObject();
+    }
+
+    private void writeOrderItems(List<OrderItem> items) throws IOException {
+        if (items == null) {
+            put(NULL);
+            return;
+        }
+        put((byte) '[');
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                put((byte) ',');
+            }
+            OrderItem item = items.get(i);
+            beginObject();
+            name(ITEM_ID);
+            number(item.getId());
+            name(ITEM_ORDER_ID);
+            number(item.getOrderId());
+            name(ITEM_PRODUCT_ID);
+            number(item.getProductId());
+            name(ITEM_QUANTITY);
+            number(item.getQuantity());
+            decimalField(ITEM_UNIT_PRICE, item.getUnitPrice());
+            decimalField(ITEM_SUBTOTAL, item.getSubtotal());
+            stringField(ITEM_PRODUCT_NAME, item.getProductName());
+            stringField(ITEM_PRODUCT_SKU, item.getProductSku());
+            endObject();
+        }
+        put((byte) ']');
+    }
+
+    private void writeCategory(Category c) throws IOException {
+        beginObject();
+        name(CATEGORY_ID);
+        number(c.getId());
+        stringField(CATEGORY_NAME, c.getName());
+        stringField(CATEGORY_DESCRIPTION, c.getDescription());
+        dateField(CATEGORY_CREATED_AT, c.getCreatedAt());
+        endObject();
+    }
+
+    private void writeSupplier(Supplier s) throws IOException {
+        beginObject();
+        name(SUPPLIER_ID);
+        number(s.getId());
+        stringField(SUPPLIER_NAME, s.getName());
+        stringField(SUPPLIER_CONTACT_PERSON, s.getContactPerson());
+        stringField(SUPPLIER_EMAIL, s.getEmail());
+        stringField(SUPPLIER_PHONE, s.getPhone());
+        stringField(SUPPLIER_ADDRESS, s.getAddress());
+        dateField(SUPPLIER_CREATED_AT, s.getCreatedAt());
+        endObject();
+    }
+
+    private void writeStockMovement(StockMovement m) throws IOException {
+        beginObject();
+        name(MOVEMENT_ID);
+        number(m.getId());
+        name(MOVEMENT_PRODUCT_ID);
+        number(m.getProductId());
+        stringField(MOVEMENT_TYPE, m.getMovementType());
+        name(MOVEMENT_QUANTITY);
+        number(m.getQuantity());
+        stringField(MOVEMENT_REFERENCE, m.getReferenceNumber());
+        stringField(MOVEMENT_NOTES, m.getNotes());
+        name(MOVEMENT_USER_ID);
+        number(m.getUserId());
+        dateField(MOVEMENT_CREATED_AT, m.getCreatedAt());
+        stringField(MOVEMENT_PRODUCT_NAME, m.getProductName());
+        stringField(MOVEMENT_PRODUCT_SKU, m.getProductSku());
+        stringField(MOVEMENT_USER_NAME, m.getUserName());
+        endObject();
+    }
+
+    private void writeBin(Bin b) throws IOException {
+        beginObject();
+        name(BIN_ID);
+        number(b.getId());
+        stringField(BIN_CODE, b.getCode());
+        stringField(BIN_ZONE, b.getZone());
+        name(BIN_AISLE);
+        number(b.getAisle());
+        name(BIN_SHELF);
+        number(b.getShelf());
+        name(BIN_MAX_VOLUME);
+        number(b.getMaxVolumeCm3());
+        name(BIN_MAX_WEIGHT);
+        number(b.getMaxWeightG());
+        name(BIN_MAX_SLOTS);
+        number(b.getMaxSlots());
+        name(BIN_ACTIVE);
+        put(b.isActive() ? TRUE : FALSE);
+        dateField(BIN_CREATED_AT, b.getCreatedAt());
+        name(BIN_USED_VOLUME);
+        number(b.getUsedVolumeCm3());
+        name(BIN_USED_WEIGHT);
+        number(b.getUsedWeightG());
+        name(BIN_USED_SLOTS);
+        number(b.getUsedSlots());
+        endObject();
+    }
+
+    // ---- Fields and scalars ----
+
+    private void separator() throws IOException {
+        if (inArray) {
+            if (arrayHasElement) {
+                put((byte) ',');
+            }
+            arrayHasElement = true;
+        }
+    }
+
+    private void beginObject() throws IOException {
+        put((byte) '{');
+        objectStart = true;
+    }
+
+    private void endObject() throws IOException {
+        put((byte) '}');
+        objectStart = false;
+    }
+
+    /**
+     * Field name bytes are stored as ,"name": - the comma is skipped for the first field
+     */
+    private void name(byte[] name) throws IOException {
+        if (objectStart) {
+            objectStart = false;
+            put(name, 1, name.length - 1);
+        } else {
+            put(name, 0, name.length);
+        }
+    }
+
+    private void stringField(byte[] name, String value) throws IOException {
+        if (value != null) {
+            name(name);
+            string(value);
+        }
+    }
+
+    private void decimalField(byte[] name, BigDecimal value) throws IOException {
+        if (value != null) {
+            name(name);
+            writeAscii(value.toString());
+        }
+    }
+
+    private void dateField(byte[] name, Date value) throws IOException {
+        if (value != null) {
+            name(name);
+            string(formatDate(value));
+        }
+    }
+
+    /**
+     * Format with the adapter Gson would pick for the value's runtime type
+     * (java.sql.Timestamp, java.sql.Date, ...), so custom date formats carry over
+     */
+    @SuppressWarnings("unchecked")
+    private String formatDate(Date value) throws IOException {
+        if (value.getClass() != dateClass) {
+            dateClass = value.getClass();
+            dateAdapter = (TypeAdapter<Date>) gson.getAdapter(dateClass);
+        }
+        if (dateCapture == null) {
+            dateCapture = new StringCapture();
+        }
+        dateAdapter.write(dateCapture, value);
+        return dateCapture.value;
+    }
+
+    private void string(String value) throws IOException {
+        put((byte) '"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                byte[] escape = ESCAPES[c];
+                if (escape == null) {
+                    put((byte) c);
+                } else {
+                    put(escape, 0, escape.length);
+                }
+            } else if (c < 0x800) {
+                ensure(2);
+                buffer[position++] = (byte) (0xC0 | (c >> 6));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (c == '\u2028') {
+                put(LINE_SEPARATOR, 0, LINE_SEPARATOR.length);
+            } else if (c == '\u2029') {
+                put(PARAGRAPH_SEPARATOR, 0, PARAGRAPH_SEPARATOR.length);
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, value.charAt(++i));
+                    ensure(4);
+                    buffer[position++] = (byte) (0xF0 | (cp >> 18));
+                    buffer[position++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | (cp & 0x3F));
+                } else {
+                    // Unpaired surrogate: same replacement as the UTF-8 encoder
+                    put((byte) '?');
+                }
+            } else {
+                ensure(3);
+                buffer[position++] = (byte) (0xE0 | (c >> 12));
+                buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        put((byte) '"');
+    }
+
+    private void writeAscii(String value) throws IOException {
+        int length = value.length();
+        for (int i = 0; i < length; ) {
+            ensure(1);
+            int n = Math.min(length - i, buffer.length - position);
+            for (int end = i + n; i < end; i++) {
+                buffer[position++] = (byte) value.charAt(i);
+            }
+        }
+    }
+
+    // ---- Buffer ----
+
+    private void put(byte b) throws IOException {
+        if (position == buffer.length) {
+            drain(FLUSH_ON_FILL);
+        }
+        buffer[position++] = b;
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        put(bytes, 0, bytes.length);
+    }
+
+    private void put(byte[] bytes, int offset, int length) throws IOException {
+        ensure(length);
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+    }
+
+    /**
+     * Make room for a few bytes (never more than a field name or escape sequence)
+     */
+    private void ensure(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            drain(FLUSH_ON_FILL);
+        }
+    }
+
+    private void drain(boolean flush) throws IOException {
+        if (position == 0) {
+            return;
+        }
+        if (out == null && writer == null) {
+            try {
+                out = response.getOutputStream();
+            } catch (IllegalStateException e) {
+                // The servlet already wrote through getWriter()
+                writer = response.getWriter();
+            }
+        }
+        if (out != null) {
+            out.write(buffer, 0, position);
+            position = 0;
+            if (flush) {
+                out.flush();
+            }
+            return;
+        }
+
+        // A Writer needs whole characters: keep a trailing partial UTF-8 sequence for the next drain
+        int complete = completeLength();
+        writer.write(new String(buffer, 0, complete, StandardCharsets.UTF_8));
+        System.arraycopy(buffer, complete, buffer, 0, position - complete);
+        position -= complete;
+        if (flush) {
+            writer.flush();
+        }
+    }
+
+    private int completeLength() {
+        int lead = position - 1;
+        while (lead >= 0 && position - lead <= 3 && (buffer[lead] & 0xC0) == 0x80) {
+            lead--;
+        }
+        if (lead < 0) {
+            return position;
+        }
+        int b = buffer[lead] & 0xFF;
+        int needed = b >= 0xF0 ? 4 : b >= 0xE0 ? 3 : b >= 0xC0 ? 2 : 1;
+        return position - lead >= needed ? position : lead;
+    }
+
+    /**
+     * Receives the single string a date adapter writes, instead of building a JSON tree
+     */
+    private static final class StringCapture extends JsonWriter {
+        private static final Writer DISCARD = new Writer() {
+            @Override
+            public void write(char[] cbuf, int off, int len) {
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        String value;
+
+        StringCapture() {
+            super(DISCARD);
+        }
+
+        @Override
+        public JsonWriter value(String value) {
+            this.value = value;
+            return this;
+        }
+    }
+
+    private static byte[] fieldName(String field) {
+        return bytes(",\"" + field + "\":");
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -2,26 +2,69 @@ package com.inventory.servlet;
 
 import com.inventory.dao.UserDAO;
 import com.inventory.model.User;
+import com.inventory.util.AppConfig;
+import com.inventory.util.AuthTokens;
 import com.inventory.util.PasswordUtils;
+import com.inventory.util.PasswordVerifier;
+import com.google.gson.Gson;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.*;
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Login Servlet
  * Handles user authentication
+ *
+ * The user lookup and BCrypt check run on the bounded PasswordVerifier pool
+ * while the request is suspended (async servlet), so container threads stay
+ * free for other pages during a login burst. When the pool's queue is full the
+ * login is refused at once with 503 and a Retry-After header.
+ *
+ * In token mode (auth.mode=token) no session is created: the response carries
+ * a signed token, also set as the AUTH_TOKEN cookie for the browser pages.
  */
-@WebServlet("/login")
+@WebServlet(urlPatterns = "/login", asyncSupported = true)
 public class LoginServlet extends HttpServlet {
 
+    private static final long LOGIN_TIMEOUT_MS = AppConfig.getLong("auth.verify.timeoutMs", 10000);
+
     private UserDAO userDAO;
+    private PasswordVerifier verifier;
 
     @Override
     public void init() {
         userDAO = new UserDAO();
+        verifier = PasswordVerifier.getInstance();
+    }
+
+    /**
+     * action=stats: verification pool statistics (queue depth, verify latency)
+     */
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+
+        if ("stats".equals(request.getParameter("action"))) {
+            response.getWriter().write(new Gson().toJson(verifier.getStats()));
+        } else {
+            response.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            response.getWriter().write("{\"success\": false, \"message\": \"Use POST to log in\"}");
+        }
     }
 
     @Override
@@ -31,34 +74,134 @@ public class LoginServlet extends HttpServlet {
         String username = request.getParameter("username");
         String password = request.getParameter("password");
 
+        CompletableFuture<User> result;
         try {
-            User user = userDAO.getUserByUsername(username);
-
-            if (user != null && PasswordUtils.verifyPassword(password, user.getPassword())) {
-                // Authentication successful
-                HttpSession session = request.getSession();
-                session.setAttribute("user", user);
-                session.setAttribute("userId", user.getId());
-                session.setAttribute("username", user.getUsername());
-                session.setAttribute("role", user.getRole());
-                session.setMaxInactiveInterval(30 * 60); // 30 minutes
-
-                // Send success response
-                response.setContentType("application/json");
-                response.getWriter().write(
-                        "{\"success\": true, \"message\": \"Login successful\", \"redirect\": \"dashboard.html\"}");
-            } else {
-                // Authentication failed
-                response.setContentType("application/json");
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.getWriter().write("{\"success\": false, \"message\": \"Invalid username or password\"}");
+            result = verifier.submit(() -> authenticate(username, password));
+        } catch (RejectedExecutionException e) {
+            writeBusy(response);
+            return;
+        }
+
+        if (!request.isAsyncSupported()) {
+            // A non-async filter is in the chain: wait here, but still on the bounded pool
+            try {
+                writeResult(request, response, result.get(LOGIN_TIMEOUT_MS, TimeUnit.MILLISECONDS), null);
+            } catch (ExecutionException e) {
+                writeResult(request, response, null, e.getCause());
+            } catch (TimeoutException e) {
+                result.cancel(false);
+                writeBusy(response);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                writeBusy(response);
+            }
+            return;
+        }
+
+        AsyncContext async = request.startAsync();
+        async.setTimeout(LOGIN_TIMEOUT_MS);
+        AtomicBoolean finished = new AtomicBoolean();
+
+        async.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) throws IOException {
+                if (finished.compareAndSet(false, true)) {
+                    result.cancel(false);
+                    writeBusy((HttpServletResponse) async.getResponse());
+                    async.complete();
+                }
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                finished.set(true);
             }
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-            response.setContentType("application/json");
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+
+        result.whenComplete((user, error) -> {
+            if (!finished.compareAndSet(false, true)) {
+                return; // Already answered by the timeout
+            }
+            try {
+                writeResult((HttpServletRequest) async.getRequest(), (HttpServletResponse) async.getResponse(),
+                        user, error);
+            } catch (IOException e) {
+                e.printStackTrace();
+            } finally {
+                async.complete();
+            }
+        });
+    }
+
+    /**
+     * Look up the user and check the password; runs on the verifier pool
+     * @return the user, or null if the credentials are wrong
+     */
+    private User authenticate(String username, String password) throws SQLException {
+        User user = userDAO.getUserByUsername(username);
+        if (user != null && PasswordUtils.verifyPassword(password, user.getPassword())) {
+            return user;
+        }
+        return null;
+    }
+
+    private void writeResult(HttpServletRequest request, HttpServletResponse response, User user, Throwable error)
+            throws IOException {
+
+        response.setContentType("application/json");
+
+        if (error != null) {
+            error.printStackTrace();
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             response.getWriter().write("{\"success\": false, \"message\": \"Server error. Please try again later.\"}");
+
+        } else if (user != null && AuthTokens.isEnabled()) {
+            // Authentication successful: stateless token instead of a session
+            String token = AuthTokens.issue(user.getId(), user.getRole());
+            Cookie cookie = new Cookie(AuthTokens.COOKIE_NAME, token);
+            cookie.setHttpOnly(true);
+            cookie.setSecure(request.isSecure());
+            cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+            cookie.setMaxAge((int) AuthTokens.getTtlSeconds());
+            response.addCookie(cookie);
+
+            response.getWriter().write("{\"success\": true, \"message\": \"Login successful\", "
+                    + "\"redirect\": \"dashboard.html\", \"token\": \"" + token + "\", \"expiresIn\": "
+                    + AuthTokens.getTtlSeconds() + "}");
+
+        } else if (user != null) {
+            // Authentication successful; the password hash is not kept in the session
+            user.setPassword(null);
+            HttpSession session = request.getSession();
+            session.setAttribute("user", user);
+            session.setAttribute("userId", user.getId());
+            session.setAttribute("username", user.getUsername());
+            session.setAttribute("role", user.getRole());
+            session.setMaxInactiveInterval(30 * 60); // 30 minutes
+
+            // Send success response
+            response.getWriter().write(
+                    "{\"success\": true, \"message\": \"Login successful\", \"redirect\": \"dashboard.html\"}");
+        } else {
+            // Authentication failed
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.getWriter().write("{\"success\": false, \"message\": \"Invalid username or password\"}");
         }
     }
+
+    private void writeBusy(HttpServletResponse response) throws IOException {
+        response.setContentType("application/json");
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", String.valueOf(verifier.getRetryAfterSeconds()));
+        response.getWriter().write(
+                "{\"success\": false, \"message\": \"Too many login attempts in progress. Please try again shortly.\"}");
+    }
 }
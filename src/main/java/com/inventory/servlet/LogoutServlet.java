@@ -1,5 +1,7 @@
 package com.inventory.servlet;
 
+import com.inventory.util.AuthTokens;
+
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
 import javax.servlet.http.*;
@@ -21,6 +23,13 @@ public class LogoutServlet extends HttpServlet {
             session.invalidate();
         }
 
+        // Drop the token cookie (token mode); the token itself stays valid until it expires
+        Cookie cookie = new Cookie(AuthTokens.COOKIE_NAME, "");
+        cookie.setHttpOnly(true);
+        cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+        cookie.setMaxAge(0);
+        response.addCookie(cookie);
+
         response.sendRedirect("login.html");
     }
 
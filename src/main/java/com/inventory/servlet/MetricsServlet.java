@@ -0,0 +1,300 @@
+package com.inventory.servlet;
+
+import com.inventory.dao.DatabaseConnection;
+import com.inventory.dao.ProductCache;
+import com.inventory.dao.QueryMetrics;
+import com.inventory.dao.ReadCoalescer;
+import com.inventory.util.AppConfig;
+import com.inventory.util.LatencyHistogram;
+import com.inventory.util.AsyncExecutor;
+import com.inventory.util.PasswordVerifier;
+import com.inventory.util.RequestMetrics;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.*;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Metrics Servlet
+ * Exposes request metrics, connection pool and per-query figures, product
+ * cache, conditional GET / response cache and login verification pool figures
+ * in the Prometheus text exposition format.
+ *
+ * The figures include SQL templates and per-route traffic, so only clients
+ * from metrics.allowedAddresses (loopback by default) or presenting
+ * "Authorization: Bearer" with metrics.token are served; others get 403.
+ */
+@WebServlet("/metrics")
+public class MetricsServlet extends HttpServlet {
+
+    // Histogram bucket bounds in microseconds (rendered as seconds)
+    private static final long[] BUCKET_MICROS = { 1000, 2500, 5000, 10000, 25000, 50000, 100000, 250000,
+            500000, 1000000, 2500000, 5000000, 10000000 };
+    private static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
+
+    private static final Set<String> ALLOWED_ADDRESSES = new HashSet<>(Arrays.asList(
+            AppConfig.get("metrics.allowedAddresses", "127.0.0.1,0:0:0:0:0:0:0:1").trim().split("\\s*,\\s*")));
+    private static final byte[] TOKEN = AppConfig.get("metrics.token", "").trim().getBytes(StandardCharsets.UTF_8);
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        if (!isAllowed(request)) {
+            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+            response.setContentType("text/plain");
+            response.getWriter().write("Forbidden\n");
+            return;
+        }
+
+        response.setContentType("text/plain; version=0.0.4");
+        response.setCharacterEncoding("UTF-8");
+
+        PrintWriter out = response.getWriter();
+        writeRequestMetrics(out, RequestMetrics.getInstance().getEndpoints());
+        writePoolMetrics(out);
+        writeQueryMetrics(out, QueryMetrics.getInstance());
+        writeCacheMetrics(out);
+        writeResponseCacheMetrics(out);
+        writeCoalescerMetrics(out);
+        writeLoginMetrics(out);
+        writeAsyncMetrics(out);
+    }
+
+    private static boolean isAllowed(HttpServletRequest request) {
+        if (ALLOWED_ADDRESSES.contains("*") || ALLOWED_ADDRESSES.contains(request.getRemoteAddr())) {
+            return true;
+        }
+        String header = request.getHeader("Authorization");
+        if (TOKEN.length == 0 || header == null || !header.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return false;
+        }
+        return MessageDigest.isEqual(TOKEN, header.substring(7).trim().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeRequestMetrics(PrintWriter out, List<RequestMetrics.Endpoint> endpoints) {
+        out.println("# HELP inventory_http_requests_total Completed HTTP requests.");
+        out.println("# TYPE inventory_http_requests_total counter");
+        for (RequestMetrics.Endpoint e : endpoints) {
+            out.println("inventory_http_requests_total" + labels(e) + " " + e.getRequests());
+        }
+
+        out.println("# HELP inventory_http_request_errors_total Completed HTTP requests with a 4xx or 5xx status.");
+        out.println("# TYPE inventory_http_request_errors_total counter");
+        for (RequestMetrics.Endpoint e : endpoints) {
+            out.println("inventory_http_request_errors_total" + labels(e, "class", "4xx") + " " + e.getClientErrors());
+            out.println("inventory_http_request_errors_total" + labels(e, "class", "5xx") + " " + e.getServerErrors());
+        }
+
+        out.println("# HELP inventory_http_requests_in_flight Requests currently being processed.");
+        out.println("# TYPE inventory_http_requests_in_flight gauge");
+        for (RequestMetrics.Endpoint e : endpoints) {
+            out.println("inventory_http_requests_in_flight" + labels(e) + " " + e.getInFlight());
+        }
+
+        out.println("# HELP inventory_http_request_duration_seconds Request latency.");
+        out.println("# TYPE inventory_http_request_duration_seconds histogram");
+        LatencyHistogram.Snapshot[] snapshots = new LatencyHistogram.Snapshot[endpoints.size()];
+        for (int i = 0; i < endpoints.size(); i++) {
+            RequestMetrics.Endpoint e = endpoints.get(i);
+            LatencyHistogram.Snapshot s = e.getLatency().snapshot();
+            snapshots[i] = s;
+            for (long bound : BUCKET_MICROS) {
+                out.println("inventory_http_request_duration_seconds_bucket"
+                        + labels(e, "le", seconds(bound)) + " " + s.countAtOrBelow(bound));
+            }
+            out.println("inventory_http_request_duration_seconds_bucket" + labels(e, "le", "+Inf") + " " + s.getCount());
+            out.println("inventory_http_request_duration_seconds_sum" + labels(e) + " " + seconds(s.getSumMicros()));
+            out.println("inventory_http_request_duration_seconds_count" + labels(e) + " " + s.getCount());
+        }
+
+        out.println("# HELP inventory_http_request_latency_seconds Request latency quantiles since startup.");
+        out.println("# TYPE inventory_http_request_latency_seconds summary");
+        for (int i = 0; i < endpoints.size(); i++) {
+            RequestMetrics.Endpoint e = endpoints.get(i);
+            LatencyHistogram.Snapshot s = snapshots[i];
+            for (double q : QUANTILES) {
+                out.println("inventory_http_request_latency_seconds" + labels(e, "quantile", String.valueOf(q))
+                        + " " + seconds(s.valueAtQuantile(q)));
+            }
+            out.println("inventory_http_request_latency_seconds_sum" + labels(e) + " " + seconds(s.getSumMicros()));
+            out.println("inventory_http_request_latency_seconds_count" + labels(e) + " " + s.getCount());
+        }
+
+        out.println("# HELP inventory_http_request_latency_max_seconds Slowest request since startup.");
+        out.println("# TYPE inventory_http_request_latency_max_seconds gauge");
+        for (int i = 0; i < endpoints.size(); i++) {
+            out.println("inventory_http_request_latency_max_seconds" + labels(endpoints.get(i)) + " "
+                    + seconds(snapshots[i].getMaxMicros()));
+        }
+    }
+
+    private void writePoolMetrics(PrintWriter out) {
+        DatabaseConnection.PoolStats pool = DatabaseConnection.getPoolStats();
+        if (pool == null) {
+            return;
+        }
+        gauge(out, "inventory_db_pool_active_connections", "Connections in use.", pool.getActiveConnections());
+        gauge(out, "inventory_db_pool_idle_connections", "Idle connections.", pool.getIdleConnections());
+        gauge(out, "inventory_db_pool_total_connections", "Open connections.", pool.getTotalConnections());
+        gauge(out, "inventory_db_pool_threads_awaiting", "Threads waiting for a connection.",
+                pool.getThreadsAwaitingConnection());
+        gauge(out, "inventory_db_pool_max_connections", "Configured pool size.", pool.getMaxPoolSize());
+    }
+
+    private void writeQueryMetrics(PrintWriter out, QueryMetrics metrics) {
+        List<QueryMetrics.Template> templates = metrics.getTemplates();
+
+        out.println("# HELP inventory_db_query_executions_total Statement executions per SQL template.");
+        out.println("# TYPE inventory_db_query_executions_total counter");
+        for (QueryMetrics.Template t : templates) {
+            out.println("inventory_db_query_executions_total" + queryLabel(t) + " " + t.getExecutions());
+        }
+        out.println("# HELP inventory_db_query_errors_total Failed statement executions per SQL template.");
+        out.println("# TYPE inventory_db_query_errors_total counter");
+        for (QueryMetrics.Template t : templates) {
+            out.println("inventory_db_query_errors_total" + queryLabel(t) + " " + t.getErrors());
+        }
+        out.println("# HELP inventory_db_query_seconds_total Time spent executing statements per SQL template.");
+        out.println("# TYPE inventory_db_query_seconds_total counter");
+        for (QueryMetrics.Template t : templates) {
+            out.println("inventory_db_query_seconds_total" + queryLabel(t) + " " + format(t.getTotalNanos() / 1e9));
+        }
+        out.println("# HELP inventory_db_query_max_seconds Slowest execution per SQL template since startup.");
+        out.println("# TYPE inventory_db_query_max_seconds gauge");
+        for (QueryMetrics.Template t : templates) {
+            out.println("inventory_db_query_max_seconds" + queryLabel(t) + " " + format(t.getMaxNanos() / 1e9));
+        }
+        out.println("# HELP inventory_db_query_rows_fetched_total Result set rows read per SQL template.");
+        out.println("# TYPE inventory_db_query_rows_fetched_total counter");
+        for (QueryMetrics.Template t : templates) {
+            out.println("inventory_db_query_rows_fetched_total" + queryLabel(t) + " " + t.getRowsFetched());
+        }
+        out.println("# HELP inventory_db_query_rows_affected_total Rows inserted, updated or deleted per SQL template.");
+        out.println("# TYPE inventory_db_query_rows_affected_total counter");
+        for (QueryMetrics.Template t : templates) {
+            out.println("inventory_db_query_rows_affected_total" + queryLabel(t) + " " + t.getRowsAffected());
+        }
+
+        counter(out, "inventory_db_slow_queries_total", "Executions slower than db.slowQueryMs.",
+                metrics.getSlowQueries());
+
+        LatencyHistogram.Snapshot acquire = metrics.getAcquireWait().snapshot();
+        out.println("# HELP inventory_db_connection_acquire_seconds Time waiting for a pooled connection.");
+        out.println("# TYPE inventory_db_connection_acquire_seconds summary");
+        for (double q : QUANTILES) {
+            out.println("inventory_db_connection_acquire_seconds{quantile=\"" + q + "\"} "
+                    + seconds(acquire.valueAtQuantile(q)));
+        }
+        out.println("inventory_db_connection_acquire_seconds_sum " + seconds(acquire.getSumMicros()));
+        out.println("inventory_db_connection_acquire_seconds_count " + acquire.getCount());
+        gauge(out, "inventory_db_connection_acquire_max_seconds", "Longest wait for a pooled connection.",
+                acquire.getMaxMicros() / 1e6);
+    }
+
+    private void writeCacheMetrics(PrintWriter out) {
+        ProductCache.CacheStats cache = ProductCache.getInstance().getStats();
+        counter(out, "inventory_product_cache_hits_total", "Product cache hits.", cache.getHits());
+        counter(out, "inventory_product_cache_misses_total", "Product cache misses.", cache.getMisses());
+        counter(out, "inventory_product_cache_evictions_total", "Product cache evictions.", cache.getEvictions());
+        gauge(out, "inventory_product_cache_size", "Cached products.", cache.getSize());
+    }
+
+    private void writeResponseCacheMetrics(PrintWriter out) {
+        ResponseCache.ResponseCacheStats responses = ResponseCache.getInstance().getStats();
+        counter(out, "inventory_http_not_modified_total", "Conditional GETs answered with 304.",
+                responses.getNotModified());
+        counter(out, "inventory_response_cache_hits_total", "Compressed responses served from the cache.",
+                responses.getHits());
+        counter(out, "inventory_response_cache_misses_total", "Compressed responses rendered because none was cached.",
+                responses.getMisses());
+        counter(out, "inventory_response_cache_coalesced_total",
+                "Compressed responses shared from a render already in progress.", responses.getCoalesced());
+        gauge(out, "inventory_response_cache_entries", "Cached compressed responses.", responses.getEntries());
+        gauge(out, "inventory_response_cache_bytes", "Size of the cached compressed responses.", responses.getBytes());
+    }
+
+    private void writeCoalescerMetrics(PrintWriter out) {
+        ReadCoalescer reads = ReadCoalescer.getInstance();
+        counter(out, "inventory_coalesced_reads_executed_total", "Coalescable DAO reads that ran a query.",
+                reads.getExecuted());
+        counter(out, "inventory_coalesced_reads_joined_total", "DAO reads that shared a query already running.",
+                reads.getJoined());
+        counter(out, "inventory_coalesced_reads_ttl_hits_total", "DAO reads served a result within coalesce.ttlMs.",
+                reads.getTtlHits());
+    }
+
+    private void writeLoginMetrics(PrintWriter out) {
+        PasswordVerifier.VerifierStats login = PasswordVerifier.getInstance().getStats();
+        gauge(out, "inventory_login_queue_depth", "Logins waiting for a verification thread.", login.getQueueDepth());
+        gauge(out, "inventory_login_active_verifications", "Password checks running.", login.getActiveThreads());
+        counter(out, "inventory_login_rejected_total", "Logins refused with 503 because the queue was full.",
+                login.getRejected());
+        counter(out, "inventory_login_cancelled_total", "Password checks skipped because the login timed out first.",
+                login.getCancelled());
+        counter(out, "inventory_login_verifications_total", "Completed password checks.", login.getCompleted());
+        gauge(out, "inventory_login_verify_avg_seconds", "Average password check time.",
+                login.getAvgVerifyMillis() / 1000.0);
+    }
+
+    private void writeAsyncMetrics(PrintWriter out) {
+        AsyncExecutor.AsyncStats async = AsyncExecutor.getInstance().getStats();
+        gauge(out, "inventory_async_requests_in_flight", "Dispatched requests running or waiting for a thread.",
+                async.getInFlight());
+        gauge(out, "inventory_async_requests_running", "Dispatched requests running.", async.getRunning());
+        gauge(out, "inventory_async_max_concurrent", "Dispatched requests allowed in flight.",
+                async.getMaxConcurrent());
+        counter(out, "inventory_async_rejected_total", "Requests refused with 503 because the executor was full.",
+                async.getRejected());
+        counter(out, "inventory_async_completed_total", "Dispatched requests completed.", async.getCompleted());
+    }
+
+    private static void gauge(PrintWriter out, String name, String help, double value) {
+        out.println("# HELP " + name + " " + help);
+        out.println("# TYPE " + name + " gauge");
+        out.println(name + " " + format(value));
+    }
+
+    private static void counter(PrintWriter out, String name, String help, long value) {
+        out.println("# HELP " + name + " " + help);
+        out.println("# TYPE " + name + " counter");
+        out.println(name + " " + value);
+    }
+
+    private static String labels(RequestMetrics.Endpoint e) {
+        return "{route=\"" + escape(e.getRoute()) + "\",action=\"" + escape(e.getAction()) + "\"}";
+    }
+
+    private static String labels(RequestMetrics.Endpoint e, String name, String value) {
+        return "{route=\"" + escape(e.getRoute()) + "\",action=\"" + escape(e.getAction()) + "\","
+                + name + "=\"" + value + "\"}";
+    }
+
+    private static String queryLabel(QueryMetrics.Template t) {
+        return "{query=\"" + escape(t.getSql()) + "\"}";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String seconds(long micros) {
+        return format(micros / 1_000_000.0);
+    }
+
+    private static String format(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return String.valueOf((long) value);
+        }
+        return String.format(Locale.ROOT, "%.6f", value);
+    }
+}
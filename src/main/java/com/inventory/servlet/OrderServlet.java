@@ -1,9 +1,16 @@
 package com.inventory.servlet;
 
+import com.inventory.dao.InventoryStats;
 import com.inventory.dao.OrderDAO;
+import com.inventory.dao.ReplenishmentPlanner;
+import com.inventory.dao.TableVersions;
 import com.inventory.model.Order;
+import com.inventory.model.OrderItem;
+import com.inventory.model.ReplenishmentRun;
+import com.inventory.util.AppConfig;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 
 import javax.servlet.ServletException;
 import javax.servlet.annotation.WebServlet;
@@ -12,27 +19,38 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.sql.Date;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Order Servlet
  * Handles all order-related operations
  */
-@WebServlet("/orders")
+@WebServlet(urlPatterns = "/orders", asyncSupported = true)
 public class OrderServlet extends HttpServlet {
 
+    private static final int MAX_BULK_ORDERS = Math.max(1, AppConfig.getInt("orders.maxBulkOrders", 500));
+
     private OrderDAO orderDAO;
+    private ReplenishmentPlanner replenishmentPlanner;
     private Gson gson;
 
     @Override
     public void init() {
         orderDAO = new OrderDAO();
+        replenishmentPlanner = new ReplenishmentPlanner();
         gson = new GsonBuilder().setDateFormat("yyyy-MM-dd").create();
     }
 
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
+        AsyncDispatch.run(request, response, this::handleGet);
+    }
+
+    private void handleGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
 
         String action = request.getParameter("action");
         response.setContentType("application/json");
@@ -40,45 +58,88 @@ public class OrderServlet extends HttpServlet {
 
         try {
             if ("getAll".equals(action)) {
-                List<Order> orders = orderDAO.getAllOrders();
-                response.getWriter().write(gson.toJson(orders));
+                send(request, response, json -> json.orders(orderDAO.getAllOrders()));
 
             } else if ("getById".equals(action)) {
                 int id = Integer.parseInt(request.getParameter("id"));
-                Order order = orderDAO.getOrderById(id);
-                response.getWriter().write(gson.toJson(order));
+                send(request, response, json -> {
+                    Order order = orderDAO.getOrderById(id);
+                    if (order != null) {
+                        order.setItems(orderDAO.getOrderItems(id));
+                    }
+                    json.order(order);
+                });
+
+            } else if ("items".equals(action)) {
+                int orderId = Integer.parseInt(request.getParameter("orderId"));
+                send(request, response, json -> json.orderItems(orderDAO.getOrderItems(orderId)));
 
             } else if ("byStatus".equals(action)) {
                 String status = request.getParameter("status");
-                List<Order> orders = orderDAO.getOrdersByStatus(status);
-                response.getWriter().write(gson.toJson(orders));
+                send(request, response, json -> json.orders(orderDAO.getOrdersByStatus(status)));
 
             } else if ("stats".equals(action)) {
-                int totalCount = orderDAO.getTotalOrderCount();
-                BigDecimal totalValue = orderDAO.getTotalOrderValue();
-                String stats = String.format("{\"totalOrders\": %d, \"totalValue\": %.2f}",
-                        totalCount, totalValue.doubleValue());
-                response.getWriter().write(stats);
+                send(request, response, this::writeStats);
 
             } else {
-                List<Order> orders = orderDAO.getAllOrders();
-                response.getWriter().write(gson.toJson(orders));
+                send(request, response, json -> json.orders(orderDAO.getAllOrders()));
             }
 
         } catch (SQLException | NumberFormatException e) {
             e.printStackTrace();
+            if (response.isCommitted()) {
+                return;
+            }
+            response.resetBuffer();
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            response.getWriter().write("{\"error\": \"Server error: " + e.getMessage() + "\"}");
+            JsonResponseWriter.writeRaw(response, "{\"error\": \"Server error: " + e.getMessage() + "\"}");
         }
     }
 
+    /**
+     * Send an order listing, or 304 / the cached compressed copy if orders and
+     * the tables their names come from have not changed
+     */
+    private void send(HttpServletRequest request, HttpServletResponse response, ResponseCache.Body body)
+            throws SQLException, IOException {
+        String tag = TableVersions.getInstance().tag(TableVersions.Table.ORDERS, TableVersions.Table.PRODUCTS,
+                TableVersions.Table.SUPPLIERS, TableVersions.Table.USERS);
+        ResponseCache.getInstance().send(request, response, gson, tag, body);
+    }
+
+    private void writeStats(JsonResponseWriter json) throws SQLException, IOException {
+        json.orderStats(InventoryStats.getInstance().getOrderStats());
+    }
+
+    /**
+     * Create orders.
+     * action=bulk: the request body is a JSON array of orders, each with an items array.
+     * With an items parameter (JSON array of {productId, quantity}):
+     * one order with its line items; prices and the total come from the products.
+     * action=replenish: draft orders for all low-stock products (see ReplenishmentPlanner).
+     * Otherwise: a header-only order with a caller-supplied totalAmount.
+     */
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
+        AsyncDispatch.run(request, response, this::handlePost);
+    }
+
+    private void handlePost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
 
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
 
+        if ("bulk".equals(request.getParameter("action")) || request.getParameter("items") != null) {
+            createOrdersWithItems(request, response);
+            return;
+        }
+        if ("replenish".equals(request.getParameter("action"))) {
+            replenish(request, response);
+            return;
+        }
+
         try {
             int supplierId = Integer.parseInt(request.getParameter("supplierId"));
             Date orderDate = Date.valueOf(request.getParameter("orderDate"));
@@ -113,9 +174,118 @@ public class OrderServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Create one or many orders together with their line items, all-or-nothing.
+     * Numbers, prices and totals are set by OrderDAO and the orders are
+     * recorded under the signed-in user; invalid input gets 400.
+     */
+    private void createOrdersWithItems(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        try {
+            List<Order> orders;
+            if ("bulk".equals(request.getParameter("action"))) {
+                Order[] parsed = gson.fromJson(request.getReader(), Order[].class);
+                if (parsed == null) {
+                    throw new IllegalArgumentException("Request body must be a JSON array of orders");
+                }
+                if (parsed.length > MAX_BULK_ORDERS) {
+                    throw new IllegalArgumentException("At most " + MAX_BULK_ORDERS + " orders per request");
+                }
+                orders = Arrays.asList(parsed);
+            } else {
+                OrderItem[] items = gson.fromJson(request.getParameter("items"), OrderItem[].class);
+                if (items == null) {
+                    throw new IllegalArgumentException("items must be a JSON array");
+                }
+                Order order = new Order();
+                order.setSupplierId(Integer.parseInt(request.getParameter("supplierId")));
+                order.setOrderDate(parseDate(request.getParameter("orderDate")));
+                order.setExpectedDeliveryDate(parseDate(request.getParameter("expectedDate")));
+                order.setStatus(request.getParameter("status"));
+                order.setItems(new ArrayList<>(Arrays.asList(items)));
+                orders = Arrays.asList(order);
+            }
+
+            int sessionUserId = getSessionUserId(request);
+            for (Order order : orders) {
+                if (order == null) {
+                    throw new IllegalArgumentException("Orders must not be null");
+                }
+                order.setUserId(sessionUserId);
+            }
+
+            orderDAO.createOrders(orders);
+
+            if (orders.size() == 1) {
+                Order order = orders.get(0);
+                response.getWriter().write("{\"success\": true, \"message\": \"Order created successfully\", \"id\": "
+                        + order.getId() + ", \"orderNumber\": \"" + order.getOrderNumber()
+                        + "\", \"totalAmount\": " + order.getTotalAmount() + "}");
+            } else {
+                List<String> numbers = new ArrayList<>();
+                for (Order order : orders) {
+                    numbers.add(order.getOrderNumber());
+                }
+                response.getWriter().write("{\"success\": true, \"message\": \"Orders created successfully\", \"count\": "
+                        + orders.size() + ", \"orderNumbers\": " + gson.toJson(numbers) + "}");
+            }
+
+        } catch (JsonParseException | IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.getWriter().write("{\"success\": false, \"message\": " + gson.toJson(e.getMessage()) + "}");
+        } catch (SQLException e) {
+            e.printStackTrace();
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            response.getWriter().write("{\"success\": false, \"message\": \"Server error: " + e.getMessage() + "\"}");
+        }
+    }
+
+    /**
+     * Create draft orders, grouped by supplier, for every product at or below
+     * its reorder point (dryRun=true only returns the drafts)
+     */
+    private void replenish(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            boolean dryRun = Boolean.parseBoolean(request.getParameter("dryRun"));
+            ReplenishmentRun run = replenishmentPlanner.generateDrafts(getSessionUserId(request), dryRun);
+            response.getWriter().write(gson.toJson(run));
+
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.getWriter().write("{\"success\": false, \"message\": " + gson.toJson(e.getMessage()) + "}");
+        } catch (SQLException e) {
+            e.printStackTrace();
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            response.getWriter().write("{\"success\": false, \"message\": \"Server error: " + e.getMessage() + "\"}");
+        }
+    }
+
+    /**
+     * Parse an optional yyyy-MM-dd parameter
+     */
+    private static Date parseDate(String value) {
+        return value == null || value.trim().isEmpty() ? null : Date.valueOf(value.trim());
+    }
+
+    private int getSessionUserId(HttpServletRequest request) {
+        if (request.getAttribute("userId") instanceof Integer) {
+            return (Integer) request.getAttribute("userId"); // Set by AuthTokenFilter in token mode
+        }
+        HttpSession session = request.getSession(false);
+        if (session != null && session.getAttribute("userId") instanceof Integer) {
+            return (Integer) session.getAttribute("userId");
+        }
+        return 0;
+    }
+
     @Override
     protected void doPut(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
+        AsyncDispatch.run(request, response, this::handlePut);
+    }
+
+    private void handlePut(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
 
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
@@ -165,6 +335,11 @@ public class OrderServlet extends HttpServlet {
     @Override
     protected void doDelete(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
+        AsyncDispatch.run(request, response, this::handleDelete);
+    }
+
+    private void handleDelete(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
 
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
@@ -0,0 +1,127 @@
+package com.inventory.servlet;
+
+import com.inventory.dao.ProductImporter;
+import com.inventory.util.AppConfig;
+import com.google.gson.Gson;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.*;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Product Import Servlet
+ * Handles CSV catalog uploads: POST the file as the request body
+ * (Content-Type: text/csv) and get the import summary back. See
+ * ProductImporter for the columns and how rows are matched.
+ *
+ * The body is parsed while it arrives, so uploads of any size are fine.
+ * Imports run on the request thread rather than the async executor, whose
+ * request deadline would cut a large import short; at most
+ * import.maxConcurrent run at once, further uploads get 503.
+ */
+@WebServlet("/products/import")
+public class ProductImportServlet extends HttpServlet {
+
+    // Log progress each time another this many rows have been read
+    private static final long LOG_EVERY_ROWS = 50000;
+
+    private static final Semaphore RUNNING = new Semaphore(Math.max(1, AppConfig.getInt("import.maxConcurrent", 1)));
+
+    private ProductImporter importer;
+    private Gson gson;
+
+    @Override
+    public void init() {
+        importer = new ProductImporter();
+        gson = new Gson();
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+
+        if (!RUNNING.tryAcquire()) {
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "30");
+            response.getWriter().write("{\"error\": \"Another product import is running. Please try again later.\"}");
+            return;
+        }
+
+        ProductImporter.Progress progress = new ProductImporter.Progress();
+        try (Reader reader = new InputStreamReader(request.getInputStream(), charsetOf(request))) {
+            System.out.println("Product import started from " + request.getRemoteAddr());
+            long[] nextLog = { LOG_EVERY_ROWS };
+            importer.importCsv(reader, progress, p -> {
+                if (p.getRowsRead() >= nextLog[0]) {
+                    System.out.println("Product import: " + p.getRowsRead() + " rows read, "
+                            + p.getRowsPerSecond() + " rows/s");
+                    nextLog[0] = p.getRowsRead() + LOG_EVERY_ROWS;
+                }
+            });
+            System.out.println("Product import finished: " + describe(progress));
+            response.getWriter().write(gson.toJson(summary(progress, null)));
+
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.getWriter().write(gson.toJson(summary(progress, e.getMessage())));
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            response.getWriter().write(gson.toJson(summary(progress, "Server error: " + e.getMessage())));
+
+        } catch (IOException e) {
+            // Malformed CSV or an upload cut off; rows up to the last full chunk are committed
+            System.err.println("Product import stopped: " + e.getMessage());
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.getWriter().write(gson.toJson(summary(progress, "Invalid CSV: " + e.getMessage())));
+
+        } finally {
+            RUNNING.release();
+        }
+    }
+
+    private static Charset charsetOf(HttpServletRequest request) {
+        String encoding = request.getCharacterEncoding();
+        try {
+            return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private static String describe(ProductImporter.Progress progress) {
+        return progress.getRowsRead() + " rows read, " + progress.getInserted() + " inserted, "
+                + progress.getUpdated() + " updated, " + progress.getFailed() + " failed in "
+                + progress.getElapsedMillis() + " ms";
+    }
+
+    private static Map<String, Object> summary(ProductImporter.Progress progress, String error) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("success", error == null);
+        if (error != null) {
+            summary.put("error", error);
+        }
+        summary.put("rowsRead", progress.getRowsRead());
+        summary.put("inserted", progress.getInserted());
+        summary.put("updated", progress.getUpdated());
+        summary.put("duplicates", progress.getDuplicates());
+        summary.put("failed", progress.getFailed());
+        summary.put("elapsedMs", progress.getElapsedMillis());
+        summary.put("rowsPerSecond", progress.getRowsPerSecond());
+        summary.put("errors", progress.getErrors());
+        return summary;
+    }
+}
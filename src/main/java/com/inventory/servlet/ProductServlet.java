@@ -1,7 +1,11 @@
 package com.inventory.servlet;
 
+import com.inventory.dao.InventoryStats;
 import com.inventory.dao.ProductDAO;
+import com.inventory.dao.ReorderForecaster;
+import com.inventory.dao.TableVersions;
 import com.inventory.model.Product;
+import com.inventory.model.ProductForecast;
 import com.google.gson.Gson;
 
 import javax.servlet.ServletException;
@@ -10,15 +14,17 @@ import javax.servlet.http.*;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.sql.SQLException;
-import java.util.List;
 
 /**
  * Product Servlet
  * Handles all product-related operations
  */
-@WebServlet("/products")
+@WebServlet(urlPatterns = "/products", asyncSupported = true)
 public class ProductServlet extends HttpServlet {
 
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private ProductDAO productDAO;
     private Gson gson;
 
@@ -31,6 +37,11 @@ public class ProductServlet extends HttpServlet {
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
+        AsyncDispatch.run(request, response, this::handleGet);
+    }
+
+    private void handleGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
 
         String action = request.getParameter("action");
         response.setContentType("application/json");
@@ -38,50 +49,100 @@ public class ProductServlet extends HttpServlet {
 
         try {
             if ("getAll".equals(action)) {
-                List<Product> products = productDAO.getAllProducts();
-                response.getWriter().write(gson.toJson(products));
+                send(request, response, this::streamAllProducts);
+
+            } else if ("page".equals(action)) {
+                String sort = request.getParameter("sort");
+                String after = request.getParameter("after");
+                String afterIdParam = request.getParameter("afterId");
+                int afterId = afterIdParam != null ? Integer.parseInt(afterIdParam) : 0;
+                String limitParam = request.getParameter("limit");
+                int limit = Math.max(1, Math.min(
+                        limitParam != null ? Integer.parseInt(limitParam) : DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE));
+
+                send(request, response, json -> json.productPage(productDAO.getProductsPage(sort, after, afterId, limit)));
 
             } else if ("getById".equals(action)) {
                 int id = Integer.parseInt(request.getParameter("id"));
-                Product product = productDAO.getProductById(id);
-                response.getWriter().write(gson.toJson(product));
+                send(request, response, json -> json.product(productDAO.getProductById(id)));
 
             } else if ("search".equals(action)) {
                 String keyword = request.getParameter("keyword");
-                List<Product> products = productDAO.searchProducts(keyword);
-                response.getWriter().write(gson.toJson(products));
+                String limitParam = request.getParameter("limit");
+                Integer limit = limitParam != null
+                        ? Math.max(1, Math.min(Integer.parseInt(limitParam), MAX_PAGE_SIZE)) : null;
+                send(request, response, json -> json.products(limit != null
+                        ? productDAO.searchProducts(keyword, limit) : productDAO.searchProducts(keyword)));
 
             } else if ("lowStock".equals(action)) {
-                List<Product> products = productDAO.getLowStockProducts();
-                response.getWriter().write(gson.toJson(products));
+                send(request, response, json -> json.products(productDAO.getLowStockProducts()));
+
+            } else if ("forecast".equals(action)) {
+                int id = Integer.parseInt(request.getParameter("id"));
+                ProductForecast forecast = ReorderForecaster.getInstance().getForecast(id);
+                if (forecast == null) {
+                    response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                    response.getWriter().write("{\"error\": \"No forecast for product (no demand in the window)\"}");
+                    return;
+                }
+                response.getWriter().write(gson.toJson(forecast));
 
             } else if ("byCategory".equals(action)) {
                 int categoryId = Integer.parseInt(request.getParameter("categoryId"));
-                List<Product> products = productDAO.getProductsByCategory(categoryId);
-                response.getWriter().write(gson.toJson(products));
+                send(request, response, json -> json.products(productDAO.getProductsByCategory(categoryId)));
 
             } else if ("stats".equals(action)) {
-                int totalCount = productDAO.getTotalProductCount();
-                BigDecimal totalValue = productDAO.getTotalInventoryValue();
-                String stats = String.format("{\"totalProducts\": %d, \"totalValue\": %.2f}",
-                        totalCount, totalValue.doubleValue());
-                response.getWriter().write(stats);
+                send(request, response, this::writeStats);
 
             } else {
-                List<Product> products = productDAO.getAllProducts();
-                response.getWriter().write(gson.toJson(products));
+                send(request, response, this::streamAllProducts);
             }
 
         } catch (SQLException | NumberFormatException e) {
             e.printStackTrace();
+            if (response.isCommitted()) {
+                // Part of a streamed listing was already sent; nothing sensible can follow it
+                return;
+            }
+            response.resetBuffer();
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            response.getWriter().write("{\"error\": \"Server error: " + e.getMessage() + "\"}");
+            JsonResponseWriter.writeRaw(response, "{\"error\": \"Server error: " + e.getMessage() + "\"}");
         }
     }
 
+    /**
+     * Send a product listing, or 304 / the cached compressed copy if the
+     * product, category and supplier tables have not changed
+     */
+    private void send(HttpServletRequest request, HttpServletResponse response, ResponseCache.Body body)
+            throws SQLException, IOException {
+        String tag = TableVersions.getInstance().tag(TableVersions.Table.PRODUCTS, TableVersions.Table.CATEGORIES,
+                TableVersions.Table.SUPPLIERS);
+        ResponseCache.getInstance().send(request, response, gson, tag, body);
+    }
+
+    /**
+     * Write every product as a JSON array straight from the result set,
+     * without building the full list or response string in memory
+     */
+    private void streamAllProducts(JsonResponseWriter json) throws SQLException, IOException {
+        json.beginArray();
+        productDAO.streamAllProducts(json::product);
+        json.endArray();
+    }
+
+    private void writeStats(JsonResponseWriter json) throws SQLException, IOException {
+        json.productStats(InventoryStats.getInstance().getProductStats());
+    }
+
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
+        AsyncDispatch.run(request, response, this::handlePost);
+    }
+
+    private void handlePost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
 
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
@@ -128,6 +189,11 @@ public class ProductServlet extends HttpServlet {
     @Override
     protected void doPut(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
+        AsyncDispatch.run(request, response, this::handlePut);
+    }
+
+    private void handlePut(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
 
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
@@ -140,7 +206,7 @@ public class ProductServlet extends HttpServlet {
             int supplierId = Integer.parseInt(request.getParameter("supplierId"));
             String description = request.getParameter("description");
             BigDecimal unitPrice = new BigDecimal(request.getParameter("unitPrice"));
-            int quantityInStock = Integer.parseInt(request.getParameter("quantityInStock"));
+            // quantityInStock is ignored: stock is changed by recording movements on /stock
             int reorderLevel = Integer.parseInt(request.getParameter("reorderLevel"));
             String imageUrl = request.getParameter("imageUrl");
 
@@ -152,7 +218,6 @@ public class ProductServlet extends HttpServlet {
             product.setSupplierId(supplierId);
             product.setDescription(description);
             product.setUnitPrice(unitPrice);
-            product.setQuantityInStock(quantityInStock);
             product.setReorderLevel(reorderLevel);
             product.setImageUrl(imageUrl);
 
@@ -175,6 +240,11 @@ public class ProductServlet extends HttpServlet {
     @Override
     protected void doDelete(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
+        AsyncDispatch.run(request, response, this::handleDelete);
+    }
+
+    private void handleDelete(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
 
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
@@ -15,7 +15,7 @@ import java.sql.SQLException;
  * Register Servlet
  * Handles user registration
  */
-@WebServlet("/register")
+@WebServlet(urlPatterns = "/register", asyncSupported = true)
 public class RegisterServlet extends HttpServlet {
 
     private UserDAO userDAO;
@@ -30,6 +30,11 @@ public class RegisterServlet extends HttpServlet {
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
+        AsyncDispatch.run(request, response, this::handlePost);
+    }
+
+    private void handlePost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
 
         response.setContentType("application/json");
         response.setCharacterEncoding("UTF-8");
@@ -0,0 +1,490 @@
+package com.inventory.servlet;
+
+import com.inventory.util.AppConfig;
+import com.google.gson.Gson;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response Cache
+ * Conditional GET and compression for the read-only JSON actions of
+ * ProductServlet and OrderServlet.
+ *
+ * The servlet passes a version tag built from TableVersions. The tag becomes
+ * a weak ETag; a request whose If-None-Match still matches gets 304 without
+ * the body being produced. Otherwise the body is written through
+ * JsonResponseWriter and, when the client accepts gzip and the body reaches
+ * http.gzip.minBytes, compressed while it streams. The compressed bytes are
+ * kept (LRU, at most http.responseCache.maxBytes in total) under the request
+ * URL and ETag, so the next client without a cached copy is served them as is.
+ * Requests for the same URL and ETag that arrive while that body is still
+ * being rendered wait for it rather than rendering it again.
+ *
+ * Tags also roll over every http.etag.maxAgeSeconds, which bounds how long a
+ * change made outside this node (and not yet seen by the drift check) can be
+ * answered with 304.
+ */
+public final class ResponseCache {
+
+    private static final ResponseCache INSTANCE = new ResponseCache();
+
+    private static final boolean ENABLED = AppConfig.getBoolean("http.conditional.enabled", true);
+    private static final long MAX_AGE_MILLIS = AppConfig.getLong("http.etag.maxAgeSeconds", 300) * 1000;
+    private static final int GZIP_MIN_BYTES = AppConfig.getInt("http.gzip.minBytes", 1024);
+    private static final long MAX_BYTES = AppConfig.getLong("http.responseCache.maxBytes", 16 * 1024 * 1024);
+    // A single body may use at most a quarter of the cache
+    private static final long MAX_ENTRY_BYTES = MAX_BYTES / 4;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final ConcurrentHashMap<String, CompletableFuture<byte[]>> rendering = new ConcurrentHashMap<>();
+
+    /**
+     * Produces the response body (only called when it has to be sent)
+     */
+    public interface Body {
+        void write(JsonResponseWriter json) throws SQLException, IOException;
+    }
+
+    public static ResponseCache getInstance() {
+        return INSTANCE;
+    }
+
+    private ResponseCache() {
+    }
+
+    /**
+     * Answer a GET whose body only changes when the tag changes
+     */
+    public void send(HttpServletRequest request, HttpServletResponse response, Gson gson, String tag, Body body)
+            throws SQLException, IOException {
+
+        if (!ENABLED) {
+            write(response, gson, body);
+            return;
+        }
+
+        String etag = "W/\"" + tag + (MAX_AGE_MILLIS > 0 ? "-" + System.currentTimeMillis() / MAX_AGE_MILLIS : "")
+                + "\"";
+        response.setHeader("ETag", etag);
+        response.setHeader("Cache-Control", "private, no-cache");
+        response.setHeader("Vary", "Accept-Encoding");
+
+        if (matches(request.getHeader("If-None-Match"), etag)) {
+            notModified.increment();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        if (!acceptsGzip(request.getHeader("Accept-Encoding"))) {
+            render(response, response, gson, body);
+            return;
+        }
+
+        String query = request.getQueryString();
+        String key = query != null ? request.getServletPath() + "?" + query : request.getServletPath();
+        byte[] cached = get(key, etag);
+        if (cached != null) {
+            hits.increment();
+            writeCompressed(response, cached);
+            return;
+        }
+
+        // Identical requests arriving while this body renders wait for it
+        // instead of rendering it again
+        String flightKey = key + " " + etag;
+        CompletableFuture<byte[]> own = new CompletableFuture<>();
+        CompletableFuture<byte[]> inFlight = rendering.putIfAbsent(flightKey, own);
+        if (inFlight != null) {
+            byte[] shared = awaitRender(inFlight);
+            if (shared != null) {
+                coalesced.increment();
+                writeCompressed(response, shared);
+                return;
+            }
+            // The render failed or was too large to keep: produce our own
+            own = null;
+        }
+        misses.increment();
+
+        byte[] compressed = null;
+        GzipResponse gzip = new GzipResponse(response);
+        try {
+            render(response, gzip, gson, body);
+            compressed = gzip.getCaptured();
+            if (compressed != null) {
+                put(key, new Entry(etag, compressed));
+            }
+        } finally {
+            gzip.end();
+            if (own != null) {
+                rendering.remove(flightKey, own);
+                own.complete(compressed);
+            }
+        }
+    }
+
+    private static void writeCompressed(HttpServletResponse response, byte[] gzip) throws IOException {
+        response.setHeader("Content-Encoding", "gzip");
+        response.setContentLength(gzip.length);
+        response.getOutputStream().write(gzip);
+    }
+
+    /**
+     * @return the compressed body another request rendered, or null if it
+     *         has none to share
+     */
+    private static byte[] awaitRender(CompletableFuture<byte[]> render) throws IOException {
+        try {
+            return render.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a shared response");
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private static void write(HttpServletResponse response, Gson gson, Body body) throws SQLException, IOException {
+        try (JsonResponseWriter json = JsonResponseWriter.open(response, gson)) {
+            body.write(json);
+        }
+    }
+
+    /**
+     * Write the body to target (the response or a wrapper around it). If that
+     * fails before anything was sent, the caching headers and any partial body
+     * are dropped so the servlet can answer with its usual error.
+     */
+    private static void render(HttpServletResponse response, HttpServletResponse target, Gson gson, Body body)
+            throws SQLException, IOException {
+        boolean completed = false;
+        try {
+            write(target, gson, body);
+            if (target instanceof GzipResponse) {
+                ((GzipResponse) target).finish();
+            }
+            completed = true;
+        } finally {
+            if (!completed && !response.isCommitted()) {
+                String contentType = response.getContentType();
+                response.reset();
+                response.setContentType(contentType);
+            }
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        // Weak comparison: W/"x" matches "x"
+        String opaque = etag.substring(2);
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || candidate.equals(etag) || candidate.equals(opaque)
+                    || candidate.startsWith("W/") && candidate.substring(2).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim();
+                    if (param.startsWith("q=") && isZero(param.substring(2))) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZero(String qvalue) {
+        try {
+            return Double.parseDouble(qvalue) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private synchronized byte[] get(String key, String etag) {
+        Entry entry = entries.get(key);
+        return entry != null && entry.etag.equals(etag) ? entry.gzip : null;
+    }
+
+    private synchronized void put(String key, Entry entry) {
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            totalBytes -= previous.gzip.length;
+        }
+        totalBytes += entry.gzip.length;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (totalBytes > MAX_BYTES && eldest.hasNext()) {
+            totalBytes -= eldest.next().gzip.length;
+            eldest.remove();
+        }
+    }
+
+    public ResponseCacheStats getStats() {
+        synchronized (this) {
+            return new ResponseCacheStats(notModified.sum(), hits.sum(), misses.sum(), coalesced.sum(), entries.size(),
+                    totalBytes);
+        }
+    }
+
+    private static final class Entry {
+        final String etag;
+        final byte[] gzip;
+
+        Entry(String etag, byte[] gzip) {
+            this.etag = etag;
+            this.gzip = gzip;
+        }
+    }
+
+    /**
+     * Response whose body is gzip-compressed once it reaches GZIP_MIN_BYTES
+     * (smaller bodies are sent as they are), keeping a copy of the compressed
+     * bytes for the cache. Blocking output only: the body is written on the
+     * calling thread by a Body, and the stream refuses a WriteListener.
+     */
+    private static final class GzipResponse extends HttpServletResponseWrapper {
+        private final CompressingStream stream;
+
+        GzipResponse(HttpServletResponse response) {
+            super(response);
+            stream = new CompressingStream(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            throw new IllegalStateException("Compressed responses are written through getOutputStream()");
+        }
+
+        void finish() throws IOException {
+            stream.finish();
+        }
+
+        /**
+         * Free the compressor, whether or not the body was finished
+         */
+        void end() {
+            stream.end();
+        }
+
+        byte[] getCaptured() {
+            return stream.captured != null ? stream.captured.toByteArray() : null;
+        }
+    }
+
+    private static final class CompressingStream extends ServletOutputStream {
+        private final HttpServletResponse response;
+        private ByteArrayOutputStream pending = new ByteArrayOutputStream(GZIP_MIN_BYTES);
+        private Gzip gzip;
+        ByteArrayOutputStream captured;
+
+        CompressingStream(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (gzip != null) {
+                gzip.write(b, off, len);
+                return;
+            }
+            pending.write(b, off, len);
+            if (pending.size() >= GZIP_MIN_BYTES) {
+                startGzip();
+            }
+        }
+
+        private void startGzip() throws IOException {
+            response.setHeader("Content-Encoding", "gzip");
+            captured = new ByteArrayOutputStream();
+            gzip = new Gzip(new Tee(response.getOutputStream()));
+            pending.writeTo(gzip);
+            pending = null;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (gzip != null) {
+                gzip.flush();
+            }
+        }
+
+        void finish() throws IOException {
+            if (gzip != null) {
+                gzip.finish();
+            } else {
+                response.setContentLength(pending.size());
+                pending.writeTo(response.getOutputStream());
+            }
+        }
+
+        void end() {
+            if (gzip != null) {
+                gzip.end();
+            }
+        }
+
+        /**
+         * Always true: writes block, as the body is buffered and compressed
+         * on the calling thread
+         */
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        /**
+         * Non-blocking output cannot pass through the compressor (gzip writes
+         * to the container stream whether or not it is ready), so it is refused
+         */
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new IllegalStateException("Compressed responses only support blocking writes");
+        }
+
+        /**
+         * finish() leaves the deflater's native memory to be reclaimed by GC,
+         * and close() would also write the trailer after a failed render, so
+         * the deflater is ended directly
+         */
+        private static final class Gzip extends GZIPOutputStream {
+            Gzip(OutputStream out) throws IOException {
+                super(out, 8192, true);
+            }
+
+            void end() {
+                def.end();
+            }
+        }
+
+        /**
+         * Sends compressed bytes to the client and copies them for the cache until
+         * the body outgrows MAX_ENTRY_BYTES
+         */
+        private final class Tee extends OutputStream {
+            private final OutputStream out;
+
+            Tee(OutputStream out) {
+                this.out = out;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                if (captured != null) {
+                    if (captured.size() + len > MAX_ENTRY_BYTES) {
+                        captured = null;
+                    } else {
+                        captured.write(b, off, len);
+                    }
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * Conditional GET and compressed-body cache counters
+     */
+    public static class ResponseCacheStats {
+        private final long notModified;
+        private final long hits;
+        private final long misses;
+        private final long coalesced;
+        private final int entries;
+        private final long bytes;
+
+        public ResponseCacheStats(long notModified, long hits, long misses, long coalesced, int entries, long bytes) {
+            this.notModified = notModified;
+            this.hits = hits;
+            this.misses = misses;
+            this.coalesced = coalesced;
+            this.entries = entries;
+            this.bytes = bytes;
+        }
+
+        public long getNotModified() {
+            return notModified;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * Compressed responses shared from a render another request was doing
+         */
+        public long getCoalesced() {
+            return coalesced;
+        }
+
+        public int getEntries() {
+            return entries;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.inventory.servlet;
+
+import com.inventory.dao.BinDAO;
+import com.inventory.dao.SlottingOptimizer;
+import com.inventory.model.Bin;
+import com.inventory.model.BinPlacement;
+import com.inventory.model.ProductDimensions;
+import com.inventory.model.PutawayPlan;
+import com.inventory.util.AppConfig;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.*;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Space Servlet
+ * Handles bins, product dimensions, putaway suggestions and slotting plans
+ */
+@WebServlet(urlPatterns = "/space", asyncSupported = true)
+public class SpaceServlet extends HttpServlet {
+
+    private static final int DEFAULT_VELOCITY_DAYS = AppConfig.getInt("space.slotting.velocityDays", 30);
+    private static final int DEFAULT_MAX_MOVES = AppConfig.getInt("space.slotting.maxMoves", 1000);
+
+    private BinDAO binDAO;
+    private SlottingOptimizer slottingOptimizer;
+    private Gson gson;
+
+    @Override
+    public void init() {
+        binDAO = new BinDAO();
+        slottingOptimizer = new SlottingOptimizer();
+        gson = new Gson();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        AsyncDispatch.run(request, response, this::handleGet);
+    }
+
+    private void handleGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String action = request.getParameter("action");
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+
+        try {
+            String zone = request.getParameter("zone");
+
+            if ("bins".equals(action)) {
+                List<Bin> bins = binDAO.getAllBins(zone);
+                try (JsonResponseWriter json = JsonResponseWriter.open(response, gson)) {
+                    json.bins(bins);
+                }
+
+            } else if ("bin".equals(action)) {
+                int id = Integer.parseInt(request.getParameter("id"));
+                Bin bin = binDAO.getBinById(id);
+                if (bin == null) {
+                    response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                    response.getWriter().write("{\"error\": \"Bin not found\"}");
+                    return;
+                }
+                try (JsonResponseWriter json = JsonResponseWriter.open(response, gson)) {
+                    json.bin(bin);
+                }
+
+            } else if ("contents".equals(action)) {
+                int binId = Integer.parseInt(request.getParameter("binId"));
+                response.getWriter().write(gson.toJson(binDAO.getBinContents(binId)));
+
+            } else if ("locations".equals(action)) {
+                int productId = Integer.parseInt(request.getParameter("productId"));
+                response.getWriter().write(gson.toJson(binDAO.getProductLocations(productId)));
+
+            } else if ("dimensions".equals(action)) {
+                int productId = Integer.parseInt(request.getParameter("productId"));
+                ProductDimensions dimensions = binDAO.getDimensions(productId);
+                if (dimensions == null) {
+                    response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                    response.getWriter().write("{\"error\": \"No dimensions recorded for product\"}");
+                    return;
+                }
+                response.getWriter().write(gson.toJson(dimensions));
+
+            } else if ("suggest".equals(action)) {
+                PutawayPlan plan;
+                if (request.getParameter("orderId") != null) {
+                    int orderId = Integer.parseInt(request.getParameter("orderId"));
+                    plan = binDAO.suggestPutaway(orderId, zone);
+                    if (plan == null) {
+                        response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                        response.getWriter().write("{\"error\": \"Order not found\"}");
+                        return;
+                    }
+                } else {
+                    int productId = Integer.parseInt(request.getParameter("productId"));
+                    int quantity = Integer.parseInt(request.getParameter("quantity"));
+                    plan = binDAO.suggestPutaway(productId, quantity, zone);
+                }
+                response.getWriter().write(gson.toJson(plan));
+
+            } else if ("slotting".equals(action)) {
+                String daysParam = request.getParameter("days");
+                int days = daysParam != null ? Integer.parseInt(daysParam) : DEFAULT_VELOCITY_DAYS;
+                String limitParam = request.getParameter("limit");
+                int limit = limitParam != null ? Integer.parseInt(limitParam) : DEFAULT_MAX_MOVES;
+                response.getWriter().write(gson.toJson(slottingOptimizer.optimize(zone, days, limit)));
+
+            } else {
+                response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                response.getWriter().write("{\"error\": \"Unknown action\"}");
+            }
+
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.getWriter().write("{\"error\": " + gson.toJson(e.getMessage()) + "}");
+        } catch (SQLException e) {
+            e.printStackTrace();
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            response.getWriter().write("{\"error\": \"Server error: " + e.getMessage() + "\"}");
+        }
+    }
+
+    /**
+     * action=bin: add a bin (or update it when the body has an id), body is a JSON bin.
+     * action=dimensions: set a product's unit dimensions, body is JSON dimensions.
+     * action=putaway: store quantities in bins, body is a JSON array of
+     * placements (binId, productId, quantity), applied all-or-nothing.
+     * action=pick: take quantities out of bins, body as for putaway.
+     * action=move: move quantity of productId from fromBinId to toBinId.
+     */
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        AsyncDispatch.run(request, response, this::handlePost);
+    }
+
+    private void handlePost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String action = request.getParameter("action");
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+
+        try {
+            if ("bin".equals(action)) {
+                Bin bin = gson.fromJson(request.getReader(), Bin.class);
+                if (bin == null) {
+                    throw new IllegalArgumentException("Request body must be a JSON bin");
+                }
+                boolean success = bin.getId() > 0 ? binDAO.updateBin(bin) : binDAO.addBin(bin);
+
+                if (success) {
+                    response.getWriter().write("{\"success\": true, \"message\": \"Bin saved successfully\", \"id\": "
+                            + bin.getId() + "}");
+                } else {
+                    response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                    response.getWriter().write("{\"success\": false, \"message\": \"Bin not found\"}");
+                }
+
+            } else if ("dimensions".equals(action)) {
+                ProductDimensions dimensions = gson.fromJson(request.getReader(), ProductDimensions.class);
+                if (dimensions == null) {
+                    throw new IllegalArgumentException("Request body must be JSON dimensions");
+                }
+                binDAO.saveDimensions(dimensions);
+                response.getWriter().write("{\"success\": true, \"message\": \"Dimensions saved successfully\"}");
+
+            } else if ("putaway".equals(action)) {
+                BinPlacement[] parsed = gson.fromJson(request.getReader(), BinPlacement[].class);
+                if (parsed == null) {
+                    throw new IllegalArgumentException("Request body must be a JSON array of placements");
+                }
+                List<BinPlacement> placements = Arrays.asList(parsed);
+
+                if (binDAO.recordPutaway(placements)) {
+                    response.getWriter().write("{\"success\": true, \"message\": \"Putaway recorded successfully\", "
+                            + "\"count\": " + placements.size() + "}");
+                } else {
+                    response.setStatus(HttpServletResponse.SC_CONFLICT);
+                    response.getWriter().write(
+                            "{\"success\": false, \"message\": \"A bin is unknown, inactive or too full; nothing was stored\"}");
+                }
+
+            } else if ("pick".equals(action)) {
+                BinPlacement[] parsed = gson.fromJson(request.getReader(), BinPlacement[].class);
+                if (parsed == null) {
+                    throw new IllegalArgumentException("Request body must be a JSON array of placements");
+                }
+                List<BinPlacement> placements = Arrays.asList(parsed);
+
+                if (binDAO.recordPick(placements)) {
+                    response.getWriter().write("{\"success\": true, \"message\": \"Pick recorded successfully\", "
+                            + "\"count\": " + placements.size() + "}");
+                } else {
+                    response.setStatus(HttpServletResponse.SC_CONFLICT);
+                    response.getWriter().write(
+                            "{\"success\": false, \"message\": \"A bin holds less than asked; nothing was taken\"}");
+                }
+
+            } else if ("move".equals(action)) {
+                int fromBinId = Integer.parseInt(request.getParameter("fromBinId"));
+                int toBinId = Integer.parseInt(request.getParameter("toBinId"));
+                int productId = Integer.parseInt(request.getParameter("productId"));
+                int quantity = Integer.parseInt(request.getParameter("quantity"));
+
+                if (binDAO.moveStock(fromBinId, toBinId, productId, quantity)) {
+                    response.getWriter().write("{\"success\": true, \"message\": \"Stock moved successfully\"}");
+                } else {
+                    response.setStatus(HttpServletResponse.SC_CONFLICT);
+                    response.getWriter().write("{\"success\": false, \"message\": "
+                            + "\"The source bin holds less than asked, or the destination has no room; nothing was moved\"}");
+                }
+
+            } else {
+                response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+                response.getWriter().write("{\"success\": false, \"message\": \"Unknown action\"}");
+            }
+
+        } catch (JsonParseException | IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.getWriter().write("{\"success\": false, \"message\": " + gson.toJson(e.getMessage()) + "}");
+        } catch (SQLException e) {
+            e.printStackTrace();
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            response.getWriter().write("{\"success\": false, \"message\": \"Server error: " + e.getMessage() + "\"}");
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.inventory.servlet;
+
+import com.inventory.dao.StockMovementDAO;
+import com.inventory.model.StockMovement;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.*;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Stock Movement Servlet
+ * Records stock in/out/adjustment movements and lists movement history
+ */
+@WebServlet(urlPatterns = "/stock", asyncSupported = true)
+public class StockMovementServlet extends HttpServlet {
+
+    private static final int DEFAULT_LIMIT = 100;
+    private static final int MAX_LIMIT = 1000;
+
+    private StockMovementDAO stockMovementDAO;
+    private Gson gson;
+
+    @Override
+    public void init() {
+        stockMovementDAO = new StockMovementDAO();
+        gson = new Gson();
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        AsyncDispatch.run(request, response, this::handleGet);
+    }
+
+    private void handleGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String action = request.getParameter("action");
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+
+        try {
+            String limitParam = request.getParameter("limit");
+            int limit = limitParam != null ? Integer.parseInt(limitParam) : DEFAULT_LIMIT;
+            limit = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+            if ("byProduct".equals(action)) {
+                int productId = Integer.parseInt(request.getParameter("productId"));
+                List<StockMovement> movements = stockMovementDAO.getMovementsByProduct(productId, limit);
+                try (JsonResponseWriter json = JsonResponseWriter.open(response, gson)) {
+                    json.stockMovements(movements);
+                }
+
+            } else {
+                List<StockMovement> movements = stockMovementDAO.getRecentMovements(limit);
+                try (JsonResponseWriter json = JsonResponseWriter.open(response, gson)) {
+                    json.stockMovements(movements);
+                }
+            }
+
+        } catch (SQLException | NumberFormatException e) {
+            e.printStackTrace();
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            response.getWriter().write("{\"error\": \"Server error: " + e.getMessage() + "\"}");
+        }
+    }
+
+    /**
+     * Record movements.
+     * action=batch: the request body is a JSON array of movements, applied all-or-nothing.
+     * Otherwise: a single movement from the productId, movementType, quantity,
+     * referenceNumber and notes parameters.
+     */
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        AsyncDispatch.run(request, response, this::handlePost);
+    }
+
+    private void handlePost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String action = request.getParameter("action");
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+
+        try {
+            List<StockMovement> movements;
+            if ("batch".equals(action)) {
+                StockMovement[] parsed = gson.fromJson(request.getReader(), StockMovement[].class);
+                if (parsed == null) {
+                    throw new IllegalArgumentException("Request body must be a JSON array of movements");
+                }
+                movements = Arrays.asList(parsed);
+            } else {
+                StockMovement movement = new StockMovement();
+                movement.setProductId(Integer.parseInt(request.getParameter("productId")));
+                movement.setMovementType(request.getParameter("movementType"));
+                movement.setQuantity(Integer.parseInt(request.getParameter("quantity")));
+                movement.setReferenceNumber(request.getParameter("referenceNumber"));
+                movement.setNotes(request.getParameter("notes"));
+                movements = Arrays.asList(movement);
+            }
+
+            // Always the authenticated user; a userId in the batch JSON is ignored
+            int sessionUserId = getSessionUserId(request);
+            for (StockMovement movement : movements) {
+                movement.setUserId(sessionUserId);
+            }
+
+            boolean success = stockMovementDAO.recordMovements(movements);
+
+            if (success) {
+                response.getWriter().write("{\"success\": true, \"message\": \"Stock updated successfully\", \"count\": "
+                        + movements.size() + "}");
+            } else {
+                response.setStatus(HttpServletResponse.SC_CONFLICT);
+                response.getWriter().write(
+                        "{\"success\": false, \"message\": \"Insufficient stock or unknown product; nothing was applied\"}");
+            }
+
+        } catch (JsonParseException | IllegalArgumentException e) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.getWriter().write("{\"success\": false, \"message\": " + gson.toJson(e.getMessage()) + "}");
+        } catch (SQLException e) {
+            e.printStackTrace();
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            response.getWriter().write("{\"success\": false, \"message\": \"Server error: " + e.getMessage() + "\"}");
+        }
+    }
+
+    private int getSessionUserId(HttpServletRequest request) {
+        if (request.getAttribute("userId") instanceof Integer) {
+            return (Integer) request.getAttribute("userId"); // Set by AuthTokenFilter in token mode
+        }
+        HttpSession session = request.getSession(false);
+        if (session != null && session.getAttribute("userId") instanceof Integer) {
+            return (Integer) session.getAttribute("userId");
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,119 @@
+package com.inventory.util;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Application Configuration
+ * Loads settings from inventory.properties on the classpath, then overlays an
+ * external file given by the "inventory.config" system property (or the
+ * INVENTORY_CONFIG environment variable). JVM system properties override both.
+ */
+public class AppConfig {
+
+    private static final String DEFAULT_RESOURCE = "inventory.properties";
+    private static final String EXTERNAL_PROPERTY = "inventory.config";
+    private static final String EXTERNAL_ENV = "INVENTORY_CONFIG";
+
+    private static final Properties PROPERTIES = load();
+
+    private AppConfig() {
+    }
+
+    private static Properties load() {
+        Properties props = new Properties();
+
+        try (InputStream in = AppConfig.class.getClassLoader().getResourceAsStream(DEFAULT_RESOURCE)) {
+            if (in != null) {
+                props.load(in);
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read " + DEFAULT_RESOURCE + " from classpath!");
+            e.printStackTrace();
+        }
+
+        String externalPath = System.getProperty(EXTERNAL_PROPERTY, System.getenv(EXTERNAL_ENV));
+        if (externalPath != null && !externalPath.trim().isEmpty()) {
+            try (InputStream in = new FileInputStream(externalPath.trim())) {
+                props.load(in);
+                System.out.println("Loaded configuration from " + externalPath);
+            } catch (IOException e) {
+                System.err.println("Failed to read configuration file: " + externalPath);
+                e.printStackTrace();
+            }
+        }
+        return props;
+    }
+
+    /**
+     * Get a string setting
+     */
+    public static String get(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = PROPERTIES.getProperty(key);
+        }
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    /**
+     * Get an integer setting, falling back to the default if missing or invalid
+     */
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key, null);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid integer for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get a long setting, falling back to the default if missing or invalid
+     */
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key, null);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get a decimal setting, falling back to the default if missing or invalid
+     */
+    public static double getDouble(String key, double defaultValue) {
+        String value = get(key, null);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number for " + key + ": " + value);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get a boolean setting
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key, null);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        return Boolean.parseBoolean(value);
+    }
+}
@@ -0,0 +1,192 @@
+package com.inventory.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Async Executor
+ * Runs suspended servlet requests (see AsyncDispatch) off the container's
+ * request threads, so blocking JDBC calls do not cap concurrency at the
+ * container pool size.
+ *
+ * async.executor selects the threads:
+ *  - virtual: one virtual thread per request (JDK 21 or later, looked up
+ *    reflectively since the code is built for Java 11)
+ *  - platform: a fixed pool of async.threads with a queue of async.queueSize
+ *  - auto (default): virtual when the JDK has it, platform otherwise
+ *
+ * Either way at most async.maxConcurrent requests are running or waiting; past
+ * that submit() fails at once with a RejectedExecutionException and the caller
+ * answers 503 instead of queueing without bound. Virtual threads still wait
+ * for one of the db.pool.maxSize connections, but cheaply.
+ */
+public class AsyncExecutor {
+
+    private static final AsyncExecutor INSTANCE = new AsyncExecutor(AppConfig.get("async.executor", "auto"));
+
+    private final ExecutorService executor;
+    private final String mode;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final AtomicInteger running = new AtomicInteger();
+
+    public static AsyncExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    AsyncExecutor(String requestedMode) {
+        ExecutorService virtual = "platform".equals(requestedMode) ? null : newVirtualThreadExecutor();
+        if (virtual == null && "virtual".equals(requestedMode)) {
+            System.err.println("AsyncExecutor: virtual threads need JDK 21 or later; using a platform pool");
+        }
+
+        if (virtual != null) {
+            executor = virtual;
+            mode = "virtual";
+            maxConcurrent = Math.max(1, AppConfig.getInt("async.maxConcurrent", 10000));
+        } else {
+            int threads = Math.max(1, AppConfig.getInt("async.threads", 64));
+            int queueSize = Math.max(1, AppConfig.getInt("async.queueSize", 1000));
+            AtomicInteger threadNumber = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueSize), r -> {
+                        Thread t = new Thread(r, "async-request-" + threadNumber.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    }, new ThreadPoolExecutor.AbortPolicy());
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+            mode = "platform";
+            maxConcurrent = Math.max(1, AppConfig.getInt("async.maxConcurrent", threads + queueSize));
+        }
+        permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor(), or null if this JDK has no
+     * (non-preview) virtual threads
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Run a request task
+     * @return its future; cancel(true) interrupts the task's thread
+     * @throws RejectedExecutionException if async.maxConcurrent requests are already in flight
+     */
+    public Future<?> submit(Runnable task) {
+        if (!permits.tryAcquire()) {
+            rejected.increment();
+            throw new RejectedExecutionException("Too many requests in progress");
+        }
+        try {
+            Future<?> future = executor.submit(() -> {
+                running.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    running.decrementAndGet();
+                    completed.increment();
+                    permits.release();
+                }
+            });
+            submitted.increment();
+            return future;
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            rejected.increment();
+            throw e;
+        }
+    }
+
+    public AsyncStats getStats() {
+        return new AsyncStats(mode, maxConcurrent, maxConcurrent - permits.availablePermits(), running.get(),
+                submitted.sum(), rejected.sum(), completed.sum());
+    }
+
+    /**
+     * Stop accepting work and give running requests a moment to finish
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Point-in-time executor statistics
+     */
+    public static class AsyncStats {
+        private final String mode;
+        private final int maxConcurrent;
+        private final int inFlight;
+        private final int running;
+        private final long submitted;
+        private final long rejected;
+        private final long completed;
+
+        public AsyncStats(String mode, int maxConcurrent, int inFlight, int running, long submitted,
+                long rejected, long completed) {
+            this.mode = mode;
+            this.maxConcurrent = maxConcurrent;
+            this.inFlight = inFlight;
+            this.running = running;
+            this.submitted = submitted;
+            this.rejected = rejected;
+            this.completed = completed;
+        }
+
+        public String getMode() {
+            return mode;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        public int getRunning() {
+            return running;
+        }
+
+        public long getSubmitted() {
+            return submitted;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.inventory.util;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Signed Session Tokens
+ * Issues and verifies compact HMAC-SHA256 tokens carrying the user id, role
+ * and expiry, so any node sharing auth.token.secret can authenticate a request
+ * without a session store or a database lookup.
+ *
+ * Token format: base64url("v1|userId|role|expiresEpochSeconds") + "." + base64url(hmac)
+ *
+ * Token mode is enabled with auth.mode=token; the default (session) keeps the
+ * HttpSession-based login.
+ */
+public class AuthTokens {
+
+    public static final String COOKIE_NAME = "AUTH_TOKEN";
+
+    private static final String VERSION = "v1";
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private static final boolean ENABLED = "token".equalsIgnoreCase(AppConfig.get("auth.mode", "session"));
+    private static final long TTL_SECONDS = AppConfig.getLong("auth.token.ttlSeconds", 8 * 60 * 60);
+    private static final byte[] SECRET = loadSecret();
+
+    private AuthTokens() {
+    }
+
+    private static byte[] loadSecret() {
+        String secret = AppConfig.get("auth.token.secret", "");
+        if (secret.length() >= 32) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        if (ENABLED) {
+            // Tokens from this node will not verify on other nodes (or after a restart)
+            System.err.println("auth.token.secret is missing or shorter than 32 characters; "
+                    + "using a random per-process secret.");
+        }
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+
+    /**
+     * Whether token mode (auth.mode=token) is enabled
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static long getTtlSeconds() {
+        return TTL_SECONDS;
+    }
+
+    /**
+     * Issue a token for the user, valid for auth.token.ttlSeconds
+     */
+    public static String issue(int userId, String role) {
+        long expiresAt = System.currentTimeMillis() / 1000 + TTL_SECONDS;
+        String payload = VERSION + "|" + userId + "|" + (role != null ? role : "") + "|" + expiresAt;
+        String encoded = ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return encoded + "." + ENCODER.encodeToString(sign(encoded));
+    }
+
+    /**
+     * Verify a token's signature and expiry
+     * @return the claims, or null if the token is malformed, forged or expired
+     */
+    public static Claims verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return null;
+        }
+        String encoded = token.substring(0, dot);
+
+        try {
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(encoded))) {
+                return null;
+            }
+
+            String[] parts = new String(DECODER.decode(encoded), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                return null;
+            }
+            long expiresAt = Long.parseLong(parts[3]);
+            if (expiresAt <= System.currentTimeMillis() / 1000) {
+                return null;
+            }
+            return new Claims(Integer.parseInt(parts[1]), parts[2], expiresAt);
+
+        } catch (IllegalArgumentException e) {
+            return null; // Bad base64 or number
+        }
+    }
+
+    private static byte[] sign(String encodedPayload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(SECRET, ALGORITHM));
+            return mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    /**
+     * Verified contents of a token
+     */
+    public static class Claims {
+        private final int userId;
+        private final String role;
+        private final long expiresAt;
+
+        public Claims(int userId, String role, long expiresAt) {
+            this.userId = userId;
+            this.role = role;
+            this.expiresAt = expiresAt;
+        }
+
+        public int getUserId() {
+            return userId;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.inventory.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CSV Reader
+ * Reads RFC 4180 CSV one record at a time, so files of any size are parsed
+ * in constant memory. Fields may be quoted; quoted fields may contain commas,
+ * line breaks and doubled quotes. Both CRLF and LF line endings are accepted
+ * and a leading byte order mark is skipped.
+ */
+public class CsvReader implements Closeable {
+
+    private final Reader in;
+    private final StringBuilder field = new StringBuilder();
+    private int peeked = -2;
+    private long line = 1;
+    private long recordLine;
+
+    public CsvReader(Reader reader) {
+        this.in = reader instanceof BufferedReader ? reader : new BufferedReader(reader, 65536);
+    }
+
+    /**
+     * Read the next record
+     * @return its fields, or null at the end of the input. Blank lines are skipped.
+     * @throws IOException on a read error or a quoted field that is never closed
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        while (c == '\r' || c == '\n') {
+            c = skipLineBreak(c);
+        }
+        if (c == -1) {
+            return null;
+        }
+        if (c == '\uFEFF' && recordLine == 0) {
+            c = read();
+        }
+
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        while (true) {
+            field.setLength(0);
+            if (c == '"') {
+                c = readQuoted();
+            } else {
+                while (c != ',' && c != '\r' && c != '\n' && c != -1) {
+                    field.append((char) c);
+                    c = read();
+                }
+            }
+            fields.add(field.toString());
+
+            if (c == ',') {
+                c = read();
+                continue;
+            }
+            if (c != -1) {
+                endLine(c);
+            }
+            return fields;
+        }
+    }
+
+    /**
+     * Line number (1-based) on which the record last returned by next() started
+     */
+    public long getRecordLine() {
+        return recordLine;
+    }
+
+    /**
+     * Read a quoted field (the opening quote has been consumed) and return
+     * the character that follows its closing quote
+     */
+    private int readQuoted() throws IOException {
+        long startLine = line;
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw new IOException("Unterminated quoted field starting on line " + startLine);
+            }
+            if (c == '"') {
+                c = read();
+                if (c != '"') {
+                    // Closing quote; anything up to the next delimiter is kept as is
+                    while (c != ',' && c != '\r' && c != '\n' && c != -1) {
+                        field.append((char) c);
+                        c = read();
+                    }
+                    return c;
+                }
+            } else if (c == '\n') {
+                line++;
+            } else if (c == '\r') {
+                if (peek() == '\n') {
+                    read();
+                    field.append('\r');
+                    c = '\n';
+                }
+                line++;
+            }
+            field.append((char) c);
+        }
+    }
+
+    /**
+     * Consume a line break starting with c (CR, LF or CRLF) and return the next character
+     */
+    private int skipLineBreak(int c) throws IOException {
+        endLine(c);
+        return read();
+    }
+
+    /**
+     * Consume a line break starting with c (CR, LF or CRLF)
+     */
+    private void endLine(int c) throws IOException {
+        if (c == '\r' && peek() == '\n') {
+            read();
+        }
+        line++;
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = in.read();
+        }
+        return peeked;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
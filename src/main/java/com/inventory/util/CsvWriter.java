@@ -0,0 +1,115 @@
+package com.inventory.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+/**
+ * CSV Writer
+ * Writes RFC 4180 CSV one field at a time straight to a Writer, so records
+ * are never assembled in memory. Fields containing a comma, quote or line
+ * break are quoted with inner quotes doubled; records end with CRLF.
+ * The output can be read back with CsvReader.
+ */
+public class CsvWriter implements Closeable {
+
+    private final Writer out;
+    private boolean firstField = true;
+
+    public CsvWriter(Writer writer) {
+        this.out = writer;
+    }
+
+    /**
+     * Write a whole record, e.g. the header
+     */
+    public void record(String... fields) throws IOException {
+        for (String value : fields) {
+            field(value);
+        }
+        endRecord();
+    }
+
+    /**
+     * Write a text field; null is written as an empty field
+     */
+    public void field(String value) throws IOException {
+        separator();
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                out.write(value, start, i + 1 - start);
+                out.write('"');
+                start = i + 1;
+            }
+        }
+        out.write(value, start, value.length() - start);
+        out.write('"');
+    }
+
+    public void field(long value) throws IOException {
+        separator();
+        out.write(Long.toString(value));
+    }
+
+    public void field(BigDecimal value) throws IOException {
+        separator();
+        if (value != null) {
+            out.write(value.toPlainString());
+        }
+    }
+
+    /**
+     * Write a date or timestamp as yyyy-MM-dd or yyyy-MM-dd HH:mm:ss; null is written as an empty field
+     */
+    public void field(java.util.Date value) throws IOException {
+        separator();
+        if (value instanceof java.sql.Date) {
+            out.write(value.toString());
+        } else if (value != null) {
+            // Timestamp.toString() is yyyy-MM-dd HH:mm:ss followed by fractional seconds
+            out.write(new java.sql.Timestamp(value.getTime()).toString(), 0, 19);
+        }
+    }
+
+    public void endRecord() throws IOException {
+        out.write("\r\n");
+        firstField = true;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void separator() throws IOException {
+        if (firstField) {
+            firstField = false;
+        } else {
+            out.write(',');
+        }
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
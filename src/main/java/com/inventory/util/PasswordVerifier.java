@@ -0,0 +1,222 @@
+package com.inventory.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Password Verifier
+ * Runs BCrypt password checks on a small dedicated thread pool with a bounded
+ * queue, so a burst of logins cannot tie up the servlet container's threads.
+ *
+ * When the queue is full, submit() fails immediately with a
+ * RejectedExecutionException; callers answer 503 with a Retry-After hint from
+ * getRetryAfterSeconds() instead of queueing the request indefinitely.
+ */
+public class PasswordVerifier {
+
+    private static final PasswordVerifier INSTANCE = new PasswordVerifier(
+            AppConfig.getInt("auth.verify.threads", Runtime.getRuntime().availableProcessors()),
+            AppConfig.getInt("auth.verify.queueSize", 64));
+
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final int queueCapacity;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder totalVerifyNanos = new LongAdder();
+    private final LongAdder totalQueueWaitNanos = new LongAdder();
+    private final AtomicLong maxVerifyNanos = new AtomicLong();
+
+    public static PasswordVerifier getInstance() {
+        return INSTANCE;
+    }
+
+    PasswordVerifier(int threads, int queueCapacity) {
+        this.threads = Math.max(1, threads);
+        this.queueCapacity = Math.max(1, queueCapacity);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(this.queueCapacity), r -> {
+                    Thread t = new Thread(r, "password-verify-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Run a verification task (typically user lookup + BCrypt check) on the pool.
+     * Cancelling the returned future (e.g. when the login has timed out) takes
+     * a queued task off the queue, and a task that starts after the
+     * cancellation does not run, so abandoned logins never use a pool thread.
+     *
+     * @throws RejectedExecutionException if the queue is full or the pool is shut down
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        Runnable verification = () -> {
+            long startedAt = System.nanoTime();
+            totalQueueWaitNanos.add(startedAt - queuedAt);
+            if (future.isDone()) {
+                return; // Cancelled after a pool thread had already taken it off the queue
+            }
+            try {
+                future.complete(task.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                long elapsed = System.nanoTime() - startedAt;
+                totalVerifyNanos.add(elapsed);
+                maxVerifyNanos.accumulateAndGet(elapsed, Math::max);
+                completed.increment();
+            }
+        };
+        try {
+            executor.execute(verification);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+        submitted.increment();
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                cancelled.increment();
+                executor.remove(verification);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Seconds a rejected client should wait: roughly the time to drain the current queue
+     */
+    public int getRetryAfterSeconds() {
+        long count = completed.sum();
+        double avgMillis = count > 0 ? totalVerifyNanos.sum() / 1_000_000.0 / count : 250;
+        double drainMillis = (executor.getQueue().size() / (double) threads + 1) * avgMillis;
+        return (int) Math.max(1, Math.ceil(drainMillis / 1000));
+    }
+
+    public VerifierStats getStats() {
+        long count = completed.sum();
+        return new VerifierStats(threads, executor.getActiveCount(), executor.getQueue().size(), queueCapacity,
+                submitted.sum(), rejected.sum(), cancelled.sum(), count,
+                count > 0 ? totalVerifyNanos.sum() / 1_000_000.0 / count : 0,
+                maxVerifyNanos.get() / 1_000_000.0,
+                count > 0 ? totalQueueWaitNanos.sum() / 1_000_000.0 / count : 0);
+    }
+
+    /**
+     * Stop accepting work and wait briefly for queued checks to finish
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Point-in-time verifier pool statistics
+     */
+    public static class VerifierStats {
+        private final int threads;
+        private final int activeThreads;
+        private final int queueDepth;
+        private final int queueCapacity;
+        private final long submitted;
+        private final long rejected;
+        private final long cancelled;
+        private final long completed;
+        private final double avgVerifyMillis;
+        private final double maxVerifyMillis;
+        private final double avgQueueWaitMillis;
+
+        public VerifierStats(int threads, int activeThreads, int queueDepth, int queueCapacity, long submitted,
+                long rejected, long cancelled, long completed, double avgVerifyMillis, double maxVerifyMillis,
+                double avgQueueWaitMillis) {
+            this.threads = threads;
+            this.activeThreads = activeThreads;
+            this.queueDepth = queueDepth;
+            this.queueCapacity = queueCapacity;
+            this.submitted = submitted;
+            this.rejected = rejected;
+            this.cancelled = cancelled;
+            this.completed = completed;
+            this.avgVerifyMillis = avgVerifyMillis;
+            this.maxVerifyMillis = maxVerifyMillis;
+            this.avgQueueWaitMillis = avgQueueWaitMillis;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public int getActiveThreads() {
+            return activeThreads;
+        }
+
+        public int getQueueDepth() {
+            return queueDepth;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public long getSubmitted() {
+            return submitted;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        /**
+         * Checks abandoned before they ran (the login timed out while queued)
+         */
+        public long getCancelled() {
+            return cancelled;
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+
+        public double getAvgVerifyMillis() {
+            return avgVerifyMillis;
+        }
+
+        public double getMaxVerifyMillis() {
+            return maxVerifyMillis;
+        }
+
+        public double getAvgQueueWaitMillis() {
+            return avgQueueWaitMillis;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("PasswordVerifier[threads=%d, active=%d, queued=%d/%d, submitted=%d, rejected=%d, "
+                    + "cancelled=%d, avgVerify=%.1fms, maxVerify=%.1fms, avgQueueWait=%.1fms]", threads, activeThreads,
+                    queueDepth, queueCapacity, submitted, rejected, cancelled, avgVerifyMillis, maxVerifyMillis,
+                    avgQueueWaitMillis);
+        }
+    }
+}
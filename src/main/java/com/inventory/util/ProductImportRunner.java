@@ -0,0 +1,77 @@
+package com.inventory.util;
+
+import com.inventory.dao.DatabaseConnection;
+import com.inventory.dao.ProductImporter;
+
+import java.io.File;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Scanner;
+
+/**
+ * Utility to import a product catalog CSV from the command line (see
+ * ProductImporter for the columns). Uses the database settings of
+ * inventory.properties; pass the file as the first argument or enter it when asked.
+ *
+ * Running application nodes pick up products imported this way on their next
+ * stats drift check; upload through /products/import to update them at once.
+ */
+public class ProductImportRunner {
+    public static void main(String[] args) {
+        System.out.println("==========================================");
+        System.out.println("      PRODUCT IMPORT RUNNER");
+        System.out.println("==========================================");
+
+        String path;
+        if (args.length > 0) {
+            path = args[0];
+        } else {
+            System.out.print("Enter the path of the CSV file: ");
+            path = new Scanner(System.in).nextLine().trim();
+        }
+
+        File csvFile = new File(path);
+        if (!csvFile.isFile()) {
+            System.err.println("❌ Could not find " + csvFile.getAbsolutePath());
+            System.exit(1);
+        }
+
+        ProductImporter.Progress progress = new ProductImporter.Progress();
+        boolean completed = false;
+        try (Reader reader = Files.newBufferedReader(csvFile.toPath(), StandardCharsets.UTF_8)) {
+            System.out.println("Importing " + csvFile.getName() + "...");
+            new ProductImporter().importCsv(reader, progress, p -> System.out.print(
+                    "\r" + p.getRowsRead() + " rows read, " + p.getRowsPerSecond() + " rows/s   "));
+            completed = true;
+        } catch (IllegalArgumentException e) {
+            System.err.println("\n❌ " + e.getMessage());
+        } catch (Exception e) {
+            System.err.println("\n❌ Import stopped: " + e.getMessage());
+            System.err.println("Rows before the failed chunk are committed; importing the file again is safe.");
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+
+        System.out.println();
+        System.out.println("Rows read:   " + progress.getRowsRead());
+        System.out.println("Inserted:    " + progress.getInserted());
+        System.out.println("Updated:     " + progress.getUpdated());
+        System.out.println("Duplicates:  " + progress.getDuplicates());
+        System.out.println("Failed:      " + progress.getFailed());
+        System.out.println("Time:        " + progress.getElapsedMillis() + " ms ("
+                + progress.getRowsPerSecond() + " rows/s)");
+        for (ProductImporter.RowError error : progress.getErrors()) {
+            System.out.println("  ⚠️ " + error);
+        }
+        if (progress.getFailed() > progress.getErrors().size()) {
+            System.out.println("  ... and " + (progress.getFailed() - progress.getErrors().size()) + " more");
+        }
+
+        if (completed) {
+            System.out.println("\n✅ Import complete!");
+        } else {
+            System.exit(1);
+        }
+    }
+}
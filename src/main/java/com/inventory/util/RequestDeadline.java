@@ -0,0 +1,76 @@
+package com.inventory.util;
+
+import java.sql.SQLTimeoutException;
+
+/**
+ * Request Deadline
+ * The time by which the request running on the current thread must be
+ * answered, set by AsyncDispatch around each dispatched handler.
+ *
+ * DatabaseConnection refuses to hand out connections once it has passed, and
+ * instrumented statements that start within async.queryTimeoutWindowMs of it
+ * get a query timeout of the time left (async.queryTimeout), so a request that
+ * times out also stops its SQL instead of leaving it running. Statements that
+ * start earlier are left alone, which saves the driver calls on the common path.
+ */
+public final class RequestDeadline {
+
+    private static final boolean QUERY_TIMEOUT = AppConfig.getBoolean("async.queryTimeout", true);
+    private static final long QUERY_TIMEOUT_WINDOW_NANOS =
+            Math.max(0, AppConfig.getLong("async.queryTimeoutWindowMs", 10000)) * 1_000_000L;
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * @param deadlineNanos System.nanoTime() value the request must finish by
+     */
+    public static void set(long deadlineNanos) {
+        DEADLINE.set(deadlineNanos);
+    }
+
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * @return the current thread's deadline, or null if it has none (to carry
+     *         it over to work the request hands to another thread)
+     */
+    public static Long current() {
+        return DEADLINE.get();
+    }
+
+    /**
+     * Fail if the current request's deadline has passed
+     */
+    public static void check() throws SQLTimeoutException {
+        Long deadline = DEADLINE.get();
+        if (deadline != null && deadline - System.nanoTime() <= 0) {
+            throw new SQLTimeoutException("Request deadline exceeded");
+        }
+    }
+
+    /**
+     * Query timeout for a statement about to run: the time the request has
+     * left, rounded up to whole seconds (the unit JDBC query timeouts use)
+     * @return the timeout in seconds, or 0 if the statement needs none (no
+     *         deadline, or more than async.queryTimeoutWindowMs left)
+     */
+    public static int queryTimeout() throws SQLTimeoutException {
+        Long deadline = DEADLINE.get();
+        if (deadline == null || !QUERY_TIMEOUT) {
+            return 0;
+        }
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            throw new SQLTimeoutException("Request deadline exceeded");
+        }
+        if (remaining > QUERY_TIMEOUT_WINDOW_NANOS) {
+            return 0;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, (remaining + 999_999_999L) / 1_000_000_000L);
+    }
+}
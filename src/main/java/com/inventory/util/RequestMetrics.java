@@ -0,0 +1,216 @@
+package com.inventory.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request Metrics
+ * Per route (servlet path) and action (the "action" query parameter) request
+ * counters, in-flight gauges and latency histograms, filled in by
+ * RequestMetricsFilter and rendered by MetricsServlet.
+ *
+ * Looking up an already-seen route/action does not allocate: the action is
+ * matched in place against the query string. The number of routes and of
+ * actions per route is capped so stray URLs cannot grow the registry without
+ * bound; the excess is counted under "other".
+ */
+public class RequestMetrics {
+
+    private static final RequestMetrics INSTANCE = new RequestMetrics();
+
+    private static final int MAX_ROUTES = 64;
+    private static final int MAX_ACTIONS_PER_ROUTE = 32;
+    private static final int MAX_ACTION_LENGTH = 40;
+    private static final String OTHER = "other";
+
+    private final ConcurrentHashMap<String, Route> routes = new ConcurrentHashMap<>();
+
+    public static RequestMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Metrics for a route and the action named in its query string
+     */
+    public Endpoint endpoint(String route, String queryString) {
+        Route r = routes.get(route);
+        if (r == null) {
+            r = routes.size() < MAX_ROUTES ? routes.computeIfAbsent(route, Route::new)
+                    : routes.computeIfAbsent(OTHER, Route::new);
+        }
+        return r.endpoint(queryString);
+    }
+
+    /**
+     * All endpoints seen so far
+     */
+    public List<Endpoint> getEndpoints() {
+        List<Endpoint> endpoints = new ArrayList<>();
+        for (Route route : routes.values()) {
+            endpoints.addAll(Arrays.asList(route.endpoints));
+        }
+        endpoints.sort((a, b) -> {
+            int byRoute = a.route.compareTo(b.route);
+            return byRoute != 0 ? byRoute : a.action.compareTo(b.action);
+        });
+        return endpoints;
+    }
+
+    public Collection<String> getRoutes() {
+        return routes.keySet();
+    }
+
+    /**
+     * One servlet path and its actions (copy-on-write array, rarely extended)
+     */
+    private static final class Route {
+        private final String path;
+        private volatile Endpoint[] endpoints = new Endpoint[0];
+
+        Route(String path) {
+            this.path = path;
+        }
+
+        Endpoint endpoint(String queryString) {
+            int start = -1;
+            int end = -1;
+            if (queryString != null) {
+                start = findAction(queryString);
+                if (start >= 0) {
+                    end = queryString.indexOf('&', start);
+                    if (end < 0) {
+                        end = queryString.length();
+                    }
+                }
+            }
+            int length = start >= 0 ? end - start : 0;
+
+            for (Endpoint endpoint : endpoints) {
+                if (endpoint.action.length() == length
+                        && (length == 0 || queryString.regionMatches(start, endpoint.action, 0, length))) {
+                    return endpoint;
+                }
+            }
+            return add(length == 0 ? "" : queryString.substring(start, end));
+        }
+
+        private synchronized Endpoint add(String action) {
+            if (!isSimpleName(action)) {
+                action = OTHER;
+            }
+            for (Endpoint endpoint : endpoints) {
+                if (endpoint.action.equals(action)) {
+                    return endpoint;
+                }
+            }
+            if (endpoints.length >= MAX_ACTIONS_PER_ROUTE && !OTHER.equals(action)) {
+                return add(OTHER);
+            }
+            Endpoint endpoint = new Endpoint(path, action);
+            Endpoint[] grown = Arrays.copyOf(endpoints, endpoints.length + 1);
+            grown[endpoints.length] = endpoint;
+            endpoints = grown;
+            return endpoint;
+        }
+
+        /**
+         * Offset of the value of the first action= parameter, or -1
+         */
+        private static int findAction(String query) {
+            int from = 0;
+            while (from < query.length()) {
+                if (query.startsWith("action=", from)) {
+                    return from + 7;
+                }
+                int next = query.indexOf('&', from);
+                if (next < 0) {
+                    return -1;
+                }
+                from = next + 1;
+            }
+            return -1;
+        }
+
+        private static boolean isSimpleName(String action) {
+            if (action.length() > MAX_ACTION_LENGTH) {
+                return false;
+            }
+            for (int i = 0; i < action.length(); i++) {
+                char c = action.charAt(i);
+                if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9' || c == '_')) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Counters for one route + action
+     */
+    public static final class Endpoint {
+        private final String route;
+        private final String action;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        Endpoint(String route, String action) {
+            this.route = route;
+            this.action = action;
+        }
+
+        public void started() {
+            inFlight.incrementAndGet();
+        }
+
+        /**
+         * @param status HTTP status, or 500 if the request failed with an exception
+         */
+        public void finished(int status, long elapsedNanos) {
+            inFlight.decrementAndGet();
+            requests.increment();
+            if (status >= 500) {
+                serverErrors.increment();
+            } else if (status >= 400) {
+                clientErrors.increment();
+            }
+            latency.record(elapsedNanos / 1000);
+        }
+
+        public String getRoute() {
+            return route;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public long getRequests() {
+            return requests.sum();
+        }
+
+        public long getClientErrors() {
+            return clientErrors.sum();
+        }
+
+        public long getServerErrors() {
+            return serverErrors.sum();
+        }
+
+        public int getInFlight() {
+            return inFlight.get();
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+    }
+}
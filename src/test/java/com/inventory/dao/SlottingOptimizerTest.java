@@ -0,0 +1,206 @@
+package com.inventory.dao;
+
+import com.inventory.model.SlottingMove;
+import com.inventory.model.SlottingPlan;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class SlottingOptimizerTest {
+
+    private final List<BinCapacityIndex.Slot> bins = new ArrayList<>();
+    private final Map<Integer, BinCapacityIndex.Unit> units = new HashMap<>();
+    private final Map<Integer, SlottingOptimizer.Velocity> velocity = new HashMap<>();
+
+    @Test
+    void movesFastProductIntoBestPlacedBin() {
+        bin(1, "A", 1, 100, 1);
+        bin(2, "A", 3, 100, 1);
+        stock(2, 7, 40);
+        product(7, 1, 5);
+
+        SlottingPlan plan = plan(10);
+
+        assertEquals(1, plan.getTotalMoves());
+        SlottingMove move = plan.getMoves().get(0);
+        assertEquals(7, move.getProductId());
+        assertEquals(2, move.getFromBinId());
+        assertEquals(1, move.getToBinId());
+        assertEquals(40, move.getQuantity());
+        assertFeasible(plan.getMoves());
+    }
+
+    @Test
+    void keptProductKeepsItsRoomFromFasterProducts() {
+        // Product 20 fits no bin whole and stays spread over B1 and B2, so
+        // the faster product 10 must not be planned into the 20 cm3 B1 has left
+        bin(1, "A", 1, 100, 4);
+        bin(2, "A", 2, 100, 4);
+        bin(3, "A", 3, 100, 4);
+        stock(1, 20, 80);
+        stock(2, 20, 70);
+        stock(3, 10, 30);
+        product(20, 1, 2);
+        product(10, 1, 9);
+
+        SlottingPlan plan = plan(10);
+
+        assertEquals(1, plan.getProductsKept());
+        for (SlottingMove move : plan.getMoves()) {
+            assertFalse(move.getProductId() == 10 && move.getToBinId() == 1, "product 10 planned into full bin 1");
+        }
+        assertFeasible(plan.getMoves());
+    }
+
+    @Test
+    void doesNotDisplaceSlowerProducts() {
+        bin(1, "A", 1, 100, 1);
+        bin(2, "A", 2, 100, 1);
+        stock(1, 5, 90);
+        stock(2, 6, 50);
+        product(5, 1, 1);
+        product(6, 1, 50);
+
+        SlottingPlan plan = plan(10);
+
+        assertEquals(0, plan.getTotalMoves());
+    }
+
+    @Test
+    void leavesUnrankedProductsAndInactiveBinsAlone() {
+        bin(1, "A", 1, 100, 2).active = false;
+        bin(2, "A", 2, 100, 2);
+        bin(3, "A", 3, 100, 2);
+        stock(3, 1, 10);
+        stock(3, 2, 10);
+        units.put(1, new BinCapacityIndex.Unit(1, 1));
+        product(3, 1, 4);
+        stock(3, 3, 10);
+
+        SlottingPlan plan = plan(10);
+
+        assertEquals(1, plan.getProductsRanked());
+        assertEquals(1, plan.getTotalMoves());
+        assertEquals(3, plan.getMoves().get(0).getProductId());
+        assertEquals(2, plan.getMoves().get(0).getToBinId());
+    }
+
+    @Test
+    void everyPrefixOfTheMovesFits() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            bins.clear();
+            units.clear();
+            velocity.clear();
+            int binCount = 2 + random.nextInt(12);
+            for (int id = 1; id <= binCount; id++) {
+                bin(id, random.nextBoolean() ? "A" : "B", 1 + random.nextInt(4), 50 + random.nextInt(150),
+                        1 + random.nextInt(3)).active = random.nextInt(10) > 0;
+            }
+            for (int productId = 1; productId <= 15; productId++) {
+                units.put(productId, new BinCapacityIndex.Unit(1 + random.nextInt(5), 1 + random.nextInt(5)));
+                if (random.nextInt(4) > 0) {
+                    velocity.put(productId, new SlottingOptimizer.Velocity(random.nextInt(5), random.nextInt(100)));
+                }
+                for (BinCapacityIndex.Slot slot : bins) {
+                    if (random.nextInt(4) == 0) {
+                        int room = (int) Math.min(freeVolume(slot) / units.get(productId).volume,
+                                freeWeight(slot) / units.get(productId).weight);
+                        if (room > 0 && slot.contents.size() < slot.maxSlots) {
+                            slot.contents.put(productId, 1 + random.nextInt(room));
+                        }
+                    }
+                }
+            }
+
+            SlottingPlan full = plan(Integer.MAX_VALUE);
+            assertFeasible(full.getMoves());
+            int limit = random.nextInt(full.getTotalMoves() + 1);
+            SlottingPlan limited = plan(limit);
+            assertEquals(full.getTotalMoves(), limited.getTotalMoves());
+            assertEquals(limit, limited.getMoves().size());
+            assertFeasible(limited.getMoves());
+        }
+    }
+
+    private SlottingPlan plan(int limit) {
+        List<BinCapacityIndex.Slot> copies = new ArrayList<>();
+        for (BinCapacityIndex.Slot slot : bins) {
+            copies.add(slot.copy());
+        }
+        return SlottingOptimizer.plan(new BinCapacityIndex.Snapshot(copies, units), velocity, limit);
+    }
+
+    /**
+     * Carry out the moves in order and fail if one overfills its bin
+     */
+    private void assertFeasible(List<SlottingMove> moves) {
+        Map<Integer, BinCapacityIndex.Slot> byId = new HashMap<>();
+        for (BinCapacityIndex.Slot slot : bins) {
+            byId.put(slot.id, slot.copy());
+        }
+        for (SlottingMove move : moves) {
+            BinCapacityIndex.Slot from = byId.get(move.getFromBinId());
+            BinCapacityIndex.Slot to = byId.get(move.getToBinId());
+            int held = from.contents.getOrDefault(move.getProductId(), 0);
+            assertEquals(held, move.getQuantity(), "move takes all of the product from " + from.id);
+            from.contents.remove(move.getProductId());
+            to.contents.merge(move.getProductId(), move.getQuantity(), Integer::sum);
+            assertTrue(to.active, "move into inactive bin " + to.id);
+            if (freeVolume(to) < 0 || freeWeight(to) < 0 || to.contents.size() > to.maxSlots) {
+                fail("bin " + to.id + " overfilled by " + move.getProductId() + ": " + to.contents);
+            }
+        }
+    }
+
+    private long freeVolume(BinCapacityIndex.Slot slot) {
+        long used = 0;
+        for (Map.Entry<Integer, Integer> entry : slot.contents.entrySet()) {
+            used += entry.getValue() * units.get(entry.getKey()).volume;
+        }
+        return slot.maxVolume - used;
+    }
+
+    private long freeWeight(BinCapacityIndex.Slot slot) {
+        long used = 0;
+        for (Map.Entry<Integer, Integer> entry : slot.contents.entrySet()) {
+            used += entry.getValue() * units.get(entry.getKey()).weight;
+        }
+        return slot.maxWeight - used;
+    }
+
+    private BinCapacityIndex.Slot bin(int id, String zone, int aisle, long maxVolume, int maxSlots) {
+        BinCapacityIndex.Slot slot = new BinCapacityIndex.Slot(id);
+        slot.code = "B" + id;
+        slot.zone = zone;
+        slot.aisle = aisle;
+        slot.maxVolume = maxVolume;
+        slot.maxWeight = maxVolume;
+        slot.maxSlots = maxSlots;
+        slot.active = true;
+        bins.add(slot);
+        return slot;
+    }
+
+    private void stock(int binId, int productId, int quantity) {
+        for (BinCapacityIndex.Slot slot : bins) {
+            if (slot.id == binId) {
+                slot.contents.put(productId, quantity);
+            }
+        }
+    }
+
+    private void product(int productId, long unitVolume, int picks) {
+        units.put(productId, new BinCapacityIndex.Unit(unitVolume, unitVolume));
+        velocity.put(productId, new SlottingOptimizer.Velocity(picks, picks * 10L));
+    }
+}